@@ -0,0 +1,76 @@
+package org.example.batalla_naval_re.bench;
+
+import org.example.batalla_naval_re.ai.AIBudget;
+import org.example.batalla_naval_re.ai.ProbabilityAI;
+import org.example.batalla_naval_re.ai.SimpleAI;
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por jugada de las estrategias de IA sobre una partida completa de 100 disparos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AIBenchmark {
+
+    private static final int CELLS = Board.SIZE * Board.SIZE;
+
+    private Board board;
+    private SimpleAI simple;
+    private ProbabilityAI heatmap;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        board = new Board();
+        board.reseed(1);
+        board.randomPlaceAllShips();
+        simple = new SimpleAI(board, 1);
+        heatmap = new ProbabilityAI(board, new Random(1));
+    }
+
+    /**
+     * {@link SimpleAI#nextShot()} recorriendo todo el tablero (API antigua, con un {@code int[]} por disparo).
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void simpleNextShot(Blackhole bh) {
+        simple.reset();
+        for (int n = 0; n < CELLS; n++) bh.consume(simple.nextShot());
+    }
+
+    /**
+     * {@link SimpleAI#decide(AIBudget)} recorriendo todo el tablero (sin asignaciones).
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void simpleDecide(Blackhole bh) {
+        simple.reset();
+        for (int n = 0; n < CELLS; n++) bh.consume(simple.decide(AIBudget.UNLIMITED));
+    }
+
+    /**
+     * Mapa de densidad: decidir y observar cada disparo hasta cubrir el tablero.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void heatmapDecideObserve(Blackhole bh) {
+        heatmap.reset();
+        for (int n = 0; n < CELLS; n++) {
+            int cell = heatmap.decide(AIBudget.UNLIMITED);
+            int row = cell / Board.SIZE;
+            int col = cell % Board.SIZE;
+            Cell.ShotResult result = board.getCell(row, col).isShip() ? Cell.ShotResult.HIT : Cell.ShotResult.MISS;
+            heatmap.observe(row, col, result);
+            bh.consume(cell);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.batalla_naval_re.bench;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara un resultado de JMH en JSON con la línea base guardada en el repositorio.
+ * <p>
+ * Para cada benchmark compara el tiempo por operación y los bytes asignados por operación
+ * ({@code gc.alloc.rate.norm}). Un benchmark retrocede si cualquiera de los dos empeora más que
+ * el umbral. Termina con código 1 si hay retrocesos, para poder usarlo en integración continua.
+ * </p>
+ * <p>
+ * Uso: {@code BaselineComparator baseline.json resultado.json [umbral-en-%]} (umbral por defecto: 10).
+ * </p>
+ */
+public final class BaselineComparator {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * Diferencia mínima de asignación (bytes por operación) que se considera significativa:
+     * evita marcar como retroceso el ruido de unos pocos bytes sobre una base cercana a cero.
+     */
+    private static final double ALLOC_NOISE_BYTES = 16.0;
+
+    private BaselineComparator() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BaselineComparator baseline.json resultado.json [umbral-en-%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, double[]> baseline = load(Path.of(args[0]));
+        Map<String, double[]> current = load(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-70s %14s %14s %9s %12s %12s%n",
+                "benchmark", "base", "actual", "Δ tiempo", "base B/op", "actual B/op");
+        for (Map.Entry<String, double[]> e : current.entrySet()) {
+            double[] now = e.getValue();
+            double[] base = baseline.get(e.getKey());
+            if (base == null) {
+                System.out.printf(Locale.ROOT, "%-70s %14s %14.3f %9s %12s %12.1f  (nuevo)%n",
+                        e.getKey(), "-", now[0], "-", "-", now[1]);
+                continue;
+            }
+            double delta = 100.0 * (now[0] - base[0]) / base[0];
+            boolean slower = delta > threshold;
+            boolean allocates = now[1] - base[1] > ALLOC_NOISE_BYTES
+                    && now[1] > base[1] * (1 + threshold / 100.0);
+            String flag = slower || allocates ? "  RETROCESO" : "";
+            if (!flag.isEmpty()) regressions++;
+            System.out.printf(Locale.ROOT, "%-70s %14.3f %14.3f %+8.1f%% %12.1f %12.1f%s%n",
+                    e.getKey(), base[0], now[0], delta, base[1], now[1], flag);
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) System.out.println(missing + "  (no se ejecutó)");
+        }
+
+        System.out.println(regressions == 0
+                ? "Sin retrocesos por encima del " + threshold + "%"
+                : regressions + " retroceso(s) por encima del " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * Lee un resultado JSON de JMH.
+     *
+     * @return Por benchmark (nombre más parámetros): {puntuación en su unidad, bytes por operación}.
+     */
+    static Map<String, double[]> load(Path file) throws IOException {
+        Map<String, double[]> scores = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                String name = run.get("benchmark").getAsString();
+                if (run.has("params")) name += run.getAsJsonObject("params").toString();
+
+                double score = run.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+                double alloc = Double.NaN;
+                if (run.has("secondaryMetrics")) {
+                    for (Map.Entry<String, JsonElement> m : run.getAsJsonObject("secondaryMetrics").entrySet()) {
+                        if (m.getKey().endsWith(ALLOC_METRIC)) {
+                            alloc = m.getValue().getAsJsonObject().get("score").getAsDouble();
+                        }
+                    }
+                }
+                scores.put(name, new double[]{score, alloc});
+            }
+        }
+        return scores;
+    }
+}
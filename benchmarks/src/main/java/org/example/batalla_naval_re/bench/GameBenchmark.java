@@ -0,0 +1,35 @@
+package org.example.batalla_naval_re.bench;
+
+import org.example.batalla_naval_re.sim.GameResult;
+import org.example.batalla_naval_re.sim.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partidas completas sin interfaz, desde la creación de los tableros hasta el último hundimiento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"random", "heatmap"})
+    public String machine;
+
+    private Simulator simulator;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        simulator = new Simulator("random", machine, 10, 1);
+    }
+
+    @Benchmark
+    public GameResult headlessGame() {
+        return simulator.play(next++);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.batalla_naval_re.bench;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.FleetLayoutSampler;
+import org.example.batalla_naval_re.model.Ship;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rutas calientes del modelo: disparos, validación de colocaciones y colocación aleatoria.
+ * <p>
+ * Los disparos y los impactos modifican la flota, así que {@link #shoot} y {@link #notifyHit}
+ * la restablecen dentro del propio benchmark, recorriendo un lote de {@link #LAYOUTS} flotas
+ * distintas. Ese coste (tiempo y asignaciones de los barcos) se mide aparte en
+ * {@link #placeFleet} y se reparte entre todas las celdas de cada invocación.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+
+    private static final int CELLS = Board.SIZE * Board.SIZE;
+
+    /**
+     * Segmentos de la flota estándar: 4 + 2·3 + 3·2 + 4·1.
+     */
+    private static final int FLEET_CELLS = 20;
+
+    /**
+     * Flotas precalculadas que se recorren en orden; potencia de dos para avanzar con una máscara.
+     */
+    static final int LAYOUTS = 256;
+
+    private Board board;
+    private Ship carrier;
+    private int[][] layouts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        FleetLayoutSampler sampler = new FleetLayoutSampler(new SplittableRandom(1), FleetLayoutSampler.Mode.BACKTRACKING);
+        layouts = new int[LAYOUTS][];
+        for (int i = 0; i < LAYOUTS; i++) {
+            layouts[i] = new int[sampler.fleetSize()];
+            sampler.sample(layouts[i]);
+        }
+        board = new Board();
+        board.placeFleet(layouts[0]);
+        carrier = board.getShip(0);
+    }
+
+    private void nextFleet() {
+        board.placeFleet(layouts[next]);
+        next = (next + 1) & (LAYOUTS - 1);
+    }
+
+    /**
+     * Restablece una flota del lote: es el coste fijo que incluyen {@link #shoot} y {@link #notifyHit}.
+     */
+    @Benchmark
+    public Board placeFleet() {
+        nextFleet();
+        return board;
+    }
+
+    /**
+     * Coloca una flota del lote y dispara a las 100 celdas del tablero (agua, impactos y hundimientos).
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void shoot(Blackhole bh) {
+        nextFleet();
+        for (int r = 0; r < Board.SIZE; r++) {
+            for (int c = 0; c < Board.SIZE; c++) bh.consume(board.shoot(r, c));
+        }
+    }
+
+    /**
+     * Comprueba todas las anclas y orientaciones del portaaviones sobre un tablero con la flota completa.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2 * CELLS)
+    public void canPlaceShip(Blackhole bh) {
+        for (int r = 0; r < Board.SIZE; r++) {
+            for (int c = 0; c < Board.SIZE; c++) {
+                bh.consume(board.canPlaceShip(carrier, r, c, true));
+                bh.consume(board.canPlaceShip(carrier, r, c, false));
+            }
+        }
+    }
+
+    /**
+     * Coloca la flota completa al azar (modo por defecto, con retroceso).
+     */
+    @Benchmark
+    public boolean randomPlaceAllShips() {
+        return board.randomPlaceAllShips();
+    }
+
+    /**
+     * Coloca una flota del lote y notifica un impacto en cada segmento de cada barco hasta hundirla.
+     */
+    @Benchmark
+    @OperationsPerInvocation(FLEET_CELLS)
+    public boolean notifyHit() {
+        nextFleet();
+        for (int i = 0; i < board.getShipCount(); i++) {
+            Ship ship = board.getShip(i);
+            for (int s = 0; s < ship.getSize(); s++) ship.notifyHit(ship.getCell(s));
+        }
+        return board.allShipsSunk();
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.batalla_naval_re.bench;
+
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.persistence.GameFileException;
+import org.example.batalla_naval_re.persistence.SaveCodec;
+import org.example.batalla_naval_re.persistence.SaveManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guardado y carga de una partida con {@link SaveManager} (escribe en el directorio de trabajo),
+ * y codificación en memoria con {@link SaveCodec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+
+    private GameState state;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void prepare() throws GameFileException {
+        state = GameState.newGame("bench", 10, 1);
+        state.getPlayer().getBoard().reseed(2);
+        state.getPlayer().getBoard().randomPlaceAllShips();
+        SaveManager.saveState(state);
+        encoded = SaveCodec.encode(state);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws GameFileException {
+        SaveManager.deleteSave();
+    }
+
+    @Benchmark
+    public void saveState() throws GameFileException {
+        SaveManager.saveState(state);
+    }
+
+    @Benchmark
+    public GameState loadLastState() throws GameFileException {
+        return SaveManager.loadLastState();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return SaveCodec.encode(state);
+    }
+
+    @Benchmark
+    public GameState decode() throws GameFileException {
+        return SaveCodec.decode(encoded);
+    }
+}
@@ -4,6 +4,9 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.batalla_naval_re.controller.GameController;
+import org.example.batalla_naval_re.persistence.PersistenceService;
+
 import java.net.URL;
 
 /**
@@ -63,6 +66,19 @@ public class App extends Application {
         stage.show();
     }
 
+    /**
+     * Se ejecuta al cerrar la aplicación.
+     * <p>
+     * Cierra la partida en curso (su diario y su repetición) y después el servicio de persistencia,
+     * que escribe los guardados y estadísticas aún en espera antes de detener su hilo.
+     * </p>
+     */
+    @Override
+    public void stop() {
+        GameController.closeActive();
+        PersistenceService.getDefault().close();
+    }
+
     /**
      * Punto de entrada estándar para aplicaciones Java.
      * <p>
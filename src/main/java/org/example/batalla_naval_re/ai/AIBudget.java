@@ -0,0 +1,79 @@
+package org.example.batalla_naval_re.ai;
+
+/**
+ * Presupuesto de cómputo para una jugada de la IA.
+ * <p>
+ * Se expresa en nanosegundos, en nodos (la unidad de trabajo propia de cada estrategia: distribuciones
+ * generadas, celdas evaluadas...) o en ambos; la estrategia se detiene al agotar el primero.
+ * Un límite igual a 0 significa "sin límite" en esa dimensión. Es inmutable.
+ * </p>
+ */
+public final class AIBudget {
+
+    /**
+     * Presupuesto sin límites: cada estrategia usa su configuración por defecto.
+     */
+    public static final AIBudget UNLIMITED = new AIBudget(0, 0);
+
+    private final long maxNanos;
+    private final long maxNodes;
+
+    private AIBudget(long maxNanos, long maxNodes) {
+        if (maxNanos < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("El presupuesto no puede ser negativo");
+        }
+        this.maxNanos = maxNanos;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @param nanos Tiempo máximo por jugada en nanosegundos.
+     * @return Un presupuesto limitado solo por tiempo.
+     */
+    public static AIBudget ofNanos(long nanos) {
+        return new AIBudget(nanos, 0);
+    }
+
+    /**
+     * @param nodes Unidades de trabajo máximas por jugada.
+     * @return Un presupuesto limitado solo por trabajo.
+     */
+    public static AIBudget ofNodes(long nodes) {
+        return new AIBudget(0, nodes);
+    }
+
+    /**
+     * @param nanos Tiempo máximo por jugada en nanosegundos (0 = sin límite).
+     * @param nodes Unidades de trabajo máximas por jugada (0 = sin límite).
+     * @return Un presupuesto limitado por lo que se agote primero.
+     */
+    public static AIBudget of(long nanos, long nodes) {
+        return nanos == 0 && nodes == 0 ? UNLIMITED : new AIBudget(nanos, nodes);
+    }
+
+    /**
+     * @return Tiempo máximo en nanosegundos, o 0 si no hay límite de tiempo.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return Unidades de trabajo máximas, o 0 si no hay límite de trabajo.
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * @return {@code true} si no hay ningún límite.
+     */
+    public boolean isUnlimited() {
+        return maxNanos == 0 && maxNodes == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AIBudget{nanos=" + maxNanos + ", nodes=" + maxNodes + "}";
+    }
+}
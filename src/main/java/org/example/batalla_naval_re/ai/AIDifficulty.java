@@ -0,0 +1,15 @@
+package org.example.batalla_naval_re.ai;
+
+/**
+ * Niveles de dificultad con los que se anuncian las estrategias de IA.
+ */
+public enum AIDifficulty {
+    /** Disparos al azar. */
+    EASY,
+    /** Disparos al azar con algo de criterio (por ejemplo, paridad). */
+    MEDIUM,
+    /** Estimación analítica de la probabilidad de cada celda. */
+    HARD,
+    /** Búsqueda intensiva que escala con el hardware disponible. */
+    EXPERT
+}
@@ -0,0 +1,94 @@
+package org.example.batalla_naval_re.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Registro de las estrategias de IA disponibles, descubiertas con {@link ServiceLoader}.
+ * <p>
+ * Los proveedores se cargan una sola vez, de forma perezosa, y se ordenan por dificultad.
+ * </p>
+ */
+public final class AIStrategies {
+
+    /**
+     * Estrategia usada cuando la partida no indica ninguna (o indica una desconocida).
+     */
+    public static final String DEFAULT_ID = "heatmap";
+
+    private static volatile List<AIStrategyProvider> providers;
+
+    private AIStrategies() { }
+
+    /**
+     * @return Todos los proveedores registrados, de menor a mayor dificultad.
+     */
+    public static List<AIStrategyProvider> available() {
+        List<AIStrategyProvider> list = providers;
+        if (list == null) {
+            synchronized (AIStrategies.class) {
+                list = providers;
+                if (list == null) {
+                    List<AIStrategyProvider> found = new ArrayList<>();
+                    ServiceLoader.load(AIStrategyProvider.class, AIStrategies.class.getClassLoader()).forEach(found::add);
+                    found.sort((a, b) -> a.getDifficulty().compareTo(b.getDifficulty()));
+                    providers = list = Collections.unmodifiableList(found);
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @param id Identificador de la estrategia.
+     * @return El proveedor con ese identificador, si está registrado.
+     */
+    public static Optional<AIStrategyProvider> byId(String id) {
+        if (id == null) return Optional.empty();
+        for (AIStrategyProvider p : available()) {
+            if (p.getId().equals(id)) return Optional.of(p);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Busca la estrategia más difícil que no supere el nivel pedido y admita el tamaño de tablero.
+     * Si ninguna cumple, devuelve la más fácil que admita el tablero.
+     *
+     * @param difficulty Nivel deseado.
+     * @param boardSize  Número de filas y columnas del tablero.
+     * @return El proveedor elegido.
+     * @throws IllegalStateException Si ninguna estrategia admite el tablero.
+     */
+    public static AIStrategyProvider forDifficulty(AIDifficulty difficulty, int boardSize) {
+        AIStrategyProvider best = null;
+        AIStrategyProvider easiest = null;
+        for (AIStrategyProvider p : available()) {
+            if (!p.supportsBoardSize(boardSize)) continue;
+            if (easiest == null) easiest = p;
+            if (p.getDifficulty().compareTo(difficulty) <= 0) best = p;
+        }
+        if (best != null) return best;
+        if (easiest != null) return easiest;
+        throw new IllegalStateException("No hay estrategias de IA para un tablero de " + boardSize);
+    }
+
+    /**
+     * Resuelve la estrategia de una partida: la indicada si existe y admite el tablero;
+     * si no, la estrategia por defecto; y si tampoco, la más difícil disponible para ese tamaño.
+     *
+     * @param id        Identificador guardado en la partida (puede ser {@code null}).
+     * @param boardSize Número de filas y columnas del tablero.
+     * @return El proveedor elegido.
+     * @throws IllegalStateException Si ninguna estrategia admite el tablero.
+     */
+    public static AIStrategyProvider resolve(String id, int boardSize) {
+        Optional<AIStrategyProvider> chosen = byId(id).filter(p -> p.supportsBoardSize(boardSize));
+        if (chosen.isPresent()) return chosen.get();
+        chosen = byId(DEFAULT_ID).filter(p -> p.supportsBoardSize(boardSize));
+        return chosen.orElseGet(() -> forDifficulty(AIDifficulty.EXPERT, boardSize));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.example.batalla_naval_re.model.Ship;
+
+/**
+ * Estrategia de disparo de la máquina.
+ * <p>
+ * Una estrategia se crea para un tablero concreto mediante su {@link AIStrategyProvider} y recibe
+ * tres llamadas: {@link #decide(AIBudget)} para elegir el siguiente disparo, {@link #observe} con el
+ * resultado de ese disparo y {@link #reset()} para empezar una partida nueva sobre el mismo tablero.
+ * </p>
+ * <p>
+ * Al crearse y en cada {@link #reset()} la estrategia se sincroniza con los disparos que el tablero ya
+ * tiene ({@link #observeBoard(Board)}), de modo que una partida cargada continúa sin repetir celdas.
+ * </p>
+ * <p>
+ * Las celdas se identifican con su índice lineal {@code fila * tamaño + columna}, para que una
+ * jugada no necesite crear objetos. Las implementaciones no son seguras entre hilos.
+ * </p>
+ */
+public interface AIStrategy {
+
+    /**
+     * Elige la siguiente celda a atacar.
+     *
+     * @param budget Cómputo máximo que la estrategia puede gastar en esta jugada.
+     * @return Índice lineal de una celda aún no intentada, o {@code 0} si no quedan celdas.
+     */
+    int decide(AIBudget budget);
+
+    /**
+     * Informa el resultado de un disparo realizado contra el tablero.
+     *
+     * @param row    Fila del disparo.
+     * @param col    Columna del disparo.
+     * @param result Resultado devuelto por {@link org.example.batalla_naval_re.model.Board#shoot(int, int)}.
+     */
+    void observe(int row, int col, Cell.ShotResult result);
+
+    /**
+     * Olvida todo lo observado y vuelve a sincronizarse con los disparos que ya tiene el tablero.
+     */
+    void reset();
+
+    /**
+     * Informa, como si acabaran de ocurrir, todos los disparos que ya tiene el tablero.
+     * <p>
+     * Las celdas se recorren en orden de índice; un barco hundido se informa como {@code SUNK} en su
+     * último segmento, cuando los anteriores ya se informaron como impactos.
+     * </p>
+     *
+     * @param board Tablero atacado por esta estrategia.
+     */
+    default void observeBoard(Board board) {
+        int size = board.getSize();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (!board.isTried(r, c)) continue;
+                Ship ship = board.getCell(r, c).getShip();
+                Cell.ShotResult result = Cell.ShotResult.MISS;
+                if (ship != null) {
+                    int last = ship.getSize() - 1;
+                    boolean lastSegment = ship.segmentRow(last) == r && ship.segmentCol(last) == c;
+                    result = ship.isSunk() && lastSegment ? Cell.ShotResult.SUNK : Cell.ShotResult.HIT;
+                }
+                observe(r, c, result);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+
+/**
+ * Proveedor de una estrategia de IA, descubierto mediante {@link java.util.ServiceLoader}.
+ * <p>
+ * Para registrar una estrategia nueva basta con implementar esta interfaz (con un constructor público
+ * sin argumentos) y añadir el nombre de la clase a
+ * {@code META-INF/services/org.example.batalla_naval_re.ai.AIStrategyProvider}.
+ * </p>
+ */
+public interface AIStrategyProvider {
+
+    /**
+     * @return Identificador único y estable (se guarda en las partidas).
+     */
+    String getId();
+
+    /**
+     * @return Nombre legible para mostrar en la interfaz.
+     */
+    String getDisplayName();
+
+    /**
+     * @return Nivel de dificultad de la estrategia.
+     */
+    AIDifficulty getDifficulty();
+
+    /**
+     * @return Presupuesto por jugada recomendado para esta estrategia.
+     */
+    default AIBudget getDefaultBudget() {
+        return AIBudget.UNLIMITED;
+    }
+
+    /**
+     * @param boardSize Número de filas y columnas del tablero.
+     * @return {@code true} si la estrategia puede jugar en un tablero de ese tamaño.
+     */
+    default boolean supportsBoardSize(int boardSize) {
+        return true;
+    }
+
+    /**
+     * Crea una estrategia que atacará el tablero indicado.
+     * <p>
+     * La estrategia devuelta ya conoce los disparos, impactos y hundimientos que tiene el tablero
+     * (ver {@link AIStrategy#observeBoard(Board)}), para poder retomar una partida guardada.
+     * </p>
+     *
+     * @param opponentBoard Tablero del oponente.
+     * @param seed          Semilla para las decisiones aleatorias.
+     * @return Una estrategia nueva, lista para su próxima jugada.
+     */
+    AIStrategy create(Board opponentBoard, long seed);
+}
@@ -0,0 +1,438 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Inteligencia Artificial que estima dónde están los barcos generando muchas distribuciones
+ * completas de la flota compatibles con lo observado, en paralelo sobre un {@link ForkJoinPool}.
+ * <p>
+ * Cada distribución se genera con {@link FleetLayoutSampler} sobre la {@link PlacementTable} del
+ * tablero (misma regla de "sin tocar bordes ni diagonales" que {@link Board#canPlaceShip}), solo
+ * con los barcos aún a flote y sin apoyarse en agua descubierta ni junto a barcos hundidos. Las
+ * distribuciones que no cubren todos los impactos pendientes se descartan. La IA dispara a la celda
+ * no intentada que aparece ocupada en más distribuciones aceptadas.
+ * </p>
+ * <p>
+ * Las distribuciones se generan en modo {@link FleetLayoutSampler.Mode#UNIFORM}, de modo que la
+ * frecuencia de cada celda estima su probabilidad real de estar ocupada; el modo con retroceso
+ * favorece unas distribuciones sobre otras y sesgaría el conteo.
+ * </p>
+ * <p>
+ * El trabajo de cada jugada se reparte en un número fijo de bloques independientes, cada uno con su
+ * propio generador derivado de un {@link SplittableRandom}, por lo que escala con el número de núcleos.
+ * El presupuesto por jugada se fija en número de distribuciones, en tiempo, o en ambos (lo que ocurra
+ * primero). Con presupuesto solo por número de distribuciones y semilla fija, las jugadas son
+ * reproducibles en cualquier máquina.
+ * </p>
+ * <p>
+ * Requiere un tablero con bitboards ({@link Board#usesBitboards()}).
+ * </p>
+ */
+public class MonteCarloAI implements AIStrategy {
+
+    /**
+     * Distribuciones generadas por jugada si no se indica otro presupuesto.
+     */
+    public static final int DEFAULT_SAMPLES = 20_000;
+
+    /**
+     * Bloques de trabajo por jugada. Es fijo, y no proporcional a los núcleos del pool, para que una
+     * semilla produzca las mismas jugadas en cualquier máquina; alcanza para repartir la carga.
+     */
+    static final int CHUNKS = 64;
+
+    /**
+     * Cada cuántas distribuciones se consulta el reloj cuando hay presupuesto de tiempo.
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 32;
+
+    private final Board opponentBoard;
+    private final PlacementTable table;
+    private final int size;
+    private final ForkJoinPool pool;
+    private final SplittableRandom rng;
+
+    /**
+     * Barcos que siguen a flote (según los hundimientos informados).
+     */
+    private final List<ShipType> afloat = new ArrayList<>();
+
+    private long triedLo, triedHi;
+    private long pendingHitLo, pendingHitHi;
+    private long forbiddenLo, forbiddenHi;
+
+    private int maxSamples;
+    private long maxNanos;
+
+    /**
+     * Pila del recorrido que reconstruye un barco hundido; a lo sumo una entrada por celda.
+     */
+    private final int[] sinkStack;
+
+    private long lastDrawn;
+    private long lastAccepted;
+    private long lastNanos;
+
+    /**
+     * Constructor con el presupuesto por defecto, sobre el pool común.
+     *
+     * @param opponentBoard El tablero del jugador oponente que será atacado por esta IA.
+     */
+    public MonteCarloAI(Board opponentBoard) {
+        this(opponentBoard, DEFAULT_SAMPLES, 0, System.nanoTime(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param opponentBoard El tablero del jugador oponente.
+     * @param maxSamples    Distribuciones por jugada; 0 para limitar solo por tiempo.
+     * @param maxNanos      Tiempo máximo por jugada en nanosegundos; 0 para limitar solo por cantidad.
+     * @param seed          Semilla del generador aleatorio.
+     * @param pool          Pool sobre el que se reparte el trabajo.
+     * @throws IllegalArgumentException Si el tablero no usa bitboards o el presupuesto no tiene límite.
+     */
+    public MonteCarloAI(Board opponentBoard, int maxSamples, long maxNanos, long seed, ForkJoinPool pool) {
+        if (!opponentBoard.usesBitboards()) {
+            throw new IllegalArgumentException("MonteCarloAI requiere un tablero de como máximo "
+                    + PlacementTable.MAX_CELLS + " celdas");
+        }
+        this.opponentBoard = opponentBoard;
+        this.table = opponentBoard.getPlacementTable();
+        this.size = opponentBoard.getSize();
+        this.pool = pool;
+        this.rng = new SplittableRandom(seed);
+        this.sinkStack = new int[size * size];
+        setBudget(maxSamples, maxNanos);
+        reset();
+    }
+
+    /**
+     * Cambia el presupuesto por jugada.
+     *
+     * @param maxSamples Distribuciones por jugada; 0 para limitar solo por tiempo.
+     * @param maxNanos   Tiempo máximo por jugada en nanosegundos; 0 para limitar solo por cantidad.
+     * @throws IllegalArgumentException Si ambos límites son 0 o alguno es negativo.
+     */
+    public void setBudget(int maxSamples, long maxNanos) {
+        if (maxSamples < 0 || maxNanos < 0 || (maxSamples == 0 && maxNanos == 0)) {
+            throw new IllegalArgumentException("Presupuesto inválido: " + maxSamples + " muestras, " + maxNanos + " ns");
+        }
+        this.maxSamples = maxSamples;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Determina las coordenadas del siguiente disparo de la IA.
+     *
+     * @return Un array de enteros de tamaño 2, donde el índice 0 es la fila y el índice 1 es la columna.
+     *         Retorna {0,0} si no quedan disparos posibles (caso borde).
+     */
+    public int[] nextShot() {
+        int best = decide(AIBudget.UNLIMITED);
+        return new int[]{best / size, best % size};
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cada nodo es una distribución generada. Con {@link AIBudget#UNLIMITED} se usa el presupuesto
+     * configurado con {@link #setBudget(int, long)}.
+     * </p>
+     */
+    @Override
+    public int decide(AIBudget budget) {
+        long start = System.nanoTime();
+        int cells = size * size;
+
+        long samples = budget.isUnlimited() ? maxSamples : Math.min(budget.getMaxNodes(), Integer.MAX_VALUE);
+        long nanos = budget.isUnlimited() ? maxNanos : budget.getMaxNanos();
+
+        int chunks = CHUNKS;
+        SplittableRandom[] seeds = new SplittableRandom[chunks];
+        for (int k = 0; k < chunks; k++) seeds[k] = rng.split();
+        int perChunk = samples == 0 ? Integer.MAX_VALUE : (int) ((samples + chunks - 1) / chunks);
+        long deadline = nanos == 0 ? Long.MAX_VALUE : start + nanos;
+
+        ShipType[] fleet = afloat.toArray(new ShipType[0]);
+        Tally tally = pool.invoke(new SampleTask(fleet, seeds, 0, chunks, perChunk, deadline));
+
+        lastDrawn = tally.drawn;
+        lastAccepted = tally.accepted;
+
+        int best = -1;
+        int bestCount = 0;
+        int ties = 0;
+        for (int i = 0; i < cells; i++) {
+            if (Bits128.test(triedLo, triedHi, i)) continue;
+            int count = tally.counts[i];
+            if (count > bestCount) {
+                bestCount = count;
+                best = i;
+                ties = 1;
+            } else if (count == bestCount && count > 0 && rng.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        if (best < 0) best = fallbackShot();
+        lastNanos = System.nanoTime() - start;
+        return Math.max(best, 0);
+    }
+
+    /**
+     * Recibe el resultado de un disparo sin información de hundimiento.
+     *
+     * @param shot Las coordenadas del disparo realizado {fila, columna}.
+     * @param hit  {@code true} si el disparo impactó un barco, {@code false} si fue agua.
+     */
+    public void reportResult(int[] shot, boolean hit) {
+        reportResult(shot, hit ? Cell.ShotResult.HIT : Cell.ShotResult.MISS);
+    }
+
+    /**
+     * Recibe el resultado del último disparo y actualiza las restricciones de muestreo.
+     *
+     * @param shot   Las coordenadas del disparo realizado {fila, columna}.
+     * @param result Resultado devuelto por {@link Board#shoot(int, int)}.
+     */
+    public void reportResult(int[] shot, Cell.ShotResult result) {
+        observe(shot[0], shot[1], result);
+    }
+
+    @Override
+    public void observe(int row, int col, Cell.ShotResult result) {
+        int i = row * size + col;
+        if (result == Cell.ShotResult.ALREADY_TRIED || Bits128.test(triedLo, triedHi, i)) return;
+        triedLo |= Bits128.loBit(i);
+        triedHi |= Bits128.hiBit(i);
+
+        if (result == Cell.ShotResult.MISS) {
+            forbiddenLo |= Bits128.loBit(i);
+            forbiddenHi |= Bits128.hiBit(i);
+            return;
+        }
+
+        pendingHitLo |= Bits128.loBit(i);
+        pendingHitHi |= Bits128.hiBit(i);
+        if (result == Cell.ShotResult.SUNK) resolveSunk(i);
+    }
+
+    /**
+     * Olvida todos los disparos observados, vuelve a considerar la flota completa y carga los
+     * disparos, impactos y hundimientos que ya tiene el tablero.
+     */
+    @Override
+    public void reset() {
+        triedLo = triedHi = 0;
+        pendingHitLo = pendingHitHi = 0;
+        forbiddenLo = forbiddenHi = 0;
+        afloat.clear();
+        for (ShipType type : Board.fleetComposition()) afloat.add(type);
+        observeBoard(opponentBoard);
+    }
+
+    /**
+     * Reconstruye el barco hundido como los impactos pendientes contiguos al disparo (la regla de
+     * separación garantiza que son todos del mismo barco), lo retira de la flota y prohíbe su halo.
+     */
+    private void resolveSunk(int start) {
+        long shipLo = Bits128.loBit(start);
+        long shipHi = Bits128.hiBit(start);
+        int[] stack = sinkStack;
+        int top = 0;
+        stack[top++] = start;
+        int length = 0;
+        while (top > 0) {
+            int i = stack[--top];
+            length++;
+            int r = i / size;
+            int c = i % size;
+            for (int d = 0; d < 4; d++) {
+                int n = switch (d) {
+                    case 0 -> r > 0 ? i - size : -1;
+                    case 1 -> r < size - 1 ? i + size : -1;
+                    case 2 -> c > 0 ? i - 1 : -1;
+                    default -> c < size - 1 ? i + 1 : -1;
+                };
+                if (n < 0 || Bits128.test(shipLo, shipHi, n) || !Bits128.test(pendingHitLo, pendingHitHi, n)) continue;
+                shipLo |= Bits128.loBit(n);
+                shipHi |= Bits128.hiBit(n);
+                stack[top++] = n;
+            }
+        }
+
+        for (int i = 0; i < size * size; i++) {
+            if (!Bits128.test(shipLo, shipHi, i)) continue;
+            forbiddenLo |= table.cellHaloLo(i);
+            forbiddenHi |= table.cellHaloHi(i);
+        }
+        pendingHitLo &= ~shipLo;
+        pendingHitHi &= ~shipHi;
+
+        for (int k = 0; k < afloat.size(); k++) {
+            if (afloat.get(k).getSize() == length) {
+                afloat.remove(k);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Disparo de respaldo si ninguna distribución fue aceptada: un vecino de un impacto pendiente,
+     * o cualquier celda no intentada que no sea agua conocida.
+     */
+    private int fallbackShot() {
+        int cells = size * size;
+        for (int i = 0; i < cells; i++) {
+            if (!Bits128.test(pendingHitLo, pendingHitHi, i)) continue;
+            int r = i / size;
+            int c = i % size;
+            if (r > 0 && isOpen(i - size)) return i - size;
+            if (r < size - 1 && isOpen(i + size)) return i + size;
+            if (c > 0 && isOpen(i - 1)) return i - 1;
+            if (c < size - 1 && isOpen(i + 1)) return i + 1;
+        }
+        int chosen = randomUntried(forbiddenLo, forbiddenHi);
+        return chosen >= 0 ? chosen : randomUntried(0L, 0L);
+    }
+
+    /**
+     * @return {@code true} si la celda no se intentó ni se sabe que es agua.
+     */
+    private boolean isOpen(int i) {
+        return !Bits128.test(triedLo, triedHi, i) && !Bits128.test(forbiddenLo, forbiddenHi, i);
+    }
+
+    private int randomUntried(long skipLo, long skipHi) {
+        int chosen = -1;
+        int seen = 0;
+        for (int i = 0; i < size * size; i++) {
+            if (Bits128.test(triedLo | skipLo, triedHi | skipHi, i)) continue;
+            if (rng.nextInt(++seen) == 0) chosen = i;
+        }
+        return chosen;
+    }
+
+    /**
+     * @return Distribuciones generadas en la última jugada.
+     */
+    public long lastSamplesDrawn() {
+        return lastDrawn;
+    }
+
+    /**
+     * @return Distribuciones compatibles con los impactos pendientes en la última jugada.
+     */
+    public long lastSamplesAccepted() {
+        return lastAccepted;
+    }
+
+    /**
+     * @return Duración de la última jugada en nanosegundos.
+     */
+    public long lastMoveNanos() {
+        return lastNanos;
+    }
+
+    // ------------------------------------------------------
+    // MUESTREO EN PARALELO
+    // ------------------------------------------------------
+
+    /**
+     * Conteo de ocupación por celda acumulado por un conjunto de bloques.
+     */
+    private static final class Tally {
+        final int[] counts;
+        long drawn;
+        long accepted;
+
+        Tally(int cells) {
+            counts = new int[cells];
+        }
+
+        Tally merge(Tally other) {
+            for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+            drawn += other.drawn;
+            accepted += other.accepted;
+            return this;
+        }
+    }
+
+    /**
+     * Divide los bloques {@code [from, to)} en mitades hasta procesar uno por tarea.
+     */
+    private final class SampleTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final ShipType[] fleet;
+        private final SplittableRandom[] seeds;
+        private final int from;
+        private final int to;
+        private final int perChunk;
+        private final long deadline;
+
+        SampleTask(ShipType[] fleet, SplittableRandom[] seeds, int from, int to, int perChunk, long deadline) {
+            this.fleet = fleet;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+            this.perChunk = perChunk;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                SampleTask left = new SampleTask(fleet, seeds, from, mid, perChunk, deadline);
+                left.fork();
+                Tally right = new SampleTask(fleet, seeds, mid, to, perChunk, deadline).compute();
+                return left.join().merge(right);
+            }
+            return sampleChunk(seeds[from]);
+        }
+
+        private Tally sampleChunk(SplittableRandom random) {
+            Tally tally = new Tally(size * size);
+            if (fleet.length == 0) return tally;
+
+            FleetLayoutSampler sampler = new FleetLayoutSampler(table, fleet, random, FleetLayoutSampler.Mode.UNIFORM);
+            sampler.setForbidden(forbiddenLo, forbiddenHi);
+            int[] placements = new int[fleet.length];
+            boolean timed = deadline != Long.MAX_VALUE;
+
+            for (int n = 0; n < perChunk; n++) {
+                if (timed && n % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline) break;
+                if (!sampler.trySample(placements)) break;
+                tally.drawn++;
+
+                long occLo = 0;
+                long occHi = 0;
+                for (int p : placements) {
+                    occLo |= table.footprintLo(p);
+                    occHi |= table.footprintHi(p);
+                }
+                if ((pendingHitLo & ~occLo) != 0 || (pendingHitHi & ~occHi) != 0) continue;
+                tally.accepted++;
+
+                long lo = occLo & ~triedLo;
+                long hi = occHi & ~triedHi;
+                while (lo != 0) {
+                    tally.counts[Long.numberOfTrailingZeros(lo)]++;
+                    lo &= lo - 1;
+                }
+                while (hi != 0) {
+                    tally.counts[64 + Long.numberOfTrailingZeros(hi)]++;
+                    hi &= hi - 1;
+                }
+            }
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.PlacementTable;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Proveedor de {@link MonteCarloAI}: muestreo paralelo de distribuciones de la flota.
+ */
+public class MonteCarloAIProvider implements AIStrategyProvider {
+
+    /**
+     * Tiempo máximo por jugada recomendado (50 ms).
+     */
+    private static final long DEFAULT_NANOS = 50_000_000L;
+
+    @Override
+    public String getId() {
+        return "sampling";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Muestreo Monte Carlo";
+    }
+
+    @Override
+    public AIDifficulty getDifficulty() {
+        return AIDifficulty.EXPERT;
+    }
+
+    @Override
+    public AIBudget getDefaultBudget() {
+        return AIBudget.of(DEFAULT_NANOS, MonteCarloAI.DEFAULT_SAMPLES);
+    }
+
+    @Override
+    public boolean supportsBoardSize(int boardSize) {
+        return boardSize > 0 && boardSize * boardSize <= PlacementTable.MAX_CELLS;
+    }
+
+    @Override
+    public AIStrategy create(Board opponentBoard, long seed) {
+        return new MonteCarloAI(opponentBoard, MonteCarloAI.DEFAULT_SAMPLES, 0, seed, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+
+/**
+ * Proveedor de {@link SimpleAI} en modo paridad: disparos al azar en damero según el barco más pequeño a flote.
+ */
+public class ParityAIProvider implements AIStrategyProvider {
+
+    @Override
+    public String getId() {
+        return "parity";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Aleatoria con paridad";
+    }
+
+    @Override
+    public AIDifficulty getDifficulty() {
+        return AIDifficulty.MEDIUM;
+    }
+
+    @Override
+    public AIStrategy create(Board opponentBoard, long seed) {
+        return new SimpleAI(opponentBoard, seed, true);
+    }
+}
@@ -0,0 +1,437 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Inteligencia Artificial de caza y persecución basada en un mapa de densidad de probabilidad.
+ * <p>
+ * Para cada longitud de barco aún a flote mantiene, por celda, cuántas colocaciones legales
+ * la cubren. Una colocación es legal si no toca ninguna celda descartada: agua, diagonales de
+ * un impacto, partes y alrededores de barcos hundidos (regla de "sin tocar bordes ni diagonales").
+ * </p>
+ * <ul>
+ *     <li><b>Caza</b>: dispara a la celda con mayor densidad ponderada por los barcos a flote.</li>
+ *     <li><b>Persecución</b>: si hay impactos sin hundir, solo cuenta las colocaciones que pasan
+ *     por ellos, con más peso cuantos más impactos cubren.</li>
+ * </ul>
+ * <p>
+ * El mapa se actualiza de forma incremental: descartar una celda solo revisa las colocaciones que
+ * pasan por ella (a lo sumo {@code 2 * L} por longitud {@code L}), y hundir un barco solo cambia
+ * el peso de su longitud. En el tablero de 10x10 cada jugada cuesta unos pocos microsegundos.
+ * </p>
+ * <p>
+ * El estado es denso (varios arreglos de {@code tamaño²} celdas) y la caza recorre todo el tablero
+ * en cada jugada, así que solo se ofrece hasta {@link #MAX_BOARD_SIZE}.
+ * </p>
+ */
+public class ProbabilityAI implements AIStrategy {
+
+    /**
+     * Lado máximo del tablero en que se usa esta IA: 64x64 ocupa unos 200 KB por partida.
+     */
+    public static final int MAX_BOARD_SIZE = 64;
+
+    /**
+     * El tablero del oponente contra el cual la IA está jugando; sus disparos previos se cargan en {@link #reset()}.
+     */
+    private final Board opponentBoard;
+
+    private final int size;
+
+    /**
+     * Longitudes distintas de la flota, y cuántos barcos de cada una siguen a flote.
+     */
+    private final int[] lengths;
+    private final int[] fleetCount;
+    private final int[] afloat;
+
+    /**
+     * Colocaciones legales que cubren cada celda, por longitud: {@code coverage[longitud][celda]}.
+     */
+    private final int[][] coverage;
+
+    private final boolean[] tried;
+    private final boolean[] blocked;
+    private final boolean[] hit;
+    private final boolean[] sunk;
+
+    /**
+     * Impactos que aún no pertenecen a un barco hundido.
+     */
+    private final int[] unresolved;
+    private int unresolvedCount;
+
+    /**
+     * Puntuaciones temporales del modo persecución y celdas tocadas para limpiarlas.
+     */
+    private final long[] targetScore;
+    private final int[] touched;
+    private int touchedCount;
+
+    /**
+     * Cola temporal para reconstruir el barco hundido.
+     */
+    private final int[] queue;
+
+    private final Random rnd;
+
+    /**
+     * Constructor que inicializa la IA con el mapa de densidad de los disparos que ya tiene el tablero.
+     *
+     * @param opponentBoard El tablero del jugador oponente que será atacado por esta IA.
+     */
+    public ProbabilityAI(Board opponentBoard) {
+        this(opponentBoard, new Random());
+    }
+
+    /**
+     * Constructor con generador aleatorio explícito (para partidas reproducibles).
+     *
+     * @param opponentBoard El tablero del jugador oponente.
+     * @param rnd           Generador usado para desempatar celdas con igual densidad.
+     */
+    public ProbabilityAI(Board opponentBoard, Random rnd) {
+        this.opponentBoard = opponentBoard;
+        this.size = opponentBoard.getSize();
+        this.rnd = rnd;
+
+        int cells = size * size;
+        int[] countByLength = new int[ShipType.CARRIER.getSize() + 1];
+        for (ShipType type : Board.fleetComposition()) countByLength[type.getSize()]++;
+        int distinct = 0;
+        for (int count : countByLength) if (count > 0) distinct++;
+        lengths = new int[distinct];
+        fleetCount = new int[distinct];
+        afloat = new int[distinct];
+        for (int len = countByLength.length - 1, k = 0; len > 0; len--) {
+            if (countByLength[len] == 0) continue;
+            lengths[k] = len;
+            fleetCount[k++] = countByLength[len];
+        }
+
+        coverage = new int[distinct][cells];
+        tried = new boolean[cells];
+        blocked = new boolean[cells];
+        hit = new boolean[cells];
+        sunk = new boolean[cells];
+        unresolved = new int[cells];
+        targetScore = new long[cells];
+        touched = new int[cells];
+        queue = new int[cells];
+
+        reset();
+    }
+
+    /**
+     * Olvida todos los disparos observados y reconstruye el mapa de densidad a partir de los
+     * disparos, impactos y hundimientos que ya tiene el tablero.
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(tried, false);
+        Arrays.fill(blocked, false);
+        Arrays.fill(hit, false);
+        Arrays.fill(sunk, false);
+        unresolvedCount = 0;
+        System.arraycopy(fleetCount, 0, afloat, 0, afloat.length);
+
+        for (int k = 0; k < lengths.length; k++) {
+            Arrays.fill(coverage[k], 0);
+            int len = lengths[k];
+            for (int o = 0; o < (len == 1 ? 1 : 2); o++) {
+                boolean h = o == 0;
+                for (int r = 0; r < size; r++) {
+                    for (int c = 0; c < size; c++) {
+                        if (fits(r, c, len, h)) addPlacement(k, r, c, h, 1);
+                    }
+                }
+            }
+        }
+        observeBoard(opponentBoard);
+    }
+
+    /**
+     * Determina las coordenadas del siguiente disparo de la IA.
+     *
+     * @return Un array de enteros de tamaño 2, donde el índice 0 es la fila y el índice 1 es la columna.
+     *         Retorna {0,0} si no quedan disparos posibles (caso borde).
+     */
+    public int[] nextShot() {
+        int best = decide(AIBudget.UNLIMITED);
+        return new int[]{best / size, best % size};
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * El cálculo es analítico y recorre el tablero una vez, por lo que ignora el presupuesto.
+     * </p>
+     */
+    @Override
+    public int decide(AIBudget budget) {
+        int best = unresolvedCount > 0 ? targetShot() : -1;
+        if (best < 0) best = huntShot();
+        return Math.max(best, 0);
+    }
+
+
+    /**
+     * Recibe el resultado de un disparo sin información de hundimiento.
+     *
+     * @param shot Las coordenadas del disparo realizado {fila, columna}.
+     * @param hit  {@code true} si el disparo impactó un barco, {@code false} si fue agua.
+     */
+    public void reportResult(int[] shot, boolean hit) {
+        reportResult(shot, hit ? Cell.ShotResult.HIT : Cell.ShotResult.MISS);
+    }
+
+    /**
+     * Recibe el resultado del último disparo y actualiza el mapa de densidad.
+     *
+     * @param shot   Las coordenadas del disparo realizado {fila, columna}.
+     * @param result Resultado devuelto por {@link Board#shoot(int, int)}.
+     */
+    public void reportResult(int[] shot, Cell.ShotResult result) {
+        observe(shot[0], shot[1], result);
+    }
+
+    @Override
+    public void observe(int row, int col, Cell.ShotResult result) {
+        int i = row * size + col;
+        if (result == Cell.ShotResult.ALREADY_TRIED || tried[i]) return;
+        tried[i] = true;
+
+        if (result == Cell.ShotResult.MISS) {
+            block(i);
+            return;
+        }
+
+        hit[i] = true;
+        unresolved[unresolvedCount++] = i;
+
+        // Las diagonales de un impacto nunca tienen barco: ni el mismo (es recto) ni otro (no se tocan)
+        blockIfValid(row - 1, col - 1);
+        blockIfValid(row - 1, col + 1);
+        blockIfValid(row + 1, col - 1);
+        blockIfValid(row + 1, col + 1);
+
+        // Dos impactos contiguos son el mismo barco: sus costados son agua
+        if (isUnresolvedHit(row, col - 1) || isUnresolvedHit(row, col + 1)) {
+            for (int dc = -1; dc <= 1; dc++) {
+                blockIfValid(row - 1, col + dc);
+                blockIfValid(row + 1, col + dc);
+            }
+        }
+        if (isUnresolvedHit(row - 1, col) || isUnresolvedHit(row + 1, col)) {
+            for (int dr = -1; dr <= 1; dr++) {
+                blockIfValid(row + dr, col - 1);
+                blockIfValid(row + dr, col + 1);
+            }
+        }
+
+        if (result == Cell.ShotResult.SUNK) resolveSunk(i);
+    }
+
+    // ------------------------------------------------------
+    // SELECCIÓN
+    // ------------------------------------------------------
+
+    /**
+     * Modo caza: celda libre con mayor densidad ponderada; los empates se resuelven al azar.
+     */
+    private int huntShot() {
+        int best = -1;
+        long bestScore = -1;
+        int ties = 0;
+        for (int i = 0; i < tried.length; i++) {
+            if (tried[i]) continue;
+            long score = 0;
+            if (!blocked[i]) {
+                for (int k = 0; k < lengths.length; k++) score += (long) afloat[k] * coverage[k][i];
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+                ties = 1;
+            } else if (score == bestScore && rnd.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Modo persecución: puntúa solo las colocaciones legales que pasan por impactos sin hundir.
+     */
+    private int targetShot() {
+        for (int u = 0; u < unresolvedCount; u++) {
+            int h = unresolved[u];
+            int hr = h / size;
+            int hc = h % size;
+            for (int k = 0; k < lengths.length; k++) {
+                if (afloat[k] == 0) continue;
+                int len = lengths[k];
+                for (int o = 0; o < (len == 1 ? 1 : 2); o++) {
+                    boolean horizontal = o == 0;
+                    for (int back = 0; back < len; back++) {
+                        int r = horizontal ? hr : hr - back;
+                        int c = horizontal ? hc - back : hc;
+                        if (!fits(r, c, len, horizontal)) continue;
+                        scorePlacement(r, c, len, horizontal, afloat[k]);
+                    }
+                }
+            }
+        }
+
+        int best = -1;
+        long bestScore = 0;
+        int ties = 0;
+        for (int t = 0; t < touchedCount; t++) {
+            int i = touched[t];
+            long score = targetScore[i];
+            targetScore[i] = 0;
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+                ties = 1;
+            } else if (score == bestScore && score > 0 && rnd.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        touchedCount = 0;
+        return best;
+    }
+
+    private void scorePlacement(int r, int c, int len, boolean horizontal, int weight) {
+        int hits = 0;
+        for (int s = 0; s < len; s++) {
+            int i = horizontal ? r * size + c + s : (r + s) * size + c;
+            if (blocked[i]) return;
+            if (hit[i]) hits++;
+        }
+        long add = (long) weight * hits;
+        for (int s = 0; s < len; s++) {
+            int i = horizontal ? r * size + c + s : (r + s) * size + c;
+            if (tried[i]) continue;
+            if (targetScore[i] == 0) touched[touchedCount++] = i;
+            targetScore[i] += add;
+        }
+    }
+
+    // ------------------------------------------------------
+    // ACTUALIZACIÓN INCREMENTAL
+    // ------------------------------------------------------
+
+    /**
+     * Reconstruye el barco hundido (impactos contiguos, aislados por la regla de separación),
+     * descarta sus celdas y su alrededor, y descuenta un barco de su longitud.
+     */
+    private void resolveSunk(int start) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        sunk[start] = true;
+        while (head < tail) {
+            int i = queue[head++];
+            int r = i / size;
+            int c = i % size;
+            if (r > 0 && hit[i - size] && !sunk[i - size]) { sunk[i - size] = true; queue[tail++] = i - size; }
+            if (r < size - 1 && hit[i + size] && !sunk[i + size]) { sunk[i + size] = true; queue[tail++] = i + size; }
+            if (c > 0 && hit[i - 1] && !sunk[i - 1]) { sunk[i - 1] = true; queue[tail++] = i - 1; }
+            if (c < size - 1 && hit[i + 1] && !sunk[i + 1]) { sunk[i + 1] = true; queue[tail++] = i + 1; }
+        }
+
+        for (int q = 0; q < tail; q++) {
+            int i = queue[q];
+            int r = i / size;
+            int c = i % size;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) blockIfValid(r + dr, c + dc);
+            }
+        }
+
+        for (int k = 0; k < lengths.length; k++) {
+            if (lengths[k] == tail && afloat[k] > 0) {
+                afloat[k]--;
+                break;
+            }
+        }
+
+        int kept = 0;
+        for (int u = 0; u < unresolvedCount; u++) {
+            if (!sunk[unresolved[u]]) unresolved[kept++] = unresolved[u];
+        }
+        unresolvedCount = kept;
+    }
+
+    private void blockIfValid(int row, int col) {
+        if (row >= 0 && row < size && col >= 0 && col < size) block(row * size + col);
+    }
+
+    /**
+     * Descarta una celda: resta del mapa cada colocación que la cubría y seguía siendo legal.
+     */
+    private void block(int index) {
+        if (blocked[index]) return;
+        int row = index / size;
+        int col = index % size;
+
+        for (int k = 0; k < lengths.length; k++) {
+            int len = lengths[k];
+            for (int o = 0; o < (len == 1 ? 1 : 2); o++) {
+                boolean horizontal = o == 0;
+                for (int back = 0; back < len; back++) {
+                    int r = horizontal ? row : row - back;
+                    int c = horizontal ? col - back : col;
+                    if (fits(r, c, len, horizontal)) addPlacement(k, r, c, horizontal, -1);
+                }
+            }
+        }
+        blocked[index] = true;
+    }
+
+    /**
+     * @return {@code true} si la colocación cabe en el tablero y no toca celdas descartadas.
+     */
+    private boolean fits(int r, int c, int len, boolean horizontal) {
+        if (r < 0 || c < 0) return false;
+        if (horizontal ? c + len > size || r >= size : r + len > size || c >= size) return false;
+        for (int s = 0; s < len; s++) {
+            if (blocked[horizontal ? r * size + c + s : (r + s) * size + c]) return false;
+        }
+        return true;
+    }
+
+    private void addPlacement(int k, int r, int c, boolean horizontal, int delta) {
+        int[] cov = coverage[k];
+        int len = lengths[k];
+        for (int s = 0; s < len; s++) {
+            cov[horizontal ? r * size + c + s : (r + s) * size + c] += delta;
+        }
+    }
+
+    private boolean isUnresolvedHit(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) return false;
+        int i = row * size + col;
+        return hit[i] && !sunk[i];
+    }
+
+    /**
+     * Obtiene la densidad actual (colocaciones legales ponderadas por barcos a flote) de una celda.
+     * Útil para depurar o dibujar el mapa de calor.
+     *
+     * @param row Fila de la celda.
+     * @param col Columna de la celda.
+     * @return La densidad, o 0 si la celda está descartada.
+     */
+    public long densityAt(int row, int col) {
+        int i = row * size + col;
+        if (blocked[i]) return 0;
+        long score = 0;
+        for (int k = 0; k < lengths.length; k++) score += (long) afloat[k] * coverage[k][i];
+        return score;
+    }
+}
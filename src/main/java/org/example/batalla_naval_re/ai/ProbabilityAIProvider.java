@@ -0,0 +1,36 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+
+import java.util.Random;
+
+/**
+ * Proveedor de {@link ProbabilityAI}: mapa de densidad de colocaciones legales.
+ */
+public class ProbabilityAIProvider implements AIStrategyProvider {
+
+    @Override
+    public String getId() {
+        return "heatmap";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Mapa de probabilidad";
+    }
+
+    @Override
+    public AIDifficulty getDifficulty() {
+        return AIDifficulty.HARD;
+    }
+
+    @Override
+    public boolean supportsBoardSize(int boardSize) {
+        return boardSize > 0 && boardSize <= ProbabilityAI.MAX_BOARD_SIZE;
+    }
+
+    @Override
+    public AIStrategy create(Board opponentBoard, long seed) {
+        return new ProbabilityAI(opponentBoard, new Random(seed));
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+
+/**
+ * Proveedor de {@link SimpleAI}: disparos al azar sin repetir.
+ */
+public class RandomAIProvider implements AIStrategyProvider {
+
+    @Override
+    public String getId() {
+        return "random";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Aleatoria";
+    }
+
+    @Override
+    public AIDifficulty getDifficulty() {
+        return AIDifficulty.EASY;
+    }
+
+    @Override
+    public AIStrategy create(Board opponentBoard, long seed) {
+        return new SimpleAI(opponentBoard, seed);
+    }
+}
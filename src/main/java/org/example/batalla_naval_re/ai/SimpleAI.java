@@ -3,74 +3,204 @@ package org.example.batalla_naval_re.ai;
 import org.example.batalla_naval_re.model.*;
 
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * Representa una Inteligencia Artificial básica para el juego de Batalla Naval.
  * <p>
- * Esta IA utiliza una estrategia de disparos aleatorios, manteniendo un registro
- * de las coordenadas disponibles para evitar disparar dos veces al mismo lugar.
+ * Esta IA dispara al azar sin repetir celdas. Las celdas pendientes se guardan en una permutación
+ * de índices primitivos que se baraja de forma perezosa (Fisher–Yates con cursor): cada disparo
+ * intercambia una posición al azar del tramo pendiente con la del cursor y avanza. Elegir un disparo
+ * cuesta O(1) y no crea objetos, sea cual sea el tamaño del tablero.
+ * </p>
+ * <p>
+ * En modo paridad, mientras el barco más pequeño a flote mida {@code L > 1}, primero se dispara solo a
+ * las celdas con {@code (fila + columna) % L} igual a un desplazamiento elegido al azar: todo barco de
+ * longitud {@code L} o mayor ocupa al menos una de ellas.
  * </p>
  */
-public class SimpleAI {
+public class SimpleAI implements AIStrategy {
     /**
      * El tablero del oponente contra el cual la IA está jugando.
      */
     private final Board opponentBoard; // AI shoots against this board
 
+    private final int size;
+
+    /**
+     * Permutación de los índices de celda. Las posiciones {@code [0, cursor)} ya se dispararon;
+     * {@code [cursor, preferredEnd)} son las celdas de la paridad actual y {@code [preferredEnd, n)} el resto.
+     */
+    private final int[] order;
+    private int cursor;
+    private int preferredEnd;
+
+    private final boolean parity;
+
+    /**
+     * Impactos observados, para medir el barco hundido.
+     */
+    private final boolean[] hits;
+
     /**
-     * Lista de todas las coordenadas posibles (fila, columna) a las que la IA puede disparar.
-     * Se inicializa con todas las celdas del tablero y se reducen a medida que se realizan disparos.
+     * Barcos a flote por longitud (índice = longitud) y longitud mínima usada para la paridad actual.
      */
-    private final List<int[]> possibleShots = new ArrayList<>();
+    private final int[] fleetByLength;
+    private final int[] afloatByLength;
+    private int parityLength;
 
-    private final Random rnd = new Random();
+    private final Random rnd;
 
     /**
      * Constructor que inicializa la IA.
-     * Prepara la lista de disparos posibles llenándola con todas las coordenadas del tablero.
+     * Prepara la permutación de disparos posibles con todas las coordenadas del tablero.
      *
      * @param opponentBoard El tablero del jugador oponente que será atacado por esta IA.
      */
     public SimpleAI(Board opponentBoard) {
+        this(opponentBoard, new Random(), false);
+    }
+
+    /**
+     * Constructor con semilla, para partidas reproducibles.
+     *
+     * @param opponentBoard El tablero del jugador oponente que será atacado por esta IA.
+     * @param seed          Semilla del generador aleatorio.
+     */
+    public SimpleAI(Board opponentBoard, long seed) {
+        this(opponentBoard, new Random(seed), false);
+    }
+
+    /**
+     * Constructor con semilla y modo paridad.
+     *
+     * @param opponentBoard El tablero del jugador oponente que será atacado por esta IA.
+     * @param seed          Semilla del generador aleatorio.
+     * @param parity        {@code true} para disparar primero en damero según el barco más pequeño a flote.
+     */
+    public SimpleAI(Board opponentBoard, long seed, boolean parity) {
+        this(opponentBoard, new Random(seed), parity);
+    }
+
+    private SimpleAI(Board opponentBoard, Random rnd, boolean parity) {
         this.opponentBoard = opponentBoard;
-        for (int r=0;r<Board.SIZE;r++) for (int c=0;c<Board.SIZE;c++) possibleShots.add(new int[]{r,c});
+        this.size = opponentBoard.getSize();
+        this.rnd = rnd;
+        this.parity = parity;
+        this.order = new int[size * size];
+        this.hits = new boolean[size * size];
+        this.fleetByLength = new int[ShipType.CARRIER.getSize() + 1];
+        for (ShipType type : Board.fleetComposition()) fleetByLength[type.getSize()]++;
+        this.afloatByLength = new int[fleetByLength.length];
+        reset();
+    }
+
+    /**
+     * Reinicia la permutación con todas las coordenadas del tablero y cuenta los barcos ya hundidos.
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        cursor = 0;
+        preferredEnd = order.length;
+        Arrays.fill(hits, false);
+        System.arraycopy(fleetByLength, 0, afloatByLength, 0, fleetByLength.length);
+        parityLength = 1;
+        updateParity();
+        observeBoard(opponentBoard);
     }
 
     /**
      * Determina las coordenadas del siguiente disparo de la IA.
      * <p>
-     * Selecciona aleatoriamente una coordenada de la lista de disparos posibles.
-     * Verifica si la celda ya ha sido intentada en el tablero; si es así, busca recursivamente
-     * otra coordenada válida.
+     * Crea un array nuevo por llamada; las simulaciones deberían usar {@link #decide(AIBudget)}.
      * </p>
      *
      * @return Un array de enteros de tamaño 2, donde el índice 0 es la fila y el índice 1 es la columna.
      *         Retorna {0,0} si no quedan disparos posibles (caso borde).
      */
     public int[] nextShot() {
-        if (possibleShots.isEmpty()) return new int[]{0,0};
-        int idx = rnd.nextInt(possibleShots.size());
-        int[] shot = possibleShots.remove(idx);
-        // ensure not tried
-        Cell cell = opponentBoard.getCell(shot[0], shot[1]);
-        if (cell.isTried()) return nextShot();
-        return shot;
+        int shot = decide(AIBudget.UNLIMITED);
+        return new int[]{shot / size, shot % size};
     }
 
     /**
-     * Recibe el resultado del último disparo realizado.
+     * {@inheritDoc}
      * <p>
-     * Este método permite a la IA aprender o ajustar su estrategia basándose en si acertó o falló.
-     * Actualmente, esta implementación básica no utiliza esta información para sesgar los futuros disparos.
+     * Las celdas que ya se dispararon en el tablero por otra vía se descartan sin contar como disparo.
+     * El presupuesto se ignora: cada jugada cuesta O(1) amortizado.
      * </p>
+     */
+    @Override
+    public int decide(AIBudget budget) {
+        while (cursor < order.length) {
+            int end = cursor < preferredEnd ? preferredEnd : order.length;
+            int j = cursor + rnd.nextInt(end - cursor);
+            int cell = order[j];
+            order[j] = order[cursor];
+            order[cursor++] = cell;
+            if (!opponentBoard.isTried(cell / size, cell % size)) return cell;
+        }
+        return 0;
+    }
+
+    /**
+     * Recibe el resultado del último disparo realizado.
      *
      * @param shot Las coordenadas del disparo realizado {fila, columna}.
      * @param hit  {@code true} si el disparo impactó un barco, {@code false} si fue agua.
      */
     public void reportResult(int[] shot, boolean hit) {
-        // optional: could bias further shots
+        observe(shot[0], shot[1], hit ? Cell.ShotResult.HIT : Cell.ShotResult.MISS);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo se usa para llevar la cuenta de barcos a flote en modo paridad.
+     * </p>
+     */
+    @Override
+    public void observe(int row, int col, Cell.ShotResult result) {
+        if (result == Cell.ShotResult.HIT || result == Cell.ShotResult.SUNK) hits[row * size + col] = true;
+        if (result != Cell.ShotResult.SUNK) return;
+
+        // Los barcos son rectos y no se tocan: el hundido es la racha de impactos que pasa por el disparo
+        int horizontal = 1 + run(row, col, 0, -1) + run(row, col, 0, 1);
+        int vertical = 1 + run(row, col, -1, 0) + run(row, col, 1, 0);
+        int length = Math.max(horizontal, vertical);
+        if (length < afloatByLength.length && afloatByLength[length] > 0) {
+            afloatByLength[length]--;
+            updateParity();
+        }
+    }
+
+    private int run(int row, int col, int dr, int dc) {
+        int n = 0;
+        for (int r = row + dr, c = col + dc; r >= 0 && r < size && c >= 0 && c < size && hits[r * size + c]; r += dr, c += dc) n++;
+        return n;
+    }
+
+    /**
+     * Si cambió el barco más pequeño a flote, reordena el tramo pendiente para que las celdas de la
+     * nueva paridad queden primero. Ocurre como mucho una vez por longitud de barco.
+     */
+    private void updateParity() {
+        if (!parity) return;
+        int smallest = 1;
+        while (smallest < afloatByLength.length && afloatByLength[smallest] == 0) smallest++;
+        if (smallest >= afloatByLength.length || smallest == parityLength) return;
+        parityLength = smallest;
+
+        int offset = rnd.nextInt(smallest);
+        int end = cursor;
+        for (int i = cursor; i < order.length; i++) {
+            int cell = order[i];
+            if ((cell / size + cell % size) % smallest != offset) continue;
+            order[i] = order[end];
+            order[end++] = cell;
+        }
+        preferredEnd = end;
     }
 }
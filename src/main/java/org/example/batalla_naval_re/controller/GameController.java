@@ -1,8 +1,11 @@
 package org.example.batalla_naval_re.controller;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseButton;
@@ -12,14 +15,32 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
-
-import org.example.batalla_naval_re.ai.SimpleAI;
+import javafx.util.Duration;
+
+import org.example.batalla_naval_re.ai.AIStrategies;
+import org.example.batalla_naval_re.ai.AIStrategy;
+import org.example.batalla_naval_re.ai.AIStrategyProvider;
+import org.example.batalla_naval_re.engine.GameEngine;
+import org.example.batalla_naval_re.engine.GameListener;
+import org.example.batalla_naval_re.engine.GameLoop;
+import org.example.batalla_naval_re.engine.GameSnapshot;
 import org.example.batalla_naval_re.model.*;
 import org.example.batalla_naval_re.persistence.GameFileException;
+import org.example.batalla_naval_re.persistence.GameOutcome;
+import org.example.batalla_naval_re.persistence.MoveJournal;
+import org.example.batalla_naval_re.persistence.PersistenceService;
+import org.example.batalla_naval_re.persistence.ReplayWriter;
 import org.example.batalla_naval_re.persistence.SaveManager;
+import org.example.batalla_naval_re.view.ImageCache;
+import org.example.batalla_naval_re.view.renderer.CanvasBoardRenderer;
 
 import java.io.IOException;
-import javafx.scene.image.Image;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import javafx.scene.image.ImageView;
 
 /**
@@ -44,30 +65,78 @@ public class GameController {
     @FXML private Button btnLoad;
 
     /**
-     * Estado actual del juego que contiene a los jugadores y tableros.
+     * Bucle de juego: único hilo que modifica la partida. La vista solo lee sus fotografías.
+     */
+    private GameLoop loop;
+
+    /**
+     * Última fotografía dibujada, o {@code null} si hay que pintar todo.
+     */
+    private GameSnapshot rendered;
+
+    /**
+     * Fotografía más reciente aún no dibujada; varias publicaciones seguidas se dibujan en un solo pase.
+     */
+    private final AtomicReference<GameSnapshot> pending = new AtomicReference<>();
+
+    /**
+     * Tiempo que la máquina "piensa" antes de cada disparo.
+     */
+    private static final Duration AI_THINK_TIME = Duration.millis(700);
+
+    /**
+     * Espera máxima para cerrar la partida al salir de la aplicación.
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Espera del siguiente disparo de la IA; {@code null} si no hay ninguno pendiente.
+     */
+    private Timeline aiThink;
+
+    /**
+     * Diario de jugadas de la partida guardada; {@code null} si la partida no se ha guardado.
+     * Solo se usa desde el hilo del bucle.
      */
-    private GameState state;
+    private MoveJournal journal;
 
     /**
-     * Instancia de la Inteligencia Artificial simple para el oponente.
+     * Repetición que se está grabando; {@code null} hasta que ambas flotas están colocadas.
+     * Solo se usa desde el hilo del bucle.
      */
-    private SimpleAI ai;
+    private ReplayWriter replay;
 
     /**
-     * Barco actualmente seleccionado para ser colocado en el tablero.
+     * Paneles de cada celda, creados una sola vez por partida (índice = fila * tamaño + columna).
      */
-    private Ship selectedShip;
+    private StackPane[] playerPanes;
+    private StackPane[] machinePanes;
+
+    /**
+     * Tableros dibujados sobre un {@link Canvas}, en lugar de los paneles, a partir de {@link #CANVAS_MIN_SIZE}.
+     */
+    private CanvasBoardRenderer playerCanvas;
+    private CanvasBoardRenderer machineCanvas;
+
+    /**
+     * Tamaño de tablero desde el que un panel por celda deja de ser razonable y se dibuja sobre un canvas.
+     */
+    private static final int CANVAS_MIN_SIZE = 20;
+
+    /**
+     * Lado máximo en píxeles de cada tablero dibujado sobre un canvas.
+     */
+    private static final double CANVAS_MAX_PIXELS = 400;
 
     /**
      * Define la orientación de colocación del barco (true = horizontal, false = vertical).
      */
     private boolean horizontalPlacement = true;
 
-    // ✅ Iconos
-    private final Image hitImage =
-            new Image(getClass().getResourceAsStream("/impacto.jpg"));
-    private final Image sunkImage =
-            new Image(getClass().getResourceAsStream("/undido.jpg"));
+    /**
+     * Controlador de la partida en pantalla, para cerrarla al salir de la aplicación.
+     */
+    private static volatile GameController active;
 
     // ------------------------------------------------------
     // INIT
@@ -76,27 +145,109 @@ public class GameController {
     /**
      * Inicializa el estado del juego recibido desde el controlador principal.
      * <p>
-     * Configura la IA, actualiza las etiquetas de la interfaz, posiciona aleatoriamente
-     * los barcos de la máquina y prepara el tablero del jugador para la fase de colocación.
+     * Configura la IA, actualiza las etiquetas de la interfaz y, si la partida es nueva, posiciona
+     * aleatoriamente los barcos de la máquina y prepara el tablero del jugador para la fase de colocación.
+     * Una partida que ya tiene sus flotas se abre tal cual.
      * </p>
      *
      * @param state El objeto {@link GameState} que contiene la información de la partida.
      */
     public void initState(GameState state) {
-        this.state = state;
-        this.ai = new SimpleAI(state.getMachineBoard());
+        start(state);
+        loop.open(() -> {
+            if (!state.getMachineBoard().allShipsPlaced()) state.getMachineBoard().randomPlaceAllShips();
+            if (state.getPlayer().getBoard().getShipCount() == 0) state.getPlayer().getBoard().createShipsWithoutPlacement();
+            return state;
+        });
+    }
+
+    /**
+     * Reanuda una partida cargada (la última guardada, una recuperada del diario o una ranura) sin
+     * tocar sus flotas ni sus disparos, y sigue registrando sus jugadas en un diario nuevo.
+     *
+     * @param state La partida cargada.
+     */
+    public void resumeState(GameState state) {
+        start(state);
+        loop.open(() -> {
+            try {
+                startJournal(state);
+            } catch (GameFileException e) {
+                // Se juega igual, solo que sin diario
+            }
+            return state;
+        });
+    }
+
+    private void start(GameState state) {
+        active = this;
+        ImageCache.preload();
+        loop = new GameLoop(this::createEngine, this::publish);
 
         lblNickname.setText(state.getPlayer().getName());
-        lblStatus.setText("Coloca tus barcos | Click derecho = rotar");
+        lblStatus.setText(state.getPlayer().getBoard().allShipsPlaced()
+                ? "Partida reanudada" : "Coloca tus barcos | Click derecho = rotar");
         lblSunkCount.setText("0");
 
-        state.getMachineBoard().randomPlaceAllShips();
-        state.getPlayer().getBoard().createShipsWithoutPlacement();
-
         machineGrid.setDisable(true);
+    }
 
-        renderBoards();
-        enableShipSelection();
+    /**
+     * Crea la IA elegida para la partida y un {@link GameEngine} nuevo sobre ella.
+     * Se ejecuta en el hilo del bucle de juego cada vez que se abre una partida.
+     * Cada disparo válido se anexa al diario, si la partida tiene uno, y a la repetición; al terminar
+     * la partida su resultado se anota en las estadísticas del jugador.
+     * <p>
+     * Abrir una partida termina la repetición en curso. Una partida cargada no empieza otra: solo se
+     * graban las partidas jugadas desde la colocación, que es donde empieza su repetición.
+     * </p>
+     */
+    private GameEngine createEngine(GameState state) {
+        stopReplay();
+        AIStrategyProvider provider = AIStrategies.resolve(state.getAiStrategyId(), state.getBoardSize());
+        AIStrategy ai = provider.create(state.getPlayer().getBoard(), System.nanoTime());
+        GameEngine engine = GameEngine.forState(state);
+        engine.setStrategy(GameEngine.Side.MACHINE, ai, provider.getDefaultBudget());
+        long startedAt = System.currentTimeMillis();
+        engine.addListener(new GameListener() {
+            @Override
+            public void onShot(GameEngine.Side shooter, int row, int col, Cell.ShotResult result) {
+                int cell = row * state.getBoardSize() + col;
+                if (replay != null) {
+                    try {
+                        replay.recordShot(shooter == GameEngine.Side.PLAYER, cell);
+                    } catch (GameFileException e) {
+                        replay.close();
+                        replay = null;
+                    }
+                }
+                if (journal == null) return;
+                try {
+                    journal.recordShot(state, shooter == GameEngine.Side.PLAYER, cell);
+                } catch (GameFileException e) {
+                    stopJournal();
+                }
+            }
+
+            @Override
+            public void onGameOver(GameEngine.Side winner) {
+                GameOutcome outcome = GameOutcome.of(state, winner == GameEngine.Side.PLAYER,
+                        System.currentTimeMillis() - startedAt);
+                PersistenceService.getDefault().recordGame(outcome);
+                stopReplay();
+            }
+        });
+        return engine;
+    }
+
+    /**
+     * Recibe en el hilo del bucle cada fotografía nueva y programa su dibujo en el hilo de JavaFX.
+     * Si ya hay un dibujo pendiente, este simplemente usará la fotografía más reciente.
+     */
+    private void publish(GameSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            Platform.runLater(() -> render(pending.getAndSet(null)));
+        }
     }
 
     // ------------------------------------------------------
@@ -104,56 +255,138 @@ public class GameController {
     // ------------------------------------------------------
 
     /**
-     * Limpia y redibuja completamente ambos tableros (Jugador y Máquina).
+     * Dibuja una fotografía de la partida: construye los tableros si cambió su tamaño, repinta las
+     * celdas cuyo código cambió y actualiza las etiquetas.
+     */
+    private void render(GameSnapshot snapshot) {
+        if (snapshot == null) return;
+        if (rendered == null || rendered.getSize() != snapshot.getSize()) {
+            buildBoards(snapshot.getSize());
+            rendered = null;
+        }
+        if (playerCanvas != null) {
+            playerCanvas.render(snapshot);
+            playerCanvas.refresh();
+            machineCanvas.render(snapshot);
+            machineCanvas.refresh();
+        } else {
+            refreshBoard(snapshot, GameEngine.Side.PLAYER, playerPanes, true);
+            refreshBoard(snapshot, GameEngine.Side.MACHINE, machinePanes, false);
+        }
+        rendered = snapshot;
+        updateStatus(snapshot);
+        if (!snapshot.isOver() && !snapshot.isPlacing() && snapshot.getTurn() == GameEngine.Side.MACHINE) aiTurn();
+    }
+
+    /**
+     * Construye ambos tableros (Jugador y Máquina) una sola vez por tamaño de tablero.
      * <p>
-     * Se llama cada vez que ocurre un cambio en el estado del juego (disparo, colocación, carga).
+     * Crea los encabezados y un panel por celda con sus manejadores de clic, o un solo
+     * {@link CanvasBoardRenderer} por tablero a partir de {@link #CANVAS_MIN_SIZE}.
+     * Después, cada fotografía solo actualiza las celdas que cambiaron.
      * </p>
      */
-    private void renderBoards() {
+    private void buildBoards(int size) {
         playerGrid.getChildren().clear();
         machineGrid.getChildren().clear();
+        playerPanes = null;
+        machinePanes = null;
+        playerCanvas = null;
+        machineCanvas = null;
+
+        if (size >= CANVAS_MIN_SIZE) {
+            double cellSize = CanvasBoardRenderer.fitCellSize(size, CANVAS_MAX_PIXELS);
+            playerCanvas = new CanvasBoardRenderer(GameEngine.Side.PLAYER, size, true, cellSize);
+            machineCanvas = new CanvasBoardRenderer(GameEngine.Side.MACHINE, size, false, cellSize);
+            playerCanvas.setOnCellClicked(this::onPlayerBoardClicked);
+            machineCanvas.setOnCellClicked(this::onMachineBoardClicked);
+            playerGrid.add(playerCanvas.getCanvas(), 0, 0);
+            machineGrid.add(machineCanvas.getCanvas(), 0, 0);
+            return;
+        }
 
-        drawHeaders(playerGrid);
-        drawHeaders(machineGrid);
-
-        for (int r = 0; r < Board.SIZE; r++) {
-            for (int c = 0; c < Board.SIZE; c++) {
-                playerGrid.add(createPlayerCell(r, c), c + 1, r + 1);
-                machineGrid.add(createMachineCell(r, c), c + 1, r + 1);
+        drawHeaders(playerGrid, size);
+        drawHeaders(machineGrid, size);
+
+        playerPanes = new StackPane[size * size];
+        machinePanes = new StackPane[size * size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                StackPane player = createPlayerCell(r, c);
+                StackPane machine = createMachineCell(r, c);
+                playerPanes[r * size + c] = player;
+                machinePanes[r * size + c] = machine;
+                playerGrid.add(player, c + 1, r + 1);
+                machineGrid.add(machine, c + 1, r + 1);
             }
         }
     }
 
+    /**
+     * Actualiza en su lugar solo las celdas cuyo código difiere del de la última fotografía dibujada,
+     * sin volver a crear los paneles ni recorrer los bloques de celdas que no cambiaron.
+     */
+    private void refreshBoard(GameSnapshot snapshot, GameEngine.Side side, StackPane[] panes, boolean showShips) {
+        snapshot.forEachChangedCell(rendered, side,
+                index -> paintCell(panes[index], snapshot.cellCode(side, index), showShips));
+    }
+
+    /**
+     * Vuelve a pintar el contenido de una celda, conservando su fondo y sus manejadores.
+     */
+    private void paintCell(StackPane pane, int code, boolean showShips) {
+        // El hijo 0 es el fondo creado por baseCell(); lo demás depende del estado
+        pane.getChildren().remove(1, pane.getChildren().size());
+        boolean ship = GameSnapshot.hasShip(code);
+        if (showShips && ship) showShipIcon(pane, GameSnapshot.shipTypeOf(code));
+        paintCellState(pane, code);
+    }
+
     // ------------------------------------------------------
     // HEADERS A–J / 1–10
     // ------------------------------------------------------
 
     /**
-     * Dibuja los encabezados de filas (1-10) y columnas (A-J) en el grid dado.
+     * Dibuja los encabezados de filas (1-N) y columnas (A-J, ..., AA, AB...) en el grid dado.
      *
      * @param grid El {@link GridPane} donde se añadirán las etiquetas.
+     * @param size Número de filas y columnas del tablero.
      */
-    private void drawHeaders(GridPane grid) {
+    private void drawHeaders(GridPane grid, int size) {
 
-        for (int c = 0; c < Board.SIZE; c++) {
-            Label lbl = new Label(String.valueOf((char) ('A' + c)));
+        for (int c = 0; c < size; c++) {
+            Label lbl = new Label(columnLabel(c));
             lbl.setStyle("-fx-font-weight: bold;");
             grid.add(lbl, c + 1, 0);
         }
 
-        for (int r = 0; r < Board.SIZE; r++) {
+        for (int r = 0; r < size; r++) {
             Label lbl = new Label(String.valueOf(r + 1));
             lbl.setStyle("-fx-font-weight: bold;");
             grid.add(lbl, 0, r + 1);
         }
     }
 
+    /**
+     * Obtiene la etiqueta de una columna al estilo de una hoja de cálculo (A..Z, AA, AB...).
+     *
+     * @param col Índice de la columna.
+     * @return La etiqueta de la columna.
+     */
+    private static String columnLabel(int col) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = col + 1; n > 0; n = (n - 1) / 26) {
+            sb.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return sb.toString();
+    }
+
     // ------------------------------------------------------
     // PLAYER CELL
     // ------------------------------------------------------
 
     /**
-     * Crea la representación visual de una celda en el tablero del jugador.
+     * Crea el panel (vacío) de una celda en el tablero del jugador.
      * <p>
      * Configura los eventos del mouse para la fase de colocación:
      * <ul>
@@ -167,29 +400,30 @@ public class GameController {
      * @return Un {@link StackPane} que representa la celda gráfica.
      */
     private StackPane createPlayerCell(int row, int col) {
-        Cell cell = state.getPlayer().getBoard().getCell(row, col);
         StackPane pane = baseCell();
 
-        if (cell.isShip()) showShipIcon(pane, cell.getShip());
-        paintCellState(pane, cell);
-
-        pane.setOnMouseClicked(e -> {
-            if (e.getButton() == MouseButton.SECONDARY) {
-                horizontalPlacement = !horizontalPlacement;
-            } else if (selectedShip != null) {
-                attemptPlaceShip(row, col);
-            }
-        });
+        pane.setOnMouseClicked(e -> onPlayerBoardClicked(row, col, e.getButton()));
 
         return pane;
     }
 
+    /**
+     * Clic sobre el tablero del jugador: el derecho rota el barco y el izquierdo lo coloca.
+     */
+    private void onPlayerBoardClicked(int row, int col, MouseButton button) {
+        if (button == MouseButton.SECONDARY) {
+            horizontalPlacement = !horizontalPlacement;
+        } else if (rendered != null && rendered.isPlacing()) {
+            attemptPlaceShip(row, col);
+        }
+    }
+
     // ------------------------------------------------------
     // MACHINE CELL
     // ------------------------------------------------------
 
     /**
-     * Crea la representación visual de una celda en el tablero de la máquina.
+     * Crea el panel (vacío) de una celda en el tablero de la máquina.
      * <p>
      * Configura el evento de clic izquierdo para realizar un disparo contra el oponente.
      * </p>
@@ -199,19 +433,20 @@ public class GameController {
      * @return Un {@link StackPane} que representa la celda gráfica.
      */
     private StackPane createMachineCell(int row, int col) {
-        Cell cell = state.getMachineBoard().getCell(row, col);
         StackPane pane = baseCell();
 
-        pane.setOnMouseClicked(e -> {
-            if (e.getButton() == MouseButton.PRIMARY) {
-                onPlayerShot(row, col);
-            }
-        });
+        pane.setOnMouseClicked(e -> onMachineBoardClicked(row, col, e.getButton()));
 
-        paintCellState(pane, cell);
         return pane;
     }
 
+    /**
+     * Clic sobre el tablero de la máquina: el izquierdo dispara.
+     */
+    private void onMachineBoardClicked(int row, int col, MouseButton button) {
+        if (button == MouseButton.PRIMARY) onPlayerShot(row, col);
+    }
+
     // ------------------------------------------------------
     // CELL PAINT
     // ------------------------------------------------------
@@ -220,12 +455,16 @@ public class GameController {
      * Pinta el estado actual de la celda (Hundido, Impacto o Agua) sobre el panel.
      *
      * @param pane El panel gráfico de la celda.
-     * @param cell El objeto lógico de la celda.
+     * @param code El código de la celda en la fotografía ({@link GameSnapshot}).
      */
-    private void paintCellState(StackPane pane, Cell cell) {
-        if (cell.isSunkPart()) drawSunkIcon(pane);
-        else if (cell.isHit()) drawHitIcon(pane);
-        else if (cell.isMiss()) drawMiss(pane);
+    private void paintCellState(StackPane pane, int code) {
+        ShipType type = GameSnapshot.hasShip(code) ? GameSnapshot.shipTypeOf(code) : ShipType.FRIGATE;
+        switch (GameSnapshot.shotOf(code)) {
+            case GameSnapshot.SHOT_SUNK -> drawSunkIcon(pane, type);
+            case GameSnapshot.SHOT_HIT -> drawHitIcon(pane, type);
+            case GameSnapshot.SHOT_MISS -> drawMiss(pane);
+            default -> { }
+        }
     }
 
     /**
@@ -248,32 +487,31 @@ public class GameController {
     /**
      * Muestra el icono correspondiente al tipo de barco en la celda.
      */
-    private void showShipIcon(StackPane pane, Ship ship) {
-        Image img = new Image(getClass().getResourceAsStream(
-                ship.getType().getImagePath()));
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(40);
-        iv.setFitHeight(40);
-        pane.getChildren().add(iv);
+    private void showShipIcon(StackPane pane, ShipType type) {
+        addIcon(pane, type, ImageCache.State.INTACT, ImageCache.CELL_SIZE);
     }
 
     /**
      * Dibuja el icono de "Impacto" (fuego/explosión).
      */
-    private void drawHitIcon(StackPane pane) {
-        ImageView iv = new ImageView(hitImage);
-        iv.setFitWidth(28);
-        iv.setFitHeight(28);
-        pane.getChildren().add(iv);
+    private void drawHitIcon(StackPane pane, ShipType type) {
+        addIcon(pane, type, ImageCache.State.HIT, ImageCache.HIT_SIZE);
     }
 
     /**
      * Dibuja el icono de "Hundido" (calavera o similar).
      */
-    private void drawSunkIcon(StackPane pane) {
-        ImageView iv = new ImageView(sunkImage);
-        iv.setFitWidth(40);
-        iv.setFitHeight(40);
+    private void drawSunkIcon(StackPane pane, ShipType type) {
+        addIcon(pane, type, ImageCache.State.SUNK, ImageCache.CELL_SIZE);
+    }
+
+    /**
+     * Añade a la celda la imagen compartida de {@link ImageCache}; nunca decodifica en este hilo.
+     */
+    private void addIcon(StackPane pane, ShipType type, ImageCache.State state, double size) {
+        ImageView iv = new ImageView(ImageCache.get(type, state));
+        iv.setFitWidth(size);
+        iv.setFitHeight(size);
         pane.getChildren().add(iv);
     }
 
@@ -293,91 +531,97 @@ public class GameController {
     // ------------------------------------------------------
 
     /**
-     * Busca el siguiente barco no colocado en la lista del jugador y lo selecciona.
-     * Si no hay más barcos para colocar, `selectedShip` será null.
-     */
-    private void enableShipSelection() {
-        for (Ship s : state.getPlayer().getBoard().getShips()) {
-            if (s.getCells().isEmpty()) {
-                selectedShip = s;
-                return;
-            }
-        }
-    }
-
-    /**
-     * Intenta colocar el barco seleccionado actualmente en la posición indicada.
+     * Intenta colocar el siguiente barco pendiente del jugador en la posición indicada.
      * <p>
-     * Si la colocación es exitosa, selecciona el siguiente barco.
-     * Si todos los barcos están colocados, habilita el tablero de la máquina para comenzar el juego.
+     * La colocación se ejecuta en el bucle de juego; la fotografía resultante indica el siguiente
+     * barco a colocar y, cuando ya no queda ninguno, habilita el tablero de la máquina.
      * </p>
      *
      * @param row Fila de inicio.
      * @param col Columna de inicio.
      */
     private void attemptPlaceShip(int row, int col) {
-        if (state.getPlayer().getBoard()
-                .addShip(selectedShip, row, col, horizontalPlacement)) {
-
-            selectedShip = null;
-            enableShipSelection();
-
-            if (state.getPlayer().getBoard().allShipsPlaced()) {
-                machineGrid.setDisable(false);
+        boolean horizontal = horizontalPlacement;
+        loop.submit((state, engine) -> {
+            Board board = state.getPlayer().getBoard();
+            for (int i = 0; i < board.getShipCount(); i++) {
+                Ship ship = board.getShip(i);
+                if (!ship.isPlaced()) {
+                    if (!board.addShip(ship, row, col, horizontal)) return;
+                    if (journal != null) journal.recordPlacement(state, i, row * board.getSize() + col, horizontal);
+                    if (board.allShipsPlaced()) startReplay(state);
+                    return;
+                }
             }
-            renderBoards();
-        }
+        });
     }
 
     /**
      * Maneja la lógica cuando el jugador hace clic en el tablero enemigo.
      * <p>
-     * Realiza el disparo y actualiza la vista. Si el jugador falla (Agua),
-     * inicia el turno de la IA en un hilo separado.
+     * Encola el disparo en el bucle de juego. Si el jugador falla (Agua), la fotografía resultante
+     * pasa el turno a la máquina y {@link #render} inicia su turno. Los clics fuera de turno se
+     * ignoran; el motor vuelve a comprobarlo al ejecutar el comando.
      * </p>
      *
      * @param row Fila objetivo.
      * @param col Columna objetivo.
      */
     private void onPlayerShot(int row, int col) {
-        Cell.ShotResult result = state.getMachineBoard().shoot(row, col);
-        renderBoards();
-        if (result == Cell.ShotResult.MISS) aiTurnThread();
+        if (rendered == null || rendered.isOver() || rendered.getTurn() != GameEngine.Side.PLAYER) return;
+        loop.submit((state, engine) -> {
+            if (engine.isOver() || engine.getTurn() != GameEngine.Side.PLAYER) return;
+            engine.fire(GameEngine.Side.PLAYER, row, col);
+        });
+    }
+
+    /**
+     * Actualiza el contador de barcos hundidos y, si la partida terminó, anuncia al ganador
+     * y bloquea el tablero enemigo.
+     */
+    private void updateStatus(GameSnapshot snapshot) {
+        lblSunkCount.setText(String.valueOf(snapshot.getSunk(GameEngine.Side.PLAYER)));
+        if (snapshot.isOver()) {
+            machineGrid.setDisable(true);
+            lblStatus.setText(snapshot.getWinner() == GameEngine.Side.PLAYER ? "¡Ganaste!" : "La máquina ganó");
+        } else {
+            machineGrid.setDisable(snapshot.isPlacing());
+        }
     }
 
     // ------------------------------------------------------
-    // THREADS
+    // SCHEDULER
     // ------------------------------------------------------
 
     /**
-     * Ejecuta el turno de la IA en un hilo separado (Daemon) para simular tiempo de "pensamiento".
+     * Programa el siguiente disparo de la IA tras su tiempo de reflexión.
      * <p>
-     * Espera 700ms, calcula el disparo de la IA y actualiza la UI mediante {@link Platform#runLater}.
+     * La espera la lleva un {@link Timeline} de JavaFX, sin dormir ningún hilo. Cada disparo es un
+     * comando del bucle; si acierta, la nueva fotografía vuelve a llamar a este método hasta que la
+     * máquina falle o termine la partida.
      * </p>
      */
-    private void aiTurnThread() {
-        Thread t = new Thread(() -> {
-            try { Thread.sleep(700); } catch (InterruptedException ignored) {}
-            int[] pos = ai.nextShot();
-            state.getPlayer().getBoard().shoot(pos[0], pos[1]);
-            Platform.runLater(this::renderBoards);
-        });
-        t.setDaemon(true);
-        t.start();
+    private void aiTurn() {
+        if (aiThink != null) return;
+        GameLoop target = loop;
+        aiThink = new Timeline(new KeyFrame(AI_THINK_TIME, e -> {
+            aiThink = null;
+            target.submit((state, engine) -> {
+                if (engine.isAiTurn()) engine.step();
+            });
+        }));
+        aiThink.play();
     }
 
     /**
-     * Inicia un hilo de autoguardado que persiste el estado del juego después de 5 segundos.
+     * Cancela lo pendiente de la partida actual en el hilo de JavaFX (la espera de la IA).
+     * Las tareas del bucle las cancela el propio bucle al abrir otra partida o cerrarse.
      */
-    private void autoSaveThread() {
-        Thread t = new Thread(() -> {
-            try {
-                Thread.sleep(5000);
-                SaveManager.saveState(state);
-            } catch (Exception ignored) {}
-        });
-        t.setDaemon(true);
-        t.start();
+    private void cancelPending() {
+        if (aiThink != null) {
+            aiThink.stop();
+            aiThink = null;
+        }
     }
 
     // ------------------------------------------------------
@@ -385,28 +629,90 @@ public class GameController {
     // ------------------------------------------------------
 
     /**
-     * Manejador del botón "Guardar". Guarda el estado actual y activa el autoguardado.
-     * @throws GameFileException Si ocurre un error al escribir el archivo.
+     * Manejador del botón "Guardar". Guarda el estado actual y, desde ahí, anexa cada jugada a su
+     * diario: unos pocos bytes por jugada en lugar de reescribir la partida entera. También deja una
+     * copia en la ranura del jugador, que se puede elegir después desde el menú principal.
      */
     @FXML
-    private void onSaveGame() throws GameFileException {
-        SaveManager.saveState(state);
-        autoSaveThread();
+    private void onSaveGame() {
+        loop.submit((state, engine) -> {
+                    PersistenceService.getDefault().saveSlot(state.getPlayer().getName(), state);
+                    startJournal(state);
+                })
+                .whenComplete((snapshot, error) -> {
+                    if (error != null && !(error instanceof CancellationException)) {
+                        Platform.runLater(() -> lblStatus.setText("No se pudo guardar la partida"));
+                    }
+                });
     }
 
     /**
      * Manejador del botón "Cargar". Restaura el último estado guardado y actualiza la vista.
-     * @throws GameFileException Si ocurre un error al leer el archivo.
      */
     @FXML
-    private void onLoadGame() throws GameFileException {
-        GameState loaded = SaveManager.loadLastState();
-        if (loaded != null) {
-            state = loaded;
-            renderBoards();
+    private void onLoadGame() {
+        cancelPending();
+        GameLoop target = loop;
+        PersistenceService.getDefault().loadLastState()
+                .thenCompose(loaded -> target.open(() -> {
+                    // Compacta el diario recuperado en un guardado nuevo y sigue registrando
+                    if (loaded != null) startJournal(loaded);
+                    return loaded;
+                }))
+                .whenComplete((snapshot, error) -> {
+                    if (error != null) Platform.runLater(() -> lblStatus.setText("No se pudo cargar la partida"));
+                });
+    }
+
+    /**
+     * Guarda la partida y abre un diario nuevo para ella. Se ejecuta en el hilo del bucle, que solo
+     * codifica: la escritura la hace el servicio de persistencia en su hilo.
+     */
+    private void startJournal(GameState state) throws GameFileException {
+        stopJournal();
+        journal = PersistenceService.getDefault().startJournal(state);
+    }
+
+    /**
+     * Deja de registrar jugadas. Lo ya anexado sigue en disco. Se ejecuta en el hilo del bucle.
+     */
+    private void stopJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Empieza a grabar la repetición de la partida en {@link SaveManager#replaysDir()}, que conserva
+     * solo las {@link SaveManager#MAX_REPLAYS} más recientes. Si no se puede, la partida sigue sin
+     * repetición. Se ejecuta en el hilo del bucle.
+     */
+    private void startReplay(GameState state) {
+        stopReplay();
+        if (!state.getMachineBoard().allShipsPlaced()) return;
+        try {
+            replay = ReplayWriter.create(SaveManager.newReplayFile(state.getPlayer().getName()), state,
+                    ReplayWriter.DEFAULT_KEYFRAME_INTERVAL);
+        } catch (GameFileException e) {
+            replay = null;
         }
     }
 
+    /**
+     * Termina la repetición en curso, aunque la partida no haya acabado: lo grabado se puede ver.
+     * Se ejecuta en el hilo del bucle.
+     */
+    private void stopReplay() {
+        if (replay == null) return;
+        try {
+            replay.finish();
+        } catch (GameFileException ignored) {
+            // La repetición queda sin índice; el lector lo reconstruye
+        }
+        replay = null;
+    }
+
     // ------------------------------------------------------
     // BACK
     // ------------------------------------------------------
@@ -417,10 +723,44 @@ public class GameController {
      */
     @FXML
     private void onBack() throws IOException {
+        if (active == this) active = null;
+        closeLoop();
         Stage stage = (Stage) btnBack.getScene().getWindow();
         stage.setScene(new Scene(
                 javafx.fxml.FXMLLoader.load(getClass()
                         .getResource("/main.fxml"))
         ));
     }
-}
\ No newline at end of file
+
+    /**
+     * Cierra la partida en pantalla, si hay una, al salir de la aplicación: termina su diario y su
+     * repetición y detiene su bucle. Espera como mucho unos segundos.
+     */
+    public static void closeActive() {
+        GameController controller = active;
+        active = null;
+        if (controller == null || controller.loop == null) return;
+        try {
+            controller.closeLoop().get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // Lo ya anexado al diario sigue en disco
+        }
+    }
+
+    /**
+     * Detiene el bucle de la partida. El diario y la repetición se cierran en el hilo del bucle,
+     * antes de detenerlo.
+     *
+     * @return Se completa cuando el bucle ya terminó su último comando.
+     */
+    private CompletableFuture<GameSnapshot> closeLoop() {
+        cancelPending();
+        GameLoop closing = loop;
+        return closing.submit((state, engine) -> {
+            stopJournal();
+            stopReplay();
+        }).whenComplete((snapshot, error) -> closing.close());
+    }
+}
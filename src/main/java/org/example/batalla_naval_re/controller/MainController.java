@@ -1,16 +1,19 @@
 package org.example.batalla_naval_re.controller;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 import org.example.batalla_naval_re.model.GameState;
-import org.example.batalla_naval_re.persistence.SaveManager;
+import org.example.batalla_naval_re.persistence.PersistenceService;
+import org.example.batalla_naval_re.persistence.SaveSlot;
 
 import java.io.IOException;
 import java.net.URL;
@@ -34,6 +37,7 @@ public class MainController {
      * <p>
      * Obtiene el nombre del jugador (o usa "Jugador" por defecto), inicializa
      * un nuevo estado de juego, lo guarda y transiciona a la pantalla de juego.
+     * El guardado se escribe en segundo plano: la escena se abre sin esperar al disco.
      * </p>
      *
      * @param event El evento disparado por el botón "Nuevo Juego".
@@ -43,8 +47,12 @@ public class MainController {
         try {
             String nick = nicknameField.getText().isBlank() ? "Jugador" : nicknameField.getText().trim();
             GameState state = GameState.newGame(nick);
-            SaveManager.saveState(state);
-            openGameScene(event, state);
+            PersistenceService.getDefault().saveState(state)
+                    .exceptionally(error -> {
+                        Platform.runLater(() -> showError("Error al guardar la nueva partida", error));
+                        return null;
+                    });
+            openGameScene(event, state, false);
         } catch (Exception e) {
             showError("Error al crear nueva partida", e);
         }
@@ -54,22 +62,14 @@ public class MainController {
      * Maneja el evento de continuar una partida existente.
      * <p>
      * Intenta cargar el último estado guardado. Si no existe, crea una nueva partida.
-     * Finalmente transiciona a la pantalla de juego.
+     * Finalmente transiciona a la pantalla de juego. La lectura se hace en segundo plano.
      * </p>
      *
      * @param event El evento disparado por el botón "Continuar".
      */
     @FXML
     protected void onContinue(ActionEvent event) {
-        try {
-            GameState state = SaveManager.loadLastState();
-            if(state == null) {
-                state = GameState.newGame("Jugador");
-            }
-            openGameScene(event, state);
-        } catch (Exception e) {
-            showError("Error al continuar partida", e);
-        }
+        openSavedGame(event, "Jugador", "Error al continuar partida");
     }
 
     /**
@@ -82,13 +82,94 @@ public class MainController {
      */
     @FXML
     protected void onShowMachineBoard(ActionEvent event) {
-        try {
-            GameState state = SaveManager.loadLastState();
-            if(state == null) state = GameState.newGame("Verificador");
-            openGameScene(event, state); // Quitamos el parámetro boolean
-        } catch (Exception e) {
-            showError("Error al mostrar tablero de la máquina", e);
-        }
+        openSavedGame(event, "Verificador", "Error al mostrar tablero de la máquina");
+    }
+
+    /**
+     * Maneja el evento de elegir una partida guardada en ranuras.
+     * <p>
+     * La lista sale del índice del contenedor de partidas, sin leer ninguna de ellas; solo se carga
+     * la elegida.
+     * </p>
+     *
+     * @param event El evento disparado por el botón "Partidas".
+     */
+    @FXML
+    protected void onPickSave(ActionEvent event) {
+        PersistenceService io = PersistenceService.getDefault();
+        io.listSlots().whenComplete((slots, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                showError("Error al listar las partidas", error);
+                return;
+            }
+            if (slots.isEmpty()) {
+                Alert alert = new Alert(Alert.AlertType.INFORMATION, "No hay partidas guardadas.");
+                alert.setHeaderText(null);
+                alert.showAndWait();
+                return;
+            }
+            ChoiceDialog<SaveSlot> dialog = new ChoiceDialog<>(slots.get(0), slots);
+            dialog.setTitle("Partidas");
+            dialog.setHeaderText("Elige una partida guardada");
+            dialog.showAndWait().ifPresent(slot -> io.loadSlot(slot.getName())
+                    .whenComplete((loaded, loadError) -> Platform.runLater(() -> {
+                        try {
+                            if (loadError != null) throw loadError;
+                            if (loaded != null) openGameScene(event, loaded, true);
+                        } catch (Throwable e) {
+                            showError("Error al cargar la partida", e);
+                        }
+                    })));
+        }));
+    }
+
+    /**
+     * Maneja el evento de mostrar la clasificación: los 10 mejores jugadores y, si hay un apodo
+     * escrito, sus estadísticas.
+     *
+     * @param event El evento disparado por el botón "Ranking".
+     */
+    @FXML
+    protected void onShowRanking(ActionEvent event) {
+        PersistenceService io = PersistenceService.getDefault();
+        String nick = nicknameField.getText().trim();
+        io.leaderboard(10).thenCombine(io.playerStats(nick), (top, mine) -> {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < top.size(); i++) text.append(i + 1).append(". ").append(top.get(i)).append('\n');
+            if (top.isEmpty()) text.append("Aún no hay partidas terminadas.\n");
+            if (mine != null) text.append('\n').append(mine);
+            return text.toString();
+        }).whenComplete((text, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                showError("Error al cargar las estadísticas", error);
+                return;
+            }
+            Alert alert = new Alert(Alert.AlertType.INFORMATION, text);
+            alert.setTitle("Ranking");
+            alert.setHeaderText("Mejores jugadores");
+            alert.showAndWait();
+        }));
+    }
+
+    /**
+     * Carga en segundo plano el último estado guardado (o crea uno nuevo con el apodo indicado)
+     * y abre con él la pantalla de juego en el hilo de JavaFX.
+     *
+     * @param event       El evento que originó el cambio de escena.
+     * @param defaultNick Apodo de la partida nueva si no hay ninguna guardada.
+     * @param errorTitle  Título del mensaje si algo falla.
+     */
+    private void openSavedGame(ActionEvent event, String defaultNick, String errorTitle) {
+        PersistenceService.getDefault().loadLastState()
+                .whenComplete((loaded, error) -> Platform.runLater(() -> {
+                    try {
+                        if (error != null) throw error;
+                        if (loaded != null) openGameScene(event, loaded, true);
+                        else openGameScene(event, GameState.newGame(defaultNick), false);
+                    } catch (Throwable e) {
+                        showError(errorTitle, e);
+                    }
+                }));
     }
 
     /**
@@ -98,11 +179,12 @@ public class MainController {
      * inicializa el estado del juego en él y cambia la escena actual.
      * </p>
      *
-     * @param event El evento que originó el cambio de escena (usado para obtener el Stage).
-     * @param state El estado del juego a cargar.
+     * @param event  El evento que originó el cambio de escena (usado para obtener el Stage).
+     * @param state  El estado del juego a cargar.
+     * @param resume {@code true} si es una partida cargada que se reanuda tal cual.
      * @throws IOException Si no se encuentra el archivo FXML.
      */
-    private void openGameScene(ActionEvent event, GameState state) throws IOException {
+    private void openGameScene(ActionEvent event, GameState state, boolean resume) throws IOException {
         // Buscar el archivo FXML en resources
         URL fxmlUrl = findResource("game.fxml");
         if (fxmlUrl == null) {
@@ -114,7 +196,8 @@ public class MainController {
         AnchorPane root = loader.load();
         // Llamada CORRECTA a initState
         GameController controller = loader.getController();
-        controller.initState(state);
+        if (resume) controller.resumeState(state);
+        else controller.initState(state);
 
         // Crear escena
         Scene scene = new Scene(root);
@@ -166,7 +249,7 @@ public class MainController {
      * @param title Título del mensaje de error.
      * @param e     La excepción que causó el error.
      */
-    private void showError(String title, Exception e) {
+    private void showError(String title, Throwable e) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
         alert.setHeaderText(title);
@@ -0,0 +1,303 @@
+package org.example.batalla_naval_re.engine;
+
+import org.example.batalla_naval_re.ai.AIBudget;
+import org.example.batalla_naval_re.ai.AIStrategy;
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.example.batalla_naval_re.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Motor de turnos de una partida, independiente de JavaFX.
+ * <p>
+ * Reglas que aplica:
+ * </p>
+ * <ul>
+ *     <li>Empieza disparando el jugador ({@link Side#PLAYER}).</li>
+ *     <li>Tras un impacto o un hundimiento, el mismo bando vuelve a disparar; tras agua, el turno pasa al otro.</li>
+ *     <li>Un disparo repetido no cuenta ni cambia el turno.</li>
+ *     <li>La partida termina cuando un bando hunde todos los barcos del otro.</li>
+ * </ul>
+ * <p>
+ * Cada bando puede estar controlado por una {@link AIStrategy} o por una persona (sin estrategia),
+ * en cuyo caso sus disparos llegan mediante {@link #fire(Side, int, int)}. Los resultados se emiten
+ * a los {@link GameListener} registrados. El motor no es seguro entre hilos.
+ * </p>
+ */
+public class GameEngine {
+
+    /**
+     * Bandos de la partida.
+     */
+    public enum Side {
+        /** El jugador (dueño del primer tablero). */
+        PLAYER,
+        /** La máquina (dueña del segundo tablero). */
+        MACHINE;
+
+        /**
+         * @return El bando contrario.
+         */
+        public Side opponent() {
+            return this == PLAYER ? MACHINE : PLAYER;
+        }
+    }
+
+    /**
+     * Tablero propio de cada bando, indexado por {@link Side#ordinal()}.
+     */
+    private final Board[] boards;
+
+    private final AIStrategy[] strategies = new AIStrategy[2];
+    private final AIBudget[] budgets = {AIBudget.UNLIMITED, AIBudget.UNLIMITED};
+
+    private final int[] shots = new int[2];
+    private final int[] hits = new int[2];
+    private final int[] sunk = new int[2];
+
+    private final List<GameListener> listeners = new ArrayList<>();
+
+    private Side turn = Side.PLAYER;
+    private Side winner;
+    private int turnNumber = 1;
+
+    /**
+     * Crea un motor para dos tableros ya preparados.
+     *
+     * @param playerBoard  Tablero del jugador (al que dispara la máquina).
+     * @param machineBoard Tablero de la máquina (al que dispara el jugador).
+     */
+    public GameEngine(Board playerBoard, Board machineBoard) {
+        this.boards = new Board[]{playerBoard, machineBoard};
+    }
+
+    /**
+     * Crea un motor sobre una partida y mantiene actualizado su estado: barcos hundidos de cada
+     * bando y fin de partida.
+     * <p>
+     * Si la partida viene de un guardado, el motor parte de ella: los contadores de disparos e
+     * impactos salen de los tableros, los de hundidos de la partida, y una partida terminada
+     * conserva su ganador y no admite más disparos.
+     * </p>
+     *
+     * @param state La partida.
+     * @return Un motor cuyo bando {@link Side#MACHINE} aún no tiene estrategia asignada.
+     */
+    public static GameEngine forState(GameState state) {
+        GameEngine engine = new GameEngine(state.getPlayer().getBoard(), state.getMachineBoard());
+        engine.countShots(Side.PLAYER);
+        engine.countShots(Side.MACHINE);
+        engine.sunk[Side.PLAYER.ordinal()] = state.getPlayer().getSunkCount();
+        engine.sunk[Side.MACHINE.ordinal()] = state.getMachineSunkCount().get();
+        if (state.isGameOver()) {
+            Board machine = state.getMachineBoard();
+            engine.winner = machine.getShipCount() > 0 && machine.allShipsSunk() ? Side.PLAYER : Side.MACHINE;
+        }
+        engine.addListener(new GameListener() {
+            @Override
+            public void onShot(Side shooter, int row, int col, Cell.ShotResult result) {
+                if (result != Cell.ShotResult.SUNK) return;
+                if (shooter == Side.PLAYER) state.getPlayer().incrementSunkCount();
+                else state.getMachineSunkCount().incrementAndGet();
+            }
+
+            @Override
+            public void onGameOver(Side winner) {
+                state.setGameOver(true);
+            }
+        });
+        return engine;
+    }
+
+    /**
+     * Cuenta los disparos e impactos que un bando ya hizo sobre el tablero rival.
+     */
+    private void countShots(Side shooter) {
+        Board target = boards[shooter.opponent().ordinal()];
+        int size = target.getSize();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (!target.isTried(r, c)) continue;
+                shots[shooter.ordinal()]++;
+                if (target.getCell(r, c).isShip()) hits[shooter.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Asigna (o quita, con {@code null}) la estrategia que controla un bando.
+     *
+     * @param side     Bando.
+     * @param strategy Estrategia que decidirá sus disparos, o {@code null} si lo controla una persona.
+     * @param budget   Presupuesto por jugada para la estrategia.
+     */
+    public void setStrategy(Side side, AIStrategy strategy, AIBudget budget) {
+        strategies[side.ordinal()] = strategy;
+        budgets[side.ordinal()] = budget == null ? AIBudget.UNLIMITED : budget;
+    }
+
+    /**
+     * @param listener Observador que recibirá los eventos de la partida.
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener Observador a retirar.
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Realiza un disparo del bando indicado contra el tablero contrario.
+     *
+     * @param shooter Bando que dispara; debe ser el que tiene el turno.
+     * @param row     Fila objetivo.
+     * @param col     Columna objetivo.
+     * @return El resultado del disparo.
+     * @throws IllegalStateException Si la partida terminó o no es el turno de ese bando.
+     */
+    public Cell.ShotResult fire(Side shooter, int row, int col) {
+        if (winner != null) throw new IllegalStateException("La partida ya terminó");
+        if (shooter != turn) throw new IllegalStateException("No es el turno de " + shooter);
+
+        int s = shooter.ordinal();
+        Board target = boards[shooter.opponent().ordinal()];
+        Cell.ShotResult result = target.shoot(row, col);
+        if (result == Cell.ShotResult.ALREADY_TRIED) return result;
+
+        shots[s]++;
+        if (result != Cell.ShotResult.MISS) hits[s]++;
+        if (result == Cell.ShotResult.SUNK) sunk[s]++;
+        if (strategies[s] != null) strategies[s].observe(row, col, result);
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).onShot(shooter, row, col, result);
+
+        if (result == Cell.ShotResult.SUNK && target.allShipsSunk()) {
+            winner = shooter;
+            for (int i = 0; i < listeners.size(); i++) listeners.get(i).onGameOver(shooter);
+        } else if (result == Cell.ShotResult.MISS) {
+            turn = shooter.opponent();
+            turnNumber++;
+            for (int i = 0; i < listeners.size(); i++) listeners.get(i).onTurnChanged(turn);
+        }
+        return result;
+    }
+
+    /**
+     * Ejecuta un disparo de la estrategia que controla el bando con el turno.
+     *
+     * @return El resultado del disparo.
+     * @throws IllegalStateException Si la partida terminó, el turno es de una persona
+     *                               o la estrategia repite un disparo.
+     */
+    public Cell.ShotResult step() {
+        if (winner != null) throw new IllegalStateException("La partida ya terminó");
+        AIStrategy strategy = strategies[turn.ordinal()];
+        if (strategy == null) throw new IllegalStateException("El turno de " + turn + " no lo controla una estrategia");
+
+        int size = boards[turn.opponent().ordinal()].getSize();
+        int cell = strategy.decide(budgets[turn.ordinal()]);
+        Cell.ShotResult result = fire(turn, cell / size, cell % size);
+        if (result == Cell.ShotResult.ALREADY_TRIED) {
+            throw new IllegalStateException("La estrategia de " + turn + " repitió el disparo " + cell);
+        }
+        return result;
+    }
+
+    /**
+     * Dispara con las estrategias mientras el turno sea de un bando automático y la partida siga.
+     *
+     * @return Número de disparos realizados.
+     */
+    public int runAiTurns() {
+        int n = 0;
+        while (winner == null && strategies[turn.ordinal()] != null) {
+            step();
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Juega la partida completa entre dos estrategias.
+     *
+     * @return El bando ganador.
+     * @throws IllegalStateException Si algún bando no tiene estrategia.
+     */
+    public Side playToEnd() {
+        runAiTurns();
+        if (winner == null) throw new IllegalStateException("El turno de " + turn + " no lo controla una estrategia");
+        return winner;
+    }
+
+    /**
+     * @return El bando que tiene el turno.
+     */
+    public Side getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return {@code true} si el turno es de un bando controlado por una estrategia.
+     */
+    public boolean isAiTurn() {
+        return winner == null && strategies[turn.ordinal()] != null;
+    }
+
+    /**
+     * @return {@code true} si la partida terminó.
+     */
+    public boolean isOver() {
+        return winner != null;
+    }
+
+    /**
+     * @return El bando ganador, o {@code null} si la partida sigue en curso.
+     */
+    public Side getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return Número de turno actual (empieza en 1 y aumenta con cada cambio de turno).
+     */
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * @param side Bando.
+     * @return Disparos válidos realizados por ese bando.
+     */
+    public int getShots(Side side) {
+        return shots[side.ordinal()];
+    }
+
+    /**
+     * @param side Bando.
+     * @return Impactos (incluidos los que hundieron) logrados por ese bando.
+     */
+    public int getHits(Side side) {
+        return hits[side.ordinal()];
+    }
+
+    /**
+     * @param side Bando.
+     * @return Barcos enemigos hundidos por ese bando.
+     */
+    public int getSunk(Side side) {
+        return sunk[side.ordinal()];
+    }
+
+    /**
+     * @param side Bando.
+     * @return El tablero propio de ese bando.
+     */
+    public Board getBoard(Side side) {
+        return boards[side.ordinal()];
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.batalla_naval_re.engine;
+
+import org.example.batalla_naval_re.model.Cell;
+
+/**
+ * Observador de los eventos de una partida emitidos por {@link GameEngine}.
+ * <p>
+ * Los eventos llegan en el hilo que ejecuta el motor y con argumentos primitivos, para que las
+ * simulaciones masivas no creen objetos por disparo. Todos los métodos son opcionales.
+ * </p>
+ */
+public interface GameListener {
+
+    /**
+     * Se llama después de cada disparo válido (nunca con {@link Cell.ShotResult#ALREADY_TRIED}).
+     *
+     * @param shooter Bando que disparó.
+     * @param row     Fila del disparo.
+     * @param col     Columna del disparo.
+     * @param result  Resultado del disparo.
+     */
+    default void onShot(GameEngine.Side shooter, int row, int col, Cell.ShotResult result) { }
+
+    /**
+     * Se llama cuando el turno pasa al otro bando (tras un disparo al agua).
+     *
+     * @param next Bando que dispara a continuación.
+     */
+    default void onTurnChanged(GameEngine.Side next) { }
+
+    /**
+     * Se llama una sola vez, cuando un bando hunde el último barco del otro.
+     *
+     * @param winner Bando ganador.
+     */
+    default void onGameOver(GameEngine.Side winner) { }
+}
@@ -0,0 +1,367 @@
+package org.example.batalla_naval_re.engine;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.model.ShipType;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bucle de juego de un solo escritor.
+ * <p>
+ * Toda modificación de la partida (colocar barcos, disparar, turnos de la IA, cargar y guardar) se
+ * encola como un {@link Command} y se ejecuta en un único hilo, en orden de llegada. Después de cada
+ * comando se publica una {@link GameSnapshot} inmutable: la interfaz dibuja a partir de ella sin
+ * tocar el modelo, y un guardado que se ejecuta como comando nunca ve un tablero a medio disparar.
+ * No hacen falta cerrojos: el modelo solo lo toca este hilo.
+ * </p>
+ * <p>
+ * Las fotografías se construyen de forma incremental con {@link Board#drainChangedCells}: el bucle
+ * consume el registro de cambios de ambos tableros, así que ninguna vista debe consumirlo a la vez.
+ * Solo se copian los bloques de códigos que tocó el comando; el resto se comparte con la fotografía
+ * anterior.
+ * </p>
+ * <p>
+ * El bucle también es el planificador de la partida: {@link #schedule} ejecuta un comando más tarde
+ * (por ejemplo, el autoguardado) en el mismo hilo. Cada tarea pertenece a la partida abierta cuando se
+ * encoló; al abrir otra partida o cerrar el bucle, las tareas pendientes de la anterior se cancelan y
+ * ninguna llega a tocar la partida nueva. Las métricas ({@link #getQueuedTasks()},
+ * {@link #getInFlightTasks()}, ...) permiten vigilar la cola.
+ * </p>
+ */
+public final class GameLoop implements AutoCloseable {
+
+    /**
+     * Acción que se ejecuta en el hilo del bucle con acceso exclusivo a la partida.
+     */
+    @FunctionalInterface
+    public interface Command {
+        /**
+         * @param state  La partida actual.
+         * @param engine El motor de turnos de la partida.
+         * @throws Exception Si la acción falla; el futuro del comando termina con esa excepción.
+         */
+        void run(GameState state, GameEngine engine) throws Exception;
+    }
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Function<GameState, GameEngine> engineFactory;
+    private final Consumer<GameSnapshot> publisher;
+
+    private volatile Thread loopThread;
+
+    /**
+     * Partida a la que pertenecen las tareas nuevas; cambia con cada {@link #open}.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Tareas programadas con retardo que aún no empezaron, para poder cancelarlas.
+     */
+    private final Map<ScheduledFuture<?>, CompletableFuture<GameSnapshot>> delayed = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    // Solo se usan desde el hilo del bucle
+    private GameState state;
+    private GameEngine engine;
+    private CodeBlocks playerCells;
+    private CodeBlocks machineCells;
+    private long version;
+
+    private volatile GameSnapshot snapshot;
+
+    /**
+     * Crea el bucle y su hilo.
+     *
+     * @param engineFactory Crea el motor (con sus estrategias) para cada partida que se abre.
+     * @param publisher     Recibe cada fotografía nueva, en el hilo del bucle; puede ser {@code null}.
+     *                      Una interfaz gráfica debe reenviarla a su propio hilo.
+     */
+    public GameLoop(Function<GameState, GameEngine> engineFactory, Consumer<GameSnapshot> publisher) {
+        this.engineFactory = engineFactory;
+        this.publisher = publisher;
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "game-loop");
+            t.setDaemon(true);
+            loopThread = t;
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Abre una partida: la carga o prepara en el hilo del bucle, crea su motor y publica la primera fotografía.
+     * <p>
+     * Cancela todas las tareas pendientes de la partida anterior, incluidas las programadas con retardo.
+     * </p>
+     *
+     * @param loader Devuelve la partida a jugar; si devuelve {@code null} se conserva la actual.
+     * @return Futuro con la fotografía publicada.
+     */
+    public CompletableFuture<GameSnapshot> open(Callable<GameState> loader) {
+        long game = generation.incrementAndGet();
+        cancelDelayed();
+        return enqueue(game, () -> {
+            GameState loaded = loader.call();
+            if (loaded == null) return;
+            state = loaded;
+            engine = engineFactory.apply(loaded);
+            // Partida nueva: las fotografías anteriores no sirven de base
+            loaded.getPlayer().getBoard().drainChangedCells(i -> { });
+            loaded.getMachineBoard().drainChangedCells(i -> { });
+            playerCells = new CodeBlocks(loaded.getPlayer().getBoard());
+            machineCells = new CodeBlocks(loaded.getMachineBoard());
+        });
+    }
+
+    /**
+     * Encola un comando sobre la partida abierta.
+     *
+     * @param command La acción a ejecutar.
+     * @return Futuro con la fotografía publicada tras el comando, o con la excepción del comando.
+     *         Falla con {@link IllegalStateException} si aún no se abrió ninguna partida.
+     */
+    public CompletableFuture<GameSnapshot> submit(Command command) {
+        return enqueue(generation.get(), toAction(command));
+    }
+
+    /**
+     * Programa un comando sobre la partida abierta para dentro de un tiempo.
+     * <p>
+     * Si antes de ejecutarse se abre otra partida o se cierra el bucle, el comando se cancela.
+     * Cancelar el futuro devuelto también lo retira de la cola.
+     * </p>
+     *
+     * @param command La acción a ejecutar.
+     * @param delay   Retardo.
+     * @param unit    Unidad del retardo.
+     * @return Futuro con la fotografía publicada tras el comando.
+     */
+    public CompletableFuture<GameSnapshot> schedule(Command command, long delay, TimeUnit unit) {
+        long game = generation.get();
+        CompletableFuture<GameSnapshot> future = new CompletableFuture<>();
+        queued.incrementAndGet();
+        try {
+            ScheduledFuture<?>[] handle = new ScheduledFuture<?>[1];
+            handle[0] = executor.schedule(() -> {
+                if (handle[0] != null) delayed.remove(handle[0]);
+                queued.decrementAndGet();
+                runTask(game, toAction(command), future);
+            }, delay, unit);
+            if (!handle[0].isDone()) delayed.put(handle[0], future);
+            future.whenComplete((snapshot, error) -> {
+                if (future.isCancelled() && handle[0].cancel(false)) {
+                    delayed.remove(handle[0]);
+                    queued.decrementAndGet();
+                    cancelled.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            future.completeExceptionally(new IllegalStateException("El bucle de juego está cerrado", e));
+        }
+        return future;
+    }
+
+    /**
+     * @return La última fotografía publicada, o {@code null} si aún no se abrió ninguna partida.
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return {@code true} si el hilo actual es el del bucle.
+     */
+    public boolean isLoopThread() {
+        return Thread.currentThread() == loopThread;
+    }
+
+    /**
+     * @return Tareas encoladas o programadas que aún no empezaron.
+     */
+    public int getQueuedTasks() {
+        return queued.get();
+    }
+
+    /**
+     * @return Tareas ejecutándose ahora mismo (0 o 1: el bucle tiene un solo hilo).
+     */
+    public int getInFlightTasks() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return Tareas terminadas, con éxito o con error.
+     */
+    public long getCompletedTasks() {
+        return completed.get();
+    }
+
+    /**
+     * @return Tareas canceladas antes de ejecutarse (por cambio de partida, cierre o a petición).
+     */
+    public long getCancelledTasks() {
+        return cancelled.get();
+    }
+
+    /**
+     * Detiene el bucle. Los comandos pendientes y programados se cancelan.
+     */
+    @Override
+    public void close() {
+        generation.incrementAndGet();
+        cancelDelayed();
+        executor.shutdown();
+    }
+
+    private void cancelDelayed() {
+        for (Map.Entry<ScheduledFuture<?>, CompletableFuture<GameSnapshot>> task : delayed.entrySet()) {
+            delayed.remove(task.getKey());
+            if (task.getKey().cancel(false)) {
+                queued.decrementAndGet();
+                cancelled.incrementAndGet();
+                task.getValue().completeExceptionally(new CancellationException("La partida de esta tarea ya no está abierta"));
+            }
+        }
+    }
+
+    private Action toAction(Command command) {
+        return () -> {
+            if (state == null) throw new IllegalStateException("No hay ninguna partida abierta");
+            command.run(state, engine);
+        };
+    }
+
+    private CompletableFuture<GameSnapshot> enqueue(long game, Action action) {
+        CompletableFuture<GameSnapshot> future = new CompletableFuture<>();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queued.decrementAndGet();
+                runTask(game, action, future);
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            future.completeExceptionally(new IllegalStateException("El bucle de juego está cerrado", e));
+        }
+        return future;
+    }
+
+    private void runTask(long game, Action action, CompletableFuture<GameSnapshot> future) {
+        // Tarea de una partida que ya no está abierta (o cancelada mientras esperaba): no se ejecuta
+        if (game != generation.get() || future.isDone()) {
+            cancelled.incrementAndGet();
+            future.completeExceptionally(new CancellationException("La partida de esta tarea ya no está abierta"));
+            return;
+        }
+        inFlight.incrementAndGet();
+        Throwable failure = null;
+        try {
+            action.run();
+        } catch (Throwable e) {
+            failure = e;
+        }
+        // Aunque el comando falle pudo haber modificado algo: se publica igualmente
+        GameSnapshot published = null;
+        try {
+            published = publish();
+        } catch (Throwable e) {
+            if (failure == null) failure = e;
+        }
+        inFlight.decrementAndGet();
+        completed.incrementAndGet();
+        if (failure != null) future.completeExceptionally(failure);
+        else future.complete(published);
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private GameSnapshot publish() {
+        if (state == null) return null;
+        Board player = state.getPlayer().getBoard();
+        Board machine = state.getMachineBoard();
+        playerCells.update(player);
+        machineCells.update(machine);
+
+        GameSnapshot published = new GameSnapshot(++version, state.getBoardSize(),
+                playerCells.publish(), machineCells.publish(), engine, nextShipToPlace(player));
+        snapshot = published;
+        if (publisher != null) publisher.accept(published);
+        return published;
+    }
+
+    /**
+     * Códigos de un tablero en bloques de copia en escritura: un bloque ya publicado no se modifica
+     * nunca, se copia la primera vez que un comando cambia una de sus celdas.
+     */
+    private static final class CodeBlocks {
+
+        private final int cells;
+        private byte[][] blocks;
+        /** Bloques copiados desde la última publicación, que aún se pueden escribir. */
+        private final boolean[] writable;
+
+        CodeBlocks(Board board) {
+            cells = board.getSize() * board.getSize();
+            writable = new boolean[(cells + GameSnapshot.BLOCK - 1) >>> GameSnapshot.BLOCK_SHIFT];
+            encodeAll(board);
+        }
+
+        void update(Board board) {
+            if (board.drainChangedCells(i -> set(i, GameSnapshot.encode(board, i)))) encodeAll(board);
+        }
+
+        byte[][] publish() {
+            Arrays.fill(writable, false);
+            return blocks.clone();
+        }
+
+        private void set(int index, byte code) {
+            int k = index >>> GameSnapshot.BLOCK_SHIFT;
+            if (!writable[k]) {
+                blocks[k] = blocks[k].clone();
+                writable[k] = true;
+            }
+            blocks[k][index & (GameSnapshot.BLOCK - 1)] = code;
+        }
+
+        private void encodeAll(Board board) {
+            blocks = new byte[writable.length][];
+            for (int k = 0; k < blocks.length; k++) {
+                blocks[k] = new byte[Math.min(GameSnapshot.BLOCK, cells - (k << GameSnapshot.BLOCK_SHIFT))];
+            }
+            Arrays.fill(writable, true);
+            for (int i = 0; i < cells; i++) set(i, GameSnapshot.encode(board, i));
+        }
+    }
+
+    private static ShipType nextShipToPlace(Board board) {
+        for (int i = 0; i < board.getShipCount(); i++) {
+            Ship ship = board.getShip(i);
+            if (!ship.isPlaced()) return ship.getType();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.batalla_naval_re.engine;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.model.ShipType;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Fotografía inmutable de una partida, publicada por {@link GameLoop} después de cada comando.
+ * <p>
+ * La interfaz solo lee fotografías, nunca el modelo: así no puede ver un tablero a medio modificar
+ * ni necesita sincronizarse con el hilo que juega. Cada celda se resume en un byte:
+ * </p>
+ * <pre>
+ * bits 0-1  disparo: 0 ninguno, 1 agua, 2 impacto, 3 hundido
+ * bit  2    hay barco
+ * bits 3-4  tipo de barco (ordinal de {@link ShipType})
+ * bit  5    barco horizontal
+ * bits 6-7  segmento del barco (0 = proa)
+ * </pre>
+ * <p>
+ * Dos celdas se dibujan igual si y solo si tienen el mismo código, por lo que la vista puede repintar
+ * solo los índices cuyo código cambió respecto de la última fotografía que dibujó. Los códigos se
+ * guardan en bloques de {@value #BLOCK} celdas que se copian al escribirse: fotografías consecutivas
+ * comparten los bloques que no cambiaron, y {@link #forEachChangedCell} solo recorre los demás.
+ * </p>
+ */
+public final class GameSnapshot {
+
+    /** Celda sin disparo. */
+    public static final int SHOT_NONE = 0;
+    /** Disparo al agua. */
+    public static final int SHOT_MISS = 1;
+    /** Impacto en un barco a flote. */
+    public static final int SHOT_HIT = 2;
+    /** Segmento de un barco hundido. */
+    public static final int SHOT_SUNK = 3;
+
+    /** Celdas por bloque de códigos. */
+    static final int BLOCK = 64;
+    static final int BLOCK_SHIFT = 6;
+
+    private static final int SHIP_BIT = 1 << 2;
+    private static final int HORIZONTAL_BIT = 1 << 5;
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private final long version;
+    private final int size;
+    /**
+     * Bloques de códigos de cada tablero, indexados por {@link GameEngine.Side#ordinal()}.
+     */
+    private final byte[][][] cells;
+    private final int[] shots;
+    private final int[] sunk;
+    private final GameEngine.Side turn;
+    private final GameEngine.Side winner;
+    private final int turnNumber;
+    private final ShipType nextShipToPlace;
+
+    GameSnapshot(long version, int size, byte[][] playerBlocks, byte[][] machineBlocks, GameEngine engine,
+                 ShipType nextShipToPlace) {
+        this.version = version;
+        this.size = size;
+        this.cells = new byte[][][]{playerBlocks, machineBlocks};
+        this.shots = new int[]{engine.getShots(GameEngine.Side.PLAYER), engine.getShots(GameEngine.Side.MACHINE)};
+        this.sunk = new int[]{engine.getSunk(GameEngine.Side.PLAYER), engine.getSunk(GameEngine.Side.MACHINE)};
+        this.turn = engine.getTurn();
+        this.winner = engine.getWinner();
+        this.turnNumber = engine.getTurnNumber();
+        this.nextShipToPlace = nextShipToPlace;
+    }
+
+    /**
+     * Calcula el código de una celda a partir del tablero. Solo debe llamarse desde el hilo del bucle.
+     *
+     * @param board El tablero.
+     * @param index Índice lineal de la celda.
+     * @return El código de la celda.
+     */
+    static byte encode(Board board, int index) {
+        int size = board.getSize();
+        Cell cell = board.getCell(index / size, index % size);
+        int code;
+        if (cell.isSunkPart()) code = SHOT_SUNK;
+        else if (cell.isHit()) code = SHOT_HIT;
+        else if (cell.isMiss()) code = SHOT_MISS;
+        else code = SHOT_NONE;
+
+        Ship ship = cell.getShip();
+        if (cell.isShip() && ship != null) {
+            code |= SHIP_BIT | ship.getType().ordinal() << 3;
+            if (ship.isHorizontal()) code |= HORIZONTAL_BIT;
+            code |= Math.max(0, ship.segmentOf(cell)) << 6;
+        }
+        return (byte) code;
+    }
+
+    /**
+     * @return Número de orden de la fotografía; crece con cada comando ejecutado.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Número de filas y columnas de los tableros.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param board Bando dueño del tablero.
+     * @param index Índice lineal ({@code fila * tamaño + columna}).
+     * @return El código de la celda (ver la documentación de la clase).
+     */
+    public int cellCode(GameEngine.Side board, int index) {
+        return cells[board.ordinal()][index >>> BLOCK_SHIFT][index & (BLOCK - 1)] & 0xFF;
+    }
+
+    /**
+     * Entrega las celdas cuyo código difiere del de otra fotografía, normalmente la última que se dibujó.
+     * <p>
+     * Los bloques compartidos con esa fotografía se saltan sin leerlos, así que el coste depende de lo
+     * que cambió y no del tamaño del tablero. Sirve aunque entre ambas se hayan publicado otras.
+     * </p>
+     *
+     * @param previous Fotografía de referencia, o {@code null} (o de otro tamaño) para recibir todas las celdas.
+     * @param board    Bando dueño del tablero.
+     * @param consumer Recibe el índice lineal de cada celda distinta.
+     */
+    public void forEachChangedCell(GameSnapshot previous, GameEngine.Side board, IntConsumer consumer) {
+        byte[][] blocks = cells[board.ordinal()];
+        byte[][] before = previous == null || previous.size != size ? null : previous.cells[board.ordinal()];
+        for (int k = 0; k < blocks.length; k++) {
+            byte[] block = blocks[k];
+            if (before != null && before[k] == block) continue;
+            int base = k << BLOCK_SHIFT;
+            for (int j = 0; j < block.length; j++) {
+                if (before == null || before[k][j] != block[j]) consumer.accept(base + j);
+            }
+        }
+    }
+
+    /**
+     * @return Bando que tiene el turno.
+     */
+    public GameEngine.Side getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return Ganador, o {@code null} si la partida sigue.
+     */
+    public GameEngine.Side getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return {@code true} si la partida terminó.
+     */
+    public boolean isOver() {
+        return winner != null;
+    }
+
+    /**
+     * @return Número de turno actual (empieza en 1).
+     */
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * @param side Bando que dispara.
+     * @return Disparos válidos realizados por ese bando.
+     */
+    public int getShots(GameEngine.Side side) {
+        return shots[side.ordinal()];
+    }
+
+    /**
+     * @param side Bando que dispara.
+     * @return Barcos rivales hundidos por ese bando.
+     */
+    public int getSunk(GameEngine.Side side) {
+        return sunk[side.ordinal()];
+    }
+
+    /**
+     * @return Tipo del siguiente barco que el jugador debe colocar, o {@code null} si ya colocó la flota.
+     */
+    public ShipType getNextShipToPlace() {
+        return nextShipToPlace;
+    }
+
+    /**
+     * @return {@code true} mientras el jugador está colocando su flota.
+     */
+    public boolean isPlacing() {
+        return nextShipToPlace != null;
+    }
+
+    // ------------------------------------------------------
+    // DECODIFICACIÓN DE CÓDIGOS DE CELDA
+    // ------------------------------------------------------
+
+    /**
+     * @param code Código de celda.
+     * @return Una de las constantes {@code SHOT_*}.
+     */
+    public static int shotOf(int code) {
+        return code & 3;
+    }
+
+    /**
+     * @param code Código de celda.
+     * @return {@code true} si la celda tiene un barco.
+     */
+    public static boolean hasShip(int code) {
+        return (code & SHIP_BIT) != 0;
+    }
+
+    /**
+     * @param code Código de celda con barco.
+     * @return Tipo del barco.
+     */
+    public static ShipType shipTypeOf(int code) {
+        return TYPES[(code >>> 3) & 3];
+    }
+
+    /**
+     * @param code Código de celda con barco.
+     * @return {@code true} si el barco es horizontal.
+     */
+    public static boolean isHorizontal(int code) {
+        return (code & HORIZONTAL_BIT) != 0;
+    }
+
+    /**
+     * @param code Código de celda con barco.
+     * @return Índice del segmento del barco que ocupa la celda.
+     */
+    public static int segmentOf(int code) {
+        return (code >>> 6) & 3;
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.batalla_naval_re.model;
+
+import java.util.Arrays;
+
+/**
+ * Almacenamiento de celdas con bitboards de 128 bits para tableros pequeños.
+ * <p>
+ * Ocupación, impactos, fallos, partes hundidas y visibilidad son máscaras de 128 bits
+ * (un par de {@code long}), un arreglo de bytes indica qué barco ocupa cada casilla y se guarda
+ * la huella de cada barco. La legalidad de una colocación se resuelve con la {@link PlacementTable}.
+ * </p>
+ */
+final class BitboardStore implements CellStore {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int size;
+
+    // Bitboards del estado de las celdas (mitad baja / mitad alta)
+    private long shipLo, shipHi;
+    private long hitLo, hitHi;
+    private long missLo, missHi;
+    private long sunkLo, sunkHi;
+    private long visibleLo, visibleHi;
+
+    /**
+     * Identificador del barco que ocupa cada celda (0 = agua).
+     */
+    private final byte[] shipIds;
+
+    /**
+     * Huella (celdas ocupadas) de cada barco, indexada por identificador.
+     */
+    private long[] footprintLo = new long[11];
+    private long[] footprintHi = new long[11];
+
+    /**
+     * Tabla de colocaciones; no se serializa porque es compartida y se reconstruye por tamaño.
+     */
+    private transient PlacementTable placements;
+
+    BitboardStore(int size) {
+        this.size = size;
+        this.shipIds = new byte[size * size];
+    }
+
+    /**
+     * @return La tabla de colocaciones para el tamaño de este tablero.
+     */
+    PlacementTable placements() {
+        if (placements == null) placements = PlacementTable.forSize(size);
+        return placements;
+    }
+
+    long shipLo() { return shipLo; }
+    long shipHi() { return shipHi; }
+
+    @Override public boolean isShip(int index) { return Bits128.test(shipLo, shipHi, index); }
+
+    @Override public boolean isHit(int index) { return Bits128.test(hitLo, hitHi, index); }
+
+    @Override public boolean isMiss(int index) { return Bits128.test(missLo, missHi, index); }
+
+    @Override public boolean isSunk(int index) { return Bits128.test(sunkLo, sunkHi, index); }
+
+    @Override public boolean isVisible(int index) { return Bits128.test(visibleLo, visibleHi, index); }
+
+    @Override
+    public boolean isTried(int index) {
+        return Bits128.test(hitLo | missLo, hitHi | missHi, index);
+    }
+
+    @Override
+    public int shipId(int index) {
+        return shipIds[index];
+    }
+
+    @Override
+    public void setShip(int index, int id) {
+        long lo = Bits128.loBit(index);
+        long hi = Bits128.hiBit(index);
+
+        int previous = shipIds[index];
+        if (previous != 0) {
+            footprintLo[previous] &= ~lo;
+            footprintHi[previous] &= ~hi;
+        }
+
+        shipIds[index] = (byte) id;
+        if (id == 0) {
+            shipLo &= ~lo;
+            shipHi &= ~hi;
+            return;
+        }
+
+        if (id >= footprintLo.length) {
+            int capacity = Math.max(id + 1, footprintLo.length * 2);
+            footprintLo = Arrays.copyOf(footprintLo, capacity);
+            footprintHi = Arrays.copyOf(footprintHi, capacity);
+        }
+        shipLo |= lo;
+        shipHi |= hi;
+        footprintLo[id] |= lo;
+        footprintHi[id] |= hi;
+    }
+
+    @Override
+    public void setHit(int index, boolean value) {
+        if (value) {
+            hitLo |= Bits128.loBit(index);
+            hitHi |= Bits128.hiBit(index);
+        } else {
+            hitLo &= ~Bits128.loBit(index);
+            hitHi &= ~Bits128.hiBit(index);
+        }
+    }
+
+    @Override
+    public void setMiss(int index, boolean value) {
+        if (value) {
+            missLo |= Bits128.loBit(index);
+            missHi |= Bits128.hiBit(index);
+        } else {
+            missLo &= ~Bits128.loBit(index);
+            missHi &= ~Bits128.hiBit(index);
+        }
+    }
+
+    @Override
+    public void setSunk(int index, boolean value) {
+        if (value) {
+            sunkLo |= Bits128.loBit(index);
+            sunkHi |= Bits128.hiBit(index);
+        } else {
+            sunkLo &= ~Bits128.loBit(index);
+            sunkHi &= ~Bits128.hiBit(index);
+        }
+    }
+
+    @Override
+    public void setVisible(int index, boolean value) {
+        if (value) {
+            visibleLo |= Bits128.loBit(index);
+            visibleHi |= Bits128.hiBit(index);
+        } else {
+            visibleLo &= ~Bits128.loBit(index);
+            visibleHi &= ~Bits128.hiBit(index);
+        }
+    }
+
+    @Override
+    public boolean isFree(int row, int col) {
+        int i = row * size + col;
+        return (shipLo & placements().cellHaloLo(i)) == 0 && (shipHi & placements().cellHaloHi(i)) == 0;
+    }
+
+    @Override
+    public boolean canPlace(ShipType type, int row, int col, boolean horizontal) {
+        PlacementTable table = placements();
+        int p = table.find(type, row, col, horizontal);
+        return p >= 0 && table.isLegal(p, shipLo, shipHi);
+    }
+
+    @Override
+    public void markSunk(int id, Ship ship) {
+        sunkLo |= footprintLo[id];
+        sunkHi |= footprintHi[id];
+    }
+
+    @Override
+    public void clear() {
+        shipLo = shipHi = 0;
+        hitLo = hitHi = 0;
+        missLo = missHi = 0;
+        sunkLo = sunkHi = 0;
+        visibleLo = visibleHi = 0;
+        Arrays.fill(shipIds, (byte) 0);
+        Arrays.fill(footprintLo, 0);
+        Arrays.fill(footprintHi, 0);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.batalla_naval_re.model;
+
+/**
+ * Utilidades para manipular máscaras de 128 bits representadas como un par de {@code long}.
+ * <p>
+ * El bit {@code i} de la máscara corresponde a la celda con índice lineal
+ * {@code fila * SIZE + columna}. Los bits 0-63 viven en la mitad baja ({@code lo})
+ * y los bits 64-127 en la mitad alta ({@code hi}).
+ * </p>
+ */
+public final class Bits128 {
+
+    private Bits128() { }
+
+    /**
+     * Obtiene el bit correspondiente al índice dentro de la mitad baja.
+     *
+     * @param index Índice lineal de la celda (0 a 127).
+     * @return La máscara con el bit encendido, o {@code 0} si el índice pertenece a la mitad alta.
+     */
+    public static long loBit(int index) {
+        return index < 64 ? 1L << index : 0L;
+    }
+
+    /**
+     * Obtiene el bit correspondiente al índice dentro de la mitad alta.
+     *
+     * @param index Índice lineal de la celda (0 a 127).
+     * @return La máscara con el bit encendido, o {@code 0} si el índice pertenece a la mitad baja.
+     */
+    public static long hiBit(int index) {
+        return index < 64 ? 0L : 1L << (index - 64);
+    }
+
+    /**
+     * Verifica si un bit está encendido en la máscara.
+     *
+     * @param lo    Mitad baja de la máscara.
+     * @param hi    Mitad alta de la máscara.
+     * @param index Índice lineal de la celda.
+     * @return {@code true} si el bit está encendido.
+     */
+    public static boolean test(long lo, long hi, int index) {
+        return ((lo & loBit(index)) | (hi & hiBit(index))) != 0;
+    }
+}
@@ -2,64 +2,172 @@ package org.example.batalla_naval_re.model;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.function.IntConsumer;
 
 /**
  * Representa el tablero de juego de Batalla Naval.
  * <p>
- * Mantiene el estado de la cuadrícula de celdas (10x10), la lista de barcos colocados
- * y gestiona la lógica principal del juego: disparos, colocación de barcos (manual y aleatoria)
- * y verificación de reglas de posición.
+ * Mantiene el estado de la cuadrícula (10x10 por defecto, configurable por partida), la lista
+ * de barcos colocados y gestiona la lógica principal del juego: disparos, colocación de barcos
+ * (manual y aleatoria) y verificación de reglas de posición.
+ * </p>
+ * <p>
+ * El estado de las celdas se delega en un {@link CellStore}. Los tableros de hasta 128 celdas
+ * usan bitboards: ocupación, impactos, fallos, partes hundidas y visibilidad son máscaras de
+ * 128 bits, y las consultas de disparo y colocación se resuelven con operaciones de máscara.
+ * Los tableros grandes usan un almacenamiento por bloques que solo reserva memoria en las zonas
+ * con barcos o disparos. {@link #getCell(int, int)} entrega vistas {@link Cell} sobre este
+ * estado para la capa de JavaFX.
  * </p>
  */
 public class Board implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 3L;
 
     /**
-     * Tamaño del tablero (número de filas y columnas). Por defecto es 10.
+     * Tamaño por defecto del tablero (número de filas y columnas).
      */
     public static final int SIZE = 10;
 
-    private final Cell[][] grid;
+    /**
+     * Tamaño máximo admitido para variantes de océano grande.
+     */
+    public static final int MAX_SIZE = 2000;
+
+    /**
+     * Composición de la flota estándar: 1 portaaviones, 2 submarinos, 3 destructores y 4 fragatas.
+     */
+    private static final ShipType[] FLEET = {
+            ShipType.CARRIER,
+            ShipType.SUBMARINE, ShipType.SUBMARINE,
+            ShipType.DESTROYER, ShipType.DESTROYER, ShipType.DESTROYER,
+            ShipType.FRIGATE, ShipType.FRIGATE, ShipType.FRIGATE, ShipType.FRIGATE
+    };
+
+    /**
+     * Intentos por barco antes de reiniciar la colocación aleatoria en tableros grandes.
+     */
+    private static final int RANDOM_ATTEMPTS_PER_SHIP = 1000;
+
+    /**
+     * Máximo de celdas modificadas que se recuerdan una por una; por encima se repinta todo.
+     */
+    private static final int MAX_TRACKED_CHANGES = 4096;
+
+    /**
+     * Número de filas y columnas de este tablero.
+     */
+    private final int size;
+
+    /**
+     * Estado de las celdas (bitboards o bloques dispersos según el tamaño).
+     */
+    private final CellStore store;
+
+    /**
+     * Barcos registrados en el tablero, indexados por su identificador (la posición 0 no se usa).
+     */
+    private Ship[] shipsById;
+    private int registeredCount;
+
+    /**
+     * Cantidad de barcos registrados que aún no han sido hundidos.
+     */
+    private int shipsAfloat;
+
     private final List<Ship> ships;
     private final Random random;
 
+    /**
+     * Vista de solo lectura de {@link #ships}, creada una única vez.
+     */
+    private transient List<Ship> shipsView;
+
+    /**
+     * Generador de distribuciones para la colocación automática, creado bajo demanda.
+     */
+    private transient FleetLayoutSampler sampler;
+
+    /**
+     * Vistas {@link Cell} creadas bajo demanda para cada casilla (solo en tableros con bitboards).
+     */
+    private transient Cell[] views;
+
+    /**
+     * Celdas modificadas desde la última llamada a {@link #drainChangedCells(IntConsumer)}.
+     * Mientras {@code changesTracked} sea {@code false} (tablero nuevo, deserializado, limpiado o con
+     * demasiados cambios acumulados) se considera que todo el tablero cambió.
+     */
+    private transient int[] changed;
+    private transient int changedCount;
+    private transient BitSet changedMarks;
+    private transient boolean changesTracked;
+
     /**
      * Constructor por defecto.
-     * Inicializa la cuadrícula de celdas vacías y las listas internas.
+     * Crea un tablero de {@link #SIZE}x{@link #SIZE} vacío.
      */
     public Board() {
-        grid = new Cell[SIZE][SIZE];
+        this(SIZE);
+    }
+
+    /**
+     * Crea un tablero vacío de {@code size x size}.
+     *
+     * @param size Número de filas y columnas (1 a {@link #MAX_SIZE}).
+     * @throws IllegalArgumentException Si el tamaño está fuera de rango.
+     */
+    public Board(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Tamaño de tablero fuera de rango: " + size);
+        }
+        this.size = size;
+        this.store = CellStore.create(size);
+        shipsById = new Ship[11];
         ships = new ArrayList<>();
         random = new Random();
-        initializeGrid();
     }
 
     /**
-     * Llena la cuadrícula con nuevas instancias de {@link Cell}.
+     * Obtiene el número de filas y columnas del tablero.
+     *
+     * @return El tamaño del tablero.
      */
-    private void initializeGrid() {
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                grid[r][c] = new Cell(r, c);
-            }
-        }
+    public int getSize() {
+        return size;
     }
 
     /**
      * Obtiene la celda en la posición especificada.
+     * <p>
+     * La celda es una vista sobre el estado del tablero: leer o modificar
+     * su estado actúa directamente sobre este tablero.
+     * </p>
      *
-     * @param row indice de la fila (0 a SIZE-1).
-     * @param col indice de la columna (0 a SIZE-1).
+     * @param row indice de la fila (0 a size-1).
+     * @param col indice de la columna (0 a size-1).
      * @return El objeto {@link Cell} en esa posición.
      * @throws IndexOutOfBoundsException Si las coordenadas estan fuera del tablero.
      */
     public Cell getCell(int row, int col) {
-        if (isValidPosition(row, col)) return grid[row][col];
-        throw new IndexOutOfBoundsException("Posición fuera del tablero");
+        if (!isValidPosition(row, col)) throw new IndexOutOfBoundsException("Posición fuera del tablero");
+
+        // En tableros grandes no se cachean vistas: la memoria debe crecer con la actividad, no con el área
+        if (!(store instanceof BitboardStore)) return new Cell(this, row, col);
+
+        if (views == null) views = new Cell[size * size];
+        int i = row * size + col;
+        Cell view = views[i];
+        if (view == null) {
+            view = new Cell(this, row, col);
+            views[i] = view;
+        }
+        return view;
     }
 
     /**
@@ -70,7 +178,80 @@ public class Board implements Serializable {
      * @return {@code true} si la posición es válida, {@code false} en caso contrario.
      */
     public boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    /**
+     * Verifica si ya se disparó a una celda, sin crear su vista {@link Cell}.
+     *
+     * @param row indice de la fila (0 a size-1).
+     * @param col indice de la columna (0 a size-1).
+     * @return {@code true} si la celda ya recibió un disparo.
+     * @throws IndexOutOfBoundsException Si las coordenadas estan fuera del tablero.
+     */
+    public boolean isTried(int row, int col) {
+        if (!isValidPosition(row, col)) throw new IndexOutOfBoundsException("Posición fuera del tablero");
+        return store.isTried(row * size + col);
+    }
+
+    // -----------------------------------
+    //      ESTADO POR CELDA (usado por Cell)
+    // -----------------------------------
+
+    boolean isShipAt(int index) { return store.isShip(index); }
+
+    boolean isHitAt(int index) { return store.isHit(index); }
+
+    boolean isMissAt(int index) { return store.isMiss(index); }
+
+    boolean isSunkAt(int index) { return store.isSunk(index); }
+
+    boolean isVisibleAt(int index) { return store.isVisible(index); }
+
+    Ship shipAt(int index) { return shipsById[store.shipId(index)]; }
+
+    /**
+     * Asigna (o retira, si es {@code null}) el barco que ocupa una celda.
+     */
+    void setShipAt(int index, Ship ship) {
+        store.setShip(index, ship == null ? 0 : register(ship));
+        markChanged(index);
+    }
+
+    void setMissAt(int index, boolean value) { store.setMiss(index, value); markChanged(index); }
+
+    void setVisibleAt(int index, boolean value) { store.setVisible(index, value); markChanged(index); }
+
+    /**
+     * Restablece una celda a agua sin disparos.
+     */
+    void clearAt(int index) {
+        store.setShip(index, 0);
+        store.setHit(index, false);
+        store.setMiss(index, false);
+        store.setSunk(index, false);
+        store.setVisible(index, false);
+        markChanged(index);
+    }
+
+    /**
+     * Obtiene el identificador de un barco en este tablero, registrándolo si es nuevo.
+     *
+     * @param ship El barco a registrar.
+     * @return Identificador entre 1 y 127.
+     */
+    private int register(Ship ship) {
+        for (int id = 1; id <= registeredCount; id++) {
+            if (shipsById[id] == ship) return id;
+        }
+        int id = ++registeredCount;
+        if (id > Byte.MAX_VALUE) throw new IllegalStateException("Demasiados barcos en el tablero");
+        if (id >= shipsById.length) {
+            shipsById = Arrays.copyOf(shipsById, Math.min(shipsById.length * 2, Byte.MAX_VALUE + 1));
+        }
+        shipsById[id] = ship;
+        shipsAfloat++;
+        return id;
     }
 
     // -----------------------------------
@@ -80,23 +261,107 @@ public class Board implements Serializable {
     /**
      * Realiza un disparo en la coordenada indicada.
      * <p>
-     * Delega la lógica a la celda correspondiente y verifica si el disparo
-     * resultó en el hundimiento de un barco completo.
+     * Marca el impacto o el fallo y, si todas las celdas del barco alcanzado están impactadas,
+     * lo marca como hundido. El coste no depende del tamaño del tablero.
      * </p>
      *
      * @param row Fila objetivo.
      * @param col Columna objetivo.
-     * @return El resultado del disparo: {@code MISS} (Agua), {@code HIT} (Tocado), o {@code SUNK} (Hundido).
+     * @return El resultado del disparo: {@code MISS} (Agua), {@code HIT} (Tocado), {@code SUNK} (Hundido)
+     *         o {@code ALREADY_TRIED} si la celda ya había sido disparada.
+     * @throws IndexOutOfBoundsException Si las coordenadas estan fuera del tablero.
      */
     public Cell.ShotResult shoot(int row, int col) {
-        Cell cell = getCell(row, col);
-        Cell.ShotResult result = cell.shoot();
+        if (!isValidPosition(row, col)) throw new IndexOutOfBoundsException("Posición fuera del tablero");
 
-        if (result == Cell.ShotResult.HIT) {
-            Ship ship = cell.getShip();
-            if (ship != null && ship.isSunk()) result = Cell.ShotResult.SUNK;
+        int i = row * size + col;
+        if (store.isTried(i)) return Cell.ShotResult.ALREADY_TRIED;
+
+        if (!store.isShip(i)) {
+            store.setMiss(i, true);
+            markChanged(i);
+            return Cell.ShotResult.MISS;
+        }
+
+        return applyHit(i) ? Cell.ShotResult.SUNK : Cell.ShotResult.HIT;
+    }
+
+    /**
+     * Registra un impacto en una celda aún no impactada.
+     * <p>
+     * Es el único camino por el que un barco recibe impactos: el barco actualiza su máscara
+     * de segmentos y su contador de casco en tiempo constante y, si se hunde, el tablero
+     * marca sus celdas como hundidas y descuenta un barco a flote.
+     * </p>
+     *
+     * @param index Índice lineal de la celda.
+     * @return {@code true} si el impacto hundió el barco.
+     */
+    boolean applyHit(int index) {
+        store.setHit(index, true);
+        store.setMiss(index, false);
+        markChanged(index);
+
+        int id = store.shipId(index);
+        if (id == 0) return false;
+        Ship ship = shipsById[id];
+        if (!ship.registerHit(index / size, index % size)) return false;
+
+        store.markSunk(id, ship);
+        for (int s = 0; s < ship.getSize(); s++) {
+            markChanged(ship.segmentRow(s) * size + ship.segmentCol(s));
         }
-        return result;
+        shipsAfloat--;
+        return true;
+    }
+
+    // -----------------------------------
+    //      CAMBIOS PARA EL REPINTADO
+    // -----------------------------------
+
+    private void markChanged(int index) {
+        if (!changesTracked) return;
+        if (changedMarks.get(index)) return;
+        if (changedCount == MAX_TRACKED_CHANGES) {
+            changesTracked = false;
+            return;
+        }
+        if (changedCount == changed.length) changed = Arrays.copyOf(changed, changed.length * 2);
+        changed[changedCount++] = index;
+        changedMarks.set(index);
+    }
+
+    /**
+     * Entrega las celdas modificadas desde la llamada anterior y las olvida.
+     * <p>
+     * Pensado para el repintado incremental: cada acción (disparo, hundimiento, colocación)
+     * solo marca las celdas que realmente cambió. Los cambios masivos (tablero nuevo o deserializado,
+     * {@link #clear()}, nueva flota) no se detallan celda por celda: en ese caso el método devuelve
+     * {@code true} sin llamar al consumidor y la vista debe repintar el tablero completo.
+     * </p>
+     *
+     * @param consumer Recibe el índice lineal ({@code fila * tamaño + columna}) de cada celda modificada.
+     * @return {@code true} si hay que repintar todo el tablero.
+     */
+    public boolean drainChangedCells(IntConsumer consumer) {
+        if (!changesTracked) {
+            if (changed == null) {
+                changed = new int[64];
+                changedMarks = new BitSet();
+            } else {
+                for (int k = 0; k < changedCount; k++) changedMarks.clear(changed[k]);
+            }
+            changedCount = 0;
+            changesTracked = true;
+            return true;
+        }
+        for (int k = 0; k < changedCount; k++) {
+            int index = changed[k];
+            changedMarks.clear(index);
+            consumer.accept(index);
+        }
+        changedCount = 0;
+        return false;
     }
 
     // -----------------------------------
@@ -119,7 +384,7 @@ public class Board implements Serializable {
     public boolean addShip(Ship ship, int row, int col, boolean horizontal) {
         if (!canPlaceShip(ship, row, col, horizontal)) return false;
 
-        ship.placeAt(this, row, col, horizontal);
+        ship.occupy(this, row, col, horizontal);
 
         if (!ships.contains(ship)) ships.add(ship);
 
@@ -137,22 +402,19 @@ public class Board implements Serializable {
      *
      * @param row Fila de la celda.
      * @param col Columna de la celda.
-     * @return {@code true} si la celda y sus alrededores no contienen otros barcos.
+     * @return {@code true} si la celda y sus alrededores no contienen otros barcos;
+     *         {@code false} también si la celda está fuera del tablero.
      */
     public boolean isCellFreeForShipPlacement(int row, int col) {
-        for (int r = row - 1; r <= row + 1; r++) {
-            for (int c = col - 1; c <= col + 1; c++) {
-                if (isValidPosition(r, c) && grid[r][c].isShip()) return false;
-            }
-        }
-        return true;
+        return isValidPosition(row, col) && store.isFree(row, col);
     }
 
     /**
      * Evalúa si un barco completo puede ser colocado en una posición y orientación dadas.
      * <p>
-     * Verifica límites del tablero, colisiones directas y reglas de proximidad
-     * para cada segmento del barco.
+     * En tableros con bitboards busca la colocación en la {@link PlacementTable} y comprueba con
+     * un único AND que su halo no toque ningún barco; en tableros grandes revisa solo el
+     * rectángulo del barco ampliado en una celda.
      * </p>
      *
      * @param ship       El barco a evaluar.
@@ -162,17 +424,56 @@ public class Board implements Serializable {
      * @return {@code true} si la colocación es válida.
      */
     public boolean canPlaceShip(Ship ship, int startRow, int startCol, boolean horizontal) {
-        int size = ship.getSize();
-
-        for (int i = 0; i < size; i++) {
-            int row = horizontal ? startRow : startRow + i;
-            int col = horizontal ? startCol + i : startCol;
+        return store.canPlace(ship.getType(), startRow, startCol, horizontal);
+    }
 
-            if (!isValidPosition(row, col) || grid[row][col].isShip() || !isCellFreeForShipPlacement(row, col)) {
-                return false;
-            }
+    /**
+     * Lista todas las colocaciones legales de un tipo de barco con la ocupación actual del tablero.
+     * <p>
+     * Los índices escritos en {@code out} se interpretan con {@link #getPlacementTable()}.
+     * El arreglo debe tener al menos {@code table.end(type) - table.first(type)} posiciones.
+     * </p>
+     *
+     * @param type Tipo de barco.
+     * @param out  Arreglo donde se escriben los índices de las colocaciones legales.
+     * @return Cantidad de colocaciones escritas.
+     * @throws IllegalStateException Si el tablero no usa bitboards.
+     */
+    public int legalPlacements(ShipType type, int[] out) {
+        BitboardStore bits = bitboard();
+        PlacementTable table = bits.placements();
+        long occLo = bits.shipLo();
+        long occHi = bits.shipHi();
+        int n = 0;
+        for (int p = table.first(type), end = table.end(type); p < end; p++) {
+            if (table.isLegal(p, occLo, occHi)) out[n++] = p;
         }
-        return true;
+        return n;
+    }
+
+    /**
+     * Obtiene la tabla de colocaciones usada por este tablero.
+     *
+     * @return La {@link PlacementTable} para el tamaño del tablero.
+     * @throws IllegalStateException Si el tablero es demasiado grande para usar bitboards.
+     */
+    public PlacementTable getPlacementTable() {
+        return bitboard().placements();
+    }
+
+    /**
+     * Indica si el tablero usa bitboards (y por tanto admite {@link #getPlacementTable()}).
+     *
+     * @return {@code true} si el tablero tiene como máximo 128 celdas.
+     */
+    public boolean usesBitboards() {
+        return store instanceof BitboardStore;
+    }
+
+    private BitboardStore bitboard() {
+        if (store instanceof BitboardStore bits) return bits;
+        throw new IllegalStateException("Las tablas de colocación solo existen para tableros de hasta "
+                + PlacementTable.MAX_CELLS + " celdas");
     }
 
     // -----------------------------------
@@ -185,37 +486,78 @@ public class Board implements Serializable {
      * @return {@code true} si la flota está completa y posicionada.
      */
     public boolean allShipsPlaced() {
-        return ships.size() == 10 && ships.stream().allMatch(s -> s.getCells().size() == s.getSize());
+        if (ships.size() != FLEET.length) return false;
+        for (int i = 0; i < ships.size(); i++) {
+            if (!ships.get(i).isPlaced()) return false;
+        }
+        return true;
     }
 
     /**
      * Verifica si todos los barcos del tablero han sido hundidos.
      * Determina la condición de derrota para el dueño de este tablero.
+     * <p>
+     * Consulta el contador de barcos a flote que se mantiene en cada hundimiento;
+     * tampoco puede quedar ningún barco de la flota sin colocar.
+     * </p>
      *
      * @return {@code true} si no quedan barcos a flote.
      */
     public boolean allShipsSunk() {
-        return ships.stream().allMatch(Ship::isSunk);
+        return shipsAfloat == 0 && registeredCount >= ships.size();
+    }
+
+    /**
+     * Obtiene la cantidad de barcos colocados que aún no han sido hundidos.
+     *
+     * @return Número de barcos a flote.
+     */
+    public int getShipsAfloat() {
+        return shipsAfloat;
     }
 
     /**
-     * Obtiene una copia de la lista de barcos en el tablero.
+     * Obtiene la lista de barcos en el tablero.
+     * <p>
+     * Es una vista viva y de solo lectura: no se copia en cada llamada y refleja
+     * los cambios posteriores de la flota.
+     * </p>
      *
-     * @return Lista de objetos {@link Ship}.
+     * @return Lista no modificable de objetos {@link Ship}.
      */
     public List<Ship> getShips() {
-        return new ArrayList<>(ships);
+        if (shipsView == null) shipsView = Collections.unmodifiableList(ships);
+        return shipsView;
+    }
+
+    /**
+     * Obtiene la cantidad de barcos de la flota del tablero.
+     *
+     * @return Número de barcos (colocados o no).
+     */
+    public int getShipCount() {
+        return ships.size();
+    }
+
+    /**
+     * Obtiene un barco de la flota por su posición, sin crear iteradores.
+     *
+     * @param index Posición del barco (0 a {@link #getShipCount()} - 1).
+     * @return El barco en esa posición.
+     */
+    public Ship getShip(int index) {
+        return ships.get(index);
     }
 
     /**
      * Limpia el tablero por completo, eliminando barcos y reiniciando celdas.
      */
     public void clear() {
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                grid[r][c].clear();
-            }
-        }
+        store.clear();
+        changesTracked = false;
+        Arrays.fill(shipsById, null);
+        registeredCount = 0;
+        shipsAfloat = 0;
         ships.clear();
     }
 
@@ -223,88 +565,118 @@ public class Board implements Serializable {
     //      PARA LA MAQUINA
     // -----------------------------------
 
+    /**
+     * Obtiene la composición de la flota estándar.
+     *
+     * @return Una copia del arreglo con el tipo de cada barco de la flota.
+     */
+    public static ShipType[] fleetComposition() {
+        return FLEET.clone();
+    }
+
     /**
      * Genera la lista de barcos estándar para el juego sin colocarlos en el tablero.
      * Util para inicializar la flota del jugador antes de la fase de colocacion manual.
      */
     public void createShipsWithoutPlacement() {
         ships.clear();
-        ships.add(new Ship(ShipType.CARRIER));
-        ships.add(new Ship(ShipType.SUBMARINE));
-        ships.add(new Ship(ShipType.SUBMARINE));
-        ships.add(new Ship(ShipType.DESTROYER));
-        ships.add(new Ship(ShipType.DESTROYER));
-        ships.add(new Ship(ShipType.DESTROYER));
-        ships.add(new Ship(ShipType.FRIGATE));
-        ships.add(new Ship(ShipType.FRIGATE));
-        ships.add(new Ship(ShipType.FRIGATE));
-        ships.add(new Ship(ShipType.FRIGATE));
+        for (ShipType type : FLEET) ships.add(new Ship(type));
     }
 
     /**
      * Coloca aleatoriamente toda la flota en el tablero.
      * <p>
-     * Usado por la IA para preparar su tablero. Si la colocación falla (por bloqueo),
-     * reinicia el proceso hasta lograr una configuración válida.
+     * Usado por la IA para preparar su tablero. En tableros con bitboards delega en
+     * {@link FleetLayoutSampler} en modo {@link FleetLayoutSampler.Mode#BACKTRACKING}, que es el más
+     * rápido; quien necesite una distribución exactamente uniforme debe usar
+     * {@link #randomPlaceAllShips(FleetLayoutSampler.Mode)}. En tableros grandes, donde sobra espacio,
+     * elige anclas al azar y reinicia la flota si algún barco no encuentra lugar. En ambos casos la
+     * colocación siempre se completa.
      * </p>
      *
-     * @return {@code true} si la colocación fue exitosa.
+     * @return {@code true}; se conserva el valor de retorno por compatibilidad.
+     * @throws IllegalStateException Si la flota no cabe en un tablero de este tamaño.
      */
     public boolean randomPlaceAllShips() {
-        clear();
-        List<Ship> shipsToPlace = createShipsForAI();
-        Collections.shuffle(shipsToPlace, random);
+        return randomPlaceAllShips(FleetLayoutSampler.Mode.BACKTRACKING);
+    }
 
-        for (Ship ship : shipsToPlace) {
-            if (!placeShipRandomly(ship)) {
-                clear();
-                return false;
+    /**
+     * Coloca aleatoriamente toda la flota en el tablero con la estrategia de muestreo indicada.
+     * <p>
+     * {@link FleetLayoutSampler.Mode#UNIFORM} elige uniformemente entre todas las distribuciones
+     * válidas, pero es unas cuarenta veces más lento que {@link FleetLayoutSampler.Mode#BACKTRACKING}.
+     * Los tableros grandes no usan el generador y no distinguen modos.
+     * </p>
+     *
+     * @param mode Estrategia de muestreo en tableros con bitboards.
+     * @return {@code true}; se conserva el valor de retorno por compatibilidad.
+     * @throws IllegalStateException Si la flota no cabe en un tablero de este tamaño.
+     */
+    public boolean randomPlaceAllShips(FleetLayoutSampler.Mode mode) {
+        if (store instanceof BitboardStore bits) {
+            if (sampler == null || sampler.mode() != mode) {
+                sampler = new FleetLayoutSampler(bits.placements(), FLEET, random, mode);
             }
-            ships.add(ship);
+            sampler.sampleInto(this);
+            return true;
         }
-        return true;
+
+        for (int restart = 0; restart < RANDOM_ATTEMPTS_PER_SHIP; restart++) {
+            if (tryPlaceFleetRandomly()) return true;
+        }
+        clear();
+        throw new IllegalStateException("La flota no cabe en un tablero de " + size);
     }
 
     /**
-     * Crea una nueva lista de barcos para uso interno de la IA.
-     * @return Lista de barcos no colocados.
+     * Reinicia el generador aleatorio del tablero, para que {@link #randomPlaceAllShips()}
+     * produzca distribuciones reproducibles (simulaciones, pruebas).
+     *
+     * @param seed Semilla del generador.
      */
-    private List<Ship> createShipsForAI() {
-        List<Ship> list = new ArrayList<>();
-        list.add(new Ship(ShipType.CARRIER));
-        list.add(new Ship(ShipType.SUBMARINE));
-        list.add(new Ship(ShipType.SUBMARINE));
-        list.add(new Ship(ShipType.DESTROYER));
-        list.add(new Ship(ShipType.DESTROYER));
-        list.add(new Ship(ShipType.DESTROYER));
-        list.add(new Ship(ShipType.FRIGATE));
-        list.add(new Ship(ShipType.FRIGATE));
-        list.add(new Ship(ShipType.FRIGATE));
-        list.add(new Ship(ShipType.FRIGATE));
-        return list;
+    public void reseed(long seed) {
+        random.setSeed(seed);
     }
 
     /**
-     * Intenta colocar un barco específico en una posición aleatoria válida.
-     * Realiza hasta 100 intentos antes de desistir.
+     * Coloca la flota eligiendo anclas al azar (tableros grandes).
      *
-     * @param ship El barco a colocar.
-     * @return {@code true} si se encontró una posición válida.
+     * @return {@code true} si todos los barcos encontraron lugar.
      */
-    private boolean placeShipRandomly(Ship ship) {
-        int maxAttempts = 100;
-
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-
-            int row = random.nextInt(SIZE);
-            int col = random.nextInt(SIZE);
-            boolean horizontal = random.nextBoolean();
-
-            if (canPlaceShip(ship, row, col, horizontal)) {
-                ship.placeAt(this, row, col, horizontal);
-                return true;
+    private boolean tryPlaceFleetRandomly() {
+        clear();
+        for (ShipType type : FLEET) {
+            Ship ship = new Ship(type);
+            boolean placed = false;
+            for (int attempt = 0; attempt < RANDOM_ATTEMPTS_PER_SHIP && !placed; attempt++) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                boolean horizontal = random.nextBoolean();
+                if (store.canPlace(type, row, col, horizontal)) {
+                    ship.occupy(this, row, col, horizontal);
+                    placed = true;
+                }
             }
+            if (!placed) return false;
+            ships.add(ship);
+        }
+        return true;
+    }
+
+    /**
+     * Reemplaza el contenido del tablero por una flota ya resuelta.
+     *
+     * @param placements Índices de colocación de {@link #getPlacementTable()}, uno por barco.
+     * @throws IllegalStateException Si el tablero no usa bitboards.
+     */
+    public void placeFleet(int[] placements) {
+        PlacementTable table = getPlacementTable();
+        clear();
+        for (int p : placements) {
+            Ship ship = new Ship(table.type(p));
+            ship.occupy(this, table.row(p), table.col(p), table.isHorizontal(p));
+            ships.add(ship);
         }
-        return false;
     }
-}
\ No newline at end of file
+}
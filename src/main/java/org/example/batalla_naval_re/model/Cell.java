@@ -5,64 +5,40 @@ import java.io.Serializable;
 /**
  * Representa una unidad individual (casilla) dentro del tablero de juego.
  * <p>
- * Mantiene el estado de una coordenada específica: si contiene un barco, si ha sido disparada,
- * si el disparo fue un acierto o fallo, y si es parte de un barco hundido.
+ * Es una vista sobre los bitboards de un {@link Board}: no guarda estado propio más allá de
+ * su posición, de modo que consultar si contiene un barco, si ha sido disparada, si el disparo
+ * fue un acierto o fallo, o si es parte de un barco hundido lee directamente del tablero.
  * </p>
  */
 public class Cell implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     /**
-     * Indica si esta celda contiene un barco.
+     * Tablero sobre el que esta celda es una vista.
      */
-    private boolean ship;
+    private final Board board;
 
-    /**
-     * Indica si esta celda ha recibido un disparo que impactó en un barco.
-     */
-    private boolean hit;
+    private final int row;
+    private final int col;
 
     /**
-     * Indica si esta celda ha recibido un disparo que cayó en el agua (fallo).
+     * Índice lineal de la celda en los bitboards del tablero.
      */
-    private boolean miss;
+    private final int index;
 
     /**
-     * Indica si esta celda forma parte de un barco que ya ha sido completamente hundido.
-     */
-    private boolean sunkPart;
-
-    /**
-     * Determina si el contenido de la celda es visible para el jugador (usado para debug o fin de juego).
-     */
-    private boolean visibleToPlayer;
-
-    /**
-     * Referencia al objeto {@link Ship} que ocupa esta celda, si existe.
-     */
-    private Ship shipObject;
-
-    private int row;
-    private int col;
-
-    /**
-     * Constructor que inicializa una celda en una posición específica.
+     * Constructor que crea la vista de una celda en una posición específica.
      *
-     * @param row La fila de la celda.
-     * @param col La columna de la celda.
+     * @param board El tablero al que pertenece la celda.
+     * @param row   La fila de la celda.
+     * @param col   La columna de la celda.
      */
-    public Cell(int row, int col) {
+    Cell(Board board, int row, int col) {
+        this.board = board;
         this.row = row;
         this.col = col;
-        clear();
-    }
-
-    /**
-     * Constructor por defecto que inicializa la celda en (0,0).
-     */
-    public Cell() {
-        this(0, 0);
+        this.index = row * board.getSize() + col;
     }
 
     // =========================
@@ -73,37 +49,37 @@ public class Cell implements Serializable {
      * Verifica si la celda contiene un barco.
      * @return {@code true} si hay un barco, {@code false} si es agua.
      */
-    public boolean isShip() { return ship; }
+    public boolean isShip() { return board.isShipAt(index); }
 
     /**
      * Verifica si la celda ha sido impactada.
      * @return {@code true} si se disparó y había un barco.
      */
-    public boolean isHit() { return hit; }
+    public boolean isHit() { return board.isHitAt(index); }
 
     /**
      * Verifica si el disparo en esta celda fue al agua.
      * @return {@code true} si se disparó y no había barco.
      */
-    public boolean isMiss() { return miss; }
+    public boolean isMiss() { return board.isMissAt(index); }
 
     /**
      * Verifica si esta celda pertenece a un barco hundido.
      * @return {@code true} si el barco asociado está completamente hundido.
      */
-    public boolean isSunkPart() { return sunkPart; }
+    public boolean isSunkPart() { return board.isSunkAt(index); }
 
     /**
      * Verifica si la celda debe ser visible para el jugador.
      * @return {@code true} si es visible.
      */
-    public boolean isVisibleToPlayer() { return visibleToPlayer; }
+    public boolean isVisibleToPlayer() { return board.isVisibleAt(index); }
 
     /**
      * Verifica si la celda ya ha sido disparada (sea acierto o fallo).
      * @return {@code true} si ya se realizó un intento en esta celda.
      */
-    public boolean isTried() { return hit || miss; }
+    public boolean isTried() { return isHit() || isMiss(); }
 
     public int getRow() { return row; }
     public int getCol() { return col; }
@@ -112,7 +88,7 @@ public class Cell implements Serializable {
      * Obtiene el objeto Barco asociado a esta celda.
      * @return El objeto {@link Ship} o {@code null} si no hay barco.
      */
-    public Ship getShip() { return shipObject; }
+    public Ship getShip() { return board.shipAt(index); }
 
     // =========================
     // SETTERS IMPORTANTES
@@ -120,54 +96,55 @@ public class Cell implements Serializable {
 
     /**
      * Asigna un barco a esta celda.
-     * @param ship El barco a colocar en esta posición.
+     * @param ship El barco a colocar en esta posición, o {@code null} para dejarla en agua.
      */
     public void setShip(Ship ship) {
-        this.shipObject = ship;
-        this.ship = ship != null;
+        board.setShipAt(index, ship);
     }
 
     /**
      * Marca la celda como impactada (Hit).
      * <p>
-     * Si la celda contiene un barco, notifica al barco del impacto para que actualice su estado.
+     * Si la celda contiene un barco, el tablero registra el impacto en el barco
+     * (una sola vez) para que actualice su estado. Un impacto no se puede deshacer:
+     * el barco y el tablero ya lo contaron.
      * </p>
      *
      * @param hit {@code true} para marcar impacto.
+     * @throws UnsupportedOperationException Si se intenta quitar el impacto de una celda impactada.
      */
     public void setHit(boolean hit) {
-        if (this.hit) return;   // ✅ evita repetir
-        this.hit = hit;
-        this.miss = false;
-
-        if (hit && shipObject != null) {
-            shipObject.notifyHit(this); // ✅ notifica UNA vez
-        }
+        if (isHit() == hit) return;   // ✅ evita repetir
+        if (!hit) throw new UnsupportedOperationException("Un impacto no se puede deshacer");
+        board.applyHit(index);
     }
 
     /**
      * Marca la celda como fallo (Miss/Agua).
      * @param miss {@code true} para marcar fallo.
+     * @throws UnsupportedOperationException Si la celda ya fue impactada.
      */
     public void setMiss(boolean miss) {
-        if (this.miss) return;
-        this.miss = miss;
-        this.hit = false;
+        if (isMiss()) return;
+        if (isHit()) throw new UnsupportedOperationException("Una celda impactada no puede pasar a agua");
+        board.setMissAt(index, miss);
     }
 
     /**
-     * Marca esta celda como parte de un barco hundido.
-     * Esto suele cambiar la representación visual de la celda.
+     * El hundimiento lo decide el tablero al impactar el último segmento de un barco
+     * ({@link Board#shoot(int, int)}); marcarlo a mano dejaría el barco y el conteo de barcos
+     * a flote en desacuerdo con las celdas.
      *
-     * @param sunkPart {@code true} si el barco ha sido hundido.
+     * @param sunkPart Estado deseado; solo se acepta el actual.
+     * @throws UnsupportedOperationException Si difiere del estado actual.
      */
     public void setSunkPart(boolean sunkPart) {
-        this.sunkPart = sunkPart;
-        if (sunkPart) this.hit = true;
+        if (isSunkPart() == sunkPart) return;
+        throw new UnsupportedOperationException("El hundimiento se registra disparando con Board.shoot");
     }
 
     public void setVisibleToPlayer(boolean visibleToPlayer) {
-        this.visibleToPlayer = visibleToPlayer;
+        board.setVisibleAt(index, visibleToPlayer);
     }
 
     // =========================
@@ -177,7 +154,8 @@ public class Cell implements Serializable {
     /**
      * Procesa un disparo realizado sobre esta celda.
      * <p>
-     * Determina el resultado del disparo basándose en el estado actual:
+     * Delega en {@link Board#shoot(int, int)}. Determina el resultado del disparo
+     * basándose en el estado actual:
      * <ul>
      *     <li>{@code ALREADY_TRIED}: Si ya se había disparado aquí.</li>
      *     <li>{@code SUNK}: Si el disparo hunde el barco.</li>
@@ -189,20 +167,7 @@ public class Cell implements Serializable {
      * @return El valor {@link ShotResult} correspondiente al resultado de la acción.
      */
     public ShotResult shoot() {
-        if (isTried()) {
-            return ShotResult.ALREADY_TRIED;
-        }
-
-        if (ship) {
-            setHit(true);
-            if (shipObject != null && shipObject.isSunk()) {
-                return ShotResult.SUNK;
-            }
-            return ShotResult.HIT;
-        } else {
-            setMiss(true);
-            return ShotResult.MISS;
-        }
+        return board.shoot(row, col);
     }
 
     // =========================
@@ -213,12 +178,7 @@ public class Cell implements Serializable {
      * Restablece la celda a su estado inicial (vacía y sin disparos).
      */
     public void clear() {
-        ship = false;
-        hit = false;
-        miss = false;
-        sunkPart = false;
-        visibleToPlayer = false;
-        shipObject = null;
+        board.clearAt(index);
     }
 
     /**
@@ -235,10 +195,28 @@ public class Cell implements Serializable {
         ALREADY_TRIED
     }
 
+    /**
+     * Dos vistas son iguales si apuntan a la misma posición del mismo tablero.
+     *
+     * @param o Objeto a comparar.
+     * @return {@code true} si representan la misma casilla.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cell other)) return false;
+        return board == other.board && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(board) * 31 + index;
+    }
+
     @Override
     public String toString() {
         return "Cell[" + row + "," + col + "] → " +
-                (ship ? "SHIP" : "WATER") +
-                (hit ? " HIT" : miss ? " MISS" : "");
+                (isShip() ? "SHIP" : "WATER") +
+                (isHit() ? " HIT" : isMiss() ? " MISS" : "");
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package org.example.batalla_naval_re.model;
+
+import java.io.Serializable;
+
+/**
+ * Almacenamiento del estado de las celdas de un {@link Board}.
+ * <p>
+ * Las celdas se identifican por su índice lineal {@code fila * tamaño + columna}.
+ * Hay dos implementaciones:
+ * </p>
+ * <ul>
+ *     <li>{@link BitboardStore}: máscaras de 128 bits, para tableros de hasta 128 celdas (10x10, 11x11).</li>
+ *     <li>{@link ChunkedCellStore}: bloques que se reservan solo al ocupar o disparar una zona,
+ *     para tableros grandes donde la memoria debe crecer con la actividad y no con el área.</li>
+ * </ul>
+ */
+interface CellStore extends Serializable {
+
+    /**
+     * Crea el almacenamiento adecuado para un tablero de {@code size x size}.
+     *
+     * @param size Número de filas y columnas.
+     * @return Un {@link BitboardStore} si el tablero cabe en 128 bits, o un {@link ChunkedCellStore}.
+     */
+    static CellStore create(int size) {
+        return size * size <= PlacementTable.MAX_CELLS ? new BitboardStore(size) : new ChunkedCellStore(size);
+    }
+
+    boolean isShip(int index);
+
+    boolean isHit(int index);
+
+    boolean isMiss(int index);
+
+    boolean isSunk(int index);
+
+    boolean isVisible(int index);
+
+    /**
+     * @param index Índice lineal de la celda.
+     * @return {@code true} si la celda ya recibió un disparo (impacto o fallo).
+     */
+    boolean isTried(int index);
+
+    /**
+     * @param index Índice lineal de la celda.
+     * @return Identificador del barco que ocupa la celda, o 0 si es agua.
+     */
+    int shipId(int index);
+
+    /**
+     * Asigna el barco que ocupa una celda.
+     *
+     * @param index Índice lineal de la celda.
+     * @param id    Identificador del barco (1 a 127), o 0 para dejarla en agua.
+     */
+    void setShip(int index, int id);
+
+    void setHit(int index, boolean value);
+
+    void setMiss(int index, boolean value);
+
+    void setSunk(int index, boolean value);
+
+    void setVisible(int index, boolean value);
+
+    /**
+     * Verifica la regla de separación para una celda: ni ella ni sus 8 vecinas contienen barcos.
+     *
+     * @param row Fila válida del tablero.
+     * @param col Columna válida del tablero.
+     * @return {@code true} si la vecindad está libre.
+     */
+    boolean isFree(int row, int col);
+
+    /**
+     * Verifica si un barco cabe en el tablero y respeta la regla de separación.
+     *
+     * @param type       Tipo de barco.
+     * @param row        Fila inicial.
+     * @param col        Columna inicial.
+     * @param horizontal Orientación.
+     * @return {@code true} si la colocación es legal.
+     */
+    boolean canPlace(ShipType type, int row, int col, boolean horizontal);
+
+    /**
+     * Marca como hundidas todas las celdas de un barco.
+     *
+     * @param id   Identificador del barco.
+     * @param ship El barco, para recorrer sus segmentos si el almacenamiento no guarda huellas.
+     */
+    void markSunk(int id, Ship ship);
+
+    /**
+     * Restablece todas las celdas a agua sin disparos.
+     */
+    void clear();
+}
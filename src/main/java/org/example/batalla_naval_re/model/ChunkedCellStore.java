@@ -0,0 +1,167 @@
+package org.example.batalla_naval_re.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Almacenamiento disperso de celdas para tableros grandes (por ejemplo 100x100 o 2000x2000).
+ * <p>
+ * El tablero se divide en bloques de 32x32 celdas. Un bloque solo se reserva cuando se coloca
+ * un barco o se dispara dentro de él, así que la memoria crece con la actividad de la partida
+ * y no con el área del tablero. El directorio de bloques es un arreglo plano, por lo que leer
+ * o escribir una celda cuesta un acceso al directorio y otro al bloque.
+ * </p>
+ */
+final class ChunkedCellStore implements CellStore {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int CHUNK_BITS = 5;
+    private static final int CHUNK = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK - 1;
+
+    private static final int SHIP = 1;
+    private static final int HIT = 1 << 1;
+    private static final int MISS = 1 << 2;
+    private static final int SUNK = 1 << 3;
+    private static final int VISIBLE = 1 << 4;
+
+    /**
+     * Bloque de 32x32 celdas: estado en bits y barco ocupante por celda.
+     */
+    private static final class Chunk implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final byte[] flags = new byte[CHUNK * CHUNK];
+        final byte[] shipIds = new byte[CHUNK * CHUNK];
+    }
+
+    private final int size;
+    private final int chunksPerRow;
+    private final Chunk[] chunks;
+    private int allocatedChunks;
+
+    ChunkedCellStore(int size) {
+        this.size = size;
+        this.chunksPerRow = (size + CHUNK_MASK) >> CHUNK_BITS;
+        this.chunks = new Chunk[chunksPerRow * chunksPerRow];
+    }
+
+    /**
+     * @return Cantidad de bloques reservados hasta ahora.
+     */
+    int allocatedChunks() {
+        return allocatedChunks;
+    }
+
+    private int chunkIndex(int index) {
+        int row = index / size;
+        int col = index - row * size;
+        return (row >> CHUNK_BITS) * chunksPerRow + (col >> CHUNK_BITS);
+    }
+
+    private static int offset(int index, int size) {
+        int row = index / size;
+        int col = index - row * size;
+        return ((row & CHUNK_MASK) << CHUNK_BITS) | (col & CHUNK_MASK);
+    }
+
+    private int flags(int index) {
+        Chunk chunk = chunks[chunkIndex(index)];
+        return chunk == null ? 0 : chunk.flags[offset(index, size)];
+    }
+
+    private Chunk chunkForWrite(int index) {
+        int ci = chunkIndex(index);
+        Chunk chunk = chunks[ci];
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks[ci] = chunk;
+            allocatedChunks++;
+        }
+        return chunk;
+    }
+
+    private void setFlag(int index, int flag, boolean value) {
+        if (!value) {
+            Chunk chunk = chunks[chunkIndex(index)];
+            if (chunk != null) chunk.flags[offset(index, size)] &= (byte) ~flag;
+            return;
+        }
+        chunkForWrite(index).flags[offset(index, size)] |= (byte) flag;
+    }
+
+    @Override public boolean isShip(int index) { return (flags(index) & SHIP) != 0; }
+
+    @Override public boolean isHit(int index) { return (flags(index) & HIT) != 0; }
+
+    @Override public boolean isMiss(int index) { return (flags(index) & MISS) != 0; }
+
+    @Override public boolean isSunk(int index) { return (flags(index) & SUNK) != 0; }
+
+    @Override public boolean isVisible(int index) { return (flags(index) & VISIBLE) != 0; }
+
+    @Override public boolean isTried(int index) { return (flags(index) & (HIT | MISS)) != 0; }
+
+    @Override
+    public int shipId(int index) {
+        Chunk chunk = chunks[chunkIndex(index)];
+        return chunk == null ? 0 : chunk.shipIds[offset(index, size)];
+    }
+
+    @Override
+    public void setShip(int index, int id) {
+        if (id == 0 && chunks[chunkIndex(index)] == null) return;
+        Chunk chunk = chunkForWrite(index);
+        int o = offset(index, size);
+        chunk.shipIds[o] = (byte) id;
+        if (id == 0) chunk.flags[o] &= (byte) ~SHIP;
+        else chunk.flags[o] |= (byte) SHIP;
+    }
+
+    @Override public void setHit(int index, boolean value) { setFlag(index, HIT, value); }
+
+    @Override public void setMiss(int index, boolean value) { setFlag(index, MISS, value); }
+
+    @Override public void setSunk(int index, boolean value) { setFlag(index, SUNK, value); }
+
+    @Override public void setVisible(int index, boolean value) { setFlag(index, VISIBLE, value); }
+
+    @Override
+    public boolean isFree(int row, int col) {
+        for (int r = Math.max(0, row - 1); r <= Math.min(size - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(size - 1, col + 1); c++) {
+                if (isShip(r * size + c)) return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean canPlace(ShipType type, int row, int col, boolean horizontal) {
+        int length = type.getSize();
+        int endRow = horizontal ? row : row + length - 1;
+        int endCol = horizontal ? col + length - 1 : col;
+        if (row < 0 || col < 0 || endRow >= size || endCol >= size) return false;
+
+        // Recorre una sola vez el rectángulo del barco ampliado en una celda por lado
+        for (int r = Math.max(0, row - 1); r <= Math.min(size - 1, endRow + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(size - 1, endCol + 1); c++) {
+                if (isShip(r * size + c)) return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void markSunk(int id, Ship ship) {
+        for (int s = 0; s < ship.getSize(); s++) {
+            setFlag(ship.segmentRow(s) * size + ship.segmentCol(s), SUNK, true);
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(chunks, null);
+        allocatedChunks = 0;
+    }
+}
@@ -0,0 +1,274 @@
+package org.example.batalla_naval_re.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generador de distribuciones completas de la flota que siempre tiene éxito.
+ * <p>
+ * Trabaja sobre la {@link PlacementTable}: cada barco se representa con el índice de su colocación
+ * y la legalidad se comprueba con un AND entre el halo de la colocación y la ocupación acumulada.
+ * Ofrece dos modos:
+ * </p>
+ * <ul>
+ *     <li>{@link Mode#BACKTRACKING}: coloca los barcos de mayor a menor eligiendo al azar entre las
+ *     colocaciones legales y retrocede si un barco no cabe. Es rápido y nunca falla si existe
+ *     alguna distribución válida, aunque no es exactamente uniforme.</li>
+ *     <li>{@link Mode#UNIFORM}: elige cada barco uniformemente entre todas sus colocaciones y
+ *     descarta la distribución completa ante cualquier conflicto. Condicionado al éxito, el
+ *     resultado es uniforme sobre todas las distribuciones válidas de la flota.</li>
+ * </ul>
+ * <p>
+ * El generador no es seguro entre hilos: cada hilo debe usar su propia instancia con su propio
+ * {@link RandomGenerator} (por ejemplo, divisiones de un {@link java.util.SplittableRandom}).
+ * </p>
+ */
+public final class FleetLayoutSampler {
+
+    /**
+     * Estrategia de muestreo.
+     */
+    public enum Mode {
+        /** Búsqueda aleatoria con retroceso sobre colocaciones legales. */
+        BACKTRACKING,
+        /** Muestreo exactamente uniforme por rechazo de distribuciones completas. */
+        UNIFORM
+    }
+
+    private final PlacementTable table;
+    private final ShipType[] fleet;
+    private final RandomGenerator rng;
+    private final Mode mode;
+
+    /**
+     * Buffers de candidatos por profundidad para el retroceso (sin asignaciones por muestra). En modo
+     * uniforme, tras comprobar la viabilidad, guardan las colocaciones permitidas de cada barco.
+     */
+    private final int[][] candidates;
+
+    private final int[] scratch;
+    private boolean feasibilityChecked;
+
+    /**
+     * En modo uniforme, cuántas colocaciones de {@link #candidates} no tocan celdas prohibidas, por barco.
+     */
+    private final int[] allowedCount;
+
+    /**
+     * Celdas en las que ningún barco puede apoyarse (por ejemplo, agua ya descubierta).
+     */
+    private long forbiddenLo;
+    private long forbiddenHi;
+
+    private long layouts;
+    private long attempts;
+    private long elapsedNanos;
+
+    /**
+     * Crea un generador para la flota estándar en un tablero de {@link Board#SIZE}.
+     *
+     * @param rng  Generador aleatorio (con semilla si se requiere reproducibilidad).
+     * @param mode Estrategia de muestreo.
+     */
+    public FleetLayoutSampler(RandomGenerator rng, Mode mode) {
+        this(PlacementTable.forSize(Board.SIZE), Board.fleetComposition(), rng, mode);
+    }
+
+    /**
+     * Crea un generador para una flota y tabla de colocaciones arbitrarias.
+     *
+     * @param table Tabla de colocaciones del tamaño de tablero deseado.
+     * @param fleet Tipos de barco que componen la flota.
+     * @param rng   Generador aleatorio.
+     * @param mode  Estrategia de muestreo.
+     */
+    public FleetLayoutSampler(PlacementTable table, ShipType[] fleet, RandomGenerator rng, Mode mode) {
+        this.table = table;
+        this.fleet = fleet.clone();
+        // De mayor a menor: los barcos grandes son los más difíciles de encajar
+        Arrays.sort(this.fleet, Comparator.comparingInt(ShipType::getSize).reversed());
+        this.rng = rng;
+        this.mode = mode;
+        this.candidates = new int[this.fleet.length][];
+        for (int k = 0; k < this.fleet.length; k++) {
+            candidates[k] = new int[table.end(this.fleet[k]) - table.first(this.fleet[k])];
+        }
+        this.scratch = new int[this.fleet.length];
+        this.allowedCount = new int[this.fleet.length];
+    }
+
+    /**
+     * @return Cantidad de barcos de la flota (longitud que debe tener el arreglo de salida).
+     */
+    public int fleetSize() {
+        return fleet.length;
+    }
+
+    /**
+     * @return Estrategia de muestreo del generador.
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * @return Tabla de colocaciones con la que se interpretan los índices generados.
+     */
+    public PlacementTable table() {
+        return table;
+    }
+
+    /**
+     * Genera una distribución completa de la flota.
+     *
+     * @param out Arreglo de al menos {@link #fleetSize()} posiciones donde se escriben los índices
+     *            de colocación, ordenados de mayor a menor barco.
+     * @throws IllegalStateException Si la flota no cabe en el tablero de ninguna forma.
+     */
+    public void sample(int[] out) {
+        if (!trySample(out)) throw new IllegalStateException("La flota no cabe en un tablero de " + table.size());
+    }
+
+    /**
+     * Genera una distribución completa de la flota si existe alguna.
+     *
+     * @param out Arreglo de al menos {@link #fleetSize()} posiciones para los índices de colocación.
+     * @return {@code false} si la flota no cabe respetando las celdas prohibidas.
+     */
+    public boolean trySample(int[] out) {
+        long start = System.nanoTime();
+        boolean ok = mode == Mode.UNIFORM ? sampleUniform(out) : backtrack(0, 0L, 0L, out);
+        elapsedNanos += System.nanoTime() - start;
+        if (ok) layouts++;
+        return ok;
+    }
+
+    /**
+     * Restringe las distribuciones generadas a las que no ocupan ninguna de las celdas indicadas.
+     * <p>
+     * La regla de separación sigue aplicándose solo entre los barcos generados: una celda prohibida
+     * puede quedar junto a un barco, pero nunca debajo de él.
+     * </p>
+     *
+     * @param lo Mitad baja de la máscara de celdas prohibidas.
+     * @param hi Mitad alta de la máscara de celdas prohibidas.
+     */
+    public void setForbidden(long lo, long hi) {
+        if (lo != forbiddenLo || hi != forbiddenHi) feasibilityChecked = false;
+        forbiddenLo = lo;
+        forbiddenHi = hi;
+    }
+
+    private boolean allowed(int p, long occLo, long occHi) {
+        return table.isLegal(p, occLo, occHi)
+                && (table.footprintLo(p) & forbiddenLo) == 0
+                && (table.footprintHi(p) & forbiddenHi) == 0;
+    }
+
+    /**
+     * Genera una distribución y la aplica sobre un tablero, reemplazando su contenido.
+     *
+     * @param board El tablero a poblar; debe tener el mismo tamaño que la tabla del generador.
+     */
+    public void sampleInto(Board board) {
+        int[] placements = new int[fleet.length];
+        sample(placements);
+        board.placeFleet(placements);
+    }
+
+    private boolean sampleUniform(int[] out) {
+        // Si la flota no cabe de ninguna forma, el rechazo nunca terminaría: se comprueba una vez
+        if (!feasibilityChecked) {
+            if (!backtrack(0, 0L, 0L, scratch)) return false;
+            feasibilityChecked = true;
+            filterForbidden();
+        }
+        while (true) {
+            attempts++;
+            if (tryUniform(out)) return true;
+        }
+    }
+
+    /**
+     * Deja en {@link #candidates} las colocaciones de cada barco que no tocan celdas prohibidas.
+     * Sortear solo entre ellas no altera la uniformidad (la restricción no depende de los demás
+     * barcos) y evita rechazar casi todos los intentos cuando hay mucha agua descubierta.
+     */
+    private void filterForbidden() {
+        for (int k = 0; k < fleet.length; k++) {
+            int[] buf = candidates[k];
+            int n = 0;
+            for (int p = table.first(fleet[k]), end = table.end(fleet[k]); p < end; p++) {
+                if ((table.footprintLo(p) & forbiddenLo) == 0 && (table.footprintHi(p) & forbiddenHi) == 0) buf[n++] = p;
+            }
+            allowedCount[k] = n;
+        }
+    }
+
+    private boolean tryUniform(int[] out) {
+        long occLo = 0;
+        long occHi = 0;
+        for (int k = 0; k < fleet.length; k++) {
+            int n = allowedCount[k];
+            if (n == 0) return false;
+            int p = candidates[k][rng.nextInt(n)];
+            if (!table.isLegal(p, occLo, occHi)) return false;
+            occLo |= table.footprintLo(p);
+            occHi |= table.footprintHi(p);
+            out[k] = p;
+        }
+        return true;
+    }
+
+    private boolean backtrack(int k, long occLo, long occHi, int[] out) {
+        if (k == fleet.length) return true;
+        attempts++;
+
+        int[] buf = candidates[k];
+        int n = 0;
+        for (int p = table.first(fleet[k]), end = table.end(fleet[k]); p < end; p++) {
+            if (allowed(p, occLo, occHi)) buf[n++] = p;
+        }
+
+        while (n > 0) {
+            int j = rng.nextInt(n);
+            int p = buf[j];
+            buf[j] = buf[--n];
+            out[k] = p;
+            if (backtrack(k + 1, occLo | table.footprintLo(p), occHi | table.footprintHi(p), out)) return true;
+            // El nivel k+1 reutiliza su propio buffer; el nuestro sigue intacto en [0, n)
+        }
+        return false;
+    }
+
+    /**
+     * @return Número de distribuciones generadas por esta instancia.
+     */
+    public long layoutsGenerated() {
+        return layouts;
+    }
+
+    /**
+     * @return Número de intentos (nodos de retroceso o distribuciones rechazadas) realizados.
+     */
+    public long attempts() {
+        return attempts;
+    }
+
+    /**
+     * @return Distribuciones generadas por segundo de tiempo dedicado a generarlas.
+     */
+    public double layoutsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : layouts * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Reinicia los contadores de rendimiento.
+     */
+    public void resetStats() {
+        layouts = 0;
+        attempts = 0;
+        elapsedNanos = 0;
+    }
+}
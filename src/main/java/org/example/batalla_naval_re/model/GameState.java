@@ -2,6 +2,7 @@ package org.example.batalla_naval_re.model;
 
 import java.io.Serializable;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -31,6 +32,12 @@ public class GameState implements Serializable {
      */
     private boolean gameOver = false;
 
+    /**
+     * Identificador de la estrategia de IA de la máquina para esta partida.
+     * {@code null} (por ejemplo, en partidas guardadas antes de existir este campo) indica la estrategia por defecto.
+     */
+    private String aiStrategyId;
+
     /**
      * Contador atómico para rastrear el número de barcos hundidos de la máquina.
      * Marcado como transient porque {@link AtomicInteger} no es Serializable por defecto,
@@ -64,12 +71,40 @@ public class GameState implements Serializable {
      * @return Una nueva instancia de {@code GameState} lista para comenzar la fase de colocación.
      */
     public static GameState newGame(String nickname) {
-        Player p = new Player(nickname);
+        return newGame(nickname, Board.SIZE);
+    }
+
+    /**
+     * Crea una nueva partida con un tamaño de tablero específico.
+     * <p>
+     * Ambos tableros (jugador y máquina) tienen {@code boardSize x boardSize} celdas.
+     * Los tableros grandes usan almacenamiento disperso.
+     * </p>
+     *
+     * @param nickname  El nombre o apodo del jugador humano.
+     * @param boardSize Número de filas y columnas de los tableros (1 a {@link Board#MAX_SIZE}).
+     * @return Una nueva instancia de {@code GameState} lista para comenzar la fase de colocación.
+     */
+    public static GameState newGame(String nickname, int boardSize) {
+        return newGame(nickname, boardSize, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Crea una nueva partida cuya flota de la máquina se coloca de forma reproducible.
+     *
+     * @param nickname  El nombre o apodo del jugador humano.
+     * @param boardSize Número de filas y columnas de los tableros.
+     * @param seed      Semilla para la colocación de los barcos de la máquina.
+     * @return Una nueva instancia de {@code GameState} lista para comenzar la fase de colocación.
+     */
+    public static GameState newGame(String nickname, int boardSize, long seed) {
+        Player p = new Player(nickname, boardSize);
         // Crear barcos vacíos para que el jugador los coloque manualmente
         p.getBoard().createShipsWithoutPlacement();
 
-        Board machine = new Board();
         // Colocar automáticamente los barcos de la máquina
+        Board machine = new Board(boardSize);
+        machine.reseed(seed);
         machine.randomPlaceAllShips();
 
         return new GameState(p, machine);
@@ -93,6 +128,14 @@ public class GameState implements Serializable {
         return machineBoard;
     }
 
+    /**
+     * Obtiene el tamaño de los tableros de la partida.
+     * @return Número de filas y columnas.
+     */
+    public int getBoardSize() {
+        return machineBoard.getSize();
+    }
+
     /**
      * Verifica si el juego ha terminado.
      * @return {@code true} si hay un ganador, {@code false} si la partida sigue en curso.
@@ -109,6 +152,22 @@ public class GameState implements Serializable {
         this.gameOver = gameOver;
     }
 
+    /**
+     * Obtiene la estrategia de IA elegida para la partida.
+     * @return Identificador de la estrategia, o {@code null} para usar la estrategia por defecto.
+     */
+    public String getAiStrategyId() {
+        return aiStrategyId;
+    }
+
+    /**
+     * Elige la estrategia de IA de la máquina para esta partida.
+     * @param aiStrategyId Identificador de un proveedor registrado, o {@code null} para la estrategia por defecto.
+     */
+    public void setAiStrategyId(String aiStrategyId) {
+        this.aiStrategyId = aiStrategyId;
+    }
+
     /**
      * Método auxiliar para obtener la representación de la máquina como jugador (si fuera necesario).
      * Actualmente retorna {@code Optional.empty()}.
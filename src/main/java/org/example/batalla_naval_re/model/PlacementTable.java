@@ -0,0 +1,222 @@
+package org.example.batalla_naval_re.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla precalculada con todas las colocaciones posibles de cada tipo de barco en un tablero.
+ * <p>
+ * Para cada {@link ShipType}, orientación y ancla (fila/columna inicial) que cabe dentro del tablero
+ * se guarda su huella (las celdas que ocupa) y su halo (la huella más las 8 celdas vecinas de cada
+ * segmento), ambos como máscaras de 128 bits. Con la regla de "sin tocar bordes ni diagonales",
+ * una colocación es legal si su halo no intersecta la ocupación actual del tablero: un único AND.
+ * </p>
+ * <p>
+ * Las colocaciones se identifican con un índice entero. Las de un mismo tipo son contiguas,
+ * en el rango {@code [first(type), end(type))}. La tabla se construye una sola vez por tamaño
+ * de tablero y es inmutable, por lo que se comparte entre hilos.
+ * </p>
+ */
+public final class PlacementTable {
+
+    /**
+     * Máximo número de celdas representable con máscaras de 128 bits.
+     */
+    public static final int MAX_CELLS = 128;
+
+    private static final Map<Integer, PlacementTable> TABLES = new ConcurrentHashMap<>();
+
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private final int size;
+
+    private final long[] cellHaloLo;
+    private final long[] cellHaloHi;
+
+    private final byte[] types;
+    private final byte[] rows;
+    private final byte[] cols;
+    private final boolean[] horizontal;
+    private final long[] footprintLo;
+    private final long[] footprintHi;
+    private final long[] haloLo;
+    private final long[] haloHi;
+
+    private final int[] firstByType;
+    private final int[] endByType;
+
+    /**
+     * Índice de colocación por (tipo, orientación, celda ancla); -1 si no cabe en el tablero.
+     */
+    private final int[] byAnchor;
+
+    /**
+     * Obtiene la tabla para un tablero de {@code size x size}, construyéndola la primera vez.
+     *
+     * @param size Número de filas y columnas del tablero.
+     * @return La tabla compartida para ese tamaño.
+     * @throws IllegalArgumentException Si el tablero no cabe en una máscara de 128 bits.
+     */
+    public static PlacementTable forSize(int size) {
+        if (size <= 0 || size * size > MAX_CELLS) {
+            throw new IllegalArgumentException("Tamaño de tablero no soportado por máscaras de 128 bits: " + size);
+        }
+        return TABLES.computeIfAbsent(size, PlacementTable::new);
+    }
+
+    private PlacementTable(int size) {
+        this.size = size;
+        int cells = size * size;
+
+        cellHaloLo = new long[cells];
+        cellHaloHi = new long[cells];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int i = r * size + c;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(size - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(size - 1, c + 1); nc++) {
+                        cellHaloLo[i] |= Bits128.loBit(nr * size + nc);
+                        cellHaloHi[i] |= Bits128.hiBit(nr * size + nc);
+                    }
+                }
+            }
+        }
+
+        int total = 0;
+        for (ShipType type : TYPES) total += countFor(type.getSize(), size);
+
+        types = new byte[total];
+        rows = new byte[total];
+        cols = new byte[total];
+        horizontal = new boolean[total];
+        footprintLo = new long[total];
+        footprintHi = new long[total];
+        haloLo = new long[total];
+        haloHi = new long[total];
+        firstByType = new int[TYPES.length];
+        endByType = new int[TYPES.length];
+        byAnchor = new int[TYPES.length * 2 * cells];
+        Arrays.fill(byAnchor, -1);
+
+        int p = 0;
+        for (ShipType type : TYPES) {
+            firstByType[type.ordinal()] = p;
+            int length = type.getSize();
+            for (int o = 0; o < 2; o++) {
+                boolean h = o == 0;
+                // Un barco de una celda es igual en ambas orientaciones: solo se registra horizontal
+                if (!h && length == 1) continue;
+                int maxRow = h ? size : size - length + 1;
+                int maxCol = h ? size - length + 1 : size;
+                for (int r = 0; r < maxRow; r++) {
+                    for (int c = 0; c < maxCol; c++) {
+                        types[p] = (byte) type.ordinal();
+                        rows[p] = (byte) r;
+                        cols[p] = (byte) c;
+                        horizontal[p] = h;
+                        for (int k = 0; k < length; k++) {
+                            int i = h ? r * size + c + k : (r + k) * size + c;
+                            footprintLo[p] |= Bits128.loBit(i);
+                            footprintHi[p] |= Bits128.hiBit(i);
+                            haloLo[p] |= cellHaloLo[i];
+                            haloHi[p] |= cellHaloHi[i];
+                        }
+                        byAnchor[anchorKey(type, r, c, h)] = p;
+                        if (length == 1) byAnchor[anchorKey(type, r, c, false)] = p;
+                        p++;
+                    }
+                }
+            }
+            endByType[type.ordinal()] = p;
+        }
+    }
+
+    private static int countFor(int length, int size) {
+        int fits = size - length + 1;
+        if (fits <= 0) return 0;
+        return length == 1 ? size * size : 2 * fits * size;
+    }
+
+    private int anchorKey(ShipType type, int row, int col, boolean h) {
+        return ((type.ordinal() * 2) + (h ? 0 : 1)) * size * size + row * size + col;
+    }
+
+    /**
+     * @return Número de filas y columnas del tablero para el que se construyó la tabla.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Número total de colocaciones de todos los tipos.
+     */
+    public int count() {
+        return types.length;
+    }
+
+    /**
+     * @param type Tipo de barco.
+     * @return Índice de la primera colocación de ese tipo.
+     */
+    public int first(ShipType type) {
+        return firstByType[type.ordinal()];
+    }
+
+    /**
+     * @param type Tipo de barco.
+     * @return Índice siguiente a la última colocación de ese tipo.
+     */
+    public int end(ShipType type) {
+        return endByType[type.ordinal()];
+    }
+
+    /**
+     * Busca la colocación con un ancla y orientación dadas.
+     *
+     * @param type       Tipo de barco.
+     * @param row        Fila inicial (superior/izquierda).
+     * @param col        Columna inicial (superior/izquierda).
+     * @param horizontal Orientación.
+     * @return El índice de la colocación, o {@code -1} si el barco no cabe en el tablero.
+     */
+    public int find(ShipType type, int row, int col, boolean horizontal) {
+        if (row < 0 || row >= size || col < 0 || col >= size) return -1;
+        return byAnchor[anchorKey(type, row, col, horizontal)];
+    }
+
+    public ShipType type(int placement) { return TYPES[types[placement]]; }
+    public int row(int placement) { return rows[placement]; }
+    public int col(int placement) { return cols[placement]; }
+    public boolean isHorizontal(int placement) { return horizontal[placement]; }
+
+    public long footprintLo(int placement) { return footprintLo[placement]; }
+    public long footprintHi(int placement) { return footprintHi[placement]; }
+    public long haloLo(int placement) { return haloLo[placement]; }
+    public long haloHi(int placement) { return haloHi[placement]; }
+
+    /**
+     * @param index Índice lineal de una celda.
+     * @return Mitad baja de la máscara con la celda y sus 8 vecinas.
+     */
+    public long cellHaloLo(int index) { return cellHaloLo[index]; }
+
+    /**
+     * @param index Índice lineal de una celda.
+     * @return Mitad alta de la máscara con la celda y sus 8 vecinas.
+     */
+    public long cellHaloHi(int index) { return cellHaloHi[index]; }
+
+    /**
+     * Verifica si una colocación respeta la regla de separación frente a una ocupación dada.
+     *
+     * @param placement  Índice de la colocación.
+     * @param occupiedLo Mitad baja de la máscara de celdas ocupadas por barcos.
+     * @param occupiedHi Mitad alta de la máscara de celdas ocupadas por barcos.
+     * @return {@code true} si el halo de la colocación no toca ningún barco.
+     */
+    public boolean isLegal(int placement, long occupiedLo, long occupiedHi) {
+        return (haloLo[placement] & occupiedLo) == 0 && (haloHi[placement] & occupiedHi) == 0;
+    }
+}
@@ -30,14 +30,24 @@ public class Player implements Serializable {
     /**
      * Constructor que inicializa un nuevo jugador.
      * <p>
-     * Crea un nuevo tablero vacío y establece el contador de hundidos a cero.
+     * Crea un nuevo tablero vacío de tamaño estándar y establece el contador de hundidos a cero.
      * </p>
      *
      * @param name El nombre del jugador.
      */
     public Player(String name) {
+        this(name, Board.SIZE);
+    }
+
+    /**
+     * Constructor que inicializa un nuevo jugador con un tablero de tamaño específico.
+     *
+     * @param name      El nombre del jugador.
+     * @param boardSize Número de filas y columnas de su tablero.
+     */
+    public Player(String name, int boardSize) {
         this.name = name;
-        this.board = new Board();
+        this.board = new Board(boardSize);
         this.sunkCount = 0;
     }
 
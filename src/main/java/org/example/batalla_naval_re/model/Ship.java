@@ -2,6 +2,7 @@ package org.example.batalla_naval_re.model;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,9 +18,31 @@ public class Ship implements Serializable {
 
     private final ShipType type;
     private final List<Cell> cells;
+
+    /**
+     * Vista de solo lectura de {@link #cells}, creada una única vez.
+     */
+    private transient List<Cell> cellsView;
+
     private boolean isHorizontal;
     private boolean isSunk;
 
+    /**
+     * Celda ancla (primer segmento) del barco en el tablero.
+     */
+    private int startRow;
+    private int startCol;
+
+    /**
+     * Máscara de segmentos impactados: el bit {@code i} corresponde al segmento {@code i}.
+     */
+    private int hitMask;
+
+    /**
+     * Segmentos del casco que aún no han sido impactados.
+     */
+    private int remainingHull;
+
     /**
      * Constructor que crea un nuevo barco de un tipo específico.
      *
@@ -43,39 +66,58 @@ public class Ship implements Serializable {
      */
     public void addCell(Cell cell) {
         if (!cells.contains(cell)) {
+            if (cells.isEmpty()) {
+                startRow = cell.getRow();
+                startCol = cell.getCol();
+            }
             cells.add(cell);
             cell.setShip(this);
+            remainingHull++;
         }
     }
 
-    // ✅ El barco recibe impacto SOLO desde Cell
     /**
      * Notifica al barco que una de sus celdas ha sido impactada.
      * <p>
-     * Verifica si la celda pertenece al barco y si no ha sido impactada previamente.
-     * Si todas las celdas del barco han sido impactadas, marca el barco como hundido.
+     * Si la celda pertenece al barco y no había sido impactada, marca el impacto en el tablero,
+     * que a su vez lo registra en el barco mediante {@link #registerHit(int, int)}.
      * </p>
      *
      * @param hitCell La celda que recibió el disparo.
      */
     public void notifyHit(Cell hitCell) {
-        if (!cells.contains(hitCell) || hitCell.isHit()) return;
+        if (hitCell.getShip() != this || hitCell.isHit()) return;
 
         hitCell.setHit(true);
+    }
+
+    /**
+     * Registra el impacto de un segmento en tiempo constante y sin asignaciones.
+     * Solo lo invoca el tablero, una vez por celda impactada.
+     *
+     * @param row Fila de la celda impactada.
+     * @param col Columna de la celda impactada.
+     * @return {@code true} si este impacto hundió el barco.
+     */
+    boolean registerHit(int row, int col) {
+        int bit = 1 << ((row - startRow) + (col - startCol));
+        if ((hitMask & bit) != 0 || isSunk) return false;
 
-        if (cells.stream().allMatch(Cell::isHit)) {
-            markAsSunk();
+        hitMask |= bit;
+        if (--remainingHull == 0) {
+            isSunk = true;
+            return true;
         }
+        return false;
     }
 
     /**
-     * Marca el barco internamente como hundido y actualiza el estado de todas sus celdas.
+     * Obtiene la cantidad de segmentos del casco que aún no han sido impactados.
+     *
+     * @return Segmentos intactos.
      */
-    private void markAsSunk() {
-        this.isSunk = true;
-        for (Cell c : cells) {
-            c.setSunkPart(true);
-        }
+    public int getRemainingHull() {
+        return remainingHull;
     }
 
     /**
@@ -116,11 +158,76 @@ public class Ship implements Serializable {
 
     /**
      * Obtiene una lista de las celdas que ocupa este barco.
+     * <p>
+     * Es una vista viva y de solo lectura, ordenada por segmento (de proa a popa):
+     * no se copia en cada llamada.
+     * </p>
      *
-     * @return Una nueva lista conteniendo las celdas asociadas.
+     * @return Lista no modificable con las celdas asociadas.
      */
     public List<Cell> getCells() {
-        return new ArrayList<>(cells);
+        if (cellsView == null) cellsView = Collections.unmodifiableList(cells);
+        return cellsView;
+    }
+
+    /**
+     * Obtiene la celda de un segmento concreto del barco.
+     *
+     * @param segment Índice del segmento (0 a {@link #getSize()} - 1).
+     * @return La celda de ese segmento.
+     */
+    public Cell getCell(int segment) {
+        return cells.get(segment);
+    }
+
+    /**
+     * Calcula en tiempo constante qué segmento del barco ocupa una celda.
+     *
+     * @param cell La celda a buscar.
+     * @return El índice (0 a size-1) del segmento, o {@code -1} si la celda no pertenece al barco.
+     */
+    public int segmentOf(Cell cell) {
+        if (cell == null || cell.getShip() != this) return -1;
+        return (cell.getRow() - startRow) + (cell.getCol() - startCol);
+    }
+
+    /**
+     * Obtiene la fila de un segmento sin acceder a objetos {@link Cell}.
+     *
+     * @param segment Índice del segmento.
+     * @return Fila del tablero que ocupa el segmento.
+     */
+    public int segmentRow(int segment) {
+        return isHorizontal ? startRow : startRow + segment;
+    }
+
+    /**
+     * Obtiene la columna de un segmento sin acceder a objetos {@link Cell}.
+     *
+     * @param segment Índice del segmento.
+     * @return Columna del tablero que ocupa el segmento.
+     */
+    public int segmentCol(int segment) {
+        return isHorizontal ? startCol + segment : startCol;
+    }
+
+    /**
+     * Verifica si un segmento concreto ya fue impactado.
+     *
+     * @param segment Índice del segmento.
+     * @return {@code true} si el segmento recibió un impacto.
+     */
+    public boolean isSegmentHit(int segment) {
+        return (hitMask & (1 << segment)) != 0;
+    }
+
+    /**
+     * Indica si el barco ocupa todas sus celdas en un tablero.
+     *
+     * @return {@code true} si el barco está completamente colocado.
+     */
+    public boolean isPlaced() {
+        return cells.size() == getSize();
     }
 
     /**
@@ -146,6 +253,7 @@ public class Ship implements Serializable {
      * <p>
      * Primero verifica si la posición es válida usando {@link #canPlaceAt}.
      * Si es válida, asigna las celdas correspondientes al barco.
+     * Si el barco ya estaba colocado, libera sus celdas anteriores.
      * </p>
      *
      * @param board      El tablero donde se colocará el barco.
@@ -157,8 +265,20 @@ public class Ship implements Serializable {
     public boolean placeAt(Board board, int startRow, int startCol, boolean horizontal) {
         if (!canPlaceAt(board, startRow, startCol, horizontal)) return false;
 
+        occupy(board, startRow, startCol, horizontal);
+        return true;
+    }
+
+    /**
+     * Asigna las celdas del barco sin volver a validar la colocación.
+     * Solo debe llamarse después de comprobar {@link Board#canPlaceShip}.
+     */
+    void occupy(Board board, int startRow, int startCol, boolean horizontal) {
         this.isHorizontal = horizontal;
+        for (Cell previous : cells) previous.setShip(null);
         cells.clear();
+        hitMask = 0;
+        remainingHull = 0;
 
         for (int i = 0; i < getSize(); i++) {
             int row = horizontal ? startRow : startRow + i;
@@ -166,14 +286,13 @@ public class Ship implements Serializable {
 
             addCell(board.getCell(row, col));
         }
-        return true;
     }
 
     /**
      * Verifica si es posible colocar el barco en las coordenadas indicadas.
      * <p>
-     * Comprueba límites del tablero, si las celdas ya están ocupadas y reglas de adyacencia
-     * (espacio libre alrededor).
+     * Delega en {@link Board#canPlaceShip}, que comprueba límites del tablero, colisiones
+     * y reglas de adyacencia (espacio libre alrededor) con la tabla de colocaciones.
      * </p>
      *
      * @param board      El tablero a verificar.
@@ -183,14 +302,6 @@ public class Ship implements Serializable {
      * @return {@code true} si la posición es válida y libre, {@code false} en caso contrario.
      */
     public boolean canPlaceAt(Board board, int startRow, int startCol, boolean horizontal) {
-        for (int i = 0; i < getSize(); i++) {
-            int row = horizontal ? startRow : startRow + i;
-            int col = horizontal ? startCol + i : startCol;
-
-            if (!board.isValidPosition(row, col)) return false;
-            if (board.getCell(row, col).isShip()) return false;
-            if (!board.isCellFreeForShipPlacement(row, col)) return false;
-        }
-        return true;
+        return board.canPlaceShip(this, startRow, startCol, horizontal);
     }
 }
\ No newline at end of file
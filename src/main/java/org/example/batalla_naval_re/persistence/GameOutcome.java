@@ -0,0 +1,82 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+
+/**
+ * Resultado de una partida terminada de un jugador, tal como se anota en el {@link StatsStore}.
+ * Es inmutable.
+ */
+public final class GameOutcome {
+
+    private final String nickname;
+    private final boolean won;
+    private final int shots;
+    private final int hits;
+    private final int shipsSunk;
+    private final long durationMillis;
+    private final long timestamp;
+
+    /**
+     * @param nickname       Apodo del jugador.
+     * @param won            {@code true} si ganó el jugador.
+     * @param shots          Disparos del jugador.
+     * @param hits           Disparos del jugador que acertaron.
+     * @param shipsSunk      Barcos de la máquina que hundió.
+     * @param durationMillis Duración de la partida en milisegundos.
+     * @param timestamp      Fin de la partida, en milisegundos desde la época.
+     */
+    public GameOutcome(String nickname, boolean won, int shots, int hits, int shipsSunk,
+                       long durationMillis, long timestamp) {
+        this.nickname = nickname;
+        this.won = won;
+        this.shots = shots;
+        this.hits = hits;
+        this.shipsSunk = shipsSunk;
+        this.durationMillis = durationMillis;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Resume una partida a partir de sus tableros: cuenta los disparos, aciertos y hundimientos del
+     * jugador sobre el tablero de la máquina, así que sirve también para partidas cargadas.
+     *
+     * @param state          La partida.
+     * @param won            {@code true} si ganó el jugador.
+     * @param durationMillis Duración de la partida en milisegundos.
+     * @return El resultado, fechado ahora.
+     */
+    public static GameOutcome of(GameState state, boolean won, long durationMillis) {
+        Board machine = state.getMachineBoard();
+        int shots = 0;
+        int hits = 0;
+        for (int r = 0; r < machine.getSize(); r++) {
+            for (int c = 0; c < machine.getSize(); c++) {
+                if (!machine.isTried(r, c)) continue;
+                shots++;
+                if (machine.getCell(r, c).isShip()) hits++;
+            }
+        }
+        int sunk = 0;
+        for (int i = 0; i < machine.getShipCount(); i++) {
+            if (machine.getShip(i).isSunk()) sunk++;
+        }
+        return new GameOutcome(state.getPlayer().getName(), won, shots, hits, sunk,
+                durationMillis, System.currentTimeMillis());
+    }
+
+    public String getNickname() { return nickname; }
+    public boolean isWon() { return won; }
+    public int getShots() { return shots; }
+    public int getHits() { return hits; }
+    public int getShipsSunk() { return shipsSunk; }
+    public long getDurationMillis() { return durationMillis; }
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * @return Fracción de disparos que acertaron (0 si no disparó).
+     */
+    public double getAccuracy() {
+        return shots == 0 ? 0 : (double) hits / shots;
+    }
+}
@@ -0,0 +1,309 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de jugadas de solo anexado (write-ahead log) para una partida guardada.
+ * <p>
+ * En lugar de reescribir la partida completa tras cada cambio, se guarda una fotografía
+ * ({@link SaveCodec}) y después se anexa un registro de {@link #RECORD_BYTES} bytes por cada disparo
+ * o colocación. Cada {@link #COMPACT_EVERY} registros se escribe una fotografía nueva y el diario
+ * vuelve a empezar. Fotografía y diario se reemplazan siempre con archivo temporal más renombrado,
+ * así que un cierre inesperado nunca deja a medias el único guardado.
+ * </p>
+ * <p>
+ * El diario empieza con una cabecera que lleva el CRC32 de la fotografía a la que pertenece: al
+ * recuperar ({@link #recover}) solo se repiten registros de un diario que corresponde a la fotografía
+ * actual, y se descarta un último registro incompleto o con suma de control inválida.
+ * </p>
+ * <pre>
+ * cabecera  'B' 'N' 'J' versión, CRC32 de la fotografía (int)
+ * registro  tipo (1 = colocación, 2 = disparo del jugador, 3 = disparo de la máquina),
+ *           auxiliar (colocación: índice del barco, bit 7 = horizontal), celda (int),
+ *           suma de control (short)
+ * </pre>
+ * <p>
+ * No es seguro entre hilos: debe usarse desde el hilo que modifica la partida. Ese hilo solo codifica
+ * registros y fotografías; los bytes van a un destino que los escribe. El diario de la partida en
+ * juego lo abre {@link PersistenceService#startJournal}, que hace toda la escritura en su hilo de E/S;
+ * {@link #start(GameState, Path, Path)} escribe en el mismo hilo que llama.
+ * </p>
+ */
+public final class MoveJournal implements Closeable {
+
+    /**
+     * Bytes de cada registro.
+     */
+    public static final int RECORD_BYTES = 8;
+
+    /**
+     * Registros tras los que se compacta el diario en una fotografía nueva.
+     */
+    public static final int COMPACT_EVERY = 64;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int VERSION = 1;
+
+    private static final int PLACEMENT = 1;
+    private static final int PLAYER_SHOT = 2;
+    private static final int MACHINE_SHOT = 3;
+    private static final int HORIZONTAL = 0x80;
+
+    /**
+     * Destino de los bytes ya codificados del diario.
+     */
+    interface Sink {
+        /**
+         * Reemplaza la fotografía y empieza un diario vacío para ella.
+         *
+         * @param snapshot Bytes de {@link SaveCodec#encode}.
+         * @throws GameFileException Si no se puede escribir.
+         */
+        void checkpoint(byte[] snapshot) throws GameFileException;
+
+        /**
+         * Anexa un registro al diario.
+         *
+         * @param record Registro de {@link #RECORD_BYTES} bytes.
+         * @throws GameFileException Si no se puede escribir.
+         */
+        void append(byte[] record) throws GameFileException;
+
+        /**
+         * Cierra el diario; lo ya anexado queda en disco.
+         */
+        void close();
+    }
+
+    private final Sink sink;
+    private int pending;
+
+    MoveJournal(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Empieza a registrar una partida escribiendo en el hilo que llama: escribe su fotografía y un
+     * diario vacío.
+     *
+     * @param state        La partida.
+     * @param snapshotFile Archivo de la fotografía.
+     * @param journalFile  Archivo del diario.
+     * @return El diario abierto.
+     * @throws GameFileException Si no se pueden escribir los archivos.
+     */
+    public static MoveJournal start(GameState state, Path snapshotFile, Path journalFile) throws GameFileException {
+        MoveJournal journal = new MoveJournal(new FileSink(snapshotFile, journalFile));
+        journal.checkpoint(state);
+        return journal;
+    }
+
+    /**
+     * Registra un disparo válido (no repetido).
+     *
+     * @param state    La partida, ya con el disparo aplicado (se usa si toca compactar).
+     * @param byPlayer {@code true} si disparó el jugador (contra el tablero de la máquina).
+     * @param cell     Índice lineal de la celda disparada.
+     * @throws GameFileException Si no se puede escribir.
+     */
+    public void recordShot(GameState state, boolean byPlayer, int cell) throws GameFileException {
+        append(state, byPlayer ? PLAYER_SHOT : MACHINE_SHOT, 0, cell);
+    }
+
+    /**
+     * Registra la colocación de un barco del jugador.
+     *
+     * @param state      La partida, ya con el barco colocado.
+     * @param shipIndex  Índice del barco en la flota del jugador.
+     * @param cell       Índice lineal de la celda de proa.
+     * @param horizontal Orientación del barco.
+     * @throws GameFileException Si no se puede escribir.
+     */
+    public void recordPlacement(GameState state, int shipIndex, int cell, boolean horizontal) throws GameFileException {
+        append(state, PLACEMENT, shipIndex | (horizontal ? HORIZONTAL : 0), cell);
+    }
+
+    /**
+     * Escribe una fotografía nueva de la partida y reinicia el diario.
+     *
+     * @param state La partida.
+     * @throws GameFileException Si no se pueden escribir los archivos.
+     */
+    public void checkpoint(GameState state) throws GameFileException {
+        sink.checkpoint(SaveCodec.encode(state));
+        pending = 0;
+    }
+
+    /**
+     * @return Registros anexados desde la última fotografía.
+     */
+    public int getPendingRecords() {
+        return pending;
+    }
+
+    /**
+     * Cierra el diario. Lo ya anexado queda en disco.
+     */
+    @Override
+    public void close() {
+        sink.close();
+    }
+
+    private void append(GameState state, int type, int aux, int cell) throws GameFileException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        record.put((byte) type).put((byte) aux).putInt(cell).putShort(check(type, aux, cell));
+        sink.append(record.array());
+        if (++pending >= COMPACT_EVERY) checkpoint(state);
+    }
+
+    /**
+     * Escribe la fotografía y el diario directamente en sus archivos, en el hilo que llama.
+     */
+    static final class FileSink implements Sink {
+
+        private final Path snapshotFile;
+        private final Path journalFile;
+        private FileChannel channel;
+
+        FileSink(Path snapshotFile, Path journalFile) {
+            this.snapshotFile = snapshotFile;
+            this.journalFile = journalFile;
+        }
+
+        @Override
+        public void checkpoint(byte[] snapshot) throws GameFileException {
+            close();
+            SaveManager.writeAtomically(snapshotFile, snapshot);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.put((byte) 'B').put((byte) 'N').put((byte) 'J').put((byte) VERSION).putInt(crc(snapshot));
+            SaveManager.writeAtomically(journalFile, header.array());
+            try {
+                channel = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new GameFileException("No se pudo abrir el diario de la partida.", e);
+            }
+        }
+
+        @Override
+        public void append(byte[] record) throws GameFileException {
+            if (channel == null) throw new GameFileException("El diario de la partida está cerrado.");
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            try {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            } catch (IOException e) {
+                throw new GameFileException("No se pudo escribir el diario de la partida.", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Lo escrito ya está en el sistema de archivos
+            }
+            channel = null;
+        }
+    }
+
+    // ------------------------------------------------------
+    // RECUPERACIÓN
+    // ------------------------------------------------------
+
+    /**
+     * Carga la fotografía y le aplica el diario que le corresponde.
+     *
+     * @param snapshotFile Archivo de la fotografía.
+     * @param journalFile  Archivo del diario (puede no existir).
+     * @return La partida recuperada, o {@code null} si no hay fotografía.
+     * @throws GameFileException Si la fotografía no se puede leer o está corrupta.
+     */
+    public static GameState recover(Path snapshotFile, Path journalFile) throws GameFileException {
+        if (!Files.exists(snapshotFile)) return null;
+        byte[] snapshot;
+        byte[] journal = null;
+        try {
+            snapshot = Files.readAllBytes(snapshotFile);
+            if (Files.exists(journalFile)) journal = Files.readAllBytes(journalFile);
+        } catch (IOException e) {
+            throw new GameFileException("Error al cargar la partida.", e);
+        }
+
+        GameState state = SaveManager.decode(snapshot);
+        if (journal != null && replay(state, journal, crc(snapshot)) > 0) SaveCodec.refreshCounters(state);
+        return state;
+    }
+
+    /**
+     * Repite sobre una partida los registros válidos de un diario.
+     *
+     * @param state       La partida cargada de la fotografía.
+     * @param journal     Contenido del diario.
+     * @param snapshotCrc CRC32 de la fotografía.
+     * @return Registros aplicados (0 si el diario es de otra fotografía).
+     */
+    static int replay(GameState state, byte[] journal, int snapshotCrc) {
+        if (journal.length < HEADER_BYTES) return 0;
+        ByteBuffer in = ByteBuffer.wrap(journal);
+        if (in.get() != 'B' || in.get() != 'N' || in.get() != 'J' || in.get() != VERSION) return 0;
+        if (in.getInt() != snapshotCrc) return 0;
+
+        Board player = state.getPlayer().getBoard();
+        Board machine = state.getMachineBoard();
+        int applied = 0;
+        // Un registro incompleto o con suma de control inválida marca el final de lo escrito
+        while (in.remaining() >= RECORD_BYTES) {
+            int type = in.get();
+            int aux = in.get() & 0xFF;
+            int cell = in.getInt();
+            if (in.getShort() != check(type, aux, cell)) break;
+            if (!apply(type, aux, cell, player, machine)) break;
+            applied++;
+        }
+        return applied;
+    }
+
+    private static boolean apply(int type, int aux, int cell, Board player, Board machine) {
+        int size = player.getSize();
+        if (cell < 0 || cell >= size * size) return false;
+        switch (type) {
+            case PLAYER_SHOT -> machine.shoot(cell / size, cell % size);
+            case MACHINE_SHOT -> player.shoot(cell / size, cell % size);
+            case PLACEMENT -> {
+                int ship = aux & ~HORIZONTAL;
+                if (ship >= player.getShipCount()) return false;
+                return player.addShip(player.getShip(ship), cell / size, cell % size, (aux & HORIZONTAL) != 0);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static short check(int type, int aux, int cell) {
+        int h = ((type * 31 + aux) * 0x9E3779B1) ^ cell;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return (short) (h ^ (h >>> 16));
+    }
+
+    private static int crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+}
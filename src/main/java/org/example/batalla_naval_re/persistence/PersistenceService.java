@@ -0,0 +1,499 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.GameState;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servicio de persistencia asíncrono.
+ * <p>
+ * Las operaciones de {@link SaveManager}, {@link SaveSlotStore} y {@link StatsStore} se ejecutan en un hilo de E/S propio y
+ * devuelven un {@link CompletableFuture}, así que ni el hilo de JavaFX ni el bucle de juego esperan al
+ * disco. La partida se codifica en el hilo que llama (el modelo no se comparte con el hilo de E/S) y
+ * solo los bytes viajan a la cola.
+ * </p>
+ * <p>
+ * Los guardados se agrupan: cada archivo espera {@code debounceMillis} antes de escribirse y, si en
+ * ese tiempo llegan más guardados del mismo archivo, solo se escribe el último. Todos los futuros
+ * agrupados se completan con esa única escritura. Las lecturas escriben antes lo pendiente, de modo
+ * que nunca devuelven un guardado anterior a uno ya pedido.
+ * </p>
+ * <p>
+ * El servicio también es dueño del diario de jugadas ({@link #startJournal}): la partida solo codifica
+ * registros y fotografías, y el anexado, las fotografías y sus {@code force} se hacen en la misma cola,
+ * detrás de cualquier guardado pedido antes.
+ * </p>
+ */
+public final class PersistenceService implements AutoCloseable {
+
+    /**
+     * Espera por defecto antes de escribir un guardado.
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+
+    /**
+     * Espera máxima al cerrar para que terminen las escrituras pendientes.
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private static PersistenceService defaultService;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final long debounceMillis;
+    private final Path saveFile;
+    private final Path journalFile;
+    private final Path statsFile;
+    private final Path slotsFile;
+
+    /**
+     * Contenedor de ranuras; se abre al usarlo por primera vez y solo se toca desde el hilo de E/S.
+     */
+    private SaveSlotStore slots;
+
+    /**
+     * Almacén de estadísticas; igual que {@link #slots}.
+     */
+    private StatsStore stats;
+
+    private final Slot saveSlot = new Slot();
+
+    /**
+     * Archivos del diario abierto con {@link #startJournal}, o {@code null}; solo se toca desde el hilo de E/S.
+     */
+    private MoveJournal.FileSink journal;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final LongAdder writeNanos = new LongAdder();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+    private volatile long lastWriteNanos;
+
+    /**
+     * Crea un servicio con su propio hilo de E/S.
+     *
+     * @param saveFile       Archivo del guardado de la partida.
+     * @param journalFile    Archivo del diario de jugadas del guardado.
+     * @param statsFile      Log de estadísticas ({@link StatsStore}).
+     * @param slotsFile      Archivo del contenedor de ranuras ({@link SaveSlotStore}).
+     * @param debounceMillis Espera antes de escribir, durante la que se agrupan los guardados.
+     */
+    public PersistenceService(Path saveFile, Path journalFile, Path statsFile, Path slotsFile, long debounceMillis) {
+        this.saveFile = saveFile;
+        this.journalFile = journalFile;
+        this.statsFile = statsFile;
+        this.slotsFile = slotsFile;
+        this.debounceMillis = debounceMillis;
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "persistence-io");
+            t.setDaemon(true);
+            return t;
+        });
+        // Una espera cancelada por una escritura adelantada sale de la cola y no retiene el cierre
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return El servicio de la aplicación, sobre los archivos por defecto.
+     */
+    public static synchronized PersistenceService getDefault() {
+        if (defaultService == null) {
+            defaultService = new PersistenceService(SaveManager.saveFile(), SaveManager.journalFile(),
+                    StatsManager.statsLogFile(), SaveManager.slotsFile(), DEFAULT_DEBOUNCE_MILLIS);
+        }
+        return defaultService;
+    }
+
+    // ------------------------------------------------------
+    // OPERACIONES
+    // ------------------------------------------------------
+
+    /**
+     * Guarda una partida. Debe llamarse desde el hilo que modifica la partida: aquí solo se codifica.
+     *
+     * @param state La partida.
+     * @return Futuro que se completa cuando el guardado (o uno posterior que lo sustituyó) está en disco.
+     */
+    public CompletableFuture<Void> saveState(GameState state) {
+        if (state == null) {
+            return CompletableFuture.failedFuture(new GameFileException("No se puede guardar un estado nulo."));
+        }
+        byte[] data = SaveCodec.encode(state);
+        return write(saveSlot, () -> SaveManager.writeSave(saveFile, journalFile, data));
+    }
+
+    /**
+     * Guarda una partida y empieza a anexar sus jugadas a un diario. Debe llamarse desde el hilo que
+     * modifica la partida, que después solo codifica: la fotografía y cada registro se escriben en el
+     * hilo de E/S, en orden y detrás de los guardados pedidos antes. Un diario abierto anteriormente
+     * deja de escribirse.
+     * <p>
+     * Los errores de escritura no llegan al instante: tras uno, el diario deja de escribir y la
+     * siguiente llamada sobre él lanza la excepción.
+     * </p>
+     *
+     * @param state La partida.
+     * @return El diario, para usar desde el hilo de la partida.
+     * @throws GameFileException Si el servicio ya está cerrado.
+     */
+    public MoveJournal startJournal(GameState state) throws GameFileException {
+        MoveJournal started = new MoveJournal(new QueuedSink());
+        started.checkpoint(state);
+        return started;
+    }
+
+    /**
+     * Anota una partida terminada en las estadísticas de su jugador.
+     *
+     * @param outcome El resultado de la partida.
+     * @return Futuro con las estadísticas del jugador ya actualizadas.
+     */
+    public CompletableFuture<PlayerStats> recordGame(GameOutcome outcome) {
+        return read(() -> stats().record(outcome));
+    }
+
+    /**
+     * Carga la última partida guardada, con su diario aplicado.
+     *
+     * @return Futuro con la partida, o con {@code null} si no hay ninguna guardada.
+     */
+    public CompletableFuture<GameState> loadLastState() {
+        return read(() -> {
+            flushNow(saveSlot);
+            return MoveJournal.recover(saveFile, journalFile);
+        });
+    }
+
+    /**
+     * @param nickname Apodo del jugador.
+     * @return Futuro con sus estadísticas, o con {@code null} si no tiene partidas.
+     */
+    public CompletableFuture<PlayerStats> playerStats(String nickname) {
+        return read(() -> stats().get(nickname));
+    }
+
+    /**
+     * @param n Cuántos jugadores devolver.
+     * @return Futuro con los {@code n} primeros de la clasificación.
+     */
+    public CompletableFuture<List<PlayerStats>> leaderboard(int n) {
+        return read(() -> stats().top(n));
+    }
+
+    /**
+     * Lista las partidas guardadas en ranuras, de la más reciente a la más antigua.
+     * Solo lee el índice del contenedor.
+     *
+     * @return Futuro con las ranuras.
+     */
+    public CompletableFuture<List<SaveSlot>> listSlots() {
+        return read(() -> slots().list());
+    }
+
+    /**
+     * Guarda una partida en una ranura. Debe llamarse desde el hilo que modifica la partida: aquí
+     * solo se codifica.
+     *
+     * @param name  Nombre de la ranura.
+     * @param state La partida.
+     * @return Futuro que se completa cuando la ranura está en disco.
+     */
+    public CompletableFuture<Void> saveSlot(String name, GameState state) {
+        SaveSlot slot = SaveSlotStore.describe(name, state);
+        byte[] data = SaveCodec.encode(state);
+        return read(() -> {
+            slots().save(slot, data);
+            return null;
+        });
+    }
+
+    /**
+     * Carga la partida de una ranura.
+     *
+     * @param name Nombre de la ranura.
+     * @return Futuro con la partida, o con {@code null} si la ranura está vacía.
+     */
+    public CompletableFuture<GameState> loadSlot(String name) {
+        return read(() -> slots().load(name));
+    }
+
+    /**
+     * Vacía una ranura; el contenedor se compacta en segundo plano cuando hace falta.
+     *
+     * @param name Nombre de la ranura.
+     * @return Futuro con {@code true} si la ranura estaba ocupada.
+     */
+    public CompletableFuture<Boolean> deleteSlot(String name) {
+        return read(() -> slots().delete(name));
+    }
+
+    private SaveSlotStore slots() throws GameFileException {
+        if (slots == null) slots = SaveSlotStore.open(slotsFile);
+        return slots;
+    }
+
+    private StatsStore stats() throws GameFileException {
+        if (stats == null) stats = StatsStore.open(statsFile);
+        return stats;
+    }
+
+    /**
+     * Escribe ya lo que esté esperando, sin agotar la espera de agrupación.
+     *
+     * @return Futuro que se completa cuando todo lo pedido hasta ahora está en disco.
+     */
+    public CompletableFuture<Void> flush() {
+        return read(() -> {
+            flushNow(saveSlot);
+            return null;
+        });
+    }
+
+    /**
+     * Escribe lo pendiente y detiene el hilo de E/S, esperando a que termine: el hilo es de tipo
+     * demonio y no retendría la salida de la aplicación.
+     */
+    @Override
+    public void close() {
+        flush();
+        read(() -> {
+            if (journal != null) journal.close();
+            if (slots != null) slots.close();
+            if (stats != null) stats.close();
+            return null;
+        });
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ------------------------------------------------------
+    // MÉTRICAS
+    // ------------------------------------------------------
+
+    /**
+     * @return Operaciones encoladas que aún no terminaron (escrituras en espera y lecturas).
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return Escrituras realizadas.
+     */
+    public long getWrites() {
+        return writes.get();
+    }
+
+    /**
+     * @return Guardados que no necesitaron escritura propia por agruparse con uno posterior.
+     */
+    public long getCoalescedSaves() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return Duración de la última escritura, en nanosegundos.
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    /**
+     * @return Duración media de las escrituras, en nanosegundos (0 si aún no hubo ninguna).
+     */
+    public long getAverageWriteNanos() {
+        long n = writes.get();
+        return n == 0 ? 0 : writeNanos.sum() / n;
+    }
+
+    /**
+     * @return Duración de la escritura más lenta, en nanosegundos.
+     */
+    public long getMaxWriteNanos() {
+        return maxWriteNanos.get();
+    }
+
+    // ------------------------------------------------------
+    // COLA
+    // ------------------------------------------------------
+
+    @FunctionalInterface
+    private interface Write {
+        void run() throws GameFileException;
+    }
+
+    @FunctionalInterface
+    private interface Read<T> {
+        T call() throws GameFileException;
+    }
+
+    /**
+     * Escritura pendiente de un archivo: solo la última cuenta, y todos sus futuros esperan por ella.
+     */
+    private static final class Slot {
+        Write latest;
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+
+        /**
+         * Espera de agrupación en curso, o {@code null} si no hay ninguna.
+         */
+        ScheduledFuture<?> timer;
+    }
+
+    /**
+     * Diario cuyas escrituras se encolan en el hilo de E/S. Tras el primer error no escribe nada más.
+     */
+    private final class QueuedSink implements MoveJournal.Sink {
+
+        private final MoveJournal.FileSink files = new MoveJournal.FileSink(saveFile, journalFile);
+        private volatile Throwable failure;
+
+        @Override
+        public void checkpoint(byte[] snapshot) throws GameFileException {
+            submit(() -> {
+                // Un guardado completo aún en espera no debe pisar después la fotografía del diario
+                flushNow(saveSlot);
+                if (journal != null && journal != files) journal.close();
+                journal = files;
+                files.checkpoint(snapshot);
+            });
+        }
+
+        @Override
+        public void append(byte[] record) throws GameFileException {
+            submit(() -> files.append(record));
+        }
+
+        @Override
+        public void close() {
+            read(() -> {
+                files.close();
+                if (journal == files) journal = null;
+                return null;
+            });
+        }
+
+        private void submit(Write write) throws GameFileException {
+            if (failure != null) throw new GameFileException("No se pudo escribir el diario de la partida.", failure);
+            read(() -> {
+                if (failure != null) return null;
+                try {
+                    write.run();
+                } catch (GameFileException e) {
+                    failure = e;
+                    files.close();
+                }
+                return null;
+            }).whenComplete((ignored, error) -> {
+                if (error != null && failure == null) failure = error;
+            });
+        }
+    }
+
+    private CompletableFuture<Void> write(Slot slot, Write write) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        RejectedExecutionException rejected;
+        synchronized (slot) {
+            if (slot.latest != null) coalesced.incrementAndGet();
+            slot.latest = write;
+            slot.waiters.add(future);
+            if (slot.timer != null) return future;
+
+            queued.incrementAndGet();
+            try {
+                slot.timer = executor.schedule(() -> {
+                    queued.decrementAndGet();
+                    synchronized (slot) {
+                        slot.timer = null;
+                    }
+                    flushNow(slot);
+                }, debounceMillis, TimeUnit.MILLISECONDS);
+                return future;
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                rejected = e;
+            }
+        }
+        fail(slot, new IllegalStateException("El servicio de persistencia está cerrado", rejected));
+        return future;
+    }
+
+    private <T> CompletableFuture<T> read(Read<T> read) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queued.decrementAndGet();
+                try {
+                    future.complete(read.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            future.completeExceptionally(new IllegalStateException("El servicio de persistencia está cerrado", e));
+        }
+        return future;
+    }
+
+    /**
+     * Escribe lo pendiente de un archivo. Solo se ejecuta en el hilo de E/S.
+     */
+    private void flushNow(Slot slot) {
+        Write write;
+        List<CompletableFuture<Void>> waiters;
+        synchronized (slot) {
+            write = slot.latest;
+            waiters = slot.waiters;
+            slot.latest = null;
+            slot.waiters = new ArrayList<>();
+            // La espera pendiente ya no tiene nada que escribir: se cancela para no retener el cierre
+            if (slot.timer != null && slot.timer.cancel(false)) queued.decrementAndGet();
+            slot.timer = null;
+        }
+        if (write == null) return;
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            write.run();
+        } catch (Throwable e) {
+            failure = e;
+        }
+        long elapsed = System.nanoTime() - start;
+        writes.incrementAndGet();
+        writeNanos.add(elapsed);
+        maxWriteNanos.accumulateAndGet(elapsed, Math::max);
+        lastWriteNanos = elapsed;
+
+        for (CompletableFuture<Void> waiter : waiters) {
+            if (failure != null) waiter.completeExceptionally(failure);
+            else waiter.complete(null);
+        }
+    }
+
+    private static void fail(Slot slot, Throwable error) {
+        List<CompletableFuture<Void>> waiters;
+        synchronized (slot) {
+            waiters = slot.waiters;
+            slot.latest = null;
+            slot.waiters = new ArrayList<>();
+        }
+        for (CompletableFuture<Void> waiter : waiters) waiter.completeExceptionally(error);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.batalla_naval_re.persistence;
+
+/**
+ * Estadísticas acumuladas de un jugador en el {@link StatsStore}. Es inmutable: cada partida nueva
+ * produce un objeto nuevo con {@link #plus(GameOutcome)}.
+ */
+public final class PlayerStats {
+
+    private final String nickname;
+    private final int games;
+    private final int wins;
+    private final long shots;
+    private final long hits;
+    private final long shipsSunk;
+    private final long totalMillis;
+    private final long lastPlayed;
+
+    /**
+     * @param nickname    Apodo del jugador.
+     * @param games       Partidas terminadas.
+     * @param wins        Partidas ganadas.
+     * @param shots       Disparos en total.
+     * @param hits        Aciertos en total.
+     * @param shipsSunk   Barcos hundidos en total.
+     * @param totalMillis Tiempo jugado en total, en milisegundos.
+     * @param lastPlayed  Fin de la última partida, en milisegundos desde la época.
+     */
+    public PlayerStats(String nickname, int games, int wins, long shots, long hits, long shipsSunk,
+                       long totalMillis, long lastPlayed) {
+        this.nickname = nickname;
+        this.games = games;
+        this.wins = wins;
+        this.shots = shots;
+        this.hits = hits;
+        this.shipsSunk = shipsSunk;
+        this.totalMillis = totalMillis;
+        this.lastPlayed = lastPlayed;
+    }
+
+    /**
+     * @param nickname Apodo del jugador.
+     * @return Las estadísticas de un jugador sin partidas.
+     */
+    public static PlayerStats empty(String nickname) {
+        return new PlayerStats(nickname, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @param outcome Resultado de una partida nueva del mismo jugador.
+     * @return Estas estadísticas con la partida sumada.
+     */
+    public PlayerStats plus(GameOutcome outcome) {
+        return new PlayerStats(nickname, games + 1, wins + (outcome.isWon() ? 1 : 0),
+                shots + outcome.getShots(), hits + outcome.getHits(), shipsSunk + outcome.getShipsSunk(),
+                totalMillis + outcome.getDurationMillis(), Math.max(lastPlayed, outcome.getTimestamp()));
+    }
+
+    public String getNickname() { return nickname; }
+    public int getGames() { return games; }
+    public int getWins() { return wins; }
+    public int getLosses() { return games - wins; }
+    public long getShots() { return shots; }
+    public long getHits() { return hits; }
+    public long getShipsSunk() { return shipsSunk; }
+    public long getTotalMillis() { return totalMillis; }
+    public long getLastPlayed() { return lastPlayed; }
+
+    /**
+     * @return Fracción de disparos que acertaron (0 si no disparó).
+     */
+    public double getAccuracy() {
+        return shots == 0 ? 0 : (double) hits / shots;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d victorias, %.0f%% de acierto, %d barcos hundidos",
+                nickname, wins, games, getAccuracy() * 100, shipsSunk);
+    }
+}
@@ -0,0 +1,430 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.model.Player;
+import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.model.ShipType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lee una repetición grabada con {@link ReplayWriter}.
+ * <p>
+ * Al abrir solo se leen la cabecera, las flotas y el índice de fotogramas clave. {@link #stateAt(int)}
+ * salta al fotograma clave anterior a la jugada pedida y repite como mucho {@code K} disparos; un
+ * {@link Cursor} avanza después jugada a jugada leyendo el archivo en streaming. Las partidas que
+ * devuelve son {@link GameState} normales, así que se dibujan con los mismos renderizadores que una
+ * partida en curso.
+ * </p>
+ * <p>
+ * Si la grabación se cortó (la aplicación se cerró o falló antes de escribir el índice), el índice
+ * se reconstruye recorriendo los bloques: cada uno empieza con su fotograma clave y tiene {@code K}
+ * disparos, así que sus posiciones se deducen del propio flujo. Se conservan los disparos completos.
+ * </p>
+ * <p>
+ * No es seguro entre hilos.
+ * </p>
+ */
+public final class ReplayReader implements Closeable {
+
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private long bufferStart;
+
+    private int size;
+    private int keyframeInterval;
+    private String playerName;
+    private int[] playerFleet;
+    private int[] machineFleet;
+    private int moves;
+    private long[] blocks;
+    private boolean recovered;
+
+    private ReplayReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.limit(0);
+    }
+
+    /**
+     * Abre una repetición.
+     *
+     * @param file Archivo de la repetición.
+     * @return El lector abierto.
+     * @throws GameFileException Si no se puede leer o no es una repetición.
+     */
+    public static ReplayReader open(Path file) throws GameFileException {
+        ReplayReader reader;
+        try {
+            reader = new ReplayReader(FileChannel.open(file, StandardOpenOption.READ));
+        } catch (IOException e) {
+            throw new GameFileException("No se pudo abrir la repetición.", e);
+        }
+        try {
+            reader.readIndex();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw new GameFileException("La repetición está corrupta.", e);
+        } catch (GameFileException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    /**
+     * @return Disparos grabados.
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * @return Tamaño de los tableros.
+     */
+    public int getBoardSize() {
+        return size;
+    }
+
+    /**
+     * @return Apodo del jugador.
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * @return Disparos entre fotogramas clave.
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * @return {@code true} si la grabación no se terminó y el índice se reconstruyó al abrirla.
+     */
+    public boolean isRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Reconstruye la partida tal como estaba tras un número de disparos.
+     *
+     * @param move Disparos aplicados, de 0 a {@link #getMoveCount()}.
+     * @return Una partida nueva en ese punto.
+     * @throws GameFileException Si el archivo está corrupto.
+     */
+    public GameState stateAt(int move) throws GameFileException {
+        return cursor(move).getState();
+    }
+
+    /**
+     * Crea un cursor situado tras un número de disparos, para avanzar desde ahí.
+     *
+     * @param move Disparos aplicados, de 0 a {@link #getMoveCount()}.
+     * @return El cursor.
+     * @throws GameFileException Si el archivo está corrupto.
+     */
+    public Cursor cursor(int move) throws GameFileException {
+        if (move < 0 || move > moves) throw new IndexOutOfBoundsException("Jugada fuera de rango: " + move);
+        int block = Math.min(move / keyframeInterval, blocks.length - 1);
+        Cursor cursor = new Cursor(block);
+        try {
+            position(blocks[block]);
+            applyKeyframe(cursor.state.getPlayer().getBoard());
+            applyKeyframe(cursor.state.getMachineBoard());
+            while (cursor.position < move) cursor.apply();
+            cursor.offset = bufferStart + buffer.position();
+        } catch (IOException | RuntimeException e) {
+            throw new GameFileException("La repetición está corrupta.", e);
+        }
+        SaveCodec.refreshCounters(cursor.state);
+        return cursor;
+    }
+
+    /**
+     * Cierra el archivo.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Solo se leía
+        }
+    }
+
+    /**
+     * Posición dentro de una repetición que avanza disparo a disparo sobre su propia partida.
+     */
+    public final class Cursor {
+
+        private final GameState state;
+        private int block;
+        private int position;
+        private long offset;
+
+        private Cursor(int block) {
+            this.state = initialState();
+            this.block = block;
+            this.position = block * keyframeInterval;
+        }
+
+        /**
+         * @return La partida en la posición actual; {@link #next()} la modifica.
+         */
+        public GameState getState() {
+            return state;
+        }
+
+        /**
+         * @return Disparos aplicados hasta ahora.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * Aplica el siguiente disparo.
+         *
+         * @return {@code false} si ya no quedan disparos.
+         * @throws GameFileException Si el archivo está corrupto.
+         */
+        public boolean next() throws GameFileException {
+            if (position >= moves) return false;
+            try {
+                // El siguiente disparo ya es del bloque siguiente: se salta su fotograma clave
+                if (position / keyframeInterval > block) {
+                    block++;
+                    position(offset);
+                    skipKeyframe();
+                    skipKeyframe();
+                } else {
+                    position(offset);
+                }
+                apply();
+                offset = bufferStart + buffer.position();
+            } catch (IOException | RuntimeException e) {
+                throw new GameFileException("La repetición está corrupta.", e);
+            }
+            SaveCodec.refreshCounters(state);
+            return true;
+        }
+
+        private void apply() throws IOException {
+            int code = varint();
+            int cell = code >>> 1;
+            Board target = (code & 1) != 0 ? state.getMachineBoard() : state.getPlayer().getBoard();
+            if (cell >= size * size) throw new IOException("Celda fuera del tablero: " + cell);
+            target.shoot(cell / size, cell % size);
+            position++;
+        }
+    }
+
+    // ------------------------------------------------------
+    // BYTES
+    // ------------------------------------------------------
+
+    private void readIndex() throws IOException, GameFileException {
+        position(0);
+        for (byte b : ReplayWriter.MAGIC) {
+            if (get() != b) throw new GameFileException("El archivo no es una repetición.");
+        }
+        int version = get();
+        if (version != ReplayWriter.VERSION) throw new GameFileException("Versión de repetición no soportada: " + version);
+        size = varint();
+        keyframeInterval = varint();
+        byte[] name = new byte[varint()];
+        for (int i = 0; i < name.length; i++) name[i] = (byte) get();
+        playerName = new String(name, StandardCharsets.UTF_8);
+        playerFleet = readFleet();
+        machineFleet = readFleet();
+        if (size < 1 || size > Board.MAX_SIZE || keyframeInterval < 1) throw new GameFileException("La repetición está corrupta.");
+        long data = bufferStart + buffer.position();
+
+        if (!readTrailerIndex(data)) {
+            scanBlocks(data);
+            recovered = true;
+        }
+        if (blocks.length == 0) throw new GameFileException("La repetición está corrupta.");
+    }
+
+    /**
+     * Lee el índice que apunta la cola del archivo.
+     *
+     * @return {@code false} si no hay cola o el índice no es válido.
+     */
+    private boolean readTrailerIndex(long data) throws IOException {
+        long length = channel.size();
+        if (length < data + ReplayWriter.TRAILER_BYTES) return false;
+        position(length - ReplayWriter.TRAILER_BYTES);
+        long index = readLong();
+        for (byte b : ReplayWriter.TRAILER_MAGIC) {
+            if (get() != b) return false;
+        }
+        if (index < data || index >= length - ReplayWriter.TRAILER_BYTES) return false;
+        try {
+            position(index);
+            int count = varint();
+            int blockCount = varint();
+            if (blockCount > (length - index) / Long.BYTES) return false;
+            long[] offsets = new long[blockCount];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = readLong();
+                if (offsets[i] < data || offsets[i] >= index) return false;
+            }
+            moves = count;
+            blocks = offsets;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reconstruye el índice de una grabación cortada recorriendo sus bloques hasta el último disparo
+     * completo. Cada fotograma clave debe tener tantas celdas como el primero más los disparos
+     * anteriores; si no, lo que sigue ya no es un bloque.
+     */
+    private void scanBlocks(long data) {
+        long[] found = new long[16];
+        int count = 0;
+        long first = -1;
+        long next = data;
+        moves = 0;
+        try {
+            while (true) {
+                position(next);
+                long tried = skipKeyframe() + skipKeyframe();
+                if (first < 0) first = tried;
+                if (tried != first + moves) break;
+                if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                found[count++] = next;
+                for (int i = 0; i < keyframeInterval; i++) {
+                    if ((varint() >>> 1) >= size * size) throw new IOException("Celda fuera del tablero");
+                    moves++;
+                    next = bufferStart + buffer.position();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Fin de lo que llegó a escribirse
+        }
+        blocks = Arrays.copyOf(found, count);
+    }
+
+    /**
+     * @return Por barco, {@code cabecera << 24 | celda de proa}.
+     */
+    private int[] readFleet() throws IOException {
+        int[] fleet = new int[get()];
+        for (int i = 0; i < fleet.length; i++) {
+            int header = get();
+            fleet[i] = header << 24 | varint();
+        }
+        return fleet;
+    }
+
+    private GameState initialState() {
+        Player player = new Player(playerName, size);
+        Board machine = new Board(size);
+        placeFleet(player.getBoard(), playerFleet);
+        placeFleet(machine, machineFleet);
+        return new GameState(player, machine);
+    }
+
+    private void placeFleet(Board board, int[] fleet) {
+        for (int ship : fleet) {
+            int header = ship >>> 24;
+            int bow = ship & 0xFFFFFF;
+            boolean horizontal = (header & ReplayWriter.SHIP_HORIZONTAL) != 0;
+            if (!board.addShip(new Ship(TYPES[header & 3]), bow / size, bow % size, horizontal)) {
+                throw new IllegalStateException("Flota inválida en la repetición");
+            }
+        }
+    }
+
+    private void applyKeyframe(Board board) throws IOException {
+        int kind = get();
+        if (kind == ReplayWriter.KEYFRAME_LIST) {
+            int cell = -1;
+            for (int n = varint(); n > 0; n--) {
+                cell += varint() + 1;
+                if (cell >= size * size) throw new IOException("Celda fuera del tablero: " + cell);
+                board.shoot(cell / size, cell % size);
+            }
+            return;
+        }
+        if (kind != ReplayWriter.KEYFRAME_BITMAP) throw new IOException("Fotograma clave desconocido: " + kind);
+        for (int b = 0, bytes = (size * size + 7) >>> 3; b < bytes; b++) {
+            int bits = get();
+            while (bits != 0) {
+                int i = (b << 3) + Integer.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (i < size * size) board.shoot(i / size, i % size);
+            }
+        }
+    }
+
+    /**
+     * Salta el fotograma clave de un tablero.
+     *
+     * @return Celdas disparadas que contiene.
+     */
+    private int skipKeyframe() throws IOException {
+        int kind = get();
+        if (kind == ReplayWriter.KEYFRAME_LIST) {
+            int n = varint();
+            for (int i = 0; i < n; i++) varint();
+            return n;
+        }
+        if (kind != ReplayWriter.KEYFRAME_BITMAP) throw new IOException("Fotograma clave desconocido: " + kind);
+        int tried = 0;
+        for (int b = 0, bytes = (size * size + 7) >>> 3; b < bytes; b++) tried += Integer.bitCount(get());
+        return tried;
+    }
+
+    private void position(long at) throws IOException {
+        if (at >= bufferStart && at <= bufferStart + buffer.limit()) {
+            buffer.position((int) (at - bufferStart));
+            return;
+        }
+        bufferStart = at;
+        buffer.clear().limit(0);
+    }
+
+    private int get() throws IOException {
+        if (!buffer.hasRemaining()) {
+            bufferStart += buffer.limit();
+            buffer.clear();
+            int read = channel.read(buffer, bufferStart);
+            buffer.flip();
+            if (read <= 0) throw new IOException("Fin inesperado de la repetición");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private int varint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    private long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) value = (value << 8) | get();
+        return value;
+    }
+}
@@ -0,0 +1,278 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.model.Ship;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Graba la repetición de una partida mientras se juega, para verla después con {@link ReplayReader}.
+ * <p>
+ * Guarda la colocación inicial de ambas flotas y la secuencia de disparos, un varint por disparo
+ * ({@code celda << 1 | disparó el jugador}). Cada {@code K} disparos escribe un fotograma clave con
+ * las celdas ya disparadas de cada tablero, de modo que el lector puede saltar a cualquier jugada
+ * repitiendo como mucho {@code K} disparos. Cada tablero del fotograma se guarda como mapa de bits o
+ * como lista ordenada de celdas (diferencias en varint), lo que ocupe menos: en tableros grandes el
+ * fotograma crece con los disparos, no con el área. Al cerrar se añade un índice con la posición de
+ * cada fotograma clave; el lector solo lee el bloque que necesita, nunca el archivo entero.
+ * </p>
+ * <pre>
+ * cabecera  'B' 'N' 'R' versión, varint tamaño, varint K, varint longitud + nombre UTF-8
+ * flotas    x2 (jugador, máquina): 1 byte cantidad; por barco 1 byte (bits 0-1 tipo,
+ *           bit 3 horizontal) y varint de la celda de proa
+ * bloques   fotograma clave (jugador y máquina) seguido de hasta K disparos
+ * tablero   0 y tamaño² bits, o 1, varint cantidad y varint de la distancia a la celda anterior
+ * índice    varint disparos, varint bloques, posición de cada bloque (long)
+ * cola      posición del índice (long), 'B' 'N' 'R' 'I'
+ * </pre>
+ * <p>
+ * Cada disparo se vuelca al archivo al anotarlo, así que tras un cierre inesperado la repetición
+ * conserva todo lo jugado y el lector reconstruye el índice que falta. No es seguro entre hilos:
+ * debe usarse desde el hilo que modifica la partida.
+ * </p>
+ */
+public final class ReplayWriter implements Closeable {
+
+    /**
+     * Disparos entre fotogramas clave por defecto.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+
+    static final int VERSION = 2;
+    static final byte[] MAGIC = {'B', 'N', 'R'};
+    static final byte[] TRAILER_MAGIC = {'B', 'N', 'R', 'I'};
+    static final int TRAILER_BYTES = 12;
+    static final int SHIP_HORIZONTAL = 1 << 3;
+    static final int KEYFRAME_BITMAP = 0;
+    static final int KEYFRAME_LIST = 1;
+
+    private final OutputStream out;
+    private final int size;
+    private final int keyframeInterval;
+
+    /**
+     * Celdas disparadas de cada tablero, en el orden en que se dispararon.
+     */
+    private int[] playerTried = new int[16];
+    private int[] machineTried = new int[16];
+    private int playerTriedCount;
+    private int machineTriedCount;
+
+    private long position;
+    private long[] blocks = new long[16];
+    private int blockCount;
+    private int moves;
+    private boolean closed;
+
+    private ReplayWriter(OutputStream out, int size, int keyframeInterval) {
+        this.out = out;
+        this.size = size;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Empieza a grabar una partida con las flotas ya colocadas. Si la partida ya tiene disparos (por
+     * ejemplo, una cargada), quedan en el primer fotograma clave.
+     *
+     * @param file             Archivo de la repetición.
+     * @param state            La partida.
+     * @param keyframeInterval Disparos entre fotogramas clave.
+     * @return La grabación abierta.
+     * @throws GameFileException Si no se puede escribir.
+     * @throws IllegalStateException Si algún barco está sin colocar.
+     */
+    public static ReplayWriter create(Path file, GameState state, int keyframeInterval) throws GameFileException {
+        if (keyframeInterval < 1) throw new IllegalArgumentException("Intervalo de fotogramas clave inválido: " + keyframeInterval);
+        Board player = state.getPlayer().getBoard();
+        Board machine = state.getMachineBoard();
+        if (!player.allShipsPlaced() || !machine.allShipsPlaced()) {
+            throw new IllegalStateException("La repetición empieza con las flotas colocadas");
+        }
+
+        ReplayWriter writer;
+        try {
+            writer = new ReplayWriter(new BufferedOutputStream(Files.newOutputStream(file)), state.getBoardSize(), keyframeInterval);
+        } catch (IOException e) {
+            throw new GameFileException("No se pudo crear la repetición.", e);
+        }
+        try {
+            writer.writeHeader(state.getPlayer().getName());
+            writer.writeFleet(player);
+            writer.writeFleet(machine);
+            for (int i = 0; i < writer.size * writer.size; i++) {
+                int r = i / writer.size, c = i % writer.size;
+                if (player.isTried(r, c)) writer.addTried(false, i);
+                if (machine.isTried(r, c)) writer.addTried(true, i);
+            }
+            writer.out.flush();
+        } catch (IOException e) {
+            writer.close();
+            throw new GameFileException("No se pudo crear la repetición.", e);
+        }
+        return writer;
+    }
+
+    /**
+     * Anota un disparo válido (no repetido).
+     *
+     * @param byPlayer {@code true} si disparó el jugador (contra el tablero de la máquina).
+     * @param cell     Índice lineal de la celda disparada.
+     * @throws GameFileException Si no se puede escribir.
+     */
+    public void recordShot(boolean byPlayer, int cell) throws GameFileException {
+        if (closed) throw new GameFileException("La repetición ya está cerrada.");
+        try {
+            if (moves % keyframeInterval == 0) writeKeyframe();
+            varint((cell << 1) | (byPlayer ? 1 : 0));
+            out.flush();
+        } catch (IOException e) {
+            throw new GameFileException("No se pudo escribir la repetición.", e);
+        }
+        addTried(byPlayer, cell);
+        moves++;
+    }
+
+    /**
+     * @return Disparos anotados.
+     */
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Escribe el índice y cierra el archivo. Sin índice el lector tiene que reconstruirlo recorriendo
+     * el archivo entero.
+     *
+     * @throws GameFileException Si no se puede escribir.
+     */
+    public void finish() throws GameFileException {
+        if (closed) return;
+        try {
+            // Una partida sin disparos nuevos también tiene su fotograma inicial
+            if (blockCount == 0) writeKeyframe();
+            long index = position;
+            varint(moves);
+            varint(blockCount);
+            for (int i = 0; i < blockCount; i++) writeLong(blocks[i]);
+            writeLong(index);
+            write(TRAILER_MAGIC);
+            out.flush();
+        } catch (IOException e) {
+            throw new GameFileException("No se pudo escribir la repetición.", e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Cierra el archivo sin escribir el índice si aún no se llamó a {@link #finish()}.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Una repetición sin terminar no se puede leer de todas formas
+        }
+    }
+
+    // ------------------------------------------------------
+    // BYTES
+    // ------------------------------------------------------
+
+    private void writeHeader(String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        write(MAGIC);
+        write(VERSION);
+        varint(size);
+        varint(keyframeInterval);
+        varint(bytes.length);
+        write(bytes);
+    }
+
+    private void writeFleet(Board board) throws IOException {
+        write(board.getShipCount());
+        for (int i = 0; i < board.getShipCount(); i++) {
+            Ship ship = board.getShip(i);
+            write(ship.getType().ordinal() | (ship.isHorizontal() ? SHIP_HORIZONTAL : 0));
+            varint(ship.segmentRow(0) * size + ship.segmentCol(0));
+        }
+    }
+
+    private void addTried(boolean machine, int cell) {
+        if (machine) {
+            if (machineTriedCount == machineTried.length) machineTried = Arrays.copyOf(machineTried, machineTriedCount * 2);
+            machineTried[machineTriedCount++] = cell;
+        } else {
+            if (playerTriedCount == playerTried.length) playerTried = Arrays.copyOf(playerTried, playerTriedCount * 2);
+            playerTried[playerTriedCount++] = cell;
+        }
+    }
+
+    private void writeKeyframe() throws IOException {
+        if (blockCount == blocks.length) blocks = Arrays.copyOf(blocks, blocks.length * 2);
+        blocks[blockCount++] = position;
+        writeTried(playerTried, playerTriedCount);
+        writeTried(machineTried, machineTriedCount);
+    }
+
+    /**
+     * Escribe las celdas disparadas de un tablero como mapa de bits o como lista, lo que ocupe menos.
+     */
+    private void writeTried(int[] tried, int count) throws IOException {
+        int[] cells = Arrays.copyOf(tried, count);
+        Arrays.sort(cells);
+        int bitmapBytes = (size * size + 7) >>> 3;
+        int listBytes = varintBytes(count);
+        for (int i = 0, previous = -1; i < count && listBytes < bitmapBytes; previous = cells[i++]) {
+            listBytes += varintBytes(cells[i] - previous - 1);
+        }
+
+        if (listBytes < bitmapBytes) {
+            write(KEYFRAME_LIST);
+            varint(count);
+            for (int i = 0, previous = -1; i < count; previous = cells[i++]) varint(cells[i] - previous - 1);
+        } else {
+            byte[] bitmap = new byte[bitmapBytes];
+            for (int cell : cells) bitmap[cell >>> 3] |= (byte) (1 << (cell & 7));
+            write(KEYFRAME_BITMAP);
+            write(bitmap);
+        }
+    }
+
+    private static int varintBytes(int value) {
+        return Math.max(1, (38 - Integer.numberOfLeadingZeros(value)) / 7);
+    }
+
+    private void write(int b) throws IOException {
+        out.write(b);
+        position++;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private void varint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write(value);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) write((int) (value >>> shift) & 0xFF);
+    }
+}
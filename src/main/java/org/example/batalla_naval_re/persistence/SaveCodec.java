@@ -0,0 +1,313 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.model.Player;
+import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.model.ShipType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Formato binario compacto y versionado para guardar partidas.
+ * <p>
+ * En lugar de serializar el grafo de objetos ({@code Cell}, {@code Ship}, descriptores de clase...),
+ * guarda solo lo que no se puede deducir: la flota de cada tablero y qué celdas ya recibieron un
+ * disparo. Impactos, aguas y hundimientos se reconstruyen al cargar repitiendo esos disparos sobre la
+ * flota. Una partida estándar de 10x10 ocupa menos de 100 bytes.
+ * </p>
+ * <pre>
+ * cabecera   'B' 'N' versión
+ * banderas   bit 0 partida terminada, bit 1 hay estrategia de IA
+ * tamaño     varint
+ * nombre     varint longitud + UTF-8
+ * [IA]       varint longitud + UTF-8
+ * tablero x2 (jugador, máquina):
+ *   barcos   1 byte cantidad; por barco 1 byte (bits 0-1 tipo, bit 2 colocado, bit 3 horizontal)
+ *            y, si está colocado, varint de la celda de proa (fila * tamaño + columna)
+ *   disparos tamaño² bits, uno por celda disparada, en bytes little-endian
+ * </pre>
+ * <p>
+ * Las versiones nuevas solo pueden añadir datos: el decodificador conserva la lectura de todas las
+ * versiones anteriores.
+ * </p>
+ */
+public final class SaveCodec {
+
+    /**
+     * Versión que escribe {@link #encode(GameState)}.
+     */
+    public static final int VERSION = 1;
+
+    private static final byte MAGIC_0 = 'B';
+    private static final byte MAGIC_1 = 'N';
+
+    private static final int FLAG_GAME_OVER = 1;
+    private static final int FLAG_AI = 1 << 1;
+
+    private static final int SHIP_PLACED = 1 << 2;
+    private static final int SHIP_HORIZONTAL = 1 << 3;
+
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private SaveCodec() { }
+
+    /**
+     * Indica si unos bytes empiezan con la cabecera de este formato.
+     *
+     * @param data Bytes leídos (al menos los primeros 2).
+     * @return {@code true} si es un guardado de este formato.
+     */
+    public static boolean isCompact(byte[] data) {
+        return data.length >= 3 && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+
+    /**
+     * Codifica una partida.
+     *
+     * @param state La partida.
+     * @return Los bytes del guardado.
+     */
+    public static byte[] encode(GameState state) {
+        Board player = state.getPlayer().getBoard();
+        Board machine = state.getMachineBoard();
+        int size = state.getBoardSize();
+        byte[] name = state.getPlayer().getName().getBytes(StandardCharsets.UTF_8);
+        String aiId = state.getAiStrategyId();
+        byte[] ai = aiId == null ? null : aiId.getBytes(StandardCharsets.UTF_8);
+
+        int shotBytes = (size * size + 7) >>> 3;
+        Out out = new Out(16 + name.length + (ai == null ? 0 : ai.length)
+                + 2 * (1 + 4 * player.getShipCount() + shotBytes));
+
+        out.put(MAGIC_0);
+        out.put(MAGIC_1);
+        out.put(VERSION);
+        out.put((state.isGameOver() ? FLAG_GAME_OVER : 0) | (ai != null ? FLAG_AI : 0));
+        out.varint(size);
+        out.varint(name.length);
+        out.put(name);
+        if (ai != null) {
+            out.varint(ai.length);
+            out.put(ai);
+        }
+        encodeBoard(player, out, shotBytes);
+        encodeBoard(machine, out, shotBytes);
+        return out.toArray();
+    }
+
+    private static void encodeBoard(Board board, Out out, int shotBytes) {
+        int size = board.getSize();
+        int count = board.getShipCount();
+        out.put(count);
+        for (int i = 0; i < count; i++) {
+            Ship ship = board.getShip(i);
+            boolean placed = ship.isPlaced();
+            out.put(ship.getType().ordinal()
+                    | (placed ? SHIP_PLACED : 0)
+                    | (ship.isHorizontal() ? SHIP_HORIZONTAL : 0));
+            if (placed) out.varint(ship.segmentRow(0) * size + ship.segmentCol(0));
+        }
+
+        int start = out.reserve(shotBytes);
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (!board.isTried(r, c)) continue;
+                int i = r * size + c;
+                out.buf[start + (i >>> 3)] |= (byte) (1 << (i & 7));
+            }
+        }
+    }
+
+    /**
+     * Decodifica una partida.
+     *
+     * @param data Los bytes del guardado.
+     * @return La partida reconstruida.
+     * @throws GameFileException Si los datos no son de este formato, están truncados o son de una
+     *                           versión posterior a {@link #VERSION}.
+     */
+    public static GameState decode(byte[] data) throws GameFileException {
+        if (!isCompact(data)) throw new GameFileException("El archivo de partida está corrupto.");
+        int version = data[2] & 0xFF;
+        if (version < 1 || version > VERSION) {
+            throw new GameFileException("Versión de partida no soportada: " + version);
+        }
+        try {
+            In in = new In(data, 3);
+            int flags = in.get();
+            int size = in.varint();
+            String name = in.string();
+            String ai = (flags & FLAG_AI) != 0 ? in.string() : null;
+
+            Player player = new Player(name, size);
+            Board machine = new Board(size);
+            decodeBoard(player.getBoard(), in);
+            decodeBoard(machine, in);
+
+            GameState state = new GameState(player, machine);
+            state.setAiStrategyId(ai);
+            state.setGameOver((flags & FLAG_GAME_OVER) != 0);
+            // Los contadores no se guardan: son los barcos hundidos del tablero rival
+            player.setSunkCount(sunkShips(machine));
+            state.getMachineSunkCount().set(sunkShips(player.getBoard()));
+            return state;
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException | IllegalStateException e) {
+            throw new GameFileException("El archivo de partida está corrupto.", e);
+        }
+    }
+
+    private static void decodeBoard(Board board, In in) throws GameFileException {
+        int size = board.getSize();
+        int count = in.get();
+        int[] header = new int[count];
+        int[] anchors = new int[count];
+        boolean allPlaced = true;
+        for (int i = 0; i < count; i++) {
+            header[i] = in.get();
+            if ((header[i] & SHIP_PLACED) != 0) anchors[i] = in.varint();
+            else allPlaced = false;
+        }
+
+        if (count > 0) {
+            // Un barco sin colocar solo se puede crear con la flota estándar
+            Ship[] ships = new Ship[count];
+            if (!allPlaced) {
+                ShipType[] fleet = Board.fleetComposition();
+                if (count != fleet.length) throw new GameFileException("El archivo de partida está corrupto.");
+                board.createShipsWithoutPlacement();
+                for (int i = 0; i < count; i++) {
+                    ships[i] = board.getShip(i);
+                    if (ships[i].getType() != TYPES[header[i] & 3]) throw new GameFileException("El archivo de partida está corrupto.");
+                }
+            } else {
+                for (int i = 0; i < count; i++) ships[i] = new Ship(TYPES[header[i] & 3]);
+            }
+            for (int i = 0; i < count; i++) {
+                if ((header[i] & SHIP_PLACED) == 0) continue;
+                boolean horizontal = (header[i] & SHIP_HORIZONTAL) != 0;
+                if (!board.addShip(ships[i], anchors[i] / size, anchors[i] % size, horizontal)) {
+                    throw new GameFileException("El archivo de partida está corrupto.");
+                }
+            }
+        }
+
+        int start = in.skip((size * size + 7) >>> 3);
+        for (int i = 0; i < size * size; i++) {
+            if ((in.data[start + (i >>> 3)] & (1 << (i & 7))) != 0) board.shoot(i / size, i % size);
+        }
+    }
+
+    /**
+     * Recalcula los contadores de hundidos y el fin de partida a partir de los tableros, después de
+     * aplicar disparos por fuera del motor (diario, repeticiones).
+     *
+     * @param state La partida.
+     */
+    static void refreshCounters(GameState state) {
+        Board player = state.getPlayer().getBoard();
+        Board machine = state.getMachineBoard();
+        state.getPlayer().setSunkCount(sunkShips(machine));
+        state.getMachineSunkCount().set(sunkShips(player));
+        state.setGameOver(isDefeated(player) || isDefeated(machine));
+    }
+
+    private static boolean isDefeated(Board board) {
+        return board.getShipCount() > 0 && board.allShipsPlaced() && board.allShipsSunk();
+    }
+
+    private static int sunkShips(Board board) {
+        int sunk = 0;
+        for (int i = 0; i < board.getShipCount(); i++) {
+            if (board.getShip(i).isSunk()) sunk++;
+        }
+        return sunk;
+    }
+
+    // ------------------------------------------------------
+    // BYTES
+    // ------------------------------------------------------
+
+    private static final class Out {
+        byte[] buf;
+        int pos;
+
+        Out(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void put(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void put(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                put((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            put(value);
+        }
+
+        int reserve(int n) {
+            ensure(n);
+            int start = pos;
+            pos += n;
+            return start;
+        }
+
+        void ensure(int n) {
+            if (pos + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+
+        byte[] toArray() {
+            return pos == buf.length ? buf : Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class In {
+        final byte[] data;
+        int pos;
+
+        In(byte[] data, int pos) {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        int get() {
+            return data[pos++] & 0xFF;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = get();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Varint demasiado largo");
+        }
+
+        String string() {
+            int length = varint();
+            if (length < 0 || pos + length > data.length) throw new IllegalArgumentException("Cadena truncada");
+            String s = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        int skip(int n) {
+            if (pos + n > data.length) throw new IllegalArgumentException("Datos truncados");
+            int start = pos;
+            pos += n;
+            return start;
+        }
+    }
+}
@@ -1,19 +1,119 @@
 package org.example.batalla_naval_re.persistence;
 
 import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.persistence.legacy.LegacySaveReader;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Gestiona el guardado y carga del estado del juego.
- * Usa archivos serializados (.dat) y excepciones personalizadas para robustez.
+ * Guarda en el formato binario compacto de {@link SaveCodec} y sigue leyendo los archivos
+ * de la primera versión, escritos con serialización de Java ({@link LegacySaveReader}). Usa excepciones personalizadas para robustez.
+ * <p>
+ * Durante la partida, las jugadas se anexan a un diario ({@link MoveJournal}) en lugar de reescribir
+ * el guardado completo; al cargar se aplica el diario sobre el último guardado.
+ * </p>
  */
 public class SaveManager {
 
     private static final String SAVE_FILE = "batalla_save.dat";
+    private static final String JOURNAL_FILE = "batalla_save.journal";
+    private static final String SLOTS_FILE = "batalla_slots.dat";
+    private static final String REPLAYS_DIR = "replays";
 
     /**
-     * Guarda el estado actual del juego en un archivo binario.
+     * Repeticiones que se conservan; al reservar una nueva se borran las más antiguas.
+     */
+    public static final int MAX_REPLAYS = 20;
+
+    /**
+     * @return Archivo del último guardado.
+     */
+    public static Path saveFile() {
+        return Path.of(SAVE_FILE);
+    }
+
+    /**
+     * @return Archivo del diario de jugadas posteriores al último guardado.
+     */
+    public static Path journalFile() {
+        return Path.of(JOURNAL_FILE);
+    }
+
+    /**
+     * @return Archivo del contenedor de partidas en ranuras ({@link SaveSlotStore}).
+     */
+    public static Path slotsFile() {
+        return Path.of(SLOTS_FILE);
+    }
+
+    /**
+     * @return Carpeta de las repeticiones ({@link ReplayWriter}).
+     */
+    public static Path replaysDir() {
+        return Path.of(REPLAYS_DIR);
+    }
+
+    /**
+     * Reserva un archivo para la repetición de una partida nueva, creando la carpeta si hace falta.
+     * Borra antes las repeticiones más antiguas para que, con la nueva, no haya más de {@link #MAX_REPLAYS}.
+     *
+     * @param nickname Apodo del jugador, que forma parte del nombre.
+     * @return Ruta del archivo, que aún no existe.
+     * @throws GameFileException si no se puede crear la carpeta
+     */
+    public static Path newReplayFile(String nickname) throws GameFileException {
+        String name = nickname.replaceAll("[^A-Za-z0-9_-]", "_") + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        try {
+            Path dir = Files.createDirectories(replaysDir());
+            pruneReplays(dir, MAX_REPLAYS - 1);
+            Path file = dir.resolve(name + ".bnr");
+            for (int i = 2; Files.exists(file); i++) file = dir.resolve(name + "-" + i + ".bnr");
+            return file;
+        } catch (IOException e) {
+            throw new GameFileException("No se pudo crear la carpeta de repeticiones.", e);
+        }
+    }
+
+    /**
+     * Borra las repeticiones más antiguas (por fecha de modificación) de una carpeta.
+     *
+     * @param dir  Carpeta de repeticiones.
+     * @param keep Cuántas de las más recientes conservar.
+     * @throws IOException si no se puede listar la carpeta o borrar un archivo
+     */
+    static void pruneReplays(Path dir, int keep) throws IOException {
+        List<Path> replays;
+        try (Stream<Path> files = Files.list(dir)) {
+            replays = files.filter(f -> f.getFileName().toString().endsWith(".bnr")).collect(Collectors.toList());
+        }
+        if (replays.size() <= keep) return;
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path f : replays) modified.put(f, Files.getLastModifiedTime(f));
+        replays.sort(Comparator.comparing(modified::get));
+        for (Path f : replays.subList(0, replays.size() - keep)) Files.deleteIfExists(f);
+    }
+
+    /**
+     * Guarda el estado actual del juego en un archivo binario ({@link SaveCodec}).
+     * El archivo se reemplaza de forma atómica y el diario anterior deja de valer.
      *
      * @param state estado del juego a guardar
      * @throws GameFileException si ocurre un error al escribir el archivo
@@ -23,43 +123,81 @@ public class SaveManager {
             throw new GameFileException("No se puede guardar un estado nulo.");
         }
 
-        try (ObjectOutputStream oos =
-                     new ObjectOutputStream(new FileOutputStream(SAVE_FILE))) {
+        writeSave(saveFile(), journalFile(), SaveCodec.encode(state));
+    }
 
-            oos.writeObject(state);
+    /**
+     * Escribe un guardado ya codificado y descarta el diario, que correspondía al guardado anterior.
+     *
+     * @param file    Archivo del guardado.
+     * @param journal Archivo del diario.
+     * @param data    Bytes de {@link SaveCodec#encode}.
+     * @throws GameFileException si ocurre un error al escribir
+     */
+    static void writeSave(Path file, Path journal, byte[] data) throws GameFileException {
+        writeAtomically(file, data);
+        try {
+            Files.deleteIfExists(journal);
+        } catch (IOException e) {
+            throw new GameFileException("Error al guardar la partida.", e);
+        }
+    }
 
+    /**
+     * Reemplaza un archivo sin dejarlo nunca a medio escribir: escribe un temporal junto a él,
+     * lo fuerza a disco y lo renombra encima.
+     *
+     * @param file Archivo de destino.
+     * @param data Contenido completo.
+     * @throws GameFileException si ocurre un error al escribir
+     */
+    static void writeAtomically(Path file, byte[] data) throws GameFileException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             throw new GameFileException("Error al guardar la partida.", e);
         }
     }
 
     /**
-     * Carga el último estado guardado del juego.
+     * Carga el último estado guardado del juego, con las jugadas de su diario aplicadas.
+     * <p>
+     * Detecta el formato por la cabecera: compacto ({@link SaveCodec}) o serialización de Java
+     * (partidas guardadas con la primera versión, {@link LegacySaveReader}).
+     * </p>
      *
      * @return el GameState cargado o null si no existe guardado previo
      * @throws GameFileException si ocurre un error de lectura o archivo corrupto
      */
     public static GameState loadLastState() throws GameFileException {
-        File file = new File(SAVE_FILE);
+        // null si no hay partida previa
+        return MoveJournal.recover(saveFile(), journalFile());
+    }
 
-        if (!file.exists()) {
-            return null; // no hay partida previa
+    /**
+     * Reconstruye una partida a partir de los bytes de un guardado, en cualquiera de los formatos.
+     *
+     * @param data contenido del archivo
+     * @return el GameState reconstruido
+     * @throws GameFileException si los datos están corruptos o no tienen un formato conocido
+     */
+    public static GameState decode(byte[] data) throws GameFileException {
+        if (SaveCodec.isCompact(data)) {
+            return SaveCodec.decode(data);
         }
 
-        try (ObjectInputStream ois =
-                     new ObjectInputStream(new FileInputStream(file))) {
-
-            Object obj = ois.readObject();
-
-            if (!(obj instanceof GameState state)) {
-                throw new GameFileException("El archivo de partida está corrupto.");
-            }
-
-            return state;
-
-        } catch (IOException | ClassNotFoundException e) {
-            throw new GameFileException("Error al cargar la partida.", e);
-        }
+        return LegacySaveReader.read(data);
     }
 
     /**
@@ -72,5 +210,9 @@ public class SaveManager {
         if (file.exists() && !file.delete()) {
             throw new GameFileException("No se pudo eliminar el archivo de guardado.");
         }
+        File journal = new File(JOURNAL_FILE);
+        if (journal.exists() && !journal.delete()) {
+            throw new GameFileException("No se pudo eliminar el diario de la partida.");
+        }
     }
 }
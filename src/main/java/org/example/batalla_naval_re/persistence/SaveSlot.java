@@ -0,0 +1,45 @@
+package org.example.batalla_naval_re.persistence;
+
+/**
+ * Entrada del índice de un {@link SaveSlotStore}: describe una partida guardada sin necesidad de
+ * leerla. Es inmutable.
+ */
+public final class SaveSlot {
+
+    private final String name;
+    private final String player;
+    private final long timestamp;
+    private final int turn;
+    private final int boardSize;
+    private final boolean gameOver;
+
+    /**
+     * @param name      Nombre de la ranura.
+     * @param player    Apodo del jugador.
+     * @param timestamp Momento del guardado, en milisegundos desde la época.
+     * @param turn      Disparos realizados en la partida (de ambos bandos).
+     * @param boardSize Tamaño de los tableros.
+     * @param gameOver  {@code true} si la partida ya terminó.
+     */
+    public SaveSlot(String name, String player, long timestamp, int turn, int boardSize, boolean gameOver) {
+        this.name = name;
+        this.player = player;
+        this.timestamp = timestamp;
+        this.turn = turn;
+        this.boardSize = boardSize;
+        this.gameOver = gameOver;
+    }
+
+    public String getName() { return name; }
+    public String getPlayer() { return player; }
+    public long getTimestamp() { return timestamp; }
+    public int getTurn() { return turn; }
+    public int getBoardSize() { return boardSize; }
+    public boolean isGameOver() { return gameOver; }
+
+    @Override
+    public String toString() {
+        return name + " (" + player + ", " + boardSize + "x" + boardSize + ", " + turn + " disparos"
+                + (gameOver ? ", terminada" : "") + ")";
+    }
+}
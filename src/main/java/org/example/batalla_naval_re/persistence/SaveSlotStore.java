@@ -0,0 +1,557 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Contenedor de partidas guardadas en ranuras con nombre, para varios jugadores y partidas.
+ * <p>
+ * Todas las partidas viven en un solo archivo. Al principio hay un índice de tamaño fijo, proyectado
+ * en memoria ({@link MappedByteBuffer}), con una entrada por ranura: nombre, jugador, fecha, disparos,
+ * tamaño y la posición de la partida dentro del archivo. Detrás van las partidas en el formato de
+ * {@link SaveCodec}, solo anexadas. Listar las ranuras lee únicamente el índice, sin decodificar ninguna
+ * partida, y cargar una ranura lee solo sus bytes.
+ * </p>
+ * <pre>
+ * cabecera  'B' 'N' 'S' versión, capacidad del índice (int), fin de los datos (long),
+ *           bytes sin uso (long)                                     -> {@value #HEADER_BYTES} bytes
+ * índice    capacidad x {@value #ENTRY_BYTES} bytes: en uso, nombre, jugador, fecha, disparos,
+ *           tamaño, terminada, posición y longitud de la partida
+ * datos     partidas codificadas
+ * </pre>
+ * <p>
+ * Sobrescribir o borrar una ranura deja sus bytes antiguos sin uso. Cuando superan a los útiles, el
+ * archivo se compacta en segundo plano: se reescribe con solo las partidas vivas en un temporal que
+ * después se renombra encima. Si el índice se llena, la compactación duplica su capacidad.
+ * </p>
+ * <p>
+ * Es seguro entre hilos: todas las operaciones se sincronizan sobre el contenedor.
+ * </p>
+ */
+public final class SaveSlotStore implements Closeable {
+
+    /**
+     * Bytes de la cabecera.
+     */
+    public static final int HEADER_BYTES = 32;
+
+    /**
+     * Bytes de cada entrada del índice.
+     */
+    public static final int ENTRY_BYTES = 128;
+
+    /**
+     * Bytes máximos (UTF-8) de un nombre de ranura o de jugador; los más largos se recortan.
+     */
+    public static final int MAX_NAME_BYTES = 40;
+
+    /**
+     * Entradas del índice de un contenedor nuevo.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Bytes sin uso a partir de los que se considera compactar.
+     */
+    private static final long COMPACT_MIN_GARBAGE = 4096;
+
+    private static final int VERSION = 1;
+
+    // Posiciones dentro de la cabecera
+    private static final int H_CAPACITY = 4;
+    private static final int H_DATA_END = 8;
+    private static final int H_GARBAGE = 16;
+
+    // Posiciones dentro de una entrada
+    private static final int E_USED = 0;
+    private static final int E_NAME = 1;
+    private static final int E_PLAYER = E_NAME + 1 + MAX_NAME_BYTES;
+    private static final int E_TIMESTAMP = 88;
+    private static final int E_TURN = 96;
+    private static final int E_SIZE = 100;
+    private static final int E_GAME_OVER = 104;
+    private static final int E_OFFSET = 112;
+    private static final int E_LENGTH = 120;
+
+    private final Path file;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "save-slot-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private FileChannel channel;
+    private MappedByteBuffer index;
+    private int capacity;
+
+    /**
+     * Ranura -> número de entrada del índice, para no recorrerlo en cada búsqueda.
+     */
+    private final Map<String, Integer> entries = new HashMap<>();
+
+    private CompletableFuture<Void> compaction;
+    private long compactions;
+
+    private SaveSlotStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Abre un contenedor, creándolo vacío si no existe.
+     *
+     * @param file Archivo del contenedor.
+     * @return El contenedor abierto.
+     * @throws GameFileException Si no se puede abrir o no es un contenedor válido.
+     */
+    public static SaveSlotStore open(Path file) throws GameFileException {
+        SaveSlotStore store = new SaveSlotStore(file);
+        try {
+            if (!Files.exists(file) || Files.size(file) == 0) {
+                SaveManager.writeAtomically(file, emptyContainer(DEFAULT_CAPACITY));
+            }
+            store.map();
+        } catch (IOException e) {
+            store.close();
+            throw new GameFileException("No se pudo abrir el archivo de partidas.", e);
+        } catch (GameFileException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    // ------------------------------------------------------
+    // OPERACIONES
+    // ------------------------------------------------------
+
+    /**
+     * Lista las ranuras ocupadas, de la más reciente a la más antigua. Solo lee el índice.
+     *
+     * @return Las ranuras.
+     */
+    public synchronized List<SaveSlot> list() {
+        List<SaveSlot> slots = new ArrayList<>(entries.size());
+        for (int entry : entries.values()) slots.add(readEntry(entry));
+        slots.sort(Comparator.comparingLong(SaveSlot::getTimestamp).reversed());
+        return slots;
+    }
+
+    /**
+     * @param name Nombre de la ranura.
+     * @return La entrada del índice de esa ranura, o {@code null} si está vacía.
+     */
+    public synchronized SaveSlot find(String name) {
+        Integer entry = entries.get(clip(name));
+        return entry == null ? null : readEntry(entry);
+    }
+
+    /**
+     * Guarda una partida en una ranura, sustituyendo la que tuviera.
+     * <p>
+     * Primero se anexan los bytes de la partida, después se escribe una entrada nueva del índice y
+     * solo entonces se libera la anterior, así que un cierre inesperado deja la ranura con la partida
+     * anterior o con la nueva.
+     * </p>
+     *
+     * @param name  Nombre de la ranura.
+     * @param state La partida.
+     * @throws GameFileException Si no se puede escribir.
+     */
+    public void save(String name, GameState state) throws GameFileException {
+        save(describe(name, state), SaveCodec.encode(state));
+    }
+
+    /**
+     * Describe cómo quedará una partida en el índice (la fecha es la de ahora).
+     *
+     * @param name  Nombre de la ranura.
+     * @param state La partida.
+     * @return La entrada del índice.
+     */
+    static SaveSlot describe(String name, GameState state) {
+        return new SaveSlot(clip(name), clip(state.getPlayer().getName()), System.currentTimeMillis(),
+                shotsFired(state), state.getBoardSize(), state.isGameOver());
+    }
+
+    /**
+     * Guarda una partida ya codificada con {@link SaveCodec}.
+     *
+     * @param meta Entrada del índice ({@link #describe}).
+     * @param data Bytes de la partida.
+     * @throws GameFileException Si no se puede escribir.
+     */
+    synchronized void save(SaveSlot meta, byte[] data) throws GameFileException {
+        checkOpen();
+        String slot = clip(meta.getName());
+        int entry = freeEntry();
+        if (entry < 0) {
+            // Índice lleno: se reescribe con el doble de capacidad
+            rewrite(capacity * 2);
+            entry = freeEntry();
+        }
+
+        try {
+            long offset = index.getLong(H_DATA_END);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) channel.write(buffer, offset + buffer.position());
+            channel.force(false);
+
+            int base = entryBase(entry);
+            putString(base + E_NAME, slot);
+            putString(base + E_PLAYER, clip(meta.getPlayer()));
+            index.putLong(base + E_TIMESTAMP, meta.getTimestamp());
+            index.putInt(base + E_TURN, meta.getTurn());
+            index.putInt(base + E_SIZE, meta.getBoardSize());
+            index.put(base + E_GAME_OVER, (byte) (meta.isGameOver() ? 1 : 0));
+            index.putLong(base + E_OFFSET, offset);
+            index.putInt(base + E_LENGTH, data.length);
+            index.put(base + E_USED, (byte) 1);
+            index.putLong(H_DATA_END, offset + data.length);
+            // La entrada anterior de la ranura se libera solo cuando la nueva ya está completa
+            Integer previous = entries.put(slot, entry);
+            if (previous != null) release(previous);
+            index.force();
+        } catch (IOException e) {
+            throw new GameFileException("No se pudo guardar la partida.", e);
+        }
+        maybeCompact();
+    }
+
+    /**
+     * Carga la partida de una ranura.
+     *
+     * @param name Nombre de la ranura.
+     * @return La partida, o {@code null} si la ranura está vacía.
+     * @throws GameFileException Si no se puede leer o está corrupta.
+     */
+    public synchronized GameState load(String name) throws GameFileException {
+        checkOpen();
+        Integer entry = entries.get(clip(name));
+        if (entry == null) return null;
+        int base = entryBase(entry);
+        ByteBuffer data = ByteBuffer.allocate(index.getInt(base + E_LENGTH));
+        long offset = index.getLong(base + E_OFFSET);
+        try {
+            while (data.hasRemaining()) {
+                if (channel.read(data, offset + data.position()) < 0) {
+                    throw new GameFileException("El archivo de partidas está corrupto.");
+                }
+            }
+        } catch (IOException e) {
+            throw new GameFileException("Error al cargar la partida.", e);
+        }
+        return SaveCodec.decode(data.array());
+    }
+
+    /**
+     * Vacía una ranura. Si el archivo acumula demasiados bytes sin uso, se compacta en segundo plano.
+     *
+     * @param name Nombre de la ranura.
+     * @return {@code true} si la ranura estaba ocupada.
+     */
+    public synchronized boolean delete(String name) {
+        Integer entry = entries.remove(clip(name));
+        if (entry == null) return false;
+        release(entry);
+        index.force();
+        maybeCompact();
+        return true;
+    }
+
+    /**
+     * Reescribe el archivo sin los bytes sin uso, en el hilo de compactación.
+     *
+     * @return Futuro que se completa al terminar.
+     */
+    public synchronized CompletableFuture<Void> compactAsync() {
+        if (compaction == null || compaction.isDone()) {
+            compaction = CompletableFuture.runAsync(() -> {
+                synchronized (this) {
+                    if (channel == null) return;
+                    try {
+                        rewrite(capacity);
+                    } catch (GameFileException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }, compactor);
+        }
+        return compaction;
+    }
+
+    /**
+     * @return Bytes del archivo que ya no pertenecen a ninguna ranura.
+     */
+    public synchronized long getGarbageBytes() {
+        return index.getLong(H_GARBAGE);
+    }
+
+    /**
+     * @return Compactaciones realizadas desde que se abrió.
+     */
+    public synchronized long getCompactions() {
+        return compactions;
+    }
+
+    /**
+     * @return Entradas que caben en el índice actual.
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Cierra el archivo. Una compactación en curso termina antes.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        synchronized (this) {
+            closeChannel();
+        }
+    }
+
+    // ------------------------------------------------------
+    // ÍNDICE
+    // ------------------------------------------------------
+
+    private void map() throws IOException, GameFileException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) { }
+        if (header.hasRemaining() || header.get(0) != 'B' || header.get(1) != 'N' || header.get(2) != 'S') {
+            throw new GameFileException("El archivo de partidas está corrupto.");
+        }
+        if (header.get(3) != VERSION) {
+            throw new GameFileException("Versión del archivo de partidas no soportada: " + header.get(3));
+        }
+        capacity = header.getInt(H_CAPACITY);
+        long indexBytes = HEADER_BYTES + (long) capacity * ENTRY_BYTES;
+        if (capacity <= 0 || channel.size() < indexBytes) {
+            throw new GameFileException("El archivo de partidas está corrupto.");
+        }
+        index = channel.map(FileChannel.MapMode.READ_WRITE, 0, indexBytes);
+
+        entries.clear();
+        for (int i = 0; i < capacity; i++) {
+            int base = entryBase(i);
+            if (index.get(base + E_USED) == 0) continue;
+            // Dos entradas con el mismo nombre: un guardado se interrumpió antes de liberar la antigua
+            Integer other = entries.put(getString(base + E_NAME), i);
+            if (other != null) {
+                boolean keepOther = index.getLong(entryBase(other) + E_TIMESTAMP) > index.getLong(base + E_TIMESTAMP);
+                if (keepOther) entries.put(getString(base + E_NAME), other);
+                release(keepOther ? i : other);
+            }
+        }
+    }
+
+    private static byte[] emptyContainer(int capacity) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + capacity * ENTRY_BYTES);
+        header.put((byte) 'B').put((byte) 'N').put((byte) 'S').put((byte) VERSION);
+        header.putInt(H_CAPACITY, capacity);
+        header.putLong(H_DATA_END, header.capacity());
+        return header.array();
+    }
+
+    private static int entryBase(int entry) {
+        return HEADER_BYTES + entry * ENTRY_BYTES;
+    }
+
+    private int freeEntry() {
+        for (int i = 0; i < capacity; i++) {
+            if (index.get(entryBase(i) + E_USED) == 0) return i;
+        }
+        return -1;
+    }
+
+    private SaveSlot readEntry(int entry) {
+        int base = entryBase(entry);
+        return new SaveSlot(getString(base + E_NAME), getString(base + E_PLAYER),
+                index.getLong(base + E_TIMESTAMP), index.getInt(base + E_TURN),
+                index.getInt(base + E_SIZE), index.get(base + E_GAME_OVER) != 0);
+    }
+
+    private String getString(int at) {
+        byte[] bytes = new byte[Math.min(index.get(at) & 0xFF, MAX_NAME_BYTES)];
+        index.get(at + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void putString(int at, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        index.put(at, (byte) bytes.length);
+        index.put(at + 1, bytes);
+    }
+
+    /**
+     * Recorta un nombre para que quepa en {@link #MAX_NAME_BYTES} bytes sin partir ningún carácter.
+     */
+    private static String clip(String name) {
+        String value = name == null ? "" : name;
+        while (value.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            value = value.substring(0, value.offsetByCodePoints(value.length(), -1));
+        }
+        return value;
+    }
+
+    private static int shotsFired(GameState state) {
+        return tried(state.getPlayer().getBoard()) + tried(state.getMachineBoard());
+    }
+
+    private static int tried(Board board) {
+        int tried = 0;
+        for (int r = 0; r < board.getSize(); r++) {
+            for (int c = 0; c < board.getSize(); c++) {
+                if (board.isTried(r, c)) tried++;
+            }
+        }
+        return tried;
+    }
+
+    // ------------------------------------------------------
+    // COMPACTACIÓN
+    // ------------------------------------------------------
+
+    private void release(int entry) {
+        int base = entryBase(entry);
+        index.put(base + E_USED, (byte) 0);
+        index.putLong(H_GARBAGE, index.getLong(H_GARBAGE) + index.getInt(base + E_LENGTH));
+    }
+
+    private void maybeCompact() {
+        long garbage = index.getLong(H_GARBAGE);
+        long live = index.getLong(H_DATA_END) - HEADER_BYTES - (long) capacity * ENTRY_BYTES - garbage;
+        if (garbage >= COMPACT_MIN_GARBAGE && garbage > live) compactAsync();
+    }
+
+    /**
+     * Reescribe el contenedor con solo las ranuras vivas y el índice de la capacidad indicada,
+     * en un temporal que se renombra encima del archivo.
+     */
+    private void rewrite(int newCapacity) throws GameFileException {
+        byte[] empty = emptyContainer(newCapacity);
+        ByteBuffer out = ByteBuffer.wrap(empty);
+        int dataStart = empty.length;
+        long dataEnd = dataStart;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel target = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int next = 0;
+            for (int entry : entries.values()) {
+                int base = entryBase(entry);
+                int length = index.getInt(base + E_LENGTH);
+                long transferred = 0;
+                while (transferred < length) {
+                    transferred += channel.transferTo(index.getLong(base + E_OFFSET) + transferred,
+                            length - transferred, target.position(dataEnd + transferred));
+                }
+                // Misma entrada, en la posición nueva
+                byte[] copy = new byte[ENTRY_BYTES];
+                index.get(base, copy);
+                int newBase = entryBase(next++);
+                out.put(newBase, copy);
+                out.putLong(newBase + E_OFFSET, dataEnd);
+                dataEnd += length;
+            }
+            out.putLong(H_DATA_END, dataEnd);
+            while (out.hasRemaining()) target.write(out, out.position());
+            target.force(true);
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw new GameFileException("No se pudo compactar el archivo de partidas.", e);
+        }
+
+        // El índice antiguo sigue mapeado hasta que el temporal ocupa su lugar
+        FileChannel old = channel;
+        try {
+            replace(tmp);
+        } catch (IOException busy) {
+            // Windows no deja reemplazar un archivo mapeado: se suelta y se reintenta
+            closeChannel();
+            try {
+                replace(tmp);
+            } catch (IOException e) {
+                deleteQuietly(tmp);
+                try {
+                    map();
+                } catch (IOException | GameFileException reopen) {
+                    closeChannel();
+                    e.addSuppressed(reopen);
+                }
+                throw new GameFileException("No se pudo compactar el archivo de partidas.", e);
+            }
+        }
+        try {
+            map();
+        } catch (IOException e) {
+            closeChannel();
+            throw new GameFileException("No se pudo compactar el archivo de partidas.", e);
+        } catch (GameFileException e) {
+            closeChannel();
+            throw e;
+        } finally {
+            closeQuietly(old);
+        }
+        compactions++;
+    }
+
+    private void replace(Path tmp) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path tmp) {
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (IOException ignored) {
+            // Se sobrescribe en la siguiente compactación
+        }
+    }
+
+    private static void closeQuietly(FileChannel old) {
+        try {
+            old.close();
+        } catch (IOException ignored) {
+            // Ya no se usa
+        }
+    }
+
+    private void checkOpen() throws GameFileException {
+        if (index == null) throw new GameFileException("El archivo de partidas está cerrado.");
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Lo escrito ya está en el sistema de archivos
+        }
+        channel = null;
+        index = null;
+    }
+}
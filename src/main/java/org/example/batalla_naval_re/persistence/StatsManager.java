@@ -1,66 +1,25 @@
 package org.example.batalla_naval_re.persistence;
 
-import java.io.*;
+import java.nio.file.Path;
 
 /**
  * Gestor de persistencia para las estadísticas del jugador.
  * <p>
- * Se encarga de guardar y recuperar información básica del jugador (apodo y
- * conteo total de barcos hundidos) en un archivo de texto plano.
+ * Las estadísticas por partida de todos los jugadores se guardan en {@link StatsStore}; esta clase
+ * solo indica dónde está su archivo.
  * </p>
  */
 public class StatsManager {
 
     /**
-     * Nombre del archivo donde se guardan las estadísticas.
+     * Nombre del log de {@link StatsStore}.
      */
-    private static final String STATS_FILE = "player_stats.txt";
+    private static final String STATS_LOG = "player_stats.log";
 
     /**
-     * Guarda las estadísticas actuales del jugador en el archivo.
-     * <p>
-     * Sobrescribe el archivo existente con los nuevos datos.
-     * </p>
-     *
-     * @param nickname  El nombre o apodo del jugador.
-     * @param sunkShips La cantidad total de barcos que ha hundido.
-     * @throws GameFileException Si ocurre un error de escritura al intentar guardar el archivo.
+     * @return Log de las estadísticas de todos los jugadores ({@link StatsStore}).
      */
-    public static void saveStats(String nickname, int sunkShips) throws GameFileException {
-        try (PrintWriter out = new PrintWriter(new FileWriter(STATS_FILE))) {
-            out.println(nickname);
-            out.println(sunkShips);
-        } catch (IOException e) {
-            throw new GameFileException("No se pudieron guardar las estadísticas", e);
-        }
+    public static Path statsLogFile() {
+        return Path.of(STATS_LOG);
     }
-
-    /**
-     * Carga las estadísticas almacenadas desde el archivo.
-     * <p>
-     * Si el archivo no existe, retorna valores por defecto ("Jugador", "0").
-     * </p>
-     *
-     * @return Un arreglo de Strings de tamaño 2:
-     *         <ul>
-     *             <li>indice 0: Nombre del jugador.</li>
-     *             <li>indice 1: Cantidad de barcos hundidos (como String).</li>
-     *         </ul>
-     * @throws GameFileException Si ocurre un error de lectura al procesar el archivo.
-     */
-    public static String[] loadStats() throws GameFileException {
-        File f = new File(STATS_FILE);
-        if (!f.exists()) {
-            return new String[]{"Jugador", "0"};
-        }
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(f))) {
-            String name = reader.readLine();
-            String sunk = reader.readLine();
-            return new String[]{name, sunk};
-
-        } catch (IOException e) {
-            throw new GameFileException("Error al cargar las estadísticas", e);
-        }
-    }
-}
\ No newline at end of file
+}
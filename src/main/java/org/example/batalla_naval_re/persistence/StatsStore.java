@@ -0,0 +1,256 @@
+package org.example.batalla_naval_re.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Estadísticas de todos los jugadores, por apodo.
+ * <p>
+ * Cada partida terminada se anexa como un registro a un log de solo anexado; nunca se reescribe. Al
+ * abrir, el log se lee de principio a fin para reconstruir en memoria los acumulados de cada jugador
+ * ({@link PlayerStats}), que después se mantienen al día con cada registro nuevo. Un registro final
+ * incompleto (cierre inesperado) se descarta y se recorta del archivo.
+ * </p>
+ * <p>
+ * Los acumulados están en un mapa por apodo y, a la vez, en un índice ordenado por
+ * {@link #LEADERBOARD}. Consultar un jugador cuesta O(1), anotar una partida O(log n) (sale y vuelve a
+ * entrar en el índice) y los N primeros de la clasificación O(log n + N).
+ * </p>
+ * <pre>
+ * cabecera  'B' 'N' 'T' versión
+ * registro  longitud (int), datos, CRC32 de los datos (int)
+ * datos     apodo (UTF), ganó (boolean), disparos, aciertos, barcos hundidos (int),
+ *           duración en ms, fecha en ms (long)
+ * </pre>
+ * <p>
+ * Es seguro entre hilos: todas las operaciones se sincronizan sobre el almacén.
+ * </p>
+ */
+public final class StatsStore implements Closeable {
+
+    /**
+     * Orden de la clasificación: más victorias, después más acierto, después menos partidas y, por
+     * último, el apodo (dos jugadores distintos nunca empatan).
+     */
+    public static final Comparator<PlayerStats> LEADERBOARD = Comparator
+            .comparingInt(PlayerStats::getWins).reversed()
+            .thenComparing(Comparator.comparingDouble(PlayerStats::getAccuracy).reversed())
+            .thenComparingInt(PlayerStats::getGames)
+            .thenComparing(PlayerStats::getNickname);
+
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4;
+
+    /**
+     * Tamaño máximo de un registro; uno mayor solo puede ser basura.
+     */
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+
+    private final Map<String, PlayerStats> players = new HashMap<>();
+    private final TreeSet<PlayerStats> leaderboard = new TreeSet<>(LEADERBOARD);
+    private FileChannel log;
+    private long records;
+
+    private StatsStore() { }
+
+    /**
+     * Abre el almacén, creándolo vacío si no existe, y reconstruye los acumulados desde el log.
+     *
+     * @param file Archivo del log.
+     * @return El almacén abierto.
+     * @throws GameFileException Si no se puede leer o no es un log de estadísticas.
+     */
+    public static StatsStore open(Path file) throws GameFileException {
+        StatsStore store = new StatsStore();
+        try {
+            if (!Files.exists(file) || Files.size(file) == 0) {
+                SaveManager.writeAtomically(file, new byte[]{'B', 'N', 'T', VERSION});
+            }
+            long valid = store.replay(file);
+            store.log = FileChannel.open(file, StandardOpenOption.WRITE);
+            // Lo que haya detrás del último registro válido es un anexo interrumpido
+            if (store.log.size() > valid) store.log.truncate(valid);
+            store.log.position(valid);
+        } catch (IOException e) {
+            store.close();
+            throw new GameFileException("Error al cargar las estadísticas", e);
+        } catch (GameFileException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    // ------------------------------------------------------
+    // OPERACIONES
+    // ------------------------------------------------------
+
+    /**
+     * Anota una partida terminada: la anexa al log y actualiza los acumulados del jugador.
+     *
+     * @param outcome El resultado de la partida.
+     * @return Las estadísticas del jugador con la partida sumada.
+     * @throws GameFileException Si no se puede escribir.
+     */
+    public synchronized PlayerStats record(GameOutcome outcome) throws GameFileException {
+        if (log == null) throw new GameFileException("El almacén de estadísticas está cerrado.");
+        byte[] payload = encode(outcome);
+        ByteBuffer record = ByteBuffer.allocate(payload.length + 8);
+        record.putInt(payload.length).put(payload).putInt(crc(payload)).flip();
+        try {
+            while (record.hasRemaining()) log.write(record);
+            log.force(false);
+        } catch (IOException e) {
+            throw new GameFileException("No se pudieron guardar las estadísticas", e);
+        }
+        return apply(outcome);
+    }
+
+    /**
+     * @param nickname Apodo del jugador.
+     * @return Sus estadísticas, o {@code null} si no tiene partidas.
+     */
+    public synchronized PlayerStats get(String nickname) {
+        return players.get(nickname);
+    }
+
+    /**
+     * @param n Cuántos jugadores devolver.
+     * @return Los {@code n} primeros de la clasificación (o todos, si hay menos).
+     */
+    public synchronized List<PlayerStats> top(int n) {
+        List<PlayerStats> top = new ArrayList<>(Math.min(n, leaderboard.size()));
+        Iterator<PlayerStats> it = leaderboard.iterator();
+        while (top.size() < n && it.hasNext()) top.add(it.next());
+        return top;
+    }
+
+    /**
+     * @return Jugadores con al menos una partida.
+     */
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * @return Partidas anotadas en el log.
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Cierra el log. Todo lo anotado ya está en disco.
+     */
+    @Override
+    public synchronized void close() {
+        if (log == null) return;
+        try {
+            log.close();
+        } catch (IOException ignored) {
+            // Cada registro se forzó a disco al anotarlo
+        }
+        log = null;
+    }
+
+    // ------------------------------------------------------
+    // LOG
+    // ------------------------------------------------------
+
+    private PlayerStats apply(GameOutcome outcome) {
+        PlayerStats before = players.get(outcome.getNickname());
+        if (before != null) leaderboard.remove(before);
+        PlayerStats after = (before != null ? before : PlayerStats.empty(outcome.getNickname())).plus(outcome);
+        players.put(after.getNickname(), after);
+        leaderboard.add(after);
+        records++;
+        return after;
+    }
+
+    /**
+     * Lee el log en streaming y aplica cada registro válido.
+     *
+     * @return Bytes del archivo hasta el final del último registro válido.
+     */
+    private long replay(Path file) throws IOException, GameFileException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+            byte[] header = new byte[HEADER_BYTES];
+            try {
+                in.readFully(header);
+            } catch (EOFException e) {
+                throw new GameFileException("El archivo de estadísticas está corrupto.");
+            }
+            if (header[0] != 'B' || header[1] != 'N' || header[2] != 'T') {
+                throw new GameFileException("El archivo de estadísticas está corrupto.");
+            }
+            if (header[3] != VERSION) {
+                throw new GameFileException("Versión del archivo de estadísticas no soportada: " + header[3]);
+            }
+
+            long valid = HEADER_BYTES;
+            while (true) {
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) break;
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    if (in.readInt() != crc(payload)) break;
+                    apply(decode(payload));
+                    valid += length + 8L;
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+            return valid;
+        }
+    }
+
+    private static byte[] encode(GameOutcome outcome) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(outcome.getNickname());
+            out.writeBoolean(outcome.isWon());
+            out.writeInt(outcome.getShots());
+            out.writeInt(outcome.getHits());
+            out.writeInt(outcome.getShipsSunk());
+            out.writeLong(outcome.getDurationMillis());
+            out.writeLong(outcome.getTimestamp());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static GameOutcome decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return new GameOutcome(in.readUTF(), in.readBoolean(), in.readInt(), in.readInt(), in.readInt(),
+                in.readLong(), in.readLong());
+    }
+
+    private static int crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+}
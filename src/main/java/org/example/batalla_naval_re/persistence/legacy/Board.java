@@ -0,0 +1,17 @@
+package org.example.batalla_naval_re.persistence.legacy;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Forma serializada del tablero en la primera versión del juego: una matriz de celdas y la flota.
+ */
+final class Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    Cell[][] grid;
+    List<Ship> ships;
+    Random random;
+}
@@ -0,0 +1,20 @@
+package org.example.batalla_naval_re.persistence.legacy;
+
+import java.io.Serializable;
+
+/**
+ * Forma serializada de una celda en la primera versión del juego: banderas propias y su barco.
+ */
+final class Cell implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    boolean ship;
+    boolean hit;
+    boolean miss;
+    boolean sunkPart;
+    boolean visibleToPlayer;
+    Ship shipObject;
+    int row;
+    int col;
+}
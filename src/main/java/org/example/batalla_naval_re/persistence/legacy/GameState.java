@@ -0,0 +1,15 @@
+package org.example.batalla_naval_re.persistence.legacy;
+
+import java.io.Serializable;
+
+/**
+ * Forma serializada de la partida en la primera versión del juego.
+ */
+final class GameState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    Player player;
+    Board machineBoard;
+    boolean gameOver;
+}
@@ -0,0 +1,144 @@
+package org.example.batalla_naval_re.persistence.legacy;
+
+import org.example.batalla_naval_re.model.ShipType;
+import org.example.batalla_naval_re.persistence.GameFileException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lector de las partidas guardadas con serialización de Java por la primera versión del juego.
+ * <p>
+ * Aquel modelo guardaba una matriz de celdas con banderas propias y referencias cruzadas entre celdas
+ * y barcos, y sus clases ya no son compatibles con las actuales. Este paquete conserva copias con la
+ * misma forma serializada: la lectura se redirige a ellas y la partida se reconstruye sobre el modelo
+ * actual colocando los mismos barcos y repitiendo los mismos disparos.
+ * </p>
+ * <p>
+ * Solo se aceptan las clases de ese grafo; cualquier otra hace fallar la lectura.
+ * </p>
+ */
+public final class LegacySaveReader {
+
+    private static final String MODEL = "org.example.batalla_naval_re.model.";
+
+    /**
+     * Clases del modelo antiguo y la copia que las reemplaza al leer.
+     */
+    private static final Map<String, Class<?>> LEGACY = Map.of(
+            MODEL + "GameState", GameState.class,
+            MODEL + "Player", Player.class,
+            MODEL + "Board", Board.class,
+            MODEL + "Cell", Cell.class,
+            MODEL + "Ship", Ship.class,
+            "[L" + MODEL + "Cell;", Cell[].class,
+            "[[L" + MODEL + "Cell;", Cell[][].class);
+
+    /**
+     * Otras clases que aparecen en esos archivos y se leen tal cual.
+     */
+    private static final Set<String> SHARED = Set.of(
+            ShipType.class.getName(), Enum.class.getName(), "java.util.ArrayList", "java.util.Random");
+
+    private LegacySaveReader() { }
+
+    /**
+     * Lee una partida guardada por la primera versión del juego.
+     *
+     * @param data Contenido del archivo.
+     * @return La partida sobre el modelo actual.
+     * @throws GameFileException Si los datos no tienen ese formato o describen una partida imposible.
+     */
+    public static org.example.batalla_naval_re.model.GameState read(byte[] data) throws GameFileException {
+        Object obj;
+        try (ObjectInputStream in = new Input(new ByteArrayInputStream(data))) {
+            obj = in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new GameFileException("La partida guardada no es compatible con esta versión del juego.", e);
+        }
+        if (!(obj instanceof GameState legacy) || legacy.player == null || legacy.machineBoard == null) {
+            throw new GameFileException("El archivo de partida está corrupto.");
+        }
+
+        try {
+            int size = legacy.machineBoard.grid.length;
+            org.example.batalla_naval_re.model.Player player =
+                    new org.example.batalla_naval_re.model.Player(legacy.player.name, size);
+            org.example.batalla_naval_re.model.Board machine = new org.example.batalla_naval_re.model.Board(size);
+            copy(legacy.player.board, player.getBoard());
+            copy(legacy.machineBoard, machine);
+
+            org.example.batalla_naval_re.model.GameState state = new org.example.batalla_naval_re.model.GameState(player, machine);
+            state.setGameOver(legacy.gameOver);
+            // Igual que en SaveCodec: los contadores son los barcos hundidos del tablero rival
+            player.setSunkCount(sunkShips(machine));
+            state.getMachineSunkCount().set(sunkShips(player.getBoard()));
+            return state;
+        } catch (RuntimeException e) {
+            throw new GameFileException("El archivo de partida está corrupto.", e);
+        }
+    }
+
+    /**
+     * Coloca la flota del tablero antiguo y repite sus disparos sobre el tablero nuevo.
+     */
+    private static void copy(Board legacy, org.example.batalla_naval_re.model.Board board) throws GameFileException {
+        int count = legacy.ships.size();
+        boolean allPlaced = legacy.ships.stream().noneMatch(s -> s.cells.isEmpty());
+        // Un barco sin colocar solo se puede crear con la flota estándar, en su orden
+        if (!allPlaced) board.createShipsWithoutPlacement();
+
+        for (int i = 0; i < count; i++) {
+            Ship old = legacy.ships.get(i);
+            org.example.batalla_naval_re.model.Ship ship =
+                    allPlaced ? new org.example.batalla_naval_re.model.Ship(old.type) : board.getShip(i);
+            if (ship.getType() != old.type) throw new GameFileException("El archivo de partida está corrupto.");
+            if (old.cells.isEmpty()) continue;
+
+            Cell first = old.cells.get(0);
+            Cell last = old.cells.get(old.cells.size() - 1);
+            boolean horizontal = first.row == last.row;
+            int row = Math.min(first.row, last.row);
+            int col = Math.min(first.col, last.col);
+            if (old.cells.size() != old.type.getSize() || !board.addShip(ship, row, col, horizontal)) {
+                throw new GameFileException("El archivo de partida está corrupto.");
+            }
+        }
+
+        for (Cell[] cells : legacy.grid) {
+            for (Cell cell : cells) {
+                if (cell.hit || cell.miss) board.shoot(cell.row, cell.col);
+            }
+        }
+    }
+
+    private static int sunkShips(org.example.batalla_naval_re.model.Board board) {
+        int sunk = 0;
+        for (org.example.batalla_naval_re.model.Ship ship : board.getShips()) if (ship.isSunk()) sunk++;
+        return sunk;
+    }
+
+    /**
+     * Redirige las clases del modelo antiguo a sus copias y rechaza cualquier otra clase.
+     */
+    private static final class Input extends ObjectInputStream {
+
+        Input(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> legacy = LEGACY.get(desc.getName());
+            if (legacy != null) return legacy;
+            if (SHARED.contains(desc.getName())) return super.resolveClass(desc);
+            throw new InvalidClassException(desc.getName(), "clase no esperada en una partida antigua");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.batalla_naval_re.persistence.legacy;
+
+import java.io.Serializable;
+
+/**
+ * Forma serializada del jugador en la primera versión del juego.
+ */
+final class Player implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    String name;
+    Board board;
+    int sunkCount;
+}
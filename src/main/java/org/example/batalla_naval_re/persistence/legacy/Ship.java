@@ -0,0 +1,19 @@
+package org.example.batalla_naval_re.persistence.legacy;
+
+import org.example.batalla_naval_re.model.ShipType;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Forma serializada de un barco en la primera versión del juego.
+ */
+final class Ship implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    ShipType type;
+    List<Cell> cells;
+    boolean isHorizontal;
+    boolean isSunk;
+}
@@ -0,0 +1,76 @@
+package org.example.batalla_naval_re.sim;
+
+import org.example.batalla_naval_re.engine.GameEngine;
+
+/**
+ * Resultado de una partida simulada. Es inmutable.
+ */
+public final class GameResult {
+
+    private final int index;
+    private final long seed;
+    private final GameEngine.Side winner;
+    private final int playerShots;
+    private final int playerHits;
+    private final int machineShots;
+    private final int machineHits;
+    private final int firstSinkTurn;
+    private final long nanos;
+
+    /**
+     * @param index         Número de partida dentro del lote.
+     * @param seed          Semilla de la que se derivó toda la aleatoriedad de la partida.
+     * @param winner        Bando ganador.
+     * @param playerShots   Disparos del jugador.
+     * @param playerHits    Impactos del jugador.
+     * @param machineShots  Disparos de la máquina.
+     * @param machineHits   Impactos de la máquina.
+     * @param firstSinkTurn Turno en que se hundió el primer barco (de cualquier bando).
+     * @param nanos         Duración de la partida en nanosegundos.
+     */
+    public GameResult(int index, long seed, GameEngine.Side winner, int playerShots, int playerHits,
+                      int machineShots, int machineHits, int firstSinkTurn, long nanos) {
+        this.index = index;
+        this.seed = seed;
+        this.winner = winner;
+        this.playerShots = playerShots;
+        this.playerHits = playerHits;
+        this.machineShots = machineShots;
+        this.machineHits = machineHits;
+        this.firstSinkTurn = firstSinkTurn;
+        this.nanos = nanos;
+    }
+
+    public int getIndex() { return index; }
+    public long getSeed() { return seed; }
+    public GameEngine.Side getWinner() { return winner; }
+    public int getPlayerShots() { return playerShots; }
+    public int getPlayerHits() { return playerHits; }
+    public int getMachineShots() { return machineShots; }
+    public int getMachineHits() { return machineHits; }
+    public int getFirstSinkTurn() { return firstSinkTurn; }
+    public long getNanos() { return nanos; }
+
+    /**
+     * @return Disparos que necesitó el ganador para hundir toda la flota contraria.
+     */
+    public int getShotsToWin() {
+        return winner == GameEngine.Side.PLAYER ? playerShots : machineShots;
+    }
+
+    /**
+     * @return Cabecera CSV correspondiente a {@link #toCsv()}.
+     */
+    public static String csvHeader() {
+        return "game,seed,winner,shots_to_win,player_shots,player_hits,machine_shots,machine_hits,first_sink_turn,micros";
+    }
+
+    /**
+     * @return Una línea CSV con todos los campos.
+     */
+    public String toCsv() {
+        return index + "," + seed + "," + winner + "," + getShotsToWin() + ","
+                + playerShots + "," + playerHits + "," + machineShots + "," + machineHits + ","
+                + firstSinkTurn + "," + nanos / 1_000;
+    }
+}
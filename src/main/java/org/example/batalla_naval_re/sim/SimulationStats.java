@@ -0,0 +1,129 @@
+package org.example.batalla_naval_re.sim;
+
+import org.example.batalla_naval_re.engine.GameEngine;
+
+import java.util.Locale;
+
+/**
+ * Estadísticas acumuladas de un lote de partidas simuladas.
+ * <p>
+ * Los disparos para ganar se guardan como histograma (una entrada por cantidad posible de disparos),
+ * de modo que los percentiles son exactos, la memoria no crece con el número de partidas y las
+ * estadísticas parciales de cada hilo se combinan sumando. No es segura entre hilos: cada hilo
+ * acumula las suyas y luego se combinan con {@link #merge(SimulationStats)}.
+ * </p>
+ */
+public final class SimulationStats {
+
+    private final long[] shotsToWin;
+    private long games;
+    private final long[] wins = new long[2];
+    private long totalShots;
+    private long totalHits;
+    private long firstSinkTurns;
+    private long gameNanos;
+    private long wallNanos;
+
+    /**
+     * @param maxShots Máximo de disparos posibles por partida (celdas del tablero).
+     */
+    public SimulationStats(int maxShots) {
+        this.shotsToWin = new long[maxShots + 1];
+    }
+
+    /**
+     * Acumula el resultado de una partida.
+     *
+     * @param result Resultado a sumar.
+     */
+    public void add(GameResult result) {
+        games++;
+        wins[result.getWinner().ordinal()]++;
+        shotsToWin[Math.min(result.getShotsToWin(), shotsToWin.length - 1)]++;
+        totalShots += result.getPlayerShots() + result.getMachineShots();
+        totalHits += result.getPlayerHits() + result.getMachineHits();
+        firstSinkTurns += result.getFirstSinkTurn();
+        gameNanos += result.getNanos();
+    }
+
+    /**
+     * Suma otras estadísticas parciales a estas.
+     *
+     * @param other Estadísticas del mismo tamaño de tablero.
+     * @return Esta misma instancia.
+     */
+    public SimulationStats merge(SimulationStats other) {
+        for (int i = 0; i < shotsToWin.length; i++) shotsToWin[i] += other.shotsToWin[i];
+        games += other.games;
+        wins[0] += other.wins[0];
+        wins[1] += other.wins[1];
+        totalShots += other.totalShots;
+        totalHits += other.totalHits;
+        firstSinkTurns += other.firstSinkTurns;
+        gameNanos += other.gameNanos;
+        return this;
+    }
+
+    void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    public long getGames() { return games; }
+
+    /**
+     * @param side Bando.
+     * @return Fracción de partidas ganadas por ese bando (0 a 1).
+     */
+    public double getWinRate(GameEngine.Side side) {
+        return games == 0 ? 0.0 : wins[side.ordinal()] / (double) games;
+    }
+
+    /**
+     * @param p Percentil entre 0 y 100.
+     * @return Disparos para ganar en ese percentil (el menor valor que deja al menos p% por debajo o igual).
+     */
+    public int shotsToWinPercentile(double p) {
+        if (games == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * games));
+        long seen = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            seen += shotsToWin[shots];
+            if (seen >= rank) return shots;
+        }
+        return shotsToWin.length - 1;
+    }
+
+    /**
+     * @return Promedio de disparos que necesitó el ganador.
+     */
+    public double meanShotsToWin() {
+        if (games == 0) return 0.0;
+        long sum = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) sum += shots * shotsToWin[shots];
+        return sum / (double) games;
+    }
+
+    /**
+     * @return Partidas por segundo de tiempo real del lote.
+     */
+    public double gamesPerSecond() {
+        return wallNanos == 0 ? 0.0 : games * 1_000_000_000.0 / wallNanos;
+    }
+
+    /**
+     * @return Un resumen legible con rendimiento, tasas de victoria y percentiles.
+     */
+    public String report() {
+        return String.format(Locale.ROOT,
+                "partidas: %d en %.2f s (%.0f partidas/s, %.1f µs de tiempo real por partida)%n"
+                        + "victorias: jugador %.2f%%, máquina %.2f%%%n"
+                        + "disparos para ganar: media %.2f, p50 %d, p90 %d, p99 %d, máx %d%n"
+                        + "precisión: %.2f%%, primer hundimiento en el turno %.2f de media",
+                games, wallNanos / 1e9, gamesPerSecond(), games == 0 ? 0.0 : gameNanos / 1e3 / games,
+                100 * getWinRate(GameEngine.Side.PLAYER), 100 * getWinRate(GameEngine.Side.MACHINE),
+                meanShotsToWin(), shotsToWinPercentile(50), shotsToWinPercentile(90),
+                shotsToWinPercentile(99), shotsToWinPercentile(100),
+                totalShots == 0 ? 0.0 : 100.0 * totalHits / totalShots,
+                games == 0 ? 0.0 : firstSinkTurns / (double) games);
+    }
+}
@@ -0,0 +1,270 @@
+package org.example.batalla_naval_re.sim;
+
+import org.example.batalla_naval_re.ai.AIBudget;
+import org.example.batalla_naval_re.ai.AIStrategies;
+import org.example.batalla_naval_re.ai.AIStrategyProvider;
+import org.example.batalla_naval_re.engine.GameEngine;
+import org.example.batalla_naval_re.engine.GameListener;
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.example.batalla_naval_re.model.GameState;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Simulador de partidas IA contra IA, sin interfaz gráfica.
+ * <p>
+ * Cada partida se construye con {@link GameState#newGame(String, int, long)}, coloca la flota del
+ * jugador al azar y se juega con {@link GameEngine} entre dos estrategias registradas en
+ * {@link AIStrategies}. Toda la aleatoriedad de la partida {@code i} se deriva de una semilla que
+ * depende solo de la semilla base y de {@code i}, por lo que un lote es reproducible sin importar
+ * cuántos hilos lo ejecuten ni en qué orden.
+ * </p>
+ * <p>
+ * Uso desde la línea de comandos:
+ * </p>
+ * <pre>
+ * java -cp ... org.example.batalla_naval_re.sim.Simulator --player random --machine heatmap \
+ *      --games 100000 [--size 10] [--seed 1] [--threads N | --virtual] [--nodes N] [--nanos N] [--out res.csv]
+ * </pre>
+ */
+public final class Simulator {
+
+    /**
+     * Partidas por tarea: suficientes para amortizar el reparto, pocas para equilibrar la carga.
+     */
+    private static final int GAMES_PER_TASK = 256;
+
+    private final AIStrategyProvider playerProvider;
+    private final AIStrategyProvider machineProvider;
+    private final AIBudget playerBudget;
+    private final AIBudget machineBudget;
+    private final int boardSize;
+    private final long baseSeed;
+
+    /**
+     * Crea un simulador con los presupuestos recomendados por cada proveedor.
+     *
+     * @param playerStrategy  Identificador de la estrategia del jugador.
+     * @param machineStrategy Identificador de la estrategia de la máquina.
+     * @param boardSize       Número de filas y columnas de los tableros.
+     * @param baseSeed        Semilla base del lote.
+     * @throws IllegalArgumentException Si alguna estrategia no existe o no admite el tablero.
+     */
+    public Simulator(String playerStrategy, String machineStrategy, int boardSize, long baseSeed) {
+        this(playerStrategy, machineStrategy, boardSize, baseSeed, null);
+    }
+
+    /**
+     * Crea un simulador con un presupuesto común para ambas estrategias.
+     *
+     * @param playerStrategy  Identificador de la estrategia del jugador.
+     * @param machineStrategy Identificador de la estrategia de la máquina.
+     * @param boardSize       Número de filas y columnas de los tableros.
+     * @param baseSeed        Semilla base del lote.
+     * @param budget          Presupuesto por jugada, o {@code null} para el recomendado por cada proveedor.
+     * @throws IllegalArgumentException Si alguna estrategia no existe o no admite el tablero.
+     */
+    public Simulator(String playerStrategy, String machineStrategy, int boardSize, long baseSeed, AIBudget budget) {
+        this.playerProvider = provider(playerStrategy, boardSize);
+        this.machineProvider = provider(machineStrategy, boardSize);
+        this.playerBudget = budget != null ? budget : playerProvider.getDefaultBudget();
+        this.machineBudget = budget != null ? budget : machineProvider.getDefaultBudget();
+        this.boardSize = boardSize;
+        this.baseSeed = baseSeed;
+    }
+
+    private static AIStrategyProvider provider(String id, int boardSize) {
+        AIStrategyProvider p = AIStrategies.byId(id)
+                .orElseThrow(() -> new IllegalArgumentException("Estrategia desconocida: " + id));
+        if (!p.supportsBoardSize(boardSize)) {
+            throw new IllegalArgumentException("La estrategia " + id + " no admite tableros de " + boardSize);
+        }
+        return p;
+    }
+
+    /**
+     * @param index Número de partida.
+     * @return La semilla de esa partida (mezcla de la semilla base y el índice).
+     */
+    public long seedFor(int index) {
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Juega una partida completa.
+     *
+     * @param index Número de partida dentro del lote.
+     * @return El resultado de la partida.
+     */
+    public GameResult play(int index) {
+        long seed = seedFor(index);
+        SplittableRandom seeds = new SplittableRandom(seed);
+
+        GameState state = GameState.newGame("sim", boardSize, seeds.nextLong());
+        Board playerBoard = state.getPlayer().getBoard();
+        Board machineBoard = state.getMachineBoard();
+        playerBoard.reseed(seeds.nextLong());
+        playerBoard.randomPlaceAllShips();
+
+        GameEngine engine = new GameEngine(playerBoard, machineBoard);
+        engine.setStrategy(GameEngine.Side.PLAYER, playerProvider.create(machineBoard, seeds.nextLong()), playerBudget);
+        engine.setStrategy(GameEngine.Side.MACHINE, machineProvider.create(playerBoard, seeds.nextLong()), machineBudget);
+
+        int[] firstSinkTurn = {-1};
+        engine.addListener(new GameListener() {
+            @Override
+            public void onShot(GameEngine.Side shooter, int row, int col, Cell.ShotResult result) {
+                if (result == Cell.ShotResult.SUNK && firstSinkTurn[0] < 0) firstSinkTurn[0] = engine.getTurnNumber();
+            }
+        });
+
+        long start = System.nanoTime();
+        GameEngine.Side winner = engine.playToEnd();
+        long nanos = System.nanoTime() - start;
+
+        return new GameResult(index, seed, winner,
+                engine.getShots(GameEngine.Side.PLAYER), engine.getHits(GameEngine.Side.PLAYER),
+                engine.getShots(GameEngine.Side.MACHINE), engine.getHits(GameEngine.Side.MACHINE),
+                firstSinkTurn[0], nanos);
+    }
+
+    /**
+     * Juega un lote de partidas repartido en tareas sobre el ejecutor indicado.
+     *
+     * @param games    Número de partidas.
+     * @param executor Ejecutor (pool de hilos o hilos virtuales); no se cierra.
+     * @param sink     Receptor de cada resultado a medida que termina; debe ser seguro entre hilos.
+     *                 Puede ser {@code null}.
+     * @return Las estadísticas del lote.
+     * @throws InterruptedException Si se interrumpe la espera.
+     * @throws IllegalStateException Si alguna partida falla.
+     */
+    public SimulationStats run(int games, ExecutorService executor, Consumer<GameResult> sink) throws InterruptedException {
+        List<Callable<SimulationStats>> tasks = new ArrayList<>();
+        for (int from = 0; from < games; from += GAMES_PER_TASK) {
+            int start = from;
+            int end = Math.min(games, from + GAMES_PER_TASK);
+            tasks.add(() -> {
+                SimulationStats partial = new SimulationStats(boardSize * boardSize);
+                for (int i = start; i < end; i++) {
+                    GameResult result = play(i);
+                    partial.add(result);
+                    if (sink != null) sink.accept(result);
+                }
+                return partial;
+            });
+        }
+
+        long start = System.nanoTime();
+        SimulationStats total = new SimulationStats(boardSize * boardSize);
+        for (Future<SimulationStats> f : executor.invokeAll(tasks)) {
+            try {
+                total.merge(f.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló una partida simulada", e.getCause());
+            }
+        }
+        total.setWallNanos(System.nanoTime() - start);
+        return total;
+    }
+
+    /**
+     * Punto de entrada de la línea de comandos.
+     *
+     * @param args Argumentos (ver la documentación de la clase).
+     */
+    public static void main(String[] args) throws Exception {
+        String player = "random";
+        String machine = AIStrategies.DEFAULT_ID;
+        int games = 10_000;
+        int size = Board.SIZE;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean virtual = false;
+        long nodes = 0;
+        long nanos = 0;
+        String out = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--player" -> player = args[++i];
+                    case "--machine" -> machine = args[++i];
+                    case "--games" -> games = Integer.parseInt(args[++i]);
+                    case "--size" -> size = Integer.parseInt(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--virtual" -> virtual = true;
+                    case "--nodes" -> nodes = Long.parseLong(args[++i]);
+                    case "--nanos" -> nanos = Long.parseLong(args[++i]);
+                    case "--out" -> out = args[++i];
+                    default -> throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+                }
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e.getMessage() == null ? "Falta un valor" : e.getMessage());
+            System.err.println("Uso: Simulator --player ID --machine ID --games N [--size N] [--seed N]"
+                    + " [--threads N | --virtual] [--nodes N] [--nanos N] [--out archivo.csv]");
+            System.err.print("Estrategias:");
+            for (AIStrategyProvider p : AIStrategies.available()) System.err.print(" " + p.getId());
+            System.err.println();
+            System.exit(2);
+            return;
+        }
+
+        AIBudget budget = nodes == 0 && nanos == 0 ? null : AIBudget.of(nanos, nodes);
+        Simulator simulator = new Simulator(player, machine, size, seed, budget);
+
+        PrintStream csv = out == null ? null : new PrintStream(new FileOutputStream(out), false, "UTF-8");
+        Consumer<GameResult> sink = null;
+        if (csv != null) {
+            csv.println(GameResult.csvHeader());
+            sink = result -> {
+                String line = result.toCsv();
+                synchronized (csv) {
+                    csv.println(line);
+                }
+            };
+        }
+
+        ExecutorService executor = virtual ? virtualThreadExecutor() : null;
+        if (executor == null) executor = Executors.newFixedThreadPool(threads);
+        try {
+            SimulationStats stats = simulator.run(games, executor, sink);
+            System.out.println(player + " (jugador) vs " + machine + " (máquina), tablero " + size + "x" + size);
+            System.out.println(stats.report());
+        } finally {
+            executor.shutdownNow();
+            if (csv != null) csv.close();
+        }
+    }
+
+    /**
+     * Crea un ejecutor de hilos virtuales si la JVM los ofrece (Java 21 o superior).
+     *
+     * @return El ejecutor, o {@code null} si esta JVM no tiene hilos virtuales.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Esta JVM no tiene hilos virtuales; se usa un pool de hilos de plataforma");
+            return null;
+        }
+    }
+}
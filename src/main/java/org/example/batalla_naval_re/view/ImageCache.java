@@ -0,0 +1,133 @@
+package org.example.batalla_naval_re.view;
+
+import javafx.scene.image.Image;
+import org.example.batalla_naval_re.model.ShipType;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de imágenes compartida por toda la aplicación.
+ * <p>
+ * Cada icono se identifica por un {@link ShipType} y un {@link State}. El recurso que le corresponde
+ * se decodifica una sola vez, ya escalado al tamaño en que se dibuja, y con carga en segundo plano
+ * de JavaFX: pedir una imagen nunca bloquea el hilo de la interfaz decodificando un JPEG. Mientras
+ * termina de cargarse, un {@code ImageView} simplemente no muestra nada.
+ * </p>
+ * <p>
+ * Los marcadores de impacto y hundimiento son iguales para todos los tipos de barco, así que todas las
+ * claves que los usan comparten la misma instancia de {@link Image}.
+ * </p>
+ */
+public final class ImageCache {
+
+    /**
+     * Estado de la celda que se dibuja.
+     */
+    public enum State {
+        /** Barco propio sin daños: imagen del tipo de barco. */
+        INTACT,
+        /** Segmento impactado: marcador de impacto. */
+        HIT,
+        /** Segmento de un barco hundido: marcador de hundimiento. */
+        SUNK
+    }
+
+    /**
+     * Tamaño en píxeles de una celda del tablero.
+     */
+    public static final double CELL_SIZE = 40;
+
+    /**
+     * Tamaño del marcador de impacto, más pequeño que la celda para que se vea el barco debajo.
+     */
+    public static final double HIT_SIZE = 28;
+
+    private static final String HIT_PATH = "/impacto.jpg";
+    private static final String SUNK_PATH = "/undido.jpg";
+
+    /**
+     * Imágenes ya pedidas, por clave (tipo, estado).
+     */
+    private static final Image[][] BY_KEY = new Image[ShipType.values().length][State.values().length];
+
+    /**
+     * Imágenes decodificadas, por recurso y tamaño: garantiza una sola decodificación por archivo.
+     */
+    private static final Map<String, Image> BY_RESOURCE = new ConcurrentHashMap<>();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private ImageCache() { }
+
+    /**
+     * Obtiene el icono de un tipo de barco en un estado, cargándolo la primera vez.
+     *
+     * @param type  Tipo de barco.
+     * @param state Estado de la celda.
+     * @return La imagen compartida (puede estar aún cargándose en segundo plano).
+     */
+    public static Image get(ShipType type, State state) {
+        Image[] row = BY_KEY[type.ordinal()];
+        Image image = row[state.ordinal()];
+        if (image != null) {
+            HITS.incrementAndGet();
+            return image;
+        }
+        image = load(type, state);
+        // Carrera benigna: load() devuelve siempre la misma instancia para el mismo recurso
+        row[state.ordinal()] = image;
+        return image;
+    }
+
+    /**
+     * Pide todas las imágenes para que se decodifiquen en segundo plano antes de necesitarlas.
+     * Conviene llamarlo al abrir la pantalla de juego.
+     */
+    public static void preload() {
+        for (ShipType type : ShipType.values()) {
+            for (State state : State.values()) get(type, state);
+        }
+    }
+
+    /**
+     * @return Veces que una imagen pedida ya estaba en la caché.
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * @return Veces que hubo que crear la imagen (decodificaciones reales, una por recurso y tamaño).
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    private static Image load(ShipType type, State state) {
+        return switch (state) {
+            case INTACT -> resource(type.getImagePath(), CELL_SIZE);
+            case HIT -> resource(HIT_PATH, HIT_SIZE);
+            case SUNK -> resource(SUNK_PATH, CELL_SIZE);
+        };
+    }
+
+    private static Image resource(String path, double size) {
+        String key = path + "@" + size;
+        Image image = BY_RESOURCE.get(key);
+        if (image != null) {
+            HITS.incrementAndGet();
+            return image;
+        }
+        return BY_RESOURCE.computeIfAbsent(key, k -> {
+            MISSES.incrementAndGet();
+            URL url = ImageCache.class.getResource(path);
+            if (url == null) throw new IllegalStateException("No se encontró la imagen " + path);
+            // Escalada al decodificar y en segundo plano: el hilo de la interfaz no espera
+            return new Image(url.toExternalForm(), size, size, true, true, true);
+        });
+    }
+}
@@ -5,7 +5,6 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import org.example.batalla_naval_re.model.*;
-import org.example.batalla_naval_re.view.shapes.IShipShape;
 import org.example.batalla_naval_re.view.shapes.ShipShapeFactory;
 
 /**
@@ -80,17 +79,14 @@ public class BoardRenderer {
     }
 
     /**
-     * Dibuja el barco en el panel, delegando la creación de la forma a la fábrica correspondiente.
+     * Dibuja el barco en el panel con la plantilla cacheada de la fábrica para su segmento y estado.
      * También aplica efectos visuales adicionales si el barco está dañado o hundido.
      *
      * @param pane El panel contenedor.
      * @param cell La celda lógica que contiene el barco.
      */
     private static void renderShip(StackPane pane, Cell cell) {
-        Ship ship = cell.getShip();
-        IShipShape shape = ShipShapeFactory.createShape(ship.getType());
-
-        Node shipNode = shape.createShape(ship, cell);
+        Node shipNode = ShipShapeFactory.createSegmentNode(cell.getShip(), cell);
         pane.getChildren().add(shipNode);
 
         // Añadir efectos según estado
@@ -0,0 +1,333 @@
+package org.example.batalla_naval_re.view.renderer;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import org.example.batalla_naval_re.engine.GameEngine;
+import org.example.batalla_naval_re.engine.GameSnapshot;
+import org.example.batalla_naval_re.view.ImageCache;
+import org.example.batalla_naval_re.view.shapes.ShipShapeFactory;
+
+/**
+ * Dibuja un tablero completo sobre un único {@link Canvas}, sin un nodo por celda.
+ * <p>
+ * Es la alternativa a {@link BoardRenderer} para tableros grandes o repeticiones rápidas (la vista de
+ * la partida la usa a partir de cierto tamaño de tablero): la cuadrícula,
+ * los barcos (plantillas de {@link ShipShapeFactory}) y los marcadores se pintan con llamadas inmediatas al {@link GraphicsContext} y, tras el
+ * primer pintado, solo se vuelven a dibujar los rectángulos de las celdas cuyo código cambió respecto
+ * de la última {@link GameSnapshot} dibujada, igual que la cuadrícula de nodos de la partida. Con
+ * {@link #start()} el repintado se hace una vez por pulso de JavaFX, de modo que cualquier cantidad de
+ * fotografías entre dos fotogramas cuesta un solo pase.
+ * </p>
+ * <p>
+ * Solo lee fotografías, nunca el modelo, así que puede mostrar una partida en curso sin competir con
+ * el bucle de juego. Debe usarse desde el hilo de JavaFX.
+ * </p>
+ */
+public class CanvasBoardRenderer {
+
+    /**
+     * Tamaño de celda por defecto, el mismo que usa la cuadrícula de nodos.
+     */
+    public static final double DEFAULT_CELL_SIZE = 40;
+
+    /**
+     * Tamaño de celda mínimo con el que todavía se distinguen los marcadores.
+     */
+    public static final double MIN_CELL_SIZE = 4;
+
+    /**
+     * Manejador de clics ya traducidos a coordenadas del tablero.
+     */
+    @FunctionalInterface
+    public interface CellClickHandler {
+        /**
+         * @param row    Fila de la celda pulsada.
+         * @param col    Columna de la celda pulsada.
+         * @param button Botón del ratón.
+         */
+        void onCellClicked(int row, int col, MouseButton button);
+    }
+
+    private static final Color WATER = Color.LIGHTBLUE;
+    private static final Color GRID = Color.DARKBLUE;
+    private static final Color MISS = Color.BLUE;
+    private static final Color HIT = Color.ORANGERED;
+    private static final Color SUNK = Color.DARKRED;
+
+    private final GameEngine.Side side;
+    private final int size;
+    private final double cellSize;
+    private final Canvas canvas;
+    private final GraphicsContext g;
+
+    private boolean showShips;
+    private boolean fullRepaint = true;
+    private GameSnapshot latest;
+    private GameSnapshot rendered;
+    private long cellsPainted;
+    private CellClickHandler clickHandler;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            refresh();
+        }
+    };
+
+    /**
+     * Crea el renderizador con el tamaño de celda por defecto.
+     *
+     * @param side      Tablero de las fotografías que se dibuja.
+     * @param size      Número de filas y columnas del tablero.
+     * @param showShips {@code true} para mostrar los barcos no descubiertos (tablero propio).
+     */
+    public CanvasBoardRenderer(GameEngine.Side side, int size, boolean showShips) {
+        this(side, size, showShips, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Crea el renderizador.
+     *
+     * @param side      Tablero de las fotografías que se dibuja.
+     * @param size      Número de filas y columnas del tablero.
+     * @param showShips {@code true} para mostrar los barcos no descubiertos (tablero propio).
+     * @param cellSize  Lado de cada celda en píxeles (ver {@link #fitCellSize(int, double)}).
+     * @throws IllegalArgumentException Si el tamaño de celda es menor que {@link #MIN_CELL_SIZE}.
+     */
+    public CanvasBoardRenderer(GameEngine.Side side, int size, boolean showShips, double cellSize) {
+        if (cellSize < MIN_CELL_SIZE) throw new IllegalArgumentException("Tamaño de celda demasiado pequeño: " + cellSize);
+        this.side = side;
+        this.size = size;
+        this.showShips = showShips;
+        this.cellSize = cellSize;
+        this.canvas = new Canvas(size * cellSize, size * cellSize);
+        this.g = canvas.getGraphicsContext2D();
+        canvas.setOnMouseClicked(this::onMouseClicked);
+    }
+
+    /**
+     * Calcula el tamaño de celda para que el tablero quepa en un lado de {@code maxPixels}.
+     * <p>
+     * Un tablero de 100x100 con celdas de 40 px necesitaría una textura de 4000 px de lado;
+     * conviene limitarla al área visible.
+     * </p>
+     *
+     * @param boardSize Número de filas y columnas.
+     * @param maxPixels Lado máximo disponible en píxeles.
+     * @return Tamaño de celda entre {@link #MIN_CELL_SIZE} y {@link #DEFAULT_CELL_SIZE}.
+     */
+    public static double fitCellSize(int boardSize, double maxPixels) {
+        double fit = Math.floor(maxPixels / boardSize);
+        return Math.max(MIN_CELL_SIZE, Math.min(DEFAULT_CELL_SIZE, fit));
+    }
+
+    /**
+     * @return El {@link Canvas} a insertar en la escena.
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * @return Lado de cada celda en píxeles.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return Celdas dibujadas desde la creación del renderizador (útil para medir el repintado parcial).
+     */
+    public long getCellsPainted() {
+        return cellsPainted;
+    }
+
+    /**
+     * Cambia la visibilidad de los barcos no descubiertos (por ejemplo, al revelar el tablero rival
+     * al terminar la partida). Provoca un repintado completo.
+     *
+     * @param showShips {@code true} para mostrarlos.
+     */
+    public void setShowShips(boolean showShips) {
+        if (this.showShips == showShips) return;
+        this.showShips = showShips;
+        repaintAll();
+    }
+
+    /**
+     * @param handler Receptor de los clics sobre celdas, o {@code null} para ignorarlos.
+     */
+    public void setOnCellClicked(CellClickHandler handler) {
+        this.clickHandler = handler;
+    }
+
+    /**
+     * Empieza a repintar automáticamente en cada pulso de JavaFX (hasta 60 veces por segundo).
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Deja de repintar automáticamente.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Marca todo el tablero para repintarse en el siguiente {@link #refresh()}.
+     */
+    public void repaintAll() {
+        fullRepaint = true;
+    }
+
+    /**
+     * Recibe una fotografía nueva; se dibuja en el siguiente {@link #refresh()}. Si llegan varias
+     * antes, solo se dibuja la última.
+     *
+     * @param snapshot Fotografía publicada por el bucle de juego.
+     * @throws IllegalArgumentException Si el tablero de la fotografía es de otro tamaño.
+     */
+    public void render(GameSnapshot snapshot) {
+        if (snapshot.getSize() != size) {
+            throw new IllegalArgumentException("La fotografía es de un tablero de " + snapshot.getSize() + ", no de " + size);
+        }
+        latest = snapshot;
+    }
+
+    /**
+     * Repinta lo que cambió desde la llamada anterior: todo el tablero la primera vez (o tras
+     * {@link #repaintAll()}), o solo los rectángulos de las celdas cuyo código cambió.
+     *
+     * @return Número de celdas dibujadas.
+     */
+    public int refresh() {
+        GameSnapshot next = latest != null ? latest : rendered;
+        if (next == null || (next == rendered && !fullRepaint)) return 0;
+        latest = null;
+        long before = cellsPainted;
+        if (rendered == null || fullRepaint) {
+            fullRepaint = false;
+            paintAll(next);
+        } else {
+            next.forEachChangedCell(rendered, side, index -> paintIndex(index, next.cellCode(side, index)));
+        }
+        rendered = next;
+        return (int) (cellsPainted - before);
+    }
+
+    /**
+     * Traduce coordenadas locales del canvas a la celda que hay debajo, en tiempo constante.
+     *
+     * @param x Coordenada X local.
+     * @param y Coordenada Y local.
+     * @return Índice lineal ({@code fila * tamaño + columna}), o {@code -1} fuera del tablero.
+     */
+    public int cellAt(double x, double y) {
+        if (x < 0 || y < 0) return -1;
+        int col = (int) (x / cellSize);
+        int row = (int) (y / cellSize);
+        if (row >= size || col >= size) return -1;
+        return row * size + col;
+    }
+
+    private void onMouseClicked(MouseEvent e) {
+        if (clickHandler == null) return;
+        int index = cellAt(e.getX(), e.getY());
+        if (index >= 0) clickHandler.onCellClicked(index / size, index % size, e.getButton());
+    }
+
+    // ------------------------------------------------------
+    // DIBUJO
+    // ------------------------------------------------------
+
+    private void paintAll(GameSnapshot snapshot) {
+        // Un solo relleno para el agua y líneas completas para la cuadrícula: 2 * (size + 1) trazos
+        // en vez de size * size rectángulos
+        double extent = size * cellSize;
+        g.setFill(WATER);
+        g.fillRect(0, 0, extent, extent);
+        g.setStroke(GRID);
+        g.setLineWidth(1);
+        for (int i = 0; i <= size; i++) {
+            double p = gridLine(i);
+            g.strokeLine(p, 0, p, extent);
+            g.strokeLine(0, p, extent, p);
+        }
+        for (int index = 0; index < size * size; index++) {
+            int code = snapshot.cellCode(side, index);
+            if (code != 0) paintContents(index / size, index % size, code);
+        }
+        cellsPainted += (long) size * size;
+    }
+
+    private void paintIndex(int index, int code) {
+        int row = index / size;
+        int col = index % size;
+        double x = col * cellSize;
+        double y = row * cellSize;
+
+        g.setFill(WATER);
+        g.fillRect(x, y, cellSize, cellSize);
+        // Los cuatro bordes en la misma posición que en paintAll: los compartidos con las vecinas se
+        // vuelven a trazar encima de sí mismos en lugar de duplicarse
+        g.setStroke(GRID);
+        g.setLineWidth(1);
+        g.strokeLine(gridLine(col), y, gridLine(col), y + cellSize);
+        g.strokeLine(gridLine(col + 1), y, gridLine(col + 1), y + cellSize);
+        g.strokeLine(x, gridLine(row), x + cellSize, gridLine(row));
+        g.strokeLine(x, gridLine(row + 1), x + cellSize, gridLine(row + 1));
+        paintContents(row, col, code);
+        cellsPainted++;
+    }
+
+    /**
+     * @param i Número de línea de la cuadrícula (0 a {@code size}).
+     * @return Coordenada de la línea, centrada en un píxel para que el trazo de 1 px quede nítido.
+     */
+    private double gridLine(int i) {
+        return Math.min(i * cellSize + 0.5, size * cellSize - 0.5);
+    }
+
+    private void paintContents(int row, int col, int code) {
+        int shot = GameSnapshot.shotOf(code);
+        if (GameSnapshot.hasShip(code) && (showShips || shot != GameSnapshot.SHOT_NONE)) paintShip(code, row, col);
+
+        double x = col * cellSize;
+        double y = row * cellSize;
+        if (shot == GameSnapshot.SHOT_SUNK) paintRing(x, y, SUNK, 0.30);
+        else if (shot == GameSnapshot.SHOT_HIT) paintRing(x, y, HIT, 0.20);
+        else if (shot == GameSnapshot.SHOT_MISS) paintMiss(x, y);
+    }
+
+    private void paintShip(int code, int row, int col) {
+        int shot = GameSnapshot.shotOf(code);
+        ImageCache.State state = shot == GameSnapshot.SHOT_SUNK ? ImageCache.State.SUNK
+                : shot == GameSnapshot.SHOT_HIT ? ImageCache.State.HIT : ImageCache.State.INTACT;
+        // Plantilla compartida de la fábrica: una búsqueda y una copia de imagen escalada
+        g.drawImage(ShipShapeFactory.segmentImage(GameSnapshot.shipTypeOf(code), GameSnapshot.isHorizontal(code),
+                GameSnapshot.segmentOf(code), state), col * cellSize, row * cellSize, cellSize, cellSize);
+    }
+
+    private void paintRing(double x, double y, Color color, double radius) {
+        double r = cellSize * radius;
+        double cx = x + cellSize / 2;
+        double cy = y + cellSize / 2;
+        g.setStroke(color);
+        g.setLineWidth(Math.max(1, cellSize / 20));
+        g.strokeOval(cx - r, cy - r, 2 * r, 2 * r);
+    }
+
+    private void paintMiss(double x, double y) {
+        double m = cellSize * 0.25;
+        g.setStroke(MISS);
+        g.setLineWidth(Math.max(1, cellSize / 20));
+        g.strokeLine(x + m, y + m, x + cellSize - m, y + cellSize - m);
+        g.strokeLine(x + cellSize - m, y + m, x + m, y + cellSize - m);
+    }
+}
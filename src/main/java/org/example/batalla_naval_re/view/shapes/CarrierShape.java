@@ -4,8 +4,7 @@ import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import org.example.batalla_naval_re.model.Cell;
-import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Clase responsable de dibujar la representación gráfica de un Portaaviones (Carrier).
@@ -18,29 +17,25 @@ import org.example.batalla_naval_re.model.Ship;
 public class CarrierShape extends ShipShape implements IShipShape {
 
     /**
-     * Crea el nodo gráfico que representa una parte específica del portaaviones en una celda dada.
+     * Crea el nodo gráfico de un segmento del barco.
      * <p>
-     * Calcula la posición relativa de la celda dentro del barco para determinar qué segmento
-     * dibujar (proa, popa, cuerpo central con torre, etc.).
+     * La posición del segmento determina qué parte dibujar y el estado, el color.
      * </p>
      *
-     * @param ship El objeto {@link Ship} (Portaaviones) al que pertenece la forma.
-     * @param cell La celda específica del tablero donde se está dibujando esta parte.
-     * @return Un {@link Node} (un {@link Group}) que contiene las formas geométricas del segmento del barco.
+     * @param horizontal Orientación del barco.
+     * @param segment    Índice del segmento dentro del barco.
+     * @param state      Estado del segmento (intacto, tocado, hundido).
+     * @return Un {@link Node} (Group) con la forma visual de esa parte del barco.
      */
     @Override
-    public Node createShape(Ship ship, Cell cell) {
+    public Node createSegment(boolean horizontal, int segment, ImageCache.State state) {
         Group group = new Group();
+        Color shipColor = getShipColor(state);
 
-        Color shipColor = getShipColor(cell);
-
-        // 🚨 Cambio clave:
-        int position = getPositionInShip(ship, cell);
-
-        if (ship.isHorizontal()) {
-            createHorizontalCarrier(group, shipColor, position);
+        if (horizontal) {
+            createHorizontalCarrier(group, shipColor, segment);
         } else {
-            createVerticalCarrier(group, shipColor, position);
+            createVerticalCarrier(group, shipColor, segment);
         }
 
         return group;
@@ -119,15 +114,15 @@ public class CarrierShape extends ShipShape implements IShipShape {
     /**
      * Determina el color del barco en función del estado de la celda.
      *
-     * @param cell La celda que se está renderizando.
+     * @param state Estado del segmento.
      * @return {@code Color.DARKRED} si es parte de un barco hundido,
      *         {@code Color.ORANGERED} si ha sido impactada,
      *         {@code Color.DARKGRAY} si está intacta.
      */
     @Override
-    protected Color getShipColor(Cell cell) {
-        if (cell.isSunkPart()) return Color.DARKRED;
-        if (cell.isHit()) return Color.ORANGERED;
+    protected Color getShipColor(ImageCache.State state) {
+        if (state == ImageCache.State.SUNK) return Color.DARKRED;
+        if (state == ImageCache.State.HIT) return Color.ORANGERED;
         return Color.DARKGRAY;
     }
 }
\ No newline at end of file
@@ -4,8 +4,7 @@ import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import org.example.batalla_naval_re.model.Cell;
-import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Clase responsable de dibujar la representación gráfica de un Destructor.
@@ -17,28 +16,25 @@ import org.example.batalla_naval_re.model.Ship;
 public class DestroyerShape extends ShipShape implements IShipShape {
 
     /**
-     * Crea el nodo gráfico para una celda específica ocupada por el destructor.
+     * Crea el nodo gráfico de un segmento del barco.
      * <p>
-     * Calcula la posición relativa de la celda dentro del barco (0 o 1) para determinar
-     * qué parte dibujar (cañones o torre).
+     * La posición del segmento determina qué parte dibujar y el estado, el color.
      * </p>
      *
-     * @param ship El objeto {@link Ship} (Destructor).
-     * @param cell La celda específica que se está renderizando.
+     * @param horizontal Orientación del barco.
+     * @param segment    Índice del segmento dentro del barco.
+     * @param state      Estado del segmento (intacto, tocado, hundido).
      * @return Un {@link Node} (Group) con la forma visual de esa parte del barco.
      */
     @Override
-    public Node createShape(Ship ship, Cell cell) {
+    public Node createSegment(boolean horizontal, int segment, ImageCache.State state) {
         Group group = new Group();
-        Color shipColor = getShipColor(cell);
+        Color shipColor = getShipColor(state);
 
-        // Ahora posición se obtiene correctamente desde ShipShape
-        int position = getPositionInShip(ship, cell);
-
-        if (ship.isHorizontal()) {
-            createHorizontalDestroyer(group, shipColor, position);
+        if (horizontal) {
+            createHorizontalDestroyer(group, shipColor, segment);
         } else {
-            createVerticalDestroyer(group, shipColor, position);
+            createVerticalDestroyer(group, shipColor, segment);
         }
 
         return group;
@@ -115,13 +111,13 @@ public class DestroyerShape extends ShipShape implements IShipShape {
     /**
      * Determina el color del barco según su estado.
      *
-     * @param cell La celda actual.
+     * @param state Estado del segmento.
      * @return Color.DARKRED (Hundido), Color.ORANGERED (Tocado) o Azul Navy (Intacto).
      */
     @Override
-    protected Color getShipColor(Cell cell) {
-        if (cell.isSunkPart()) return Color.DARKRED;
-        if (cell.isHit()) return Color.ORANGERED;
+    protected Color getShipColor(ImageCache.State state) {
+        if (state == ImageCache.State.SUNK) return Color.DARKRED;
+        if (state == ImageCache.State.HIT) return Color.ORANGERED;
         return Color.web("#002147");  // Navy mejorado
     }
 }
\ No newline at end of file
@@ -5,8 +5,7 @@ import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
-import org.example.batalla_naval_re.model.Cell;
-import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Clase responsable de dibujar la representación gráfica de una Fragata.
@@ -19,21 +18,23 @@ import org.example.batalla_naval_re.model.Ship;
 public class FrigateShape implements IShipShape {
 
     /**
-     * Crea el nodo gráfico que representa la fragata en la celda dada.
+     * Crea el nodo gráfico que representa la fragata.
      * <p>
-     * Al ser un barco de una sola celda, la lógica de dibujo es directa.
+     * Al ser un barco de una sola celda, la lógica de dibujo es directa y no depende
+     * de la orientación ni del segmento.
      * Incluye detalles como una luz de señal (si está intacta) o un efecto de salpicadura
      * si ha sido hundida.
      * </p>
      *
-     * @param ship El objeto {@link Ship} (Fragata).
-     * @param cell La celda donde se encuentra el barco.
+     * @param horizontal Orientación del barco (no se usa).
+     * @param segment    Índice del segmento (siempre 0).
+     * @param state      Estado de la fragata.
      * @return Un {@link Node} (un {@link Group}) con la forma visual de la fragata.
      */
     @Override
-    public Node createShape(Ship ship, Cell cell) {
+    public Node createSegment(boolean horizontal, int segment, ImageCache.State state) {
         Group group = new Group();
-        Color shipColor = getShipColor(cell);
+        Color shipColor = getShipColor(state);
 
         // Fragata pequeña (1 celda)
         Circle hull = new Circle(12);
@@ -45,7 +46,7 @@ public class FrigateShape implements IShipShape {
         tower.setTranslateY(-10);
 
         // Luz de señal (solo si está intacta)
-        if (!cell.isHit() && !cell.isSunkPart()) {
+        if (state == ImageCache.State.INTACT) {
             Circle light = new Circle(2, Color.LIME);
             light.setTranslateY(-14);
             group.getChildren().add(light);
@@ -54,7 +55,7 @@ public class FrigateShape implements IShipShape {
         group.getChildren().addAll(hull, tower);
 
         // Efecto de hundimiento (fragata se hunde inmediatamente al ser golpeada)
-        if (cell.isSunkPart()) {
+        if (state == ImageCache.State.SUNK) {
             Circle splash = new Circle(15);
             splash.setFill(Color.TRANSPARENT);
             splash.setStroke(Color.BLUE);
@@ -66,14 +67,14 @@ public class FrigateShape implements IShipShape {
     }
 
     /**
-     * Determina el color base de la fragata según el estado de la celda.
+     * Determina el color base de la fragata según su estado.
      *
-     * @param cell La celda a evaluar.
+     * @param state Estado de la fragata.
      * @return El color correspondiente al estado (Hundido, Tocado o Intacto).
      */
-    private Color getShipColor(Cell cell) {
-        if (cell.isSunkPart()) return Color.DARKRED;
-        if (cell.isHit()) return Color.ORANGERED;
+    private Color getShipColor(ImageCache.State state) {
+        if (state == ImageCache.State.SUNK) return Color.DARKRED;
+        if (state == ImageCache.State.HIT) return Color.ORANGERED;
         return Color.STEELBLUE;
     }
 }
\ No newline at end of file
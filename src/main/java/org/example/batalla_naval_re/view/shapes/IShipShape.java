@@ -3,6 +3,7 @@ package org.example.batalla_naval_re.view.shapes;
 import javafx.scene.Node;
 import org.example.batalla_naval_re.model.Cell;
 import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Interfaz para definir la estrategia de dibujo de los barcos en la interfaz gráfica.
@@ -28,5 +29,21 @@ public interface IShipShape {
      * @param cell La celda específica del tablero que corresponde a esta parte del barco.
      * @return Un {@link Node} de JavaFX que se añadirá al tablero visual.
      */
-    Node createShape(Ship ship, Cell cell);
+    default Node createShape(Ship ship, Cell cell) {
+        return createSegment(ship.isHorizontal(), ship.segmentOf(cell), ShipShapeFactory.stateOf(cell));
+    }
+
+    /**
+     * Crea la representación gráfica de un segmento sin depender de un barco ni de una celda concretos.
+     * <p>
+     * Es lo que usa {@link ShipShapeFactory} para construir sus plantillas: el resultado solo depende
+     * de los tres parámetros.
+     * </p>
+     *
+     * @param horizontal Orientación del barco.
+     * @param segment    Índice del segmento (0 = proa).
+     * @param state      Estado del segmento.
+     * @return Un {@link Node} nuevo con la forma del segmento.
+     */
+    Node createSegment(boolean horizontal, int segment, ImageCache.State state);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.example.batalla_naval_re.view.shapes;
 import javafx.scene.paint.Color;
 import org.example.batalla_naval_re.model.Cell;
 import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Clase abstracta base para las representaciones gráficas de los barcos.
@@ -16,20 +17,20 @@ import org.example.batalla_naval_re.model.Ship;
 public abstract class ShipShape implements IShipShape {
 
     /**
-     * Determina el color que debe tener una celda del barco basándose en su estado actual.
+     * Determina el color que debe tener un segmento del barco basándose en su estado.
      *
-     * @param cell La celda a evaluar.
+     * @param state Estado del segmento.
      * @return {@code Color.web("#6A0000")} (Rojo oscuro) si es parte de un barco hundido,
-     *         {@code Color.web("#E65C00")} (Naranja) si ha sido impactada,
-     *         {@code Color.web("#404040")} (Gris oscuro) si está intacta.
+     *         {@code Color.web("#E65C00")} (Naranja) si ha sido impactado,
+     *         {@code Color.web("#404040")} (Gris oscuro) si está intacto.
      */
-    protected Color getShipColor(Cell cell) {
+    protected Color getShipColor(ImageCache.State state) {
 
-        if (cell.isSunkPart()) {
+        if (state == ImageCache.State.SUNK) {
             return Color.web("#6A0000"); // rojo hundido oscuro
         }
 
-        if (cell.isHit()) {
+        if (state == ImageCache.State.HIT) {
             return Color.web("#E65C00"); // naranja tocado
         }
 
@@ -37,7 +38,7 @@ public abstract class ShipShape implements IShipShape {
     }
 
     /**
-     * Calcula el índice de una celda específica dentro de la lista de celdas que componen un barco.
+     * Obtiene el índice de una celda específica dentro de las celdas que componen un barco.
      * <p>
      * Esto es útil para determinar qué parte del barco dibujar (proa, popa, cuerpo medio)
      * en una coordenada específica del tablero.
@@ -48,14 +49,8 @@ public abstract class ShipShape implements IShipShape {
      * @return El índice (0 a size-1) de la celda en el barco, o -1 si no pertenece a él.
      */
     protected int getPositionInShip(Ship ship, Cell cell) {
-        if (ship == null || cell == null) return -1;
-
-        return ship.getCells().indexOf(
-                ship.getCells().stream()
-                        .filter(c -> c.getRow() == cell.getRow() && c.getCol() == cell.getCol())
-                        .findFirst()
-                        .orElse(null)
-        );
+        if (ship == null) return -1;
+        return ship.segmentOf(cell);
     }
 
     /**
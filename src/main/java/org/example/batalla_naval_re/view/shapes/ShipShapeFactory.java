@@ -1,11 +1,18 @@
 package org.example.batalla_naval_re.view.shapes;
 
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import org.example.batalla_naval_re.model.Cell;
 import org.example.batalla_naval_re.model.Ship;
 import org.example.batalla_naval_re.model.ShipType;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Fábrica encargada de crear las representaciones visuales de los barcos.
@@ -14,9 +21,41 @@ import org.example.batalla_naval_re.model.ShipType;
  * la estrategia de dibujo específica ({@link IShipShape}) según el tipo de barco.
  * Implementa el patrón Factory para desacoplar la creación de las formas de su uso.
  * </p>
+ * <p>
+ * Las formas detalladas solo dependen de (tipo, orientación, segmento, estado), así que cada
+ * combinación se dibuja una vez y se guarda como imagen ({@link #segmentImage}): pintar un segmento
+ * es una búsqueda en un array más su colocación, en lugar de construir un grafo de nodos por celda.
+ * </p>
  */
 public class ShipShapeFactory {
 
+    /**
+     * Lado en píxeles de las plantillas, igual al de una celda del tablero.
+     */
+    public static final int TEMPLATE_SIZE = 40;
+
+    private static final int MAX_SEGMENTS = ShipType.CARRIER.getSize();
+    private static final int STATES = ImageCache.State.values().length;
+
+    /**
+     * Dibujantes compartidos: no tienen estado, basta una instancia por tipo.
+     */
+    private static final IShipShape[] SHAPES = new IShipShape[ShipType.values().length];
+
+    static {
+        SHAPES[ShipType.CARRIER.ordinal()] = new CarrierShape();
+        SHAPES[ShipType.SUBMARINE.ordinal()] = new SubmarineShape();
+        SHAPES[ShipType.DESTROYER.ordinal()] = new DestroyerShape();
+        SHAPES[ShipType.FRIGATE.ordinal()] = new FrigateShape();
+    }
+
+    /**
+     * Plantillas ya dibujadas, indexadas por {@link #templateIndex}. Solo se accede desde el hilo de JavaFX.
+     */
+    private static final Image[] TEMPLATES = new Image[ShipType.values().length * 2 * MAX_SEGMENTS * STATES];
+
+    private static int templatesBuilt;
+
     /**
      * Crea un nodo gráfico genérico (Rectángulo simple) para representar una celda de un barco.
      * <p>
@@ -67,9 +106,95 @@ public class ShipShapeFactory {
      * </p>
      *
      * @param type El tipo de barco ({@link ShipType}) para el cual se requiere el dibujante.
-     * @return Una instancia de {@link IShipShape} específica (ej. CarrierShape, DestroyerShape), o null si no está implementada.
+     * @return La instancia compartida de {@link IShipShape} específica (ej. CarrierShape, DestroyerShape).
      */
     public static IShipShape createShape(ShipType type) {
-        return null;
+        return SHAPES[type.ordinal()];
+    }
+
+    /**
+     * Traduce el estado de una celda de barco al estado de su plantilla.
+     *
+     * @param cell La celda a evaluar.
+     * @return {@code SUNK}, {@code HIT} o {@code INTACT}.
+     */
+    public static ImageCache.State stateOf(Cell cell) {
+        if (cell.isSunkPart()) return ImageCache.State.SUNK;
+        if (cell.isHit()) return ImageCache.State.HIT;
+        return ImageCache.State.INTACT;
+    }
+
+    /**
+     * Obtiene la plantilla de un segmento, dibujándola la primera vez que se pide.
+     * <p>
+     * Debe llamarse desde el hilo de JavaFX (las plantillas se obtienen con {@link Node#snapshot}).
+     * </p>
+     *
+     * @param type       Tipo de barco.
+     * @param horizontal Orientación del barco.
+     * @param segment    Índice del segmento (0 a tamaño - 1).
+     * @param state      Estado del segmento.
+     * @return Imagen de {@link #TEMPLATE_SIZE} píxeles de lado con fondo transparente.
+     * @throws IndexOutOfBoundsException Si el segmento no existe en ese tipo de barco.
+     */
+    public static Image segmentImage(ShipType type, boolean horizontal, int segment, ImageCache.State state) {
+        if (segment < 0 || segment >= type.getSize()) throw new IndexOutOfBoundsException("Segmento fuera del barco: " + segment);
+        int index = templateIndex(type, horizontal, segment, state);
+        Image image = TEMPLATES[index];
+        if (image == null) {
+            image = snapshot(createShape(type).createSegment(horizontal, segment, state));
+            TEMPLATES[index] = image;
+            templatesBuilt++;
+        }
+        return image;
+    }
+
+    /**
+     * Obtiene la plantilla que corresponde a una celda de barco.
+     *
+     * @param ship El barco al que pertenece la celda.
+     * @param cell La celda a dibujar.
+     * @return La imagen compartida del segmento en su estado actual.
+     */
+    public static Image segmentImage(Ship ship, Cell cell) {
+        return segmentImage(ship.getType(), ship.isHorizontal(), ship.segmentOf(cell), stateOf(cell));
+    }
+
+    /**
+     * Crea un nodo ligero (un {@link ImageView} sobre la plantilla compartida) para una celda de barco.
+     *
+     * @param ship El barco al que pertenece la celda.
+     * @param cell La celda a dibujar.
+     * @return Un {@link ImageView} listo para añadirse a la celda.
+     */
+    public static Node createSegmentNode(Ship ship, Cell cell) {
+        return new ImageView(segmentImage(ship, cell));
+    }
+
+    /**
+     * @return Número de plantillas dibujadas hasta ahora (como mucho una por combinación).
+     */
+    public static int getTemplatesBuilt() {
+        return templatesBuilt;
+    }
+
+    private static int templateIndex(ShipType type, boolean horizontal, int segment, ImageCache.State state) {
+        return ((type.ordinal() * 2 + (horizontal ? 1 : 0)) * MAX_SEGMENTS + segment) * STATES + state.ordinal();
+    }
+
+    private static Image snapshot(Node shape) {
+        // Misma composición que una celda del tablero: forma centrada en un cuadrado de 40 px
+        StackPane cell = new StackPane(shape);
+        cell.setMinSize(TEMPLATE_SIZE, TEMPLATE_SIZE);
+        cell.setPrefSize(TEMPLATE_SIZE, TEMPLATE_SIZE);
+        cell.setMaxSize(TEMPLATE_SIZE, TEMPLATE_SIZE);
+        cell.applyCss();
+        cell.resize(TEMPLATE_SIZE, TEMPLATE_SIZE);
+        cell.layout();
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setViewport(new Rectangle2D(0, 0, TEMPLATE_SIZE, TEMPLATE_SIZE));
+        return cell.snapshot(params, new WritableImage(TEMPLATE_SIZE, TEMPLATE_SIZE));
     }
 }
\ No newline at end of file
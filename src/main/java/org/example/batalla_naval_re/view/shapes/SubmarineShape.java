@@ -6,8 +6,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Ellipse;
 import javafx.scene.shape.Rectangle;
-import org.example.batalla_naval_re.model.Cell;
-import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.view.ImageCache;
 
 /**
  * Clase responsable de dibujar la representación gráfica de un Submarino.
@@ -19,29 +18,25 @@ import org.example.batalla_naval_re.model.Ship;
 public class SubmarineShape extends ShipShape implements IShipShape {
 
     /**
-     * Crea el nodo gráfico para una celda específica ocupada por el submarino.
+     * Crea el nodo gráfico de un segmento del barco.
      * <p>
-     * Determina la orientación del barco y la posición relativa de la celda
-     * para dibujar los elementos correctos (por ejemplo, el periscopio solo en el centro).
+     * La posición del segmento determina qué parte dibujar y el estado, el color.
      * </p>
      *
-     * @param ship El objeto {@link Ship} (Submarino).
-     * @param cell La celda específica que se está renderizando.
-     * @return Un {@link Node} (Group) con la forma visual de esa parte del submarino.
+     * @param horizontal Orientación del barco.
+     * @param segment    Índice del segmento dentro del barco.
+     * @param state      Estado del segmento (intacto, tocado, hundido).
+     * @return Un {@link Node} (Group) con la forma visual de esa parte del barco.
      */
     @Override
-    public Node createShape(Ship ship, Cell cell) {
+    public Node createSegment(boolean horizontal, int segment, ImageCache.State state) {
         Group group = new Group();
+        Color shipColor = getShipColor(state);
 
-        Color shipColor = getShipColor(cell);
-
-        // 🚨 Cambio clave: ya no usamos ship.getCellPosition
-        int position = getPositionInShip(ship, cell);
-
-        if (ship.isHorizontal()) {
-            createHorizontalSubmarine(group, shipColor, position);
+        if (horizontal) {
+            createHorizontalSubmarine(group, shipColor, segment);
         } else {
-            createVerticalSubmarine(group, shipColor, position);
+            createVerticalSubmarine(group, shipColor, segment);
         }
 
         return group;
@@ -107,14 +102,14 @@ public class SubmarineShape extends ShipShape implements IShipShape {
     /**
      * Determina el color del submarino según su estado.
      *
-     * @param cell La celda actual.
+     * @param state Estado del segmento.
      * @return {@code Color.DARKRED} si está hundido, {@code Color.ORANGERED} si está tocado,
      *         o {@code Color.DARKSLATEGRAY} (gris pizarra oscuro) si está intacto.
      */
     @Override
-    protected Color getShipColor(Cell cell) {
-        if (cell.isSunkPart()) return Color.DARKRED;
-        if (cell.isHit()) return Color.ORANGERED;
+    protected Color getShipColor(ImageCache.State state) {
+        if (state == ImageCache.State.SUNK) return Color.DARKRED;
+        if (state == ImageCache.State.HIT) return Color.ORANGERED;
         return Color.DARKSLATEGRAY;
     }
 }
\ No newline at end of file
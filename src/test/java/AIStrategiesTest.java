@@ -0,0 +1,101 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.example.batalla_naval_re.model.Ship;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIStrategiesTest {
+
+    @Test
+    void providersAreDiscoveredThroughServiceLoader() {
+        assertTrue(AIStrategies.byId("random").isPresent());
+        assertTrue(AIStrategies.byId("heatmap").isPresent());
+        assertTrue(AIStrategies.byId("sampling").isPresent());
+        assertEquals(AIStrategies.DEFAULT_ID, AIStrategies.resolve(null, Board.SIZE).getId());
+    }
+
+    @Test
+    void resolveFallsBackWhenStrategyDoesNotSupportBoard() {
+        assertEquals("sampling", AIStrategies.resolve("sampling", Board.SIZE).getId());
+        assertNotEquals("sampling", AIStrategies.resolve("sampling", 40).getId());
+        assertEquals("heatmap", AIStrategies.resolve(null, ProbabilityAI.MAX_BOARD_SIZE).getId());
+        assertNotEquals("heatmap", AIStrategies.resolve(null, Board.MAX_SIZE).getId());
+        assertEquals("random", AIStrategies.forDifficulty(AIDifficulty.EASY, Board.SIZE).getId());
+    }
+
+    @Test
+    void everyStrategyFinishesAGameAndCanBeReset() {
+        for (AIStrategyProvider provider : AIStrategies.available()) {
+            Board board = new Board();
+            board.randomPlaceAllShips();
+            AIStrategy ai = provider.create(board, 3);
+            AIBudget budget = AIBudget.ofNodes(500);
+
+            for (int round = 0; round < 2; round++) {
+                int shots = 0;
+                while (!board.allShipsSunk()) {
+                    int shot = ai.decide(budget);
+                    int row = shot / board.getSize();
+                    int col = shot % board.getSize();
+                    Cell.ShotResult result = board.shoot(row, col);
+                    assertNotEquals(Cell.ShotResult.ALREADY_TRIED, result, provider.getId());
+                    ai.observe(row, col, result);
+                    shots++;
+                }
+                assertTrue(shots <= Board.SIZE * Board.SIZE, provider.getId());
+                board.randomPlaceAllShips();
+                ai.reset();
+            }
+        }
+    }
+
+    @Test
+    void randomResumesAGameInProgress() {
+        assertResumesGameInProgress("random");
+    }
+
+    @Test
+    void parityResumesAGameInProgress() {
+        assertResumesGameInProgress("parity");
+    }
+
+    @Test
+    void heatmapResumesAGameInProgress() {
+        assertResumesGameInProgress("heatmap");
+    }
+
+    @Test
+    void samplingResumesAGameInProgress() {
+        assertResumesGameInProgress("sampling");
+    }
+
+    /**
+     * Simula una partida cargada: el tablero ya tiene 40 disparos y un barco hundido antes de crear la estrategia.
+     */
+    private static void assertResumesGameInProgress(String id) {
+        AIStrategyProvider provider = AIStrategies.byId(id).orElseThrow();
+        Board board = new Board();
+        board.randomPlaceAllShips();
+        Ship carrier = board.getShip(0);
+        for (int s = 0; s < carrier.getSize(); s++) board.shoot(carrier.segmentRow(s), carrier.segmentCol(s));
+        Random rnd = new Random(5);
+        for (int shots = 0; shots < 40; ) {
+            if (board.shoot(rnd.nextInt(Board.SIZE), rnd.nextInt(Board.SIZE)) != Cell.ShotResult.ALREADY_TRIED) shots++;
+        }
+
+        AIStrategy ai = provider.create(board, 3);
+        while (!board.allShipsSunk()) {
+            int shot = ai.decide(AIBudget.ofNodes(500));
+            int row = shot / board.getSize();
+            int col = shot % board.getSize();
+            Cell.ShotResult result = board.shoot(row, col);
+            assertNotEquals(Cell.ShotResult.ALREADY_TRIED, result, id + " repitió el disparo " + shot);
+            ai.observe(row, col, result);
+        }
+    }
+}
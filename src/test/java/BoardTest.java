@@ -3,6 +3,9 @@ package org.example.batalla_naval_re.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BoardTest {
@@ -50,4 +53,95 @@ class BoardTest {
         assertEquals(Cell.ShotResult.MISS, result);
     }
 
-}
\ No newline at end of file
+    // ------------------------------------
+    // PRUEBA 4: Hundimiento por disparos
+    // ------------------------------------
+    @Test
+    void shouldSinkShipWhenAllSegmentsAreShot() {
+        Ship ship = new Ship(ShipType.DESTROYER);
+        board.addShip(ship, 4, 4, false);
+
+        assertEquals(Cell.ShotResult.HIT, board.shoot(4, 4));
+        assertEquals(Cell.ShotResult.SUNK, board.shoot(5, 4));
+        assertEquals(Cell.ShotResult.ALREADY_TRIED, board.shoot(5, 4));
+
+        assertTrue(ship.isSunk());
+        assertTrue(board.getCell(4, 4).isSunkPart());
+        assertTrue(board.allShipsSunk());
+    }
+
+    @Test
+    void cellSettersCannotUndoOrFakeSinking() {
+        Ship ship = new Ship(ShipType.DESTROYER);
+        board.addShip(ship, 4, 4, false);
+        Cell cell = board.getCell(4, 4);
+
+        cell.setHit(true);
+        assertThrows(UnsupportedOperationException.class, () -> cell.setHit(false));
+        assertThrows(UnsupportedOperationException.class, () -> cell.setMiss(true));
+        assertThrows(UnsupportedOperationException.class, () -> board.getCell(5, 4).setSunkPart(true));
+
+        assertEquals(Cell.ShotResult.SUNK, board.shoot(5, 4));
+        assertTrue(board.allShipsSunk());
+    }
+
+    // ------------------------------------
+    // PRUEBA 5: Colocaciones legales precalculadas
+    // ------------------------------------
+    @Test
+    void shouldListLegalPlacementsRespectingNoTouchRule() {
+        PlacementTable table = board.getPlacementTable();
+        int[] out = new int[table.end(ShipType.CARRIER) - table.first(ShipType.CARRIER)];
+
+        assertEquals(140, board.legalPlacements(ShipType.CARRIER, out));
+
+        board.addShip(new Ship(ShipType.FRIGATE), 0, 0, true);
+
+        assertFalse(board.canPlaceShip(new Ship(ShipType.DESTROYER), 1, 1, true), "No debe tocar en diagonal");
+        assertTrue(board.canPlaceShip(new Ship(ShipType.DESTROYER), 2, 0, true));
+        // Las colocaciones que tocan (0,0) o sus vecinas dejan de ser legales
+        assertEquals(140 - 8, board.legalPlacements(ShipType.CARRIER, out));
+    }
+
+    // ------------------------------------
+    // PRUEBA 6: Tablero grande disperso
+    // ------------------------------------
+    @Test
+    void shouldPlayOnLargeSparseBoard() {
+        Board large = new Board(2000);
+
+        assertFalse(large.usesBitboards());
+        assertTrue(large.randomPlaceAllShips());
+        assertTrue(large.allShipsPlaced());
+
+        Ship ship = large.getShip(0);
+        for (int s = 0; s < ship.getSize() - 1; s++) {
+            assertEquals(Cell.ShotResult.HIT, large.shoot(ship.segmentRow(s), ship.segmentCol(s)));
+        }
+        int last = ship.getSize() - 1;
+        assertEquals(Cell.ShotResult.SUNK, large.shoot(ship.segmentRow(last), ship.segmentCol(last)));
+        assertTrue(large.getCell(ship.segmentRow(0), ship.segmentCol(0)).isSunkPart());
+        assertEquals(9, large.getShipsAfloat());
+    }
+
+    // ------------------------------------
+    // PRUEBA 7: Celdas modificadas para el repintado
+    // ------------------------------------
+    @Test
+    void shouldReportOnlyChangedCells() {
+        Ship frigate = new Ship(ShipType.FRIGATE);
+        board.addShip(frigate, 0, 0, true);
+        assertTrue(board.drainChangedCells(i -> fail("Un tablero nuevo se repinta completo")));
+
+        List<Integer> changed = new ArrayList<>();
+        board.shoot(5, 5);
+        board.shoot(0, 0);
+        assertFalse(board.drainChangedCells(changed::add));
+        assertEquals(List.of(55, 0), changed);
+
+        changed.clear();
+        assertFalse(board.drainChangedCells(changed::add));
+        assertTrue(changed.isEmpty());
+    }
+
+}
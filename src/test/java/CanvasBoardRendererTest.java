@@ -0,0 +1,59 @@
+package org.example.batalla_naval_re.view.renderer;
+
+import org.example.batalla_naval_re.engine.GameEngine;
+import org.example.batalla_naval_re.engine.GameLoop;
+import org.example.batalla_naval_re.engine.GameSnapshot;
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanvasBoardRendererTest {
+
+    private final GameLoop loop = new GameLoop(GameEngine::forState, null);
+
+    @AfterEach
+    void close() {
+        loop.close();
+    }
+
+    @Test
+    void repaintsOnlyTheCellsThatChanged() throws Exception {
+        GameState state = GameState.newGame("canvas", 100, 9);
+        GameSnapshot opened = loop.open(() -> {
+            state.getMachineBoard().randomPlaceAllShips();
+            state.getPlayer().getBoard().randomPlaceAllShips();
+            return state;
+        }).get(10, TimeUnit.SECONDS);
+        int water = 0;
+        while (state.getMachineBoard().getCell(water / 100, water % 100).isShip()) water++;
+        int target = water;
+        GameSnapshot shot = loop.submit((s, e) -> e.fire(GameEngine.Side.PLAYER, target / 100, target % 100))
+                .get(10, TimeUnit.SECONDS);
+
+        CanvasBoardRenderer renderer = new CanvasBoardRenderer(GameEngine.Side.MACHINE, 100, false,
+                CanvasBoardRenderer.fitCellSize(100, 400));
+        renderer.render(opened);
+        assertEquals(100 * 100, renderer.refresh());
+        assertEquals(0, renderer.refresh());
+
+        renderer.render(shot);
+        assertEquals(1, renderer.refresh());
+        assertEquals(100 * 100 + 1, renderer.getCellsPainted());
+    }
+
+    @Test
+    void mapsCoordinatesToCells() {
+        CanvasBoardRenderer renderer = new CanvasBoardRenderer(GameEngine.Side.PLAYER, 30, true, 10);
+
+        assertEquals(0, renderer.cellAt(0, 0));
+        assertEquals(2 * 30 + 5, renderer.cellAt(59.9, 20));
+        assertEquals(30 * 30 - 1, renderer.cellAt(299, 299));
+        assertEquals(-1, renderer.cellAt(300, 10));
+        assertEquals(-1, renderer.cellAt(-1, 10));
+        assertEquals(4, CanvasBoardRenderer.fitCellSize(2000, 400));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.batalla_naval_re.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetLayoutSamplerTest {
+
+    @ParameterizedTest
+    @EnumSource(FleetLayoutSampler.Mode.class)
+    void sampledLayoutsAreCompleteAndRespectNoTouchRule(FleetLayoutSampler.Mode mode) {
+        FleetLayoutSampler sampler = new FleetLayoutSampler(new SplittableRandom(7), mode);
+        PlacementTable table = sampler.table();
+        int[] placements = new int[sampler.fleetSize()];
+
+        for (int n = 0; n < 200; n++) {
+            sampler.sample(placements);
+
+            long occLo = 0;
+            long occHi = 0;
+            for (int p : placements) {
+                assertTrue(table.isLegal(p, occLo, occHi), "Los barcos no deben tocarse");
+                occLo |= table.footprintLo(p);
+                occHi |= table.footprintHi(p);
+            }
+            assertEquals(20, Long.bitCount(occLo) + Long.bitCount(occHi));
+        }
+        assertEquals(200, sampler.layoutsGenerated());
+    }
+
+    @ParameterizedTest
+    @EnumSource(FleetLayoutSampler.Mode.class)
+    void forbiddenCellsAreNeverOccupied(FleetLayoutSampler.Mode mode) {
+        FleetLayoutSampler sampler = new FleetLayoutSampler(new SplittableRandom(3), mode);
+        PlacementTable table = sampler.table();
+        int[] placements = new int[sampler.fleetSize()];
+
+        long leftColumn = 0;
+        for (int r = 0; r < 6; r++) leftColumn |= 1L << (r * Board.SIZE);
+
+        // Primero las dos filas superiores y luego parte de la columna izquierda: cambiar la máscara debe surtir efecto
+        for (long mask : new long[]{(1L << 2 * Board.SIZE) - 1, leftColumn}) {
+            sampler.setForbidden(mask, 0L);
+            for (int n = 0; n < 100; n++) {
+                sampler.sample(placements);
+                for (int p : placements) assertEquals(0, table.footprintLo(p) & mask);
+            }
+        }
+    }
+
+    @Test
+    void sameSeedProducesSameLayout() {
+        int[] a = new int[10];
+        int[] b = new int[10];
+        new FleetLayoutSampler(new SplittableRandom(42), FleetLayoutSampler.Mode.UNIFORM).sample(a);
+        new FleetLayoutSampler(new SplittableRandom(42), FleetLayoutSampler.Mode.UNIFORM).sample(b);
+
+        assertArrayEquals(a, b);
+    }
+
+    @Test
+    void randomPlaceAllShipsAlwaysCompletesTheFleet() {
+        Board board = new Board();
+        for (int n = 0; n < 50; n++) {
+            assertTrue(board.randomPlaceAllShips());
+            assertTrue(board.allShipsPlaced());
+        }
+    }
+
+    @Test
+    void randomPlaceAllShipsAcceptsTheUniformMode() {
+        Board board = new Board();
+        for (int n = 0; n < 20; n++) {
+            assertTrue(board.randomPlaceAllShips(FleetLayoutSampler.Mode.UNIFORM));
+            assertTrue(board.allShipsPlaced());
+            assertTrue(board.randomPlaceAllShips());
+            assertTrue(board.allShipsPlaced());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.batalla_naval_re.engine;
+
+import org.example.batalla_naval_re.ai.AIBudget;
+import org.example.batalla_naval_re.ai.SimpleAI;
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+
+    @Test
+    void aiGameEndsWithAllShipsOfTheLoserSunk() {
+        Board player = new Board();
+        Board machine = new Board();
+        player.randomPlaceAllShips();
+        machine.randomPlaceAllShips();
+
+        GameEngine engine = new GameEngine(player, machine);
+        engine.setStrategy(GameEngine.Side.PLAYER, new SimpleAI(machine, 1), AIBudget.UNLIMITED);
+        engine.setStrategy(GameEngine.Side.MACHINE, new SimpleAI(player, 2), AIBudget.UNLIMITED);
+
+        int[] gameOvers = new int[1];
+        engine.addListener(new GameListener() {
+            @Override
+            public void onGameOver(GameEngine.Side winner) {
+                gameOvers[0]++;
+            }
+        });
+
+        GameEngine.Side winner = engine.playToEnd();
+
+        assertEquals(1, gameOvers[0]);
+        assertTrue(engine.getBoard(winner.opponent()).allShipsSunk());
+        assertFalse(engine.getBoard(winner).allShipsSunk());
+        assertEquals(10, engine.getSunk(winner));
+        assertThrows(IllegalStateException.class, engine::step);
+    }
+
+    @Test
+    void hitKeepsTheTurnAndMissPassesIt() {
+        GameState state = GameState.newGame("test");
+        state.getPlayer().getBoard().randomPlaceAllShips();
+        Board machine = state.getMachineBoard();
+        GameEngine engine = GameEngine.forState(state);
+
+        int[] ship = findCell(machine, true);
+        assertNotEquals(Cell.ShotResult.MISS, engine.fire(GameEngine.Side.PLAYER, ship[0], ship[1]));
+        assertEquals(GameEngine.Side.PLAYER, engine.getTurn());
+
+        int[] water = findCell(machine, false);
+        assertEquals(Cell.ShotResult.MISS, engine.fire(GameEngine.Side.PLAYER, water[0], water[1]));
+        assertEquals(GameEngine.Side.MACHINE, engine.getTurn());
+        assertThrows(IllegalStateException.class, () -> engine.fire(GameEngine.Side.PLAYER, 0, 0));
+    }
+
+    @Test
+    void resumedGameKeepsItsCountersAndWinner() {
+        GameState state = GameState.newGame("test", 10, 3);
+        state.getPlayer().getBoard().randomPlaceAllShips();
+        Board machine = state.getMachineBoard();
+        GameEngine first = GameEngine.forState(state);
+        for (int i = 0; i < 12; i++) {
+            int[] ship = findCell(machine, true);
+            first.fire(GameEngine.Side.PLAYER, ship[0], ship[1]);
+        }
+
+        GameEngine resumed = GameEngine.forState(state);
+        assertEquals(first.getShots(GameEngine.Side.PLAYER), resumed.getShots(GameEngine.Side.PLAYER));
+        assertEquals(first.getHits(GameEngine.Side.PLAYER), resumed.getHits(GameEngine.Side.PLAYER));
+        assertEquals(first.getSunk(GameEngine.Side.PLAYER), resumed.getSunk(GameEngine.Side.PLAYER));
+        assertTrue(resumed.getSunk(GameEngine.Side.PLAYER) > 0);
+        assertFalse(resumed.isOver());
+
+        while (!resumed.isOver()) {
+            int[] ship = findCell(machine, true);
+            resumed.fire(GameEngine.Side.PLAYER, ship[0], ship[1]);
+        }
+        GameEngine finished = GameEngine.forState(state);
+        assertEquals(GameEngine.Side.PLAYER, finished.getWinner());
+        assertEquals(10, finished.getSunk(GameEngine.Side.PLAYER));
+        int[] water = findCell(machine, false);
+        assertThrows(IllegalStateException.class, () -> finished.fire(GameEngine.Side.PLAYER, water[0], water[1]));
+    }
+
+    private static int[] findCell(Board board, boolean ship) {
+        for (int r = 0; r < board.getSize(); r++) {
+            for (int c = 0; c < board.getSize(); c++) {
+                if (board.getCell(r, c).isShip() == ship && !board.isTried(r, c)) return new int[]{r, c};
+            }
+        }
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.batalla_naval_re.engine;
+
+import org.example.batalla_naval_re.ai.AIBudget;
+import org.example.batalla_naval_re.ai.SimpleAI;
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.model.ShipType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLoopTest {
+
+    private final List<GameSnapshot> published = Collections.synchronizedList(new ArrayList<>());
+    private final GameLoop loop = new GameLoop(state -> {
+        GameEngine engine = GameEngine.forState(state);
+        engine.setStrategy(GameEngine.Side.MACHINE, new SimpleAI(state.getPlayer().getBoard(), 3), AIBudget.UNLIMITED);
+        return engine;
+    }, published::add);
+
+    @AfterEach
+    void close() {
+        loop.close();
+    }
+
+    private static GameSnapshot await(CompletableFuture<GameSnapshot> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void commandsRunOnTheLoopThreadAndPublishSnapshots() throws Exception {
+        GameState state = GameState.newGame("loop", 10, 7);
+        GameSnapshot opened = await(loop.open(() -> {
+            state.getMachineBoard().randomPlaceAllShips();
+            state.getPlayer().getBoard().createShipsWithoutPlacement();
+            return state;
+        }));
+        assertEquals(ShipType.CARRIER, opened.getNextShipToPlace());
+
+        boolean[] onLoop = new boolean[1];
+        GameSnapshot placed = await(loop.submit((s, e) -> {
+            onLoop[0] = loop.isLoopThread();
+            s.getPlayer().getBoard().addShip(s.getPlayer().getBoard().getShip(0), 0, 0, true);
+        }));
+
+        assertTrue(onLoop[0]);
+        assertFalse(loop.isLoopThread());
+        assertTrue(placed.getVersion() > opened.getVersion());
+        assertSame(placed, loop.getSnapshot());
+        assertSame(placed, published.get(published.size() - 1));
+        for (int c = 0; c < 4; c++) {
+            int code = placed.cellCode(GameEngine.Side.PLAYER, c);
+            assertTrue(GameSnapshot.hasShip(code));
+            assertEquals(ShipType.CARRIER, GameSnapshot.shipTypeOf(code));
+            assertTrue(GameSnapshot.isHorizontal(code));
+            assertEquals(c, GameSnapshot.segmentOf(code));
+        }
+        // La fotografía anterior no cambia
+        assertFalse(GameSnapshot.hasShip(opened.cellCode(GameEngine.Side.PLAYER, 0)));
+    }
+
+    @Test
+    void snapshotsFollowShotsAndAiTurns() throws Exception {
+        GameState state = GameState.newGame("loop", 10, 11);
+        await(loop.open(() -> {
+            state.getMachineBoard().randomPlaceAllShips();
+            state.getPlayer().getBoard().randomPlaceAllShips();
+            return state;
+        }));
+
+        GameSnapshot last = null;
+        for (int i = 0; i < 100 && (last == null || !last.isOver()); i++) {
+            int row = i / 10, col = i % 10;
+            last = await(loop.submit((s, e) -> {
+                if (e.getTurn() != GameEngine.Side.PLAYER) return;
+                e.fire(GameEngine.Side.PLAYER, row, col);
+                if (e.isAiTurn()) e.runAiTurns();
+            }));
+        }
+
+        assertNotNull(last);
+        assertTrue(last.isOver());
+        assertEquals(state.isGameOver(), last.isOver());
+        int tried = 0;
+        for (int i = 0; i < 100; i++) {
+            if (GameSnapshot.shotOf(last.cellCode(GameEngine.Side.MACHINE, i)) != GameSnapshot.SHOT_NONE) tried++;
+        }
+        assertEquals(last.getShots(GameEngine.Side.PLAYER), tried);
+    }
+
+    @Test
+    void snapshotsReportOnlyTheCellsEachCommandChanged() throws Exception {
+        GameState state = GameState.newGame("loop", 10, 13);
+        GameSnapshot opened = await(loop.open(() -> {
+            state.getMachineBoard().randomPlaceAllShips();
+            state.getPlayer().getBoard().randomPlaceAllShips();
+            return state;
+        }));
+        int water = 0;
+        while (state.getMachineBoard().getCell(water / 10, water % 10).isShip()) water++;
+        int target = water;
+
+        GameSnapshot missed = await(loop.submit((s, e) -> e.fire(GameEngine.Side.PLAYER, target / 10, target % 10)));
+        GameSnapshot answered = await(loop.submit((s, e) -> e.step()));
+
+        assertEquals(List.of(target), changed(missed, opened, GameEngine.Side.MACHINE));
+        assertEquals(List.of(), changed(missed, opened, GameEngine.Side.PLAYER));
+        // Sirve también saltándose fotografías intermedias
+        assertEquals(List.of(target), changed(answered, opened, GameEngine.Side.MACHINE));
+        assertEquals(1, changed(answered, opened, GameEngine.Side.PLAYER).size());
+        assertEquals(100, changed(answered, null, GameEngine.Side.PLAYER).size());
+    }
+
+    private static List<Integer> changed(GameSnapshot snapshot, GameSnapshot previous, GameEngine.Side side) {
+        List<Integer> indices = new ArrayList<>();
+        snapshot.forEachChangedCell(previous, side, indices::add);
+        return indices;
+    }
+
+    @Test
+    void failingCommandCompletesExceptionallyAndLoopKeepsRunning() throws Exception {
+        GameState state = GameState.newGame("loop", 10, 5);
+        await(loop.open(() -> state));
+
+        CompletableFuture<GameSnapshot> failed = loop.submit((s, e) -> {
+            throw new IllegalArgumentException("fallo");
+        });
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+
+        assertNotNull(await(loop.submit((s, e) -> { })));
+    }
+
+    @Test
+    void submitBeforeOpenFails() {
+        CompletableFuture<GameSnapshot> future = loop.submit((s, e) -> { });
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+
+    @Test
+    void openingAnotherGameCancelsPendingTasksOfThePreviousOne() throws Exception {
+        GameState first = GameState.newGame("uno", 10, 1);
+        await(loop.open(() -> first));
+
+        boolean[] ran = new boolean[1];
+        CompletableFuture<GameSnapshot> stale = loop.schedule((s, e) -> ran[0] = true, 1, TimeUnit.HOURS);
+        assertEquals(1, loop.getQueuedTasks());
+
+        GameState second = GameState.newGame("dos", 10, 2);
+        await(loop.open(() -> second));
+
+        assertThrows(CancellationException.class, () -> stale.get(10, TimeUnit.SECONDS));
+        assertFalse(ran[0]);
+        assertEquals(0, loop.getQueuedTasks());
+        assertEquals(0, loop.getInFlightTasks());
+        assertEquals(1, loop.getCancelledTasks());
+    }
+
+    @Test
+    void scheduledCommandRunsOnTheLoopAfterItsDelay() throws Exception {
+        GameState state = GameState.newGame("loop", 10, 3);
+        await(loop.open(() -> state));
+        long completedBefore = loop.getCompletedTasks();
+
+        boolean[] onLoop = new boolean[1];
+        GameSnapshot snapshot = await(loop.schedule((s, e) -> onLoop[0] = loop.isLoopThread(), 10, TimeUnit.MILLISECONDS));
+
+        assertNotNull(snapshot);
+        assertTrue(onLoop[0]);
+        assertEquals(completedBefore + 1, loop.getCompletedTasks());
+
+        CompletableFuture<GameSnapshot> cancelledByCaller = loop.schedule((s, e) -> { }, 1, TimeUnit.HOURS);
+        cancelledByCaller.cancel(false);
+        assertEquals(0, loop.getQueuedTasks());
+    }
+
+    @Test
+    void closedLoopRejectsNewCommands() throws Exception {
+        GameState state = GameState.newGame("loop", 10, 4);
+        await(loop.open(() -> state));
+        loop.close();
+
+        CompletableFuture<GameSnapshot> future = loop.submit((s, e) -> { });
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+}
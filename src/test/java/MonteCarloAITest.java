@@ -0,0 +1,53 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloAITest {
+
+    @Test
+    void sinksWholeFleetWithoutRepeatingShots() {
+        int games = 6;
+        int totalShots = 0;
+
+        for (int g = 0; g < games; g++) {
+            Board board = new Board();
+            board.randomPlaceAllShips();
+            MonteCarloAI ai = new MonteCarloAI(board, 500, 0, g, ForkJoinPool.commonPool());
+
+            int shots = 0;
+            while (!board.allShipsSunk()) {
+                int[] pos = ai.nextShot();
+                Cell.ShotResult result = board.shoot(pos[0], pos[1]);
+                assertNotEquals(Cell.ShotResult.ALREADY_TRIED, result, "La IA no debe repetir disparos");
+                ai.reportResult(pos, result);
+                shots++;
+            }
+            totalShots += shots;
+        }
+
+        assertTrue(totalShots / (double) games < 70, "Promedio: " + totalShots / (double) games);
+    }
+
+    @Test
+    void sampleBudgetIsRespectedAndSeedIsReproducible() {
+        Board board = new Board();
+        MonteCarloAI a = new MonteCarloAI(board, 1_000, 0, 5, new ForkJoinPool(1));
+        MonteCarloAI b = new MonteCarloAI(board, 1_000, 0, 5, new ForkJoinPool(4));
+
+        // El reparto en bloques no depende de los núcleos: la misma semilla elige lo mismo con 1 o 4 hilos
+        assertArrayEquals(a.nextShot(), b.nextShot());
+        assertTrue(a.lastSamplesDrawn() >= 1_000 && a.lastSamplesDrawn() < 1_000 + MonteCarloAI.CHUNKS);
+        assertEquals(a.lastSamplesDrawn(), a.lastSamplesAccepted());
+    }
+
+    @Test
+    void rejectsBoardsWithoutBitboards() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloAI(new Board(20)));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static void shoot(GameState state, MoveJournal journal, boolean byPlayer, int cell) throws GameFileException {
+        TestGames.shoot(state, byPlayer, cell);
+        journal.recordShot(state, byPlayer, cell);
+    }
+
+    @Test
+    void recoveryReplaysTheJournalOverTheSnapshot() throws Exception {
+        GameState state = TestGames.placed("Tester", 5);
+        try (MoveJournal journal = MoveJournal.start(state, dir.resolve("save.dat"), dir.resolve("save.journal"))) {
+            for (int i = 0; i < 20; i++) {
+                shoot(state, journal, true, i);
+                shoot(state, journal, false, 99 - i);
+            }
+            assertEquals(40, journal.getPendingRecords());
+        }
+        assertEquals(8 + 40 * MoveJournal.RECORD_BYTES, Files.size(dir.resolve("save.journal")));
+
+        GameState recovered = MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal"));
+
+        assertArrayEquals(SaveCodec.encode(state), SaveCodec.encode(recovered));
+        assertEquals(10 - state.getMachineBoard().getShipsAfloat(), recovered.getPlayer().getSunkCount());
+    }
+
+    @Test
+    void placementsAreReplayed() throws Exception {
+        GameState state = GameState.newGame("Tester", 10, 3);
+        Board player = state.getPlayer().getBoard();
+        try (MoveJournal journal = MoveJournal.start(state, dir.resolve("save.dat"), dir.resolve("save.journal"))) {
+            assertTrue(player.addShip(player.getShip(0), 2, 3, false));
+            journal.recordPlacement(state, 0, 23, false);
+        }
+
+        Board restored = MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal")).getPlayer().getBoard();
+
+        assertTrue(restored.getShip(0).isPlaced());
+        assertFalse(restored.getShip(0).isHorizontal());
+        assertTrue(restored.getCell(2, 3).isShip());
+        assertFalse(restored.getShip(1).isPlaced());
+    }
+
+    @Test
+    void tornTrailingRecordIsIgnored() throws Exception {
+        GameState state = TestGames.placed("Tester", 5);
+        try (MoveJournal journal = MoveJournal.start(state, dir.resolve("save.dat"), dir.resolve("save.journal"))) {
+            shoot(state, journal, true, 0);
+            shoot(state, journal, true, 1);
+        }
+        byte[] data = Files.readAllBytes(dir.resolve("save.journal"));
+
+        // Último registro a medio escribir
+        Files.write(dir.resolve("save.journal"), Arrays.copyOf(data, data.length - 3));
+        Board machine = MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal")).getMachineBoard();
+        assertTrue(machine.isTried(0, 0));
+        assertFalse(machine.isTried(0, 1));
+
+        // Último registro completo pero con basura
+        data[data.length - 3] ^= 0x40;
+        Files.write(dir.resolve("save.journal"), data);
+        machine = MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal")).getMachineBoard();
+        assertTrue(machine.isTried(0, 0));
+        assertFalse(machine.isTried(0, 1));
+    }
+
+    @Test
+    void journalOfAnotherSnapshotIsIgnored() throws Exception {
+        GameState state = TestGames.placed("Tester", 5);
+        try (MoveJournal journal = MoveJournal.start(state, dir.resolve("save.dat"), dir.resolve("save.journal"))) {
+            shoot(state, journal, true, 0);
+        }
+        byte[] staleJournal = Files.readAllBytes(dir.resolve("save.journal"));
+
+        GameState other = TestGames.placed("Tester", 5);
+        other.getMachineBoard().shoot(9, 9);
+        MoveJournal.start(other, dir.resolve("save.dat"), dir.resolve("save.journal")).close();
+        Files.write(dir.resolve("save.journal"), staleJournal);
+
+        Board machine = MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal")).getMachineBoard();
+        assertFalse(machine.isTried(0, 0));
+        assertTrue(machine.isTried(9, 9));
+    }
+
+    @Test
+    void compactsIntoANewSnapshotPeriodically() throws Exception {
+        GameState state = TestGames.placed("Tester", 5);
+        try (MoveJournal journal = MoveJournal.start(state, dir.resolve("save.dat"), dir.resolve("save.journal"))) {
+            for (int i = 0; i < MoveJournal.COMPACT_EVERY + 3; i++) shoot(state, journal, true, i);
+            assertEquals(3, journal.getPendingRecords());
+        }
+
+        assertEquals(8 + 3 * MoveJournal.RECORD_BYTES, Files.size(dir.resolve("save.journal")));
+        assertArrayEquals(SaveCodec.encode(state), SaveCodec.encode(MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal"))));
+        try (var files = Files.list(dir)) {
+            assertTrue(files.noneMatch(f -> f.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void missingSnapshotMeansNoSavedGame() throws GameFileException, IOException {
+        Files.write(dir.resolve("save.journal"), new byte[]{'B', 'N', 'J', 1, 0, 0, 0, 0});
+        assertNull(MoveJournal.recover(dir.resolve("save.dat"), dir.resolve("save.journal")));
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private PersistenceService service;
+
+    private PersistenceService service(long debounceMillis) {
+        service = new PersistenceService(dir.resolve("save.dat"), dir.resolve("save.journal"),
+                dir.resolve("stats.txt"), dir.resolve("slots.dat"), debounceMillis);
+        return service;
+    }
+
+    @AfterEach
+    void close() {
+        if (service != null) service.close();
+    }
+
+    @Test
+    void burstOfSavesIsWrittenOnce() throws Exception {
+        PersistenceService io = service(500);
+        List<CompletableFuture<Void>> saves = new ArrayList<>();
+        for (int i = 0; i < 5; i++) saves.add(io.saveState(GameState.newGame("Jugador" + i, 10, i)));
+
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, io.getWrites());
+        assertEquals(4, io.getCoalescedSaves());
+        assertTrue(io.getLastWriteNanos() > 0);
+        assertEquals("Jugador4", io.loadLastState().get(10, TimeUnit.SECONDS).getPlayer().getName());
+    }
+
+    @Test
+    void loadSeesSavesStillWaitingForTheirDebounce() throws Exception {
+        PersistenceService io = service(TimeUnit.HOURS.toMillis(1));
+        CompletableFuture<Void> save = io.saveState(GameState.newGame("Pendiente", 10, 1));
+        assertEquals(1, io.getQueueDepth());
+        assertFalse(save.isDone());
+
+        GameState loaded = io.loadLastState().get(10, TimeUnit.SECONDS);
+
+        assertEquals("Pendiente", loaded.getPlayer().getName());
+        assertTrue(save.isDone());
+    }
+
+    @Test
+    void closeWritesSavesStillWaitingForTheirDebounce() throws Exception {
+        PersistenceService io = service(TimeUnit.HOURS.toMillis(1));
+        CompletableFuture<Void> save = io.saveState(GameState.newGame("Cerrando", 10, 1));
+
+        // La espera de una hora ya no tiene nada que escribir: el cierre no debe quedarse esperándola
+        long start = System.nanoTime();
+        io.close();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+        assertTrue(save.isDone());
+        assertEquals("Cerrando", SaveCodec.decode(Files.readAllBytes(dir.resolve("save.dat"))).getPlayer().getName());
+    }
+
+    @Test
+    void journalIsWrittenOnTheIoThreadBehindPendingSaves() throws Exception {
+        PersistenceService io = service(TimeUnit.HOURS.toMillis(1));
+        CompletableFuture<Void> save = io.saveState(GameState.newGame("Anterior", 10, 1));
+        GameState state = TestGames.placed("Diario", 5);
+
+        MoveJournal journal = io.startJournal(state);
+        for (int i = 0; i < MoveJournal.COMPACT_EVERY + 5; i++) {
+            TestGames.shoot(state, true, i);
+            journal.recordShot(state, true, i);
+        }
+        assertEquals(5, journal.getPendingRecords());
+        GameState loaded = io.loadLastState().get(10, TimeUnit.SECONDS);
+        journal.close();
+
+        // El guardado anterior se escribió antes que la fotografía del diario, no encima
+        assertTrue(save.isDone());
+        assertArrayEquals(SaveCodec.encode(state), SaveCodec.encode(loaded));
+    }
+
+    @Test
+    void journalWriteErrorsSurfaceOnTheNextRecord() throws Exception {
+        service = new PersistenceService(dir.resolve("missing/save.dat"), dir.resolve("missing/save.journal"),
+                dir.resolve("stats.txt"), dir.resolve("slots.dat"), 10);
+        GameState state = TestGames.placed("Diario", 5);
+
+        MoveJournal journal = service.startJournal(state);
+        service.flush().get(10, TimeUnit.SECONDS);
+
+        assertThrows(GameFileException.class, () -> journal.recordShot(state, true, 0));
+    }
+
+    @Test
+    void gameOutcomesReachStatsAndLeaderboard() throws Exception {
+        PersistenceService io = service(10);
+        assertNull(io.playerStats("Ana").get(10, TimeUnit.SECONDS));
+
+        io.recordGame(new GameOutcome("Ana", true, 40, 17, 10, 60_000, 1));
+        io.recordGame(new GameOutcome("Luis", false, 50, 12, 6, 90_000, 2));
+        PlayerStats ana = io.recordGame(new GameOutcome("Ana", false, 30, 10, 7, 30_000, 3)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, ana.getGames());
+        assertEquals(1, ana.getWins());
+        assertEquals(List.of("Ana", "Luis"),
+                io.leaderboard(5).get(10, TimeUnit.SECONDS).stream().map(PlayerStats::getNickname).toList());
+    }
+
+    @Test
+    void writeErrorsReachEveryCoalescedFuture() throws Exception {
+        Files.createDirectory(dir.resolve("missing"));
+        service = new PersistenceService(dir.resolve("missing/sub/save.dat"), dir.resolve("save.journal"),
+                dir.resolve("stats.txt"), dir.resolve("slots.dat"), 10);
+
+        CompletableFuture<Void> first = service.saveState(GameState.newGame("a", 10, 1));
+        CompletableFuture<Void> second = service.saveState(GameState.newGame("b", 10, 2));
+
+        for (CompletableFuture<Void> save : List.of(first, second)) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> save.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(GameFileException.class, error.getCause());
+        }
+        assertThrows(ExecutionException.class, () -> service.saveState(null).get());
+    }
+}
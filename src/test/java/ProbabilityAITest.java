@@ -0,0 +1,66 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbabilityAITest {
+
+    @Test
+    void sinksWholeFleetWithoutRepeatingShots() {
+        Random rnd = new Random(11);
+        int games = 200;
+        int totalShots = 0;
+
+        for (int g = 0; g < games; g++) {
+            Board board = new Board();
+            board.randomPlaceAllShips();
+            ProbabilityAI ai = new ProbabilityAI(board, rnd);
+
+            int shots = 0;
+            while (!board.allShipsSunk()) {
+                int[] pos = ai.nextShot();
+                Cell.ShotResult result = board.shoot(pos[0], pos[1]);
+                assertNotEquals(Cell.ShotResult.ALREADY_TRIED, result, "La IA no debe repetir disparos");
+                ai.reportResult(pos, result);
+                shots++;
+            }
+            assertTrue(shots <= Board.SIZE * Board.SIZE);
+            totalShots += shots;
+        }
+
+        // Un tirador uniforme necesita en promedio más de 90 disparos
+        assertTrue(totalShots / (double) games < 70, "Promedio: " + totalShots / (double) games);
+    }
+
+    @Test
+    void missRemovesPlacementsThroughTheCell() {
+        Board board = new Board();
+        ProbabilityAI ai = new ProbabilityAI(board, new Random(1));
+
+        long before = ai.densityAt(0, 1);
+        ai.reportResult(new int[]{0, 0}, Cell.ShotResult.MISS);
+
+        assertEquals(0, ai.densityAt(0, 0));
+        assertTrue(ai.densityAt(0, 1) < before);
+    }
+
+    @Test
+    void startsFromTheShotsAlreadyOnTheBoard() {
+        Board board = new Board();
+        board.randomPlaceAllShips();
+        Cell.ShotResult result = board.shoot(0, 0);
+        ProbabilityAI resumed = new ProbabilityAI(board, new Random(1));
+
+        ProbabilityAI fresh = new ProbabilityAI(new Board(), new Random(1));
+        fresh.observe(0, 0, result);
+
+        for (int r = 0; r < Board.SIZE; r++) {
+            for (int c = 0; c < Board.SIZE; c++) assertEquals(fresh.densityAt(r, c), resumed.densityAt(r, c));
+        }
+    }
+}
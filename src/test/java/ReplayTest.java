@@ -0,0 +1,168 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Juega una partida completa alternando disparos aleatorios y la graba.
+     *
+     * @return Los disparos grabados, {@code celda << 1 | disparó el jugador}.
+     */
+    private static List<Integer> playAndRecord(GameState state, ReplayWriter writer) throws Exception {
+        Random random = new Random(7);
+        int size = state.getBoardSize();
+        List<Integer> moves = new ArrayList<>();
+        boolean byPlayer = true;
+        while (!state.isGameOver()) {
+            Board target = byPlayer ? state.getMachineBoard() : state.getPlayer().getBoard();
+            int cell;
+            do {
+                cell = random.nextInt(size * size);
+            } while (target.isTried(cell / size, cell % size));
+            target.shoot(cell / size, cell % size);
+            writer.recordShot(byPlayer, cell);
+            moves.add(cell << 1 | (byPlayer ? 1 : 0));
+            if (target.allShipsSunk()) break;
+            byPlayer = !byPlayer;
+        }
+        return moves;
+    }
+
+    private static void assertSameShots(GameState expected, GameState actual) {
+        int size = expected.getBoardSize();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                assertEquals(expected.getPlayer().getBoard().isTried(r, c), actual.getPlayer().getBoard().isTried(r, c));
+                assertEquals(expected.getMachineBoard().isTried(r, c), actual.getMachineBoard().isTried(r, c));
+            }
+        }
+    }
+
+    /**
+     * @return La partida tras aplicar los primeros {@code count} disparos, uno a uno.
+     */
+    private static GameState sequential(List<Integer> moves, int count) {
+        GameState state = TestGames.placed("Ana", 3);
+        for (int i = 0; i < count; i++) TestGames.shoot(state, (moves.get(i) & 1) != 0, moves.get(i) >>> 1);
+        return state;
+    }
+
+    @Test
+    void seekingMatchesSequentialReplay() throws Exception {
+        GameState state = TestGames.placed("Ana", 3);
+        List<Integer> moves;
+        try (ReplayWriter writer = ReplayWriter.create(dir.resolve("partida.bnr"), state, 4)) {
+            moves = playAndRecord(state, writer);
+            writer.finish();
+        }
+
+        try (ReplayReader reader = ReplayReader.open(dir.resolve("partida.bnr"))) {
+            assertEquals(moves.size(), reader.getMoveCount());
+            assertEquals("Ana", reader.getPlayerName());
+            assertEquals(10, reader.getBoardSize());
+            for (int m : new int[]{0, 1, 3, 4, 5, 17, moves.size() / 2, moves.size() - 1}) {
+                assertSameShots(sequential(moves, m), reader.stateAt(m));
+            }
+            GameState end = reader.stateAt(moves.size());
+            assertTrue(end.isGameOver());
+            assertSameShots(state, end);
+        }
+    }
+
+    @Test
+    void cursorStepsAcrossKeyframes() throws Exception {
+        GameState state = TestGames.placed("Ana", 3);
+        List<Integer> moves;
+        try (ReplayWriter writer = ReplayWriter.create(dir.resolve("partida.bnr"), state, 4)) {
+            moves = playAndRecord(state, writer);
+            writer.finish();
+        }
+
+        try (ReplayReader reader = ReplayReader.open(dir.resolve("partida.bnr"))) {
+            ReplayReader.Cursor cursor = reader.cursor(2);
+            while (cursor.next()) {
+                assertSameShots(sequential(moves, cursor.getPosition()), cursor.getState());
+            }
+            assertEquals(moves.size(), cursor.getPosition());
+        }
+    }
+
+    @Test
+    void shotsBeforeRecordingGoIntoTheFirstKeyframe() throws Exception {
+        GameState state = TestGames.placed("Ana", 3);
+        state.getMachineBoard().shoot(0, 0);
+        state.getPlayer().getBoard().shoot(9, 9);
+        try (ReplayWriter writer = ReplayWriter.create(dir.resolve("partida.bnr"), state, ReplayWriter.DEFAULT_KEYFRAME_INTERVAL)) {
+            writer.finish();
+        }
+
+        try (ReplayReader reader = ReplayReader.open(dir.resolve("partida.bnr"))) {
+            assertEquals(0, reader.getMoveCount());
+            assertSameShots(state, reader.stateAt(0));
+        }
+    }
+
+    @Test
+    void unfinishedReplayIsRecoveredUpToTheLastCompleteShot() throws Exception {
+        GameState state = TestGames.placed("Ana", 3);
+        List<Integer> moves;
+        try (ReplayWriter writer = ReplayWriter.create(dir.resolve("partida.bnr"), state, 4)) {
+            moves = playAndRecord(state, writer);
+            // Sin finish(): la aplicación se cerró antes de escribir el índice
+        }
+
+        try (ReplayReader reader = ReplayReader.open(dir.resolve("partida.bnr"))) {
+            assertTrue(reader.isRecovered());
+            assertEquals(moves.size(), reader.getMoveCount());
+            assertSameShots(state, reader.stateAt(moves.size()));
+            assertSameShots(sequential(moves, 9), reader.stateAt(9));
+        }
+
+        // Un disparo a medio escribir se descarta
+        byte[] data = Files.readAllBytes(dir.resolve("partida.bnr"));
+        Files.write(dir.resolve("partida.bnr"), Arrays.copyOf(data, data.length - 1));
+        try (ReplayReader reader = ReplayReader.open(dir.resolve("partida.bnr"))) {
+            assertEquals(moves.size() - 1, reader.getMoveCount());
+            assertSameShots(sequential(moves, moves.size() - 1), reader.stateAt(moves.size() - 1));
+        }
+    }
+
+    @Test
+    void keyframesOnLargeBoardsGrowWithShotsNotArea() throws Exception {
+        GameState state = GameState.newGame("Ana", 500, 3);
+        state.getPlayer().getBoard().randomPlaceAllShips();
+        try (ReplayWriter writer = ReplayWriter.create(dir.resolve("partida.bnr"), state, ReplayWriter.DEFAULT_KEYFRAME_INTERVAL)) {
+            for (int i = 0; i < 64; i++) {
+                int cell = i * 3_907;
+                state.getMachineBoard().shoot(cell / 500, cell % 500);
+                writer.recordShot(true, cell);
+            }
+            writer.finish();
+        }
+
+        // Un solo mapa de bits de 500x500 ocuparía más de 31 KB
+        assertTrue(Files.size(dir.resolve("partida.bnr")) < 2_048, "Tamaño: " + Files.size(dir.resolve("partida.bnr")));
+        try (ReplayReader reader = ReplayReader.open(dir.resolve("partida.bnr"))) {
+            assertFalse(reader.isRecovered());
+            assertSameShots(state, reader.stateAt(64));
+            assertTrue(reader.stateAt(33).getMachineBoard().isTried(32 * 3_907 / 500, 32 * 3_907 % 500));
+            assertFalse(reader.stateAt(33).getMachineBoard().isTried(33 * 3_907 / 500, 33 * 3_907 % 500));
+        }
+    }
+}
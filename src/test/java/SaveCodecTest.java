@@ -0,0 +1,134 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+import org.example.batalla_naval_re.model.Ship;
+import org.example.batalla_naval_re.model.ShipType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveCodecTest {
+
+    private static GameState gameInProgress() {
+        GameState state = GameState.newGame("Tester", 10, 42);
+        state.setAiStrategyId("heatmap");
+        Board player = state.getPlayer().getBoard();
+        player.reseed(7);
+        player.randomPlaceAllShips();
+        Board machine = state.getMachineBoard();
+        for (int i = 0; i < 60; i++) {
+            machine.shoot(i / 10, i % 10);
+            player.shoot((i * 7) % 10, (i * 3 + i / 10) % 10);
+        }
+        return state;
+    }
+
+    private static void assertSameBoard(Board expected, Board actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getShipCount(), actual.getShipCount());
+        assertEquals(expected.getShipsAfloat(), actual.getShipsAfloat());
+        for (int r = 0; r < expected.getSize(); r++) {
+            for (int c = 0; c < expected.getSize(); c++) {
+                var e = expected.getCell(r, c);
+                var a = actual.getCell(r, c);
+                assertEquals(e.isShip(), a.isShip(), "barco en " + r + "," + c);
+                assertEquals(e.isHit(), a.isHit(), "impacto en " + r + "," + c);
+                assertEquals(e.isMiss(), a.isMiss(), "agua en " + r + "," + c);
+                assertEquals(e.isSunkPart(), a.isSunkPart(), "hundido en " + r + "," + c);
+            }
+        }
+    }
+
+    @Test
+    void roundTripRestoresBoardsCountersAndMetadata() throws GameFileException {
+        GameState original = gameInProgress();
+
+        byte[] data = SaveCodec.encode(original);
+        GameState loaded = SaveCodec.decode(data);
+
+        assertTrue(data.length < 100, "tamaño: " + data.length);
+        assertEquals("Tester", loaded.getPlayer().getName());
+        assertEquals("heatmap", loaded.getAiStrategyId());
+        assertEquals(original.isGameOver(), loaded.isGameOver());
+        assertSameBoard(original.getPlayer().getBoard(), loaded.getPlayer().getBoard());
+        assertSameBoard(original.getMachineBoard(), loaded.getMachineBoard());
+        assertEquals(10 - original.getMachineBoard().getShipsAfloat(), loaded.getPlayer().getSunkCount());
+        assertArrayEquals(data, SaveCodec.encode(loaded));
+    }
+
+    @Test
+    void placementPhaseKeepsUnplacedShips() throws GameFileException {
+        GameState original = GameState.newGame("Tester", 10, 3);
+        Board player = original.getPlayer().getBoard();
+        assertTrue(player.addShip(player.getShip(0), 0, 0, true));
+
+        GameState loaded = SaveCodec.decode(SaveCodec.encode(original));
+        Board restored = loaded.getPlayer().getBoard();
+
+        assertEquals(player.getShipCount(), restored.getShipCount());
+        assertTrue(restored.getShip(0).isPlaced());
+        assertFalse(restored.getShip(1).isPlaced());
+        assertFalse(restored.allShipsPlaced());
+        assertSameBoard(player, restored);
+    }
+
+    @Test
+    void firstVersionSavesStillLoad() throws IOException, GameFileException {
+        // Copia del batalla_save.dat que guardaba la primera versión del juego
+        byte[] data;
+        try (InputStream in = SaveCodecTest.class.getResourceAsStream("/legacy_save.dat")) {
+            data = in.readAllBytes();
+        }
+
+        GameState loaded = SaveManager.decode(data);
+
+        assertEquals("theroscar", loaded.getPlayer().getName());
+        assertEquals(10, loaded.getBoardSize());
+        assertFalse(loaded.isGameOver());
+        assertFalse(loaded.getPlayer().getBoard().allShipsPlaced());
+        assertEquals(10, loaded.getPlayer().getBoard().getShipCount());
+
+        Board machine = loaded.getMachineBoard();
+        assertTrue(machine.allShipsPlaced());
+        assertEquals(10, machine.getShipsAfloat());
+        Ship carrier = machine.getShip(6);
+        assertEquals(ShipType.CARRIER, carrier.getType());
+        assertFalse(carrier.isHorizontal());
+        assertEquals(2, carrier.segmentRow(0));
+        assertEquals(9, carrier.segmentCol(0));
+        int shipCells = 0;
+        for (int r = 0; r < 10; r++) {
+            for (int c = 0; c < 10; c++) if (machine.getCell(r, c).isShip()) shipCells++;
+        }
+        assertEquals(20, shipCells);
+    }
+
+    @Test
+    void javaSerializedCurrentModelIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(gameInProgress());
+        }
+
+        assertThrows(GameFileException.class, () -> SaveManager.decode(bytes.toByteArray()));
+    }
+
+    @Test
+    void rejectsNewerVersionsAndTruncatedData() {
+        byte[] data = SaveCodec.encode(gameInProgress());
+
+        byte[] newer = data.clone();
+        newer[2] = (byte) (SaveCodec.VERSION + 1);
+        assertThrows(GameFileException.class, () -> SaveCodec.decode(newer));
+
+        byte[] truncated = Arrays.copyOf(data, data.length - 5);
+        assertThrows(GameFileException.class, () -> SaveCodec.decode(truncated));
+    }
+}
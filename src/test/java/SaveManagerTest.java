@@ -4,6 +4,12 @@ import org.example.batalla_naval_re.model.GameState;
 import org.example.batalla_naval_re.persistence.GameFileException;
 import org.example.batalla_naval_re.persistence.SaveManager;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,4 +43,21 @@ class SaveManagerTest {
         GameState state = SaveManager.loadLastState();
         assertNull(state);
     }
+
+    @Test
+    void pruneKeepsOnlyTheNewestReplays(@TempDir Path dir) throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Path replay = Files.write(dir.resolve("partida-" + i + ".bnr"), new byte[]{1});
+            Files.setLastModifiedTime(replay, FileTime.fromMillis(1_000_000L * (i + 1)));
+        }
+        Files.write(dir.resolve("notas.txt"), new byte[]{1});
+
+        SaveManager.pruneReplays(dir, 2);
+
+        assertFalse(Files.exists(dir.resolve("partida-0.bnr")));
+        assertFalse(Files.exists(dir.resolve("partida-2.bnr")));
+        assertTrue(Files.exists(dir.resolve("partida-3.bnr")));
+        assertTrue(Files.exists(dir.resolve("partida-4.bnr")));
+        assertTrue(Files.exists(dir.resolve("notas.txt")));
+    }
 }
@@ -0,0 +1,109 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveSlotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void slotsAreListedFromTheIndexAndLoadedByName() throws Exception {
+        try (SaveSlotStore store = SaveSlotStore.open(dir.resolve("slots.dat"))) {
+            store.save("ana-1", TestGames.withShots("Ana", 1, 5));
+            store.save("luis", TestGames.withShots("Luis", 2, 12));
+            store.save("ana-2", TestGames.withShots("Ana", 3, 0));
+
+            List<SaveSlot> slots = store.list();
+            assertEquals(3, slots.size());
+            SaveSlot luis = store.find("luis");
+            assertEquals("Luis", luis.getPlayer());
+            assertEquals(12, luis.getTurn());
+            assertEquals(10, luis.getBoardSize());
+            assertNull(store.find("nadie"));
+            assertNull(store.load("nadie"));
+        }
+
+        // Al reabrir, el índice sigue ahí
+        try (SaveSlotStore store = SaveSlotStore.open(dir.resolve("slots.dat"))) {
+            assertEquals(3, store.list().size());
+            GameState loaded = store.load("luis");
+            assertEquals("Luis", loaded.getPlayer().getName());
+            assertTrue(loaded.getMachineBoard().isTried(1, 1));
+            assertFalse(loaded.getMachineBoard().isTried(1, 2));
+        }
+    }
+
+    @Test
+    void overwritingASlotKeepsOnlyTheNewGame() throws Exception {
+        try (SaveSlotStore store = SaveSlotStore.open(dir.resolve("slots.dat"))) {
+            store.save("slot", TestGames.withShots("Ana", 1, 3));
+            store.save("slot", TestGames.withShots("Ana", 1, 30));
+
+            assertEquals(1, store.list().size());
+            assertEquals(30, store.find("slot").getTurn());
+            assertTrue(store.load("slot").getMachineBoard().isTried(2, 9));
+            assertTrue(store.getGarbageBytes() > 0);
+        }
+    }
+
+    @Test
+    void deletedSlotsAreCompactedAway() throws Exception {
+        try (SaveSlotStore store = SaveSlotStore.open(dir.resolve("slots.dat"))) {
+            for (int i = 0; i < 60; i++) store.save("slot" + i, TestGames.withShots("Jugador" + i, i, i));
+            long before = Files.size(dir.resolve("slots.dat"));
+
+            for (int i = 0; i < 59; i++) assertTrue(store.delete("slot" + i));
+            assertFalse(store.delete("slot0"));
+            store.compactAsync().get(10, TimeUnit.SECONDS);
+
+            assertTrue(store.getCompactions() >= 1);
+            assertEquals(0, store.getGarbageBytes());
+            assertTrue(Files.size(dir.resolve("slots.dat")) < before);
+            assertEquals(1, store.list().size());
+            assertEquals(59, store.find("slot59").getTurn());
+            assertEquals("Jugador59", store.load("slot59").getPlayer().getName());
+        }
+    }
+
+    @Test
+    void fullIndexGrows() throws Exception {
+        try (SaveSlotStore store = SaveSlotStore.open(dir.resolve("slots.dat"))) {
+            int slots = SaveSlotStore.DEFAULT_CAPACITY + 5;
+            for (int i = 0; i < slots; i++) store.save("slot" + i, TestGames.withShots("Jugador", i, 1));
+
+            assertTrue(store.getCapacity() > SaveSlotStore.DEFAULT_CAPACITY);
+            assertEquals(slots, store.list().size());
+            assertEquals("Jugador", store.load("slot0").getPlayer().getName());
+            assertNotNull(store.load("slot" + (slots - 1)));
+        }
+    }
+
+    @Test
+    void longNamesAreClippedWithoutBreakingCharacters() throws Exception {
+        String name = "ñ".repeat(30);
+        try (SaveSlotStore store = SaveSlotStore.open(dir.resolve("slots.dat"))) {
+            store.save(name, TestGames.withShots(name, 1, 0));
+
+            SaveSlot slot = store.list().get(0);
+            assertEquals("ñ".repeat(20), slot.getName());
+            assertEquals(slot.getName(), slot.getPlayer());
+            assertNotNull(store.load(name));
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotContainers() throws Exception {
+        Files.write(dir.resolve("slots.dat"), new byte[]{'X', 'Y', 'Z', 1, 0, 0, 0, 0});
+        assertThrows(GameFileException.class, () -> SaveSlotStore.open(dir.resolve("slots.dat")));
+    }
+}
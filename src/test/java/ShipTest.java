@@ -41,4 +41,24 @@ class ShipTest {
 
         assertFalse(placed);
     }
+
+    @Test
+    void hitsCountDownHullAndFloatingShips() {
+        Board board = new Board();
+        Ship ship = new Ship(ShipType.SUBMARINE);
+        board.addShip(ship, 1, 1, false);
+        board.addShip(new Ship(ShipType.FRIGATE), 8, 8, true);
+
+        assertEquals(2, board.getShipsAfloat());
+
+        board.shoot(2, 1);
+        board.shoot(2, 1);
+        assertEquals(2, ship.getRemainingHull());
+
+        board.shoot(1, 1);
+        assertEquals(Cell.ShotResult.SUNK, board.shoot(3, 1));
+        assertEquals(0, ship.getRemainingHull());
+        assertEquals(1, board.getShipsAfloat());
+        assertFalse(board.allShipsSunk());
+    }
 }
@@ -0,0 +1,41 @@
+package org.example.batalla_naval_re.ai;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.Cell;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleAITest {
+
+    @Test
+    void visitsEveryCellExactlyOnceOnAnyBoardSize() {
+        Board board = new Board(37);
+        SimpleAI ai = new SimpleAI(board, 9);
+        boolean[] seen = new boolean[37 * 37];
+
+        for (int n = 0; n < seen.length; n++) {
+            int shot = ai.decide(AIBudget.UNLIMITED);
+            assertFalse(seen[shot], "Celda repetida: " + shot);
+            seen[shot] = true;
+            ai.observe(shot / 37, shot % 37, board.shoot(shot / 37, shot % 37));
+        }
+    }
+
+    @Test
+    void parityShootsOnlyOneColourOnceFrigatesAreSunk() {
+        Board board = new Board();
+        SimpleAI ai = new SimpleAI(board, 4, true);
+
+        // Se informan los cuatro hundimientos de fragatas en celdas aisladas
+        int[][] frigates = {{0, 0}, {0, 9}, {9, 0}, {9, 9}};
+        for (int[] f : frigates) ai.observe(f[0], f[1], Cell.ShotResult.SUNK);
+
+        int first = ai.decide(AIBudget.UNLIMITED);
+        int parity = (first / 10 + first % 10) % 2;
+        for (int n = 0; n < 40; n++) {
+            int shot = ai.decide(AIBudget.UNLIMITED);
+            assertEquals(parity, (shot / 10 + shot % 10) % 2);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.batalla_naval_re.sim;
+
+import org.example.batalla_naval_re.engine.GameEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+
+    @Test
+    void gamesAreReproducibleFromTheBaseSeed() {
+        Simulator a = new Simulator("random", "heatmap", 10, 99);
+        Simulator b = new Simulator("random", "heatmap", 10, 99);
+
+        for (int i = 0; i < 5; i++) {
+            GameResult x = a.play(i);
+            GameResult y = b.play(i);
+            assertEquals(x.getWinner(), y.getWinner());
+            assertEquals(x.getPlayerShots(), y.getPlayerShots());
+            assertEquals(x.getMachineShots(), y.getMachineShots());
+            assertEquals(x.getFirstSinkTurn(), y.getFirstSinkTurn());
+        }
+    }
+
+    @Test
+    void batchStatisticsCoverEveryGame() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            SimulationStats stats = new Simulator("random", "heatmap", 10, 7).run(600, pool, null);
+
+            assertEquals(600, stats.getGames());
+            assertEquals(1.0, stats.getWinRate(GameEngine.Side.PLAYER) + stats.getWinRate(GameEngine.Side.MACHINE), 1e-9);
+            assertTrue(stats.getWinRate(GameEngine.Side.MACHINE) > 0.9);
+            assertTrue(stats.shotsToWinPercentile(50) <= stats.shotsToWinPercentile(90));
+            assertTrue(stats.shotsToWinPercentile(100) <= 100);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static GameOutcome game(String nick, boolean won, int shots, int hits) {
+        return new GameOutcome(nick, won, shots, hits, won ? 10 : 3, 1000, 1);
+    }
+
+    private static List<String> names(List<PlayerStats> stats) {
+        return stats.stream().map(PlayerStats::getNickname).toList();
+    }
+
+    @Test
+    void aggregatesArePerPlayerAndSurviveReopening() throws Exception {
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            store.record(game("Ana", true, 40, 20));
+            store.record(game("Luis", false, 60, 15));
+            store.record(game("Ana", false, 50, 10));
+        }
+
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            PlayerStats ana = store.get("Ana");
+            assertEquals(2, ana.getGames());
+            assertEquals(1, ana.getWins());
+            assertEquals(1, ana.getLosses());
+            assertEquals(90, ana.getShots());
+            assertEquals(30, ana.getHits());
+            assertEquals(13, ana.getShipsSunk());
+            assertEquals(2000, ana.getTotalMillis());
+            assertEquals(1.0 / 3, ana.getAccuracy(), 1e-9);
+            assertEquals(1, store.get("Luis").getGames());
+            assertNull(store.get("Nadie"));
+            assertEquals(2, store.getPlayerCount());
+            assertEquals(3, store.getRecordCount());
+        }
+    }
+
+    @Test
+    void leaderboardOrdersByWinsThenAccuracy() throws Exception {
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            store.record(game("Ana", true, 40, 20));
+            store.record(game("Luis", true, 40, 30));
+            store.record(game("Eva", false, 40, 39));
+            store.record(game("Eva", true, 40, 39));
+            store.record(game("Eva", true, 40, 39));
+
+            assertEquals(List.of("Eva", "Luis", "Ana"), names(store.top(10)));
+            assertEquals(List.of("Eva", "Luis"), names(store.top(2)));
+
+            // Luis pasa a Eva: el índice se reordena
+            store.record(game("Luis", true, 10, 10));
+            store.record(game("Luis", true, 10, 10));
+            assertEquals("Luis", store.top(1).get(0).getNickname());
+        }
+    }
+
+    @Test
+    void tornTrailingRecordIsDroppedAndLogStaysAppendable() throws Exception {
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            store.record(game("Ana", true, 40, 20));
+            store.record(game("Luis", true, 40, 20));
+        }
+        byte[] data = Files.readAllBytes(dir.resolve("stats.log"));
+        Files.write(dir.resolve("stats.log"), Arrays.copyOf(data, data.length - 5));
+
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            assertNull(store.get("Luis"));
+            store.record(game("Eva", false, 10, 1));
+        }
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            assertEquals(List.of("Ana", "Eva"), names(store.top(10)));
+        }
+    }
+
+    @Test
+    void outcomeIsReadFromTheBoards() {
+        GameState state = TestGames.withShots("Ana", 4, 100);
+
+        GameOutcome outcome = GameOutcome.of(state, true, 5000);
+
+        assertEquals("Ana", outcome.getNickname());
+        assertEquals(100, outcome.getShots());
+        assertEquals(20, outcome.getHits());
+        assertEquals(10, outcome.getShipsSunk());
+        assertEquals(0.2, outcome.getAccuracy(), 1e-9);
+    }
+
+    @Test
+    void manyPlayersStayIndexed() throws Exception {
+        try (StatsStore store = StatsStore.open(dir.resolve("stats.log"))) {
+            for (int i = 0; i < 2_000; i++) store.record(game("p" + i, i % 7 == 0, 50, i % 50));
+            assertEquals(2_000, store.getPlayerCount());
+            assertEquals(10, store.top(10).size());
+            assertEquals(1, store.top(1).get(0).getWins());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.batalla_naval_re.persistence;
+
+import org.example.batalla_naval_re.model.Board;
+import org.example.batalla_naval_re.model.GameState;
+
+/**
+ * Partidas de 10x10 reproducibles para las pruebas de persistencia.
+ */
+final class TestGames {
+
+    private TestGames() { }
+
+    /**
+     * @return Una partida con las dos flotas colocadas y sin disparos.
+     */
+    static GameState placed(String nick, long seed) {
+        GameState state = GameState.newGame(nick, 10, seed);
+        Board player = state.getPlayer().getBoard();
+        player.reseed(seed + 1);
+        player.randomPlaceAllShips();
+        return state;
+    }
+
+    /**
+     * @return Una partida en colocación con las primeras {@code shots} celdas de la máquina disparadas.
+     */
+    static GameState withShots(String nick, long seed, int shots) {
+        GameState state = GameState.newGame(nick, 10, seed);
+        for (int i = 0; i < shots; i++) state.getMachineBoard().shoot(i / 10, i % 10);
+        return state;
+    }
+
+    /**
+     * Dispara a una celda del tablero de la máquina ({@code byPlayer}) o del jugador.
+     */
+    static void shoot(GameState state, boolean byPlayer, int cell) {
+        Board target = byPlayer ? state.getMachineBoard() : state.getPlayer().getBoard();
+        target.shoot(cell / 10, cell % 10);
+    }
+}